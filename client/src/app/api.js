@@ -97,6 +97,19 @@ export const transactionService = {
     return response.data;
   },
 
+  /**
+   * Busca transacciones con filtros y paginación por cursor
+   * @param {Object} filters - minAmount, maxAmount, from, to, businessName, businessNameMatch, name, sort, direction, limit
+   * @param {string} [cursor] - Cursor devuelto en nextCursor por la página anterior
+   * @returns {Promise<{items: Transaction[], nextCursor: string|null}>}
+   */
+  search: async (filters, cursor) => {
+    const response = await apiClient.get('/transaction/search', {
+      params: { ...filters, cursor },
+    });
+    return response.data;
+  },
+
   /**
    * Crea una nueva transacción
    * @param {Transaction} transaction - Datos de la transacción
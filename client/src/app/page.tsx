@@ -1,6 +1,6 @@
 'use client'
 
-import { useState } from 'react';
+import { useCallback, useState } from 'react';
 import { QueryClient, QueryClientProvider } from '@tanstack/react-query';
 import { ReactQueryDevtools } from '@tanstack/react-query-devtools';
 import { ToastContainer, toast } from 'react-toastify';
@@ -8,13 +8,13 @@ import { ToastContainer, toast } from 'react-toastify';
 import TransactionList from '../components/TransactionList';
 import TransactionForm, { initialData, TransactionType } from '../components/TransactionForm';
 import {
-  useTransactions,
+  useSearchTransactions,
   useCreateTransaction,
   useUpdateTransaction,
   useDeleteTransaction,
 } from '../hooks/useTransactions';
 import '../styles/App.css';
-import { Transaction } from '../types';
+import { Transaction, TransactionSearchFilters } from '../types';
 
 // Configurar React Query Client
 const queryClient = new QueryClient({
@@ -32,8 +32,23 @@ function AppContent() {
   const [isEditing, setIsEditing] = useState(false);
 
 
+  const [filters, setFilters] = useState<TransactionSearchFilters>({
+    sort: 'DATE',
+    direction: 'DESC',
+    businessNameMatch: 'CONTAINS',
+    limit: 50,
+  });
+  const handleFiltersChange = useCallback((next: TransactionSearchFilters) => setFilters(next), []);
+
   // Hooks de React Query
-  const { data: transactions, isLoading } = useTransactions();
+  const {
+    data,
+    isLoading,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useSearchTransactions(filters);
+  const transactions = data?.pages.flatMap((page) => page.items);
   const createMutation = useCreateTransaction();
   const updateMutation = useUpdateTransaction();
   const deleteMutation = useDeleteTransaction();
@@ -107,10 +122,15 @@ function AppContent() {
           />
 
           <TransactionList
-            transactions={transactions}
+            transactions={transactions as any}
+            filters={filters}
+            onFiltersChange={handleFiltersChange}
             onEdit={handleEdit}
             onDelete={handleDelete}
+            onLoadMore={() => fetchNextPage()}
+            hasMore={!!hasNextPage}
             isLoading={isLoading}
+            isLoadingMore={isFetchingNextPage}
           />
         </div>
       </main>
@@ -1,5 +1,6 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { formatCurrency, formatDate } from '../utils/helpers';
+import { TransactionSearchFilters, SearchSort } from '../types';
 
 import '../styles/TransactionList.css';
 
@@ -7,68 +8,61 @@ interface Transaction {
   id: number;
   name: string;
   amount: number;
+  currency?: string;
   businessName: string;
   transactionDate: string;
 }
 
 interface TransactionListProps {
   transactions: Transaction[] | undefined;
+  filters: TransactionSearchFilters;
+  onFiltersChange: (filters: TransactionSearchFilters) => void;
   onEdit: (transaction: Transaction) => void;
   onDelete: (id: number) => void;
+  onLoadMore: () => void;
+  hasMore: boolean;
   isLoading: boolean;
+  isLoadingMore: boolean;
 }
 
+const SEARCH_DEBOUNCE_MS = 400;
+
 /**
- * Componente para mostrar la lista de transacciones
+ * Componente para mostrar la lista de transacciones.
+ * El filtrado, el orden y la paginación se resuelven en el servidor.
  */
-const TransactionList = ({ transactions, onEdit, onDelete, isLoading }: TransactionListProps) => {
-  const [searchTerm, setSearchTerm] = useState('');
-  const [sortBy, setSortBy] = useState('date');
-  const [sortOrder, setSortOrder] = useState('desc');
-
-  // Filtrar transacciones por término de búsqueda
-  const filteredTransactions = transactions?.filter((transaction) => {
-    const searchLower = searchTerm.toLowerCase();
-    return (
-      transaction.name.toLowerCase().includes(searchLower) ||
-      transaction.businessName.toLowerCase().includes(searchLower)
-    );
-  }) || [];
-
-  // Ordenar transacciones
-  const sortedTransactions = [...filteredTransactions].sort((a, b) => {
-    let aValue, bValue;
+const TransactionList = ({
+  transactions,
+  filters,
+  onFiltersChange,
+  onEdit,
+  onDelete,
+  onLoadMore,
+  hasMore,
+  isLoading,
+  isLoadingMore,
+}: TransactionListProps) => {
+  const [searchTerm, setSearchTerm] = useState(filters.businessName || '');
 
-    switch (sortBy) {
-      case 'date':
-        aValue = new Date(a.transactionDate);
-        bValue = new Date(b.transactionDate);
-        break;
-      case 'amount':
-        aValue = a.amount;
-        bValue = b.amount;
-        break;
-      case 'name':
-        aValue = a.name.toLowerCase();
-        bValue = b.name.toLowerCase();
-        break;
-      default:
-        return 0;
-    }
+  // Esperar a que el usuario deje de escribir antes de consultar al servidor
+  useEffect(() => {
+    const timeout = setTimeout(() => {
+      if ((filters.businessName || '') !== searchTerm.trim()) {
+        onFiltersChange({ ...filters, businessName: searchTerm.trim() || undefined });
+      }
+    }, SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timeout);
+  }, [searchTerm, filters, onFiltersChange]);
 
-    if (sortOrder === 'asc') {
-      return aValue > bValue ? 1 : -1;
-    } else {
-      return aValue < bValue ? 1 : -1;
-    }
-  });
+  const sortBy = filters.sort;
+  const sortOrder = filters.direction;
+  const sortedTransactions = transactions || [];
 
-  const handleSort = (field: string) => {
+  const handleSort = (field: SearchSort) => {
     if (sortBy === field) {
-      setSortOrder(sortOrder === 'asc' ? 'desc' : 'asc');
+      onFiltersChange({ ...filters, direction: sortOrder === 'ASC' ? 'DESC' : 'ASC' });
     } else {
-      setSortBy(field);
-      setSortOrder('desc');
+      onFiltersChange({ ...filters, sort: field, direction: 'DESC' });
     }
   };
 
@@ -90,19 +84,18 @@ const TransactionList = ({ transactions, onEdit, onDelete, isLoading }: Transact
         <div className="list-controls">
           <input
             type="text"
-            placeholder="Buscar por nombre o comercio..."
+            placeholder="Buscar por comercio..."
             value={searchTerm}
             onChange={(e) => setSearchTerm(e.target.value)}
             className="search-input"
           />
           <select
             value={sortBy}
-            onChange={(e) => setSortBy(e.target.value)}
+            onChange={(e) => onFiltersChange({ ...filters, sort: e.target.value as SearchSort })}
             className="sort-select"
           >
-            <option value="date">Ordenar por Fecha</option>
-            <option value="amount">Ordenar por Monto</option>
-            <option value="name">Ordenar por Nombre</option>
+            <option value="DATE">Ordenar por Fecha</option>
+            <option value="AMOUNT">Ordenar por Monto</option>
           </select>
         </div>
       </div>
@@ -117,28 +110,21 @@ const TransactionList = ({ transactions, onEdit, onDelete, isLoading }: Transact
           <table className="transaction-table">
             <thead>
               <tr>
-                <th onClick={() => handleSort('name')} className="sortable">
-                  Tenpista
-                  {sortBy === 'name' && (
-                    <span className="sort-indicator">
-                      {sortOrder === 'asc' ? ' ▲' : ' ▼'}
-                    </span>
-                  )}
-                </th>
-                <th onClick={() => handleSort('amount')} className="sortable">
+                <th>Tenpista</th>
+                <th onClick={() => handleSort('AMOUNT')} className="sortable">
                   Monto
-                  {sortBy === 'amount' && (
+                  {sortBy === 'AMOUNT' && (
                     <span className="sort-indicator">
-                      {sortOrder === 'asc' ? ' ▲' : ' ▼'}
+                      {sortOrder === 'ASC' ? ' ▲' : ' ▼'}
                     </span>
                   )}
                 </th>
                 <th>Giro/Comercio</th>
-                <th onClick={() => handleSort('date')} className="sortable">
+                <th onClick={() => handleSort('DATE')} className="sortable">
                   Fecha
-                  {sortBy === 'date' && (
+                  {sortBy === 'DATE' && (
                     <span className="sort-indicator">
-                      {sortOrder === 'asc' ? ' ▲' : ' ▼'}
+                      {sortOrder === 'ASC' ? ' ▲' : ' ▼'}
                     </span>
                   )}
                 </th>
@@ -150,7 +136,7 @@ const TransactionList = ({ transactions, onEdit, onDelete, isLoading }: Transact
                 <tr key={transaction.id}>
                   <td className="name-cell">{transaction.name}</td>
                   <td className="amount-cell">
-                    {formatCurrency(transaction.amount)}
+                    {formatCurrency(transaction.amount, transaction.currency)}
                   </td>
                   <td className="business-cell">{transaction.businessName}</td>
                   <td className="date-cell">
@@ -176,11 +162,20 @@ const TransactionList = ({ transactions, onEdit, onDelete, isLoading }: Transact
               ))}
             </tbody>
           </table>
+          {hasMore && (
+            <button
+              onClick={onLoadMore}
+              className="btn btn-load-more"
+              disabled={isLoadingMore}
+            >
+              {isLoadingMore ? 'Cargando...' : 'Cargar más'}
+            </button>
+          )}
         </div>
       )}
 
       <div className="list-footer">
-        <p>Total: {sortedTransactions.length} transacción(es)</p>
+        <p>Mostrando: {sortedTransactions.length} transacción(es)</p>
         {searchTerm && (
           <p className="filter-info">
             Mostrando resultados para: "{searchTerm}"
@@ -1,6 +1,6 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { transactionService } from '../app/api';
-import { Transaction } from '../types';
+import { Transaction, TransactionSearchFilters, TransactionSearchResponse } from '../types';
 
 /**
  * Query keys para React Query
@@ -12,6 +12,8 @@ export const transactionKeys = {
   details: () => [...transactionKeys.all, 'detail'],
   detail: (id: any) => [...transactionKeys.details(), id],
   byTenpista: (name: string) => [...transactionKeys.all, 'name', name],
+  searches: () => [...transactionKeys.all, 'search'],
+  search: (filters: any) => [...transactionKeys.searches(), filters],
 };
 
 
@@ -52,6 +54,21 @@ export const useTransactionsByTenpista = (name: string) => {
   });
 };
 
+/**
+ * Hook para buscar transacciones con filtros, paginando con el cursor del servidor
+ * @param {Object} filters - Filtros de búsqueda
+ * @returns {Object} Infinite query result con fetchNextPage, hasNextPage, etc.
+ */
+export const useSearchTransactions = (filters: TransactionSearchFilters) => {
+  return useInfiniteQuery({
+    queryKey: transactionKeys.search(filters),
+    queryFn: ({ pageParam }): Promise<TransactionSearchResponse> => transactionService.search(filters, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
+    staleTime: 1000 * 60,
+  });
+};
+
 /**
  * Hook para crear una transacción
  * @returns {Object} Mutation result con mutate, isLoading, error, etc.
@@ -64,6 +81,7 @@ export const useCreateTransaction = () => {
     onSuccess: () => {
       // Invalidar queries para refrescar la lista
       queryClient.invalidateQueries({ queryKey: transactionKeys.lists() });
+      queryClient.invalidateQueries({ queryKey: transactionKeys.searches() });
     },
   });
 };
@@ -80,6 +98,7 @@ export const useUpdateTransaction = () => {
     onSuccess: (data, variables) => {
       // Invalidar queries relevantes
       queryClient.invalidateQueries({ queryKey: transactionKeys.lists() });
+      queryClient.invalidateQueries({ queryKey: transactionKeys.searches() });
       queryClient.invalidateQueries({ queryKey: transactionKeys.detail(variables.id) });
     },
   });
@@ -97,6 +116,7 @@ export const useDeleteTransaction = () => {
     onSuccess: () => {
       // Invalidar queries para refrescar la lista
       queryClient.invalidateQueries({ queryKey: transactionKeys.lists() });
+      queryClient.invalidateQueries({ queryKey: transactionKeys.searches() });
     },
   });
 };
\ No newline at end of file
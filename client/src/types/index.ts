@@ -3,6 +3,7 @@
 export interface Transaction {
     id?: number;
     amount: number ;
+    currency?: string;
     businessName: string;
     name: string;
     transactionDate: string;
@@ -16,3 +17,24 @@ export interface ErrorResponse {
     timestamp: string;
     path: string;
 }
+
+export type SearchSort = 'DATE' | 'AMOUNT';
+export type SearchDirection = 'ASC' | 'DESC';
+
+export interface TransactionSearchFilters {
+    minAmount?: number;
+    maxAmount?: number;
+    from?: string;
+    to?: string;
+    businessName?: string;
+    businessNameMatch?: 'PREFIX' | 'CONTAINS';
+    name?: string;
+    sort: SearchSort;
+    direction: SearchDirection;
+    limit?: number;
+}
+
+export interface TransactionSearchResponse {
+    items: Transaction[];
+    nextCursor: string | null;
+}
@@ -2,17 +2,15 @@ import { initialData } from "../components/TransactionForm";
 import { Transaction } from "../types";
 
 /**
- * Formatea un número como moneda en pesos chilenos
- * @param {number} amount - Monto a formatear
+ * Formatea un monto expresado en unidades mínimas de su moneda (pesos para CLP, centavos para USD)
+ * @param {number} amount - Monto en unidades mínimas
+ * @param {string} currency - Código ISO 4217, CLP por defecto
  * @returns {string} Monto formateado
  */
-export const formatCurrency = (amount: number) => {
-  return new Intl.NumberFormat('es-CL', {
-    style: 'currency',
-    currency: 'CLP',
-    minimumFractionDigits: 0,
-    maximumFractionDigits: 0,
-  }).format(amount);
+export const formatCurrency = (amount: number, currency: string = 'CLP') => {
+  const format = new Intl.NumberFormat('es-CL', { style: 'currency', currency });
+  const fractionDigits = format.resolvedOptions().maximumFractionDigits ?? 0;
+  return format.format(amount / 10 ** fractionDigits);
 };
 
 /**
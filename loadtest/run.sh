@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Levanta el servicio localmente, reproduce el tráfico y lo detiene.
+# Uso: ./run.sh [h2|postgres] [--opción=valor ...]
+#   h2:       base en memoria (empaqueta el servicio con -Ph2)
+#   postgres: contenedor postgresql de docker-compose.yml
+# Las opciones se pasan al driver (ver README.md); por defecto usa traffic/mixed.jsonl y slo.json.
+set -euo pipefail
+
+MODE="${1:-h2}"
+[[ $# -gt 0 ]] && shift
+HERE="$(cd "$(dirname "$0")" && pwd)"
+ROOT="$(dirname "$HERE")"
+PORT="${LOADTEST_PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+SERVICE_LOG="$HERE/target/service.log"
+
+case "$MODE" in
+  h2)
+    PROFILES="loadtest,h2"
+    MAVEN_PROFILE="-Ph2"
+    ;;
+  postgres)
+    PROFILES="loadtest"
+    MAVEN_PROFILE=""
+    docker compose -f "$ROOT/docker-compose.yml" up -d postgresql
+    ;;
+  *)
+    echo "Modo desconocido: $MODE (h2|postgres)" >&2
+    exit 2
+    ;;
+esac
+
+echo "Empaquetando el servicio..."
+(cd "$ROOT/service" && mvn -q -B $MAVEN_PROFILE -DskipTests package)
+JAR="$(ls "$ROOT"/service/target/transactions-*.jar | grep -v original | head -n 1)"
+
+mkdir -p "$HERE/target"
+java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$PROFILES" > "$SERVICE_LOG" 2>&1 &
+SERVICE_PID=$!
+trap 'kill $SERVICE_PID 2>/dev/null || true; wait $SERVICE_PID 2>/dev/null || true' EXIT
+
+echo "Esperando a que el servicio responda en $BASE_URL (log: $SERVICE_LOG)..."
+for _ in $(seq 1 90); do
+  if curl -fs "$BASE_URL/actuator/health" > /dev/null; then
+    break
+  fi
+  if ! kill -0 "$SERVICE_PID" 2>/dev/null; then
+    echo "El servicio terminó al iniciar; revisar $SERVICE_LOG" >&2
+    exit 2
+  fi
+  sleep 1
+done
+
+cd "$HERE"
+mvn -q -B compile exec:java -Dexec.args="--base-url=$BASE_URL --slo=slo.json --report=target/report-$MODE.json $*"
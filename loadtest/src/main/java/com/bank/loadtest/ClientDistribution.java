@@ -0,0 +1,85 @@
+package com.bank.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Reparte los requests entre clientes simulados ("cliente-0000", "cliente-0001", ...).
+ * uniform: todos con la misma probabilidad. zipf: pocos clientes concentran la mayor parte del tráfico.
+ * El cliente del request i depende solo de la semilla e i, por lo que una corrida es reproducible
+ * sin importar cuántos hilos la ejecuten.
+ */
+public final class ClientDistribution {
+    
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private final String[] clients;
+    private final double[] cumulative;
+    private final long seed;
+    
+    private ClientDistribution(int clients, double[] weights, long seed) {
+        this.clients = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            this.clients[i] = String.format(Locale.ROOT, "cliente-%04d", i);
+        }
+        this.cumulative = cumulative(weights);
+        this.seed = seed;
+    }
+    
+    public static ClientDistribution uniform(int clients, long seed) {
+        double[] weights = new double[requirePositive(clients)];
+        Arrays.fill(weights, 1.0);
+        return new ClientDistribution(clients, weights, seed);
+    }
+    
+    /**
+     * Ley de Zipf: el cliente de rango k recibe un peso proporcional a 1 / k^exponent
+     */
+    public static ClientDistribution zipf(int clients, double exponent, long seed) {
+        double[] weights = new double[requirePositive(clients)];
+        for (int k = 0; k < clients; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, exponent);
+        }
+        return new ClientDistribution(clients, weights, seed);
+    }
+    
+    /**
+     * Cliente asignado al request i-ésimo
+     */
+    public String clientFor(long index) {
+        double u = random(index).nextDouble();
+        int position = Arrays.binarySearch(cumulative, u);
+        int client = position >= 0 ? position : -position - 1;
+        return clients[Math.min(client, clients.length - 1)];
+    }
+    
+    /**
+     * Generador determinista para el request i-ésimo (semilla e índice mezclados)
+     */
+    public SplittableRandom random(long index) {
+        return new SplittableRandom(seed + index * GOLDEN_GAMMA);
+    }
+    
+    public int size() {
+        return clients.length;
+    }
+    
+    private static double[] cumulative(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / total;
+        }
+        return cumulative;
+    }
+    
+    private static int requirePositive(int clients) {
+        if (clients <= 0) {
+            throw new IllegalArgumentException("La cantidad de clientes debe ser positiva");
+        }
+        return clients;
+    }
+}
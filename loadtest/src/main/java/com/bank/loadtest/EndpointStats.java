@@ -0,0 +1,107 @@
+package com.bank.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y resultados de un endpoint. Se registra desde varios hilos sin bloqueos.
+ * Las latencias se guardan en microsegundos con tres dígitos significativos.
+ */
+public final class EndpointStats {
+    
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    /**
+     * @param status código HTTP, o un valor negativo si el request falló sin respuesta (timeout, conexión)
+     */
+    public void record(int status, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        latencies.recordValue(Math.max(micros, 0));
+        if (status == 429) {
+            rateLimited.increment();
+        } else if (status >= 400 && status < 500) {
+            clientErrors.increment();
+        } else if (status < 0 || status >= 500) {
+            errors.increment();
+        } else {
+            successes.increment();
+        }
+    }
+    
+    public String endpoint() {
+        return endpoint;
+    }
+    
+    public long count() {
+        return latencies.getTotalCount();
+    }
+    
+    public long successes() {
+        return successes.sum();
+    }
+    
+    /**
+     * 4xx distintos de 429: datos inválidos o ids inexistentes en la reproducción
+     */
+    public long clientErrors() {
+        return clientErrors.sum();
+    }
+    
+    public long rateLimited() {
+        return rateLimited.sum();
+    }
+    
+    /**
+     * 5xx, timeouts y errores de conexión
+     */
+    public long errors() {
+        return errors.sum();
+    }
+    
+    public double errorRate() {
+        long count = count();
+        return count == 0 ? 0 : (double) errors() / count;
+    }
+    
+    public double rateLimitedRate() {
+        long count = count();
+        return count == 0 ? 0 : (double) rateLimited() / count;
+    }
+    
+    public double percentileMs(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    public double maxMs() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+    
+    /**
+     * Suma de los resultados de varios endpoints
+     */
+    static EndpointStats total(String name, Iterable<EndpointStats> all) {
+        EndpointStats total = new EndpointStats(name);
+        for (EndpointStats stats : all) {
+            total.latencies.add(stats.latencies);
+            total.successes.add(stats.successes());
+            total.clientErrors.add(stats.clientErrors());
+            total.rateLimited.add(stats.rateLimited());
+            total.errors.add(stats.errors());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,171 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reproduce un {@link TrafficLog} contra el servicio con N hilos.
+ * <p>
+ * Con rate o con offsets grabados la carga es de modelo abierto: cada request tiene un momento de envío
+ * planificado y su latencia se mide desde ese momento, no desde que un hilo quedó libre. Así un servicio
+ * lento no reduce la carga que recibe ni oculta la espera en los percentiles (omisión coordinada).
+ * Sin rate ni offsets cada hilo envía apenas recibe la respuesta anterior (modelo cerrado).
+ */
+public final class LoadDriver {
+    
+    static final String CLIENT_HEADER = "X-Client-Id";
+    
+    private final LoadTestOptions options;
+    private final TrafficLog traffic;
+    private final ClientDistribution clients;
+    private final ObjectMapper mapper;
+    private final HttpClient http;
+    private final RequestTemplate template = new RequestTemplate();
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    
+    public LoadDriver(LoadTestOptions options, TrafficLog traffic, ObjectMapper mapper) {
+        this.options = options;
+        this.traffic = traffic;
+        this.clients = options.clientDistribution();
+        this.mapper = mapper;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+    }
+    
+    public LoadResult run() throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + options.warmup().toNanos();
+        long deadline = start + options.duration().toNanos();
+        
+        List<Thread> workers = new ArrayList<>(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            Thread worker = new Thread(() -> work(start, measureFrom, deadline), "load-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        long end = Math.min(System.nanoTime(), deadline);
+        double measuredSeconds = Math.max(end - measureFrom, 1) / 1e9;
+        return new LoadResult(List.copyOf(stats.values()), measuredSeconds, sent.get());
+    }
+    
+    private void work(long start, long measureFrom, long deadline) {
+        while (true) {
+            long index = sequence.getAndIncrement();
+            if (options.requests() > 0 && index >= options.requests()) {
+                return;
+            }
+            long intended = intendedStart(index, start);
+            if (intended >= deadline) {
+                return;
+            }
+            waitUntil(intended);
+            
+            RecordedRequest recorded = traffic.get(index);
+            int status = send(recorded, index);
+            sent.incrementAndGet();
+            long latency = System.nanoTime() - intended;
+            if (intended >= measureFrom) {
+                stats.computeIfAbsent(recorded.endpoint(), EndpointStats::new).record(status, latency);
+            }
+        }
+    }
+    
+    /**
+     * Momento planificado del request: por tasa fija, por offset grabado o "ahora" en modelo cerrado
+     */
+    private long intendedStart(long index, long start) {
+        if (options.rate() > 0) {
+            return start + (long) (index * 1e9 / options.rate());
+        }
+        if (options.speed() > 0 && traffic.hasOffsets()) {
+            return start + (long) (TimeUnit.MILLISECONDS.toNanos(traffic.offsetMs(index)) / options.speed());
+        }
+        return Math.max(System.nanoTime(), start);
+    }
+    
+    private int send(RecordedRequest recorded, long index) {
+        String client = clients.clientFor(index);
+        SplittableRandom random = clients.random(index);
+        String path = template.path(recorded.path(), client, index, random);
+        
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+                .timeout(options.timeout())
+                .header(CLIENT_HEADER, client)
+                .header("Accept", "application/json");
+        if (recorded.body() != null) {
+            String body = template.body(recorded.body(), client, index, random);
+            request.header("Content-Type", "application/json")
+                    .method(recorded.method(), HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(recorded.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 201 && "POST".equals(recorded.method())) {
+                rememberCreatedId(response.body());
+            }
+            return response.statusCode();
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+    
+    private void rememberCreatedId(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("id");
+            if (id != null && id.canConvertToLong()) {
+                template.remember(id.asLong());
+            }
+        } catch (IOException ignored) {
+            // Respuesta sin id: los requests con ${id} seguirán usando los ids ya conocidos
+        }
+    }
+    
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+    
+    /**
+     * Resultado de la corrida: métricas por endpoint (orden alfabético) y duración de la ventana medida
+     */
+    public record LoadResult(List<EndpointStats> endpoints, double measuredSeconds, long sent) {
+        
+        public EndpointStats total() {
+            return EndpointStats.total("TOTAL", endpoints);
+        }
+        
+        public double throughput(EndpointStats stats) {
+            return stats.count() / measuredSeconds;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opciones de la corrida, recibidas como --clave=valor
+ *
+ * @param rate         requests por segundo en modelo abierto; 0 reproduce los offsets grabados o, si no hay,
+ *                     envía tan rápido como permita la concurrencia (modelo cerrado)
+ * @param speed        multiplicador de los offsets grabados (2 = el doble de rápido)
+ * @param requests     máximo de requests; 0 = sin límite (se corta por duración)
+ * @param distribution uniform o zipf
+ */
+public record LoadTestOptions(
+        URI baseUrl,
+        Path traffic,
+        int concurrency,
+        double rate,
+        double speed,
+        long requests,
+        Duration duration,
+        Duration warmup,
+        int clients,
+        String distribution,
+        double zipfExponent,
+        long seed,
+        Duration timeout,
+        Path slo,
+        Path report) {
+    
+    private static final Set<String> KEYS = Set.of("base-url", "traffic", "concurrency", "rate", "speed",
+            "requests", "duration", "warmup", "clients", "distribution", "zipf-exponent", "seed", "timeout",
+            "slo", "report");
+    
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido (se espera --clave=valor): " + arg);
+            }
+            String key = arg.substring(2, eq);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Opción desconocida: --" + key + ". Opciones: " + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+        
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(values.getOrDefault("base-url", "http://localhost:8080")),
+                Path.of(values.getOrDefault("traffic", "traffic/mixed.jsonl")),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Double.parseDouble(values.getOrDefault("speed", "1")),
+                Long.parseLong(values.getOrDefault("requests", "0")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "0s")),
+                Integer.parseInt(values.getOrDefault("clients", "1000")),
+                values.getOrDefault("distribution", "zipf").toLowerCase(Locale.ROOT),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.1")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                duration(values.getOrDefault("timeout", "10s")),
+                values.containsKey("slo") ? Path.of(values.get("slo")) : null,
+                values.containsKey("report") ? Path.of(values.get("report")) : null);
+        options.validate();
+        return options;
+    }
+    
+    public ClientDistribution clientDistribution() {
+        return switch (distribution) {
+            case "uniform" -> ClientDistribution.uniform(clients, seed);
+            case "zipf" -> ClientDistribution.zipf(clients, zipfExponent, seed);
+            default -> throw new IllegalArgumentException("Distribución desconocida: " + distribution);
+        };
+    }
+    
+    private void validate() {
+        if (concurrency <= 0 || rate < 0 || speed < 0 || requests < 0) {
+            throw new IllegalArgumentException("concurrency debe ser positiva; rate, speed y requests no negativos");
+        }
+        if (!warmup.minus(duration).isNegative()) {
+            throw new IllegalArgumentException("El warmup debe ser menor que la duración");
+        }
+        clientDistribution();
+    }
+    
+    /**
+     * Acepta 500ms, 30s, 5m o un número de segundos
+     */
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reporte de la corrida: tabla por endpoint en consola y, opcionalmente, un JSON para comparar corridas en CI
+ */
+public final class LoadTestReport {
+    
+    private static final String ROW = "%-42s %8s %9s %8s %8s %8s %8s %8s %6s %6s %6s%n";
+    
+    private final LoadDriver.LoadResult result;
+    private final List<String> violations;
+    
+    public LoadTestReport(LoadDriver.LoadResult result, List<String> violations) {
+        this.result = result;
+        this.violations = List.copyOf(violations);
+    }
+    
+    public boolean passed() {
+        return violations.isEmpty();
+    }
+    
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Ventana medida: %.1f s, requests enviados: %d%n%n",
+                result.measuredSeconds(), result.sent());
+        out.printf(Locale.ROOT, ROW, "Endpoint", "Count", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms",
+                "max ms", "4xx", "429", "Err");
+        for (EndpointStats stats : rows()) {
+            out.printf(Locale.ROOT, ROW, stats.endpoint(), stats.count(),
+                    format(result.throughput(stats)), format(stats.percentileMs(50)),
+                    format(stats.percentileMs(90)), format(stats.percentileMs(95)),
+                    format(stats.percentileMs(99)), format(stats.maxMs()),
+                    stats.clientErrors(), stats.rateLimited(), stats.errors());
+        }
+        out.println();
+        if (passed()) {
+            out.println("SLO: OK");
+        } else {
+            out.println("SLO: FALLA");
+            violations.forEach(violation -> out.println("  - " + violation));
+        }
+    }
+    
+    public void write(Path file, ObjectMapper mapper) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("measuredSeconds", result.measuredSeconds());
+        root.put("sent", result.sent());
+        root.put("passed", passed());
+        ArrayNode endpoints = root.putArray("endpoints");
+        for (EndpointStats stats : rows()) {
+            endpoints.addObject()
+                    .put("endpoint", stats.endpoint())
+                    .put("count", stats.count())
+                    .put("throughput", result.throughput(stats))
+                    .put("p50Ms", stats.percentileMs(50))
+                    .put("p90Ms", stats.percentileMs(90))
+                    .put("p95Ms", stats.percentileMs(95))
+                    .put("p99Ms", stats.percentileMs(99))
+                    .put("p999Ms", stats.percentileMs(99.9))
+                    .put("maxMs", stats.maxMs())
+                    .put("successes", stats.successes())
+                    .put("clientErrors", stats.clientErrors())
+                    .put("rateLimited", stats.rateLimited())
+                    .put("errors", stats.errors());
+        }
+        ArrayNode failures = root.putArray("violations");
+        violations.forEach(failures::add);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir el reporte en " + file, ex);
+        }
+    }
+    
+    private List<EndpointStats> rows() {
+        List<EndpointStats> rows = new ArrayList<>(result.endpoints());
+        rows.add(result.total());
+        return rows;
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
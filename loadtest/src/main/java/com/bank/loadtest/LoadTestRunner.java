@@ -0,0 +1,56 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+/**
+ * Punto de entrada del driver de carga.
+ * Código de salida: 0 si se cumplen los SLO, 1 si alguno falla, 2 si las opciones o el tráfico son inválidos.
+ */
+public final class LoadTestRunner {
+    
+    private LoadTestRunner() {
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        LoadTestOptions options;
+        TrafficLog traffic;
+        SloThresholds slo;
+        try {
+            options = LoadTestOptions.parse(args);
+            traffic = TrafficLog.load(options.traffic(), mapper);
+            slo = options.slo() != null ? SloThresholds.load(options.slo(), mapper) : SloThresholds.none();
+        } catch (RuntimeException ex) {
+            System.err.println("Configuración inválida: " + ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        
+        System.out.printf("Reproduciendo %d requests grabados contra %s: concurrencia %d, %s, %d clientes (%s), "
+                        + "duración %s, warmup %s%n",
+                traffic.size(), options.baseUrl(), options.concurrency(), pacing(options, traffic),
+                options.clients(), options.distribution(), options.duration(), options.warmup());
+        
+        LoadDriver.LoadResult result = new LoadDriver(options, traffic, mapper).run();
+        List<String> violations = slo.evaluate(result);
+        LoadTestReport report = new LoadTestReport(result, violations);
+        report.print(System.out);
+        if (options.report() != null) {
+            report.write(options.report(), mapper);
+            System.out.println("Reporte: " + options.report().toAbsolutePath());
+        }
+        System.exit(report.passed() ? 0 : 1);
+    }
+    
+    private static String pacing(LoadTestOptions options, TrafficLog traffic) {
+        if (options.rate() > 0) {
+            return options.rate() + " req/s";
+        }
+        if (options.speed() > 0 && traffic.hasOffsets()) {
+            return "tiempos grabados x" + options.speed();
+        }
+        return "modelo cerrado";
+    }
+}
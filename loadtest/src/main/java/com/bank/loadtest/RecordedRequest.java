@@ -0,0 +1,38 @@
+package com.bank.loadtest;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Request grabado: método, ruta (con query) y cuerpo JSON opcional ya serializado.
+ * La ruta y el cuerpo admiten los marcadores ${client}, ${id} y ${seq} (ver {@link RequestTemplate}).
+ *
+ * @param offsetMs momento del request relativo al inicio de la grabación, o null si no se grabó
+ * @param endpoint nombre con el que se agrupan las métricas, p. ej. "GET /api/transaction/{id}"
+ */
+public record RecordedRequest(String method, String path, String body, Long offsetMs, String endpoint) {
+    
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    
+    public RecordedRequest {
+        if (method == null || path == null || !path.startsWith("/")) {
+            throw new IllegalArgumentException("Cada request necesita method y una ruta que empiece con /");
+        }
+        method = method.toUpperCase(Locale.ROOT);
+        if (endpoint == null) {
+            endpoint = endpointOf(method, path);
+        }
+    }
+    
+    /**
+     * Agrupa las rutas concretas por plantilla: sin query, ids numéricos como {id} y marcadores como {nombre}
+     */
+    static String endpointOf(String method, String path) {
+        int query = path.indexOf('?');
+        String template = query >= 0 ? path.substring(0, query) : path;
+        template = PLACEHOLDER.matcher(template).replaceAll("{$1}");
+        template = NUMERIC_SEGMENT.matcher(template).replaceAll("/{id}");
+        return method + " " + template;
+    }
+}
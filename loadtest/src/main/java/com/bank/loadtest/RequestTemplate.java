@@ -0,0 +1,79 @@
+package com.bank.loadtest;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reemplaza los marcadores de los requests grabados:
+ * <ul>
+ *   <li>${client}: cliente simulado del request, que también viaja en X-Client-Id</li>
+ *   <li>${id}: id de una transacción creada durante la corrida (o {@link #FALLBACK_ID} si aún no hay)</li>
+ *   <li>${seq}: número de request dentro de la corrida</li>
+ * </ul>
+ * En el cuerpo, un string que es exactamente "${id}" o "${seq}" se reemplaza por el número sin comillas.
+ */
+public final class RequestTemplate {
+    
+    static final long FALLBACK_ID = 1;
+    
+    private static final int ID_POOL_SIZE = 4096;
+    private static final Pattern NUMERIC_STRING = Pattern.compile("\"\\$\\{(id|seq)}\"");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+    
+    private final AtomicLongArray createdIds = new AtomicLongArray(ID_POOL_SIZE);
+    private final AtomicLong createdCount = new AtomicLong();
+    
+    /**
+     * Registra el id devuelto por un POST para que los requests siguientes lo usen
+     */
+    public void remember(long id) {
+        long slot = createdCount.getAndIncrement();
+        createdIds.set((int) (slot % ID_POOL_SIZE), id);
+    }
+    
+    public String path(String template, String client, long seq, SplittableRandom random) {
+        return resolve(template, client, seq, random);
+    }
+    
+    public String body(String template, String client, long seq, SplittableRandom random) {
+        Matcher numeric = NUMERIC_STRING.matcher(template);
+        StringBuilder out = new StringBuilder(template.length());
+        while (numeric.find()) {
+            String value = "id".equals(numeric.group(1)) ? String.valueOf(pickId(random)) : String.valueOf(seq);
+            numeric.appendReplacement(out, value);
+        }
+        numeric.appendTail(out);
+        return resolve(out.toString(), client, seq, random);
+    }
+    
+    private String resolve(String template, String client, long seq, SplittableRandom random) {
+        if (template.indexOf('$') < 0) {
+            return template;
+        }
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder out = new StringBuilder(template.length() + 16);
+        while (matcher.find()) {
+            String value = switch (matcher.group(1)) {
+                case "client" -> client;
+                case "id" -> String.valueOf(pickId(random));
+                case "seq" -> String.valueOf(seq);
+                default -> throw new IllegalArgumentException("Marcador desconocido: " + matcher.group());
+            };
+            matcher.appendReplacement(out, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+    
+    private long pickId(SplittableRandom random) {
+        long created = Math.min(createdCount.get(), ID_POOL_SIZE);
+        if (created == 0) {
+            return FALLBACK_ID;
+        }
+        long id = createdIds.get(random.nextInt((int) created));
+        return id != 0 ? id : FALLBACK_ID;
+    }
+}
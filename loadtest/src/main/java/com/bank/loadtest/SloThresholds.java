@@ -0,0 +1,118 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Umbrales de SLO que deciden si la corrida pasa. Se leen de un JSON como:
+ * <pre>
+ * {
+ *   "defaults": { "p95Ms": 150, "p99Ms": 400, "maxErrorRate": 0.01 },
+ *   "endpoints": { "GET /api/transaction/search": { "p99Ms": 300 }, "TOTAL": { "p50Ms": 50 } },
+ *   "minThroughput": 100
+ * }
+ * </pre>
+ * Los umbrales de cada endpoint completan los de defaults. "TOTAL" aplica al agregado de todos los endpoints
+ * y minThroughput (requests por segundo) también se mide sobre el total.
+ */
+public record SloThresholds(Slo defaults, Map<String, Slo> endpoints, Double minThroughput) {
+    
+    public static final String TOTAL = "TOTAL";
+    
+    public SloThresholds {
+        defaults = defaults != null ? defaults : Slo.NONE;
+        endpoints = endpoints != null ? Map.copyOf(endpoints) : Map.of();
+    }
+    
+    public static SloThresholds none() {
+        return new SloThresholds(null, null, null);
+    }
+    
+    public static SloThresholds load(Path file, ObjectMapper mapper) {
+        try {
+            return mapper.readValue(file.toFile(), SloThresholds.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudieron leer los SLO desde " + file, ex);
+        }
+    }
+    
+    /**
+     * Devuelve las violaciones encontradas; una lista vacía significa que la corrida pasa
+     */
+    public List<String> evaluate(LoadDriver.LoadResult result) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats stats : result.endpoints()) {
+            check(stats, endpoints.getOrDefault(stats.endpoint(), Slo.NONE).orElse(defaults), violations);
+        }
+        for (String endpoint : endpoints.keySet()) {
+            boolean measured = TOTAL.equals(endpoint)
+                    || result.endpoints().stream().anyMatch(stats -> stats.endpoint().equals(endpoint));
+            if (!measured) {
+                violations.add(endpoint + ": sin requests medidos");
+            }
+        }
+        
+        EndpointStats total = result.total();
+        check(total, endpoints.getOrDefault(TOTAL, Slo.NONE), violations);
+        if (minThroughput != null && result.throughput(total) < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "%s: throughput %.1f req/s < %.1f req/s",
+                    TOTAL, result.throughput(total), minThroughput));
+        }
+        return violations;
+    }
+    
+    private static void check(EndpointStats stats, Slo slo, List<String> violations) {
+        if (stats.count() == 0) {
+            return;
+        }
+        latency(stats, "p50", 50.0, slo.p50Ms(), violations);
+        latency(stats, "p95", 95.0, slo.p95Ms(), violations);
+        latency(stats, "p99", 99.0, slo.p99Ms(), violations);
+        if (slo.maxErrorRate() != null && stats.errorRate() > slo.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "%s: tasa de errores %.2f%% > %.2f%%",
+                    stats.endpoint(), stats.errorRate() * 100, slo.maxErrorRate() * 100));
+        }
+        if (slo.maxRateLimitedRate() != null && stats.rateLimitedRate() > slo.maxRateLimitedRate()) {
+            violations.add(String.format(Locale.ROOT, "%s: tasa de 429 %.2f%% > %.2f%%",
+                    stats.endpoint(), stats.rateLimitedRate() * 100, slo.maxRateLimitedRate() * 100));
+        }
+    }
+    
+    private static void latency(EndpointStats stats, String label, double percentile, Double limitMs,
+                                List<String> violations) {
+        if (limitMs != null && stats.percentileMs(percentile) > limitMs) {
+            violations.add(String.format(Locale.ROOT, "%s: %s %.1f ms > %.1f ms",
+                    stats.endpoint(), label, stats.percentileMs(percentile), limitMs));
+        }
+    }
+    
+    /**
+     * Umbrales de un endpoint; null significa sin umbral
+     *
+     * @param maxErrorRate       fracción máxima de 5xx, timeouts y errores de conexión (0.01 = 1%)
+     * @param maxRateLimitedRate fracción máxima de respuestas 429
+     */
+    public record Slo(Double p50Ms, Double p95Ms, Double p99Ms, Double maxErrorRate, Double maxRateLimitedRate) {
+        
+        static final Slo NONE = new Slo(null, null, null, null, null);
+        
+        /**
+         * Completa los umbrales ausentes con los de fallback
+         */
+        Slo orElse(Slo fallback) {
+            return new Slo(
+                    p50Ms != null ? p50Ms : fallback.p50Ms,
+                    p95Ms != null ? p95Ms : fallback.p95Ms,
+                    p99Ms != null ? p99Ms : fallback.p99Ms,
+                    maxErrorRate != null ? maxErrorRate : fallback.maxErrorRate,
+                    maxRateLimitedRate != null ? maxRateLimitedRate : fallback.maxRateLimitedRate);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flujo de requests grabado en formato JSONL: un objeto por línea con method, path
+ * y opcionalmente body, offsetMs y endpoint. Las líneas vacías y las que empiezan con # se ignoran.
+ */
+public final class TrafficLog {
+    
+    private final List<RecordedRequest> requests;
+    private final long spanMs;
+    
+    private TrafficLog(List<RecordedRequest> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("El archivo de tráfico no contiene requests");
+        }
+        this.requests = List.copyOf(requests);
+        this.spanMs = computeSpan(this.requests);
+    }
+    
+    public static TrafficLog load(Path file, ObjectMapper mapper) {
+        try {
+            return parse(Files.readAllLines(file, StandardCharsets.UTF_8), mapper);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer el tráfico desde " + file, ex);
+        }
+    }
+    
+    static TrafficLog parse(List<String> lines, ObjectMapper mapper) {
+        List<RecordedRequest> requests = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                JsonNode node = mapper.readTree(line);
+                requests.add(new RecordedRequest(
+                        text(node, "method"),
+                        text(node, "path"),
+                        node.hasNonNull("body") ? node.get("body").toString() : null,
+                        node.hasNonNull("offsetMs") ? node.get("offsetMs").asLong() : null,
+                        text(node, "endpoint")));
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Línea " + (i + 1) + " inválida: " + ex.getMessage(), ex);
+            }
+        }
+        return new TrafficLog(requests);
+    }
+    
+    /**
+     * El request i-ésimo del flujo, repitiendo la grabación en ciclos
+     */
+    public RecordedRequest get(long index) {
+        return requests.get((int) (index % requests.size()));
+    }
+    
+    public int size() {
+        return requests.size();
+    }
+    
+    /**
+     * Si todos los requests traen offsetMs se puede reproducir con los tiempos grabados
+     */
+    public boolean hasOffsets() {
+        return requests.stream().allMatch(request -> request.offsetMs() != null);
+    }
+    
+    /**
+     * Momento de envío del request i-ésimo según la grabación; cada ciclo empieza donde terminó el anterior
+     */
+    public long offsetMs(long index) {
+        long cycle = index / requests.size();
+        return cycle * spanMs + get(index).offsetMs();
+    }
+    
+    /**
+     * Duración de un ciclo: el último offset más el intervalo medio entre requests
+     */
+    private static long computeSpan(List<RecordedRequest> requests) {
+        RecordedRequest last = requests.get(requests.size() - 1);
+        if (last.offsetMs() == null) {
+            return 0;
+        }
+        long meanGap = requests.size() > 1 ? last.offsetMs() / (requests.size() - 1) : 1;
+        return last.offsetMs() + Math.max(meanGap, 1);
+    }
+    
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+}
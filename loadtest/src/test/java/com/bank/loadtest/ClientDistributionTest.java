@@ -0,0 +1,54 @@
+package com.bank.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el reparto de requests entre clientes simulados
+ */
+@DisplayName("Client Distribution Tests")
+class ClientDistributionTest {
+    
+    private static final int REQUESTS = 20_000;
+    
+    @Test
+    @DisplayName("Debe asignar el mismo cliente a cada request con la misma semilla")
+    void testReproducible() {
+        ClientDistribution first = ClientDistribution.zipf(100, 1.1, 7);
+        ClientDistribution second = ClientDistribution.zipf(100, 1.1, 7);
+        ClientDistribution otherSeed = ClientDistribution.zipf(100, 1.1, 8);
+        
+        boolean differs = false;
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(first.clientFor(i), second.clientFor(i));
+            differs |= !first.clientFor(i).equals(otherSeed.clientFor(i));
+        }
+        assertTrue(differs);
+    }
+    
+    @Test
+    @DisplayName("Zipf debe concentrar el tráfico en los primeros clientes y uniform repartirlo")
+    void testSkew() {
+        Map<String, Integer> zipf = count(ClientDistribution.zipf(100, 1.1, 42));
+        Map<String, Integer> uniform = count(ClientDistribution.uniform(100, 42));
+        
+        // Con s=1.1 y 100 clientes el primero recibe cerca del 20% del tráfico
+        assertTrue(zipf.get("cliente-0000") > REQUESTS * 0.15, "zipf: " + zipf.get("cliente-0000"));
+        assertTrue(zipf.get("cliente-0000") > 5 * zipf.getOrDefault("cliente-0009", 0));
+        assertEquals(100, uniform.size());
+        uniform.values().forEach(count -> assertTrue(Math.abs(count - REQUESTS / 100) < REQUESTS / 100 / 2));
+    }
+    
+    private static Map<String, Integer> count(ClientDistribution distribution) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long i = 0; i < REQUESTS; i++) {
+            counts.merge(distribution.clientFor(i), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del driver contra un servidor HTTP local que simula la API
+ */
+@DisplayName("Load Driver Tests")
+class LoadDriverTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger nextId = new AtomicInteger(100);
+    private final Set<String> clientIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> requestedPaths = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/transaction", exchange -> {
+            clientIds.add(exchange.getRequestHeaders().getFirst(LoadDriver.CLIENT_HEADER));
+            requestedPaths.add(exchange.getRequestURI().getPath());
+            exchange.getRequestBody().readAllBytes();
+            int status;
+            String body;
+            if ("POST".equals(exchange.getRequestMethod())) {
+                status = 201;
+                body = "{\"id\":" + nextId.getAndIncrement() + "}";
+            } else if (exchange.getRequestURI().getPath().endsWith("/falla")) {
+                status = 500;
+                body = "{}";
+            } else {
+                status = 200;
+                body = "[]";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Debe reproducir el tráfico a la tasa pedida, reutilizar ids creados y clasificar respuestas")
+    void testReplay() throws Exception {
+        // Given
+        TrafficLog traffic = TrafficLog.parse(List.of(
+                "{\"method\":\"POST\",\"path\":\"/api/transaction\",\"body\":{\"name\":\"${client}\"}}",
+                "{\"method\":\"GET\",\"path\":\"/api/transaction/${id}\"}",
+                "{\"method\":\"GET\",\"path\":\"/api/transaction/falla\"}"), mapper);
+        LoadTestOptions options = LoadTestOptions.parse(
+                "--base-url=http://localhost:" + server.getAddress().getPort(),
+                "--concurrency=4", "--rate=200", "--requests=300", "--duration=30s",
+                "--clients=10", "--distribution=uniform");
+        
+        // When
+        long start = System.nanoTime();
+        LoadDriver.LoadResult result = new LoadDriver(options, traffic, mapper).run();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        
+        // Then: 300 requests a 200 req/s toman cerca de 1.5 s
+        assertEquals(300, result.sent());
+        assertTrue(elapsedSeconds > 1.3, "la tasa no se respetó: " + elapsedSeconds + " s");
+        Map<String, EndpointStats> byEndpoint = result.endpoints().stream()
+                .collect(Collectors.toMap(EndpointStats::endpoint, Function.identity()));
+        assertEquals(100, byEndpoint.get("POST /api/transaction").successes());
+        assertEquals(100, byEndpoint.get("GET /api/transaction/{id}").successes());
+        assertEquals(100, byEndpoint.get("GET /api/transaction/falla").errors());
+        assertEquals(300, result.total().count());
+        assertEquals(10, clientIds.size());
+        assertTrue(requestedPaths.stream().anyMatch(path -> path.matches("/api/transaction/1\\d\\d")),
+                "no se usaron ids creados: " + requestedPaths);
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la evaluación de SLO
+ */
+@DisplayName("SLO Thresholds Tests")
+class SloThresholdsTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    @Test
+    @DisplayName("Debe aplicar defaults, umbrales por endpoint y throughput mínimo")
+    void testEvaluate(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("slo.json");
+        Files.writeString(file, """
+                {
+                  "defaults": { "p99Ms": 100, "maxErrorRate": 0.05 },
+                  "endpoints": {
+                    "GET /lento": { "p99Ms": 1000 },
+                    "GET /inexistente": { "p99Ms": 10 },
+                    "TOTAL": { "maxRateLimitedRate": 0.001 }
+                  },
+                  "minThroughput": 1000
+                }
+                """);
+        SloThresholds slo = SloThresholds.load(file, mapper);
+        
+        EndpointStats fast = stats("GET /rapido", 100, 5, 200);
+        EndpointStats slow = stats("GET /lento", 100, 500, 200);
+        EndpointStats failing = stats("POST /falla", 90, 5, 200);
+        for (int i = 0; i < 10; i++) {
+            failing.record(503, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        fast.record(429, TimeUnit.MILLISECONDS.toNanos(1));
+        
+        // When
+        List<String> violations = slo.evaluate(new LoadDriver.LoadResult(List.of(fast, failing, slow), 1.0, 301));
+        
+        // Then
+        assertEquals(4, violations.size(), violations.toString());
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("POST /falla: tasa de errores 10.00%")));
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("GET /inexistente: sin requests")));
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("TOTAL: throughput 301.0")));
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("TOTAL: tasa de 429")));
+    }
+    
+    @Test
+    @DisplayName("Sin SLO la corrida siempre pasa")
+    void testNone() {
+        EndpointStats stats = stats("GET /a", 10, 10_000, 500);
+        assertTrue(SloThresholds.none().evaluate(new LoadDriver.LoadResult(List.of(stats), 1.0, 10)).isEmpty());
+    }
+    
+    private static EndpointStats stats(String endpoint, int count, long latencyMs, int status) {
+        EndpointStats stats = new EndpointStats(endpoint);
+        for (int i = 0; i < count; i++) {
+            stats.record(status, TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        }
+        return stats;
+    }
+}
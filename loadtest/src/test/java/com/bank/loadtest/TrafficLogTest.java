@@ -0,0 +1,87 @@
+package com.bank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la lectura del tráfico grabado y el reemplazo de marcadores
+ */
+@DisplayName("Traffic Log Tests")
+class TrafficLogTest {
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    @Test
+    @DisplayName("Debe leer JSONL ignorando comentarios y agrupar rutas por plantilla")
+    void testParseAndEndpoints() {
+        // Given
+        List<String> lines = List.of(
+                "# comentario",
+                "",
+                "{\"method\":\"get\",\"path\":\"/api/transaction/search?name=${client}&limit=20\"}",
+                "{\"method\":\"GET\",\"path\":\"/api/transaction/42\"}",
+                "{\"method\":\"GET\",\"path\":\"/api/transaction/user/${client}\"}",
+                "{\"method\":\"POST\",\"path\":\"/api/transaction\",\"body\":{\"amount\":1},\"endpoint\":\"alta\"}");
+        
+        // When
+        TrafficLog traffic = TrafficLog.parse(lines, mapper);
+        
+        // Then
+        assertEquals(4, traffic.size());
+        assertEquals("GET /api/transaction/search", traffic.get(0).endpoint());
+        assertEquals("GET /api/transaction/{id}", traffic.get(1).endpoint());
+        assertEquals("GET /api/transaction/user/{client}", traffic.get(2).endpoint());
+        assertEquals("alta", traffic.get(3).endpoint());
+        assertEquals("{\"amount\":1}", traffic.get(3).body());
+        assertSame(traffic.get(0), traffic.get(4));
+        assertFalse(traffic.hasOffsets());
+    }
+    
+    @Test
+    @DisplayName("Debe repetir los offsets grabados en ciclos consecutivos")
+    void testOffsetsCycle() {
+        TrafficLog traffic = TrafficLog.parse(List.of(
+                "{\"method\":\"GET\",\"path\":\"/a\",\"offsetMs\":0}",
+                "{\"method\":\"GET\",\"path\":\"/b\",\"offsetMs\":100}",
+                "{\"method\":\"GET\",\"path\":\"/c\",\"offsetMs\":200}"), mapper);
+        
+        assertTrue(traffic.hasOffsets());
+        assertEquals(200, traffic.offsetMs(2));
+        assertEquals(300, traffic.offsetMs(3));
+        assertEquals(500, traffic.offsetMs(5));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar líneas inválidas indicando el número de línea")
+    void testInvalidLine() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TrafficLog.parse(List.of("{\"method\":\"GET\",\"path\":\"/a\"}", "{\"path\":\"/b\"}"), mapper));
+        assertTrue(ex.getMessage().startsWith("Línea 2"));
+    }
+    
+    @Test
+    @DisplayName("Debe reemplazar marcadores en ruta y cuerpo, con ${id} numérico en el JSON")
+    void testTemplate() {
+        // Given
+        RequestTemplate template = new RequestTemplate();
+        SplittableRandom random = new SplittableRandom(1);
+        
+        // When
+        String before = template.path("/api/transaction/${id}", "cliente-0001", 7, random);
+        template.remember(99);
+        String path = template.path("/api/transaction/user/${client}?seq=${seq}", "cliente-0001", 7, random);
+        String body = template.body("{\"ids\":[\"${id}\"],\"name\":\"${client}\",\"amount\":\"${seq}\"}",
+                "cliente-0001", 7, random);
+        
+        // Then
+        assertEquals("/api/transaction/" + RequestTemplate.FALLBACK_ID, before);
+        assertEquals("/api/transaction/user/cliente-0001?seq=7", path);
+        assertEquals("{\"ids\":[99],\"name\":\"cliente-0001\",\"amount\":7}", body);
+    }
+}
@@ -0,0 +1,78 @@
+#!/usr/bin/env sh
+# Compara tiempo de arranque y memoria residente (RSS) entre los modos JVM, CDS y nativo.
+#
+# Uso (desde service/):
+#   mvn clean package -DskipTests            && scripts/startup-benchmark.sh jvm
+#   mvn clean package -Pcds -DskipTests      && scripts/startup-benchmark.sh cds
+#   mvn -Pnative native:compile -DskipTests  && scripts/startup-benchmark.sh native
+#
+# Variables: RUNS (default 5), PORT (default 8080), JAVA_OPTS, DB_* como en application.properties.
+# NO_DB=1 arranca sin conectarse a PostgreSQL (útil para medir solo el arranque del contexto).
+
+set -eu
+
+MODE="${1:-jvm}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:--Xms256m -Xmx512m}"
+JAR="target/transactions-1.0.0.jar"
+CDS_ARCHIVE="target/application.jsa"
+
+APP_ARGS="--server.port=${PORT}"
+if [ "${NO_DB:-0}" = "1" ]; then
+    APP_ARGS="${APP_ARGS} --spring.jpa.hibernate.ddl-auto=none --spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false"
+fi
+
+case "$MODE" in
+    jvm)
+        CMD="java ${JAVA_OPTS} -jar ${JAR}"
+        ;;
+    cds)
+        if [ ! -f "$CDS_ARCHIVE" ]; then
+            echo "Generando archivo CDS con una ejecución de entrenamiento..."
+            java -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+                -jar "$JAR" $APP_ARGS > target/cds-training.log 2>&1 || true
+        fi
+        CMD="java ${JAVA_OPTS} -XX:SharedArchiveFile=${CDS_ARCHIVE} -Dspring.aot.enabled=true -jar ${JAR}"
+        ;;
+    native)
+        CMD="target/transactions"
+        ;;
+    *)
+        echo "Modo desconocido: $MODE (jvm | cds | native)" >&2
+        exit 1
+        ;;
+esac
+
+now_ms() {
+    date +%s%3N
+}
+
+total_ms=0
+total_rss=0
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    start=$(now_ms)
+    $CMD $APP_ARGS > "target/startup-${MODE}-${i}.log" 2>&1 &
+    pid=$!
+    
+    until curl -s -o /dev/null "http://localhost:${PORT}/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "La aplicación terminó antes de arrancar; ver target/startup-${MODE}-${i}.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+    
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    
+    echo "run ${i}: ${elapsed} ms, RSS $(( rss_kb / 1024 )) MB"
+    total_ms=$(( total_ms + elapsed ))
+    total_rss=$(( total_rss + rss_kb ))
+    i=$(( i + 1 ))
+done
+
+echo "${MODE}: promedio $(( total_ms / RUNS )) ms hasta el primer request, RSS $(( total_rss / RUNS / 1024 )) MB"
@@ -0,0 +1,110 @@
+package com.bank.transactions.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el rate limiting con un bucket de bucket4j por cliente (la implementación anterior del
+ * interceptor) contra {@link StripedTokenBuckets}: throughput de una decisión por request con 8
+ * hilos y clientes al azar, y heap retenido por cliente, que se imprime al preparar cada fork.
+ * <p>
+ * {@code requestsPerMinute=3} es la política real (casi todas las decisiones rechazan);
+ * {@code 1000000} fuerza el camino que consume tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+@Threads(8)
+public class RateLimitBenchmark {
+    
+    @Param({"bucket4j", "striped"})
+    private String engine;
+    
+    @Param({"1000", "200000"})
+    private int clients;
+    
+    @Param({"3", "1000000"})
+    private long requestsPerMinute;
+    
+    private String[] clientIds;
+    private RateLimiter limiter;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "10." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff);
+        }
+        long before = usedHeap();
+        limiter = engine.equals("bucket4j") ? bucket4j(requestsPerMinute) : striped(requestsPerMinute);
+        for (String clientId : clientIds) {
+            limiter.tryConsume(clientId);
+        }
+        long after = usedHeap();
+        System.out.printf("%n%s: %d bytes de heap por cliente con %d clientes%n",
+                engine, (after - before) / clients, clients);
+    }
+    
+    @Benchmark
+    public long tryConsume() {
+        return limiter.tryConsume(clientIds[ThreadLocalRandom.current().nextInt(clientIds.length)]);
+    }
+    
+    /**
+     * Misma decisión que el interceptor: consumir y leer los tokens restantes para el header
+     */
+    private static RateLimiter bucket4j(long requestsPerMinute) {
+        Map<String, Bucket> cache = new ConcurrentHashMap<>();
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(requestsPerMinute)
+                .refillIntervally(requestsPerMinute, Duration.ofMinutes(1))
+                .build();
+        return clientId -> {
+            Bucket bucket = cache.computeIfAbsent(clientId, k -> Bucket.builder().addLimit(limit).build());
+            return bucket.tryConsume(1) ? bucket.getAvailableTokens() : StripedTokenBuckets.REJECTED;
+        };
+    }
+    
+    private static RateLimiter striped(long requestsPerMinute) {
+        RateLimitProperties properties = new RateLimitProperties();
+        StripedTokenBuckets buckets = new StripedTokenBuckets(requestsPerMinute, Duration.ofMinutes(1).toMillis(),
+                properties.getStripes(), properties.getStripeCapacity());
+        return buckets::tryConsume;
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    @FunctionalInterface
+    private interface RateLimiter {
+        
+        long tryConsume(String clientId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.transactions.velocity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de evaluar y contar un alta en {@link VelocityEngine} con dos reglas (cantidad en 1 minuto
+ * y monto en 1 hora) y Tenpistas al azar que ya tienen contadores. Los topes son altos para medir
+ * siempre el camino que acepta. {@link #lookupBaseline()} mide solo encontrar al Tenpista.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VelocityBenchmark {
+    
+    @Param({"1000", "100000"})
+    private int clients;
+    
+    private String[] names;
+    private VelocityEngine engine;
+    private Map<String, long[]> baseline;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        VelocityProperties properties = new VelocityProperties();
+        properties.setEnabled(true);
+        properties.setMaxClients(clients);
+        properties.getRules().add(rule("rafaga", Duration.ofMinutes(1), Long.MAX_VALUE - 1, null, null));
+        properties.getRules().add(rule("monto-hora", Duration.ofHours(1), null, Long.MAX_VALUE / 2, "CLP"));
+        engine = new VelocityEngine(properties, new SimpleMeterRegistry());
+        names = new String[clients];
+        baseline = new ConcurrentHashMap<>();
+        for (int i = 0; i < clients; i++) {
+            names[i] = "Tenpista " + i;
+            engine.tryAcquire(names[i], "CLP", 1000L);
+            baseline.put(names[i], new long[54]);
+        }
+    }
+    
+    /**
+     * Referencia: buscar el Tenpista y leer su arreglo, sin evaluar reglas. Con muchos Tenpistas
+     * la diferencia con tryAcquire es lo que cuesta evaluar y contar.
+     */
+    @Benchmark
+    public long lookupBaseline() {
+        return baseline.get(names[ThreadLocalRandom.current().nextInt(names.length)])[0];
+    }
+    
+    @Benchmark
+    public VelocityEngine.Reservation tryAcquire() {
+        return engine.tryAcquire(names[ThreadLocalRandom.current().nextInt(names.length)], "CLP", 1000L);
+    }
+    
+    private static VelocityProperties.Rule rule(String name, Duration window, Long maxCount, Long maxAmount,
+                                                String currency) {
+        VelocityProperties.Rule rule = new VelocityProperties.Rule();
+        rule.setName(name);
+        rule.setWindow(window);
+        rule.setMaxCount(maxCount);
+        rule.setMaxAmount(maxAmount);
+        rule.setCurrency(currency);
+        return rule;
+    }
+}
@@ -2,11 +2,15 @@ package com.bank.transactions;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.bank.transactions.config.NativeRuntimeHints;
 
 /**
  * Clase principal de la aplicación Spring Boot
  */
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class TransactionsApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,89 @@
+package com.bank.transactions.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de los segmentos archivados con sus rangos de id y fecha, usados para descartar
+ * segmentos sin abrirlos. Se reescribe completo, se sincroniza y se reemplaza con un movimiento atómico.
+ */
+record ArchiveManifest(List<Entry> segments) {
+    
+    static final String FILE_NAME = "manifest.json";
+    
+    static ArchiveManifest read(Path directory, ObjectMapper objectMapper) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return new ArchiveManifest(List.of());
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), ArchiveManifest.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer el manifiesto " + file, ex);
+        }
+    }
+    
+    ArchiveManifest with(Entry entry) {
+        List<Entry> all = new ArrayList<>(segments);
+        all.add(entry);
+        return new ArchiveManifest(List.copyOf(all));
+    }
+    
+    /**
+     * Sincroniza el archivo temporal antes del movimiento y el directorio después, así al retornar
+     * el manifiesto nuevo (y la entrada del segmento que publica) sobrevive a una caída del equipo
+     */
+    void write(Path directory, ObjectMapper objectMapper) {
+        Path target = directory.resolve(FILE_NAME);
+        Path temporary = directory.resolve(FILE_NAME + ".tmp");
+        try {
+            byte[] content = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(this);
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir el manifiesto " + target, ex);
+        }
+    }
+    
+    private static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException ex) {
+            // Windows no permite abrir directorios; ahí el movimiento ya queda persistido
+        }
+    }
+    
+    /**
+     * Un segmento: archivo, shard de origen, filas, estadísticas mínimas y máximas y filas por
+     * Tenpista (null en los manifiestos escritos antes de registrarlas)
+     */
+    record Entry(String file, String shard, int rows, int minId, int maxId,
+                 LocalDateTime minDate, LocalDateTime maxDate, Instant createdAt, Map<String, Integer> clients) {
+        
+        boolean containsId(int id) {
+            return id >= minId && id <= maxId;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transactions.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del archivo de transacciones antiguas
+ */
+@Data
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+    
+    /**
+     * Activa el archivador y las lecturas desde el archivo
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Directorio local de los segmentos y del manifiesto
+     */
+    private String directory = "./archive";
+    
+    /**
+     * Antigüedad a partir de la cual una transacción se mueve al archivo
+     */
+    private Duration maxAge = Duration.ofDays(365);
+    
+    /**
+     * Filas por segmento; cada lote se lee, escribe y borra por separado
+     */
+    private int batchSize = 10_000;
+    
+    /**
+     * Espera entre pasadas del archivador
+     */
+    private Duration interval = Duration.ofHours(1);
+    
+    /**
+     * Espera antes de la primera pasada, para no competir con el arranque
+     */
+    private Duration initialDelay = Duration.ofMinutes(5);
+}
@@ -0,0 +1,355 @@
+package com.bank.transactions.archive;
+
+import com.bank.transactions.dto.TransactionDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archivo columnar comprimido con un lote de transacciones archivadas, ordenadas por id.
+ * <p>
+ * Formato: magic {@code TXA1}, filas (int), y por columna su offset (long), largo comprimido (int)
+ * y largo original (int); luego cada columna comprimida con Deflate por separado.
+ * Ids y fechas se guardan como deltas varint, los montos en zigzag varint, y moneda, comercio y
+ * Tenpista como diccionario de valores distintos más un código por fila.
+ * <p>
+ * La lectura mapea el archivo en memoria y descomprime solo las columnas necesarias: una búsqueda
+ * por Tenpista descarta el archivo con solo leer el diccionario de nombres.
+ */
+final class ArchiveSegment {
+    
+    private static final int MAGIC = 0x54584131;
+    
+    enum Column {
+        IDS,
+        AMOUNTS,
+        DATES,
+        CURRENCY_DICTIONARY,
+        CURRENCY_CODES,
+        MERCHANT_DICTIONARY,
+        MERCHANT_CODES,
+        NAME_DICTIONARY,
+        NAME_CODES
+    }
+    
+    private static final int HEADER_BYTES = 8 + Column.values().length * 16;
+    
+    private final MappedByteBuffer data;
+    private final int rows;
+    private final long[] offsets = new long[Column.values().length];
+    private final int[] compressedLengths = new int[Column.values().length];
+    private final int[] rawLengths = new int[Column.values().length];
+    
+    /**
+     * Diccionario de Tenpistas (nombre → código), cargado en la primera búsqueda por nombre
+     */
+    private volatile Map<String, Integer> names;
+    
+    private ArchiveSegment(MappedByteBuffer data) {
+        this.data = data;
+        if (data.getInt(0) != MAGIC) {
+            throw new IllegalStateException("No es un segmento de archivo de transacciones");
+        }
+        this.rows = data.getInt(4);
+        for (Column column : Column.values()) {
+            int at = 8 + column.ordinal() * 16;
+            offsets[column.ordinal()] = data.getLong(at);
+            compressedLengths[column.ordinal()] = data.getInt(at + 8);
+            rawLengths[column.ordinal()] = data.getInt(at + 12);
+        }
+    }
+    
+    /**
+     * Mapea el archivo en memoria; el mapeo sigue válido después de cerrar el canal
+     */
+    static ArchiveSegment open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ArchiveSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo abrir el segmento " + file, ex);
+        }
+    }
+    
+    /**
+     * Escribe las transacciones en un archivo nuevo y lo sincroniza con el disco
+     */
+    static void write(Path file, List<TransactionDTO> transactions) {
+        List<TransactionDTO> sorted = new ArrayList<>(transactions);
+        sorted.sort(Comparator.comparing(TransactionDTO::getId));
+        
+        Map<Column, byte[]> raw = new LinkedHashMap<>();
+        Encoder ids = new Encoder();
+        Encoder amounts = new Encoder();
+        Encoder dates = new Encoder();
+        int previousId = 0;
+        long previousMicros = 0;
+        for (TransactionDTO transaction : sorted) {
+            ids.varint(transaction.getId() - previousId);
+            previousId = transaction.getId();
+            amounts.zigzag(transaction.getAmount());
+            long micros = toMicros(transaction.getTransactionDate());
+            dates.zigzag(micros - previousMicros);
+            previousMicros = micros;
+        }
+        raw.put(Column.IDS, ids.toByteArray());
+        raw.put(Column.AMOUNTS, amounts.toByteArray());
+        raw.put(Column.DATES, dates.toByteArray());
+        dictionary(sorted.stream().map(TransactionDTO::getCurrency).toList(),
+                raw, Column.CURRENCY_DICTIONARY, Column.CURRENCY_CODES);
+        dictionary(sorted.stream().map(TransactionDTO::getBusinessName).toList(),
+                raw, Column.MERCHANT_DICTIONARY, Column.MERCHANT_CODES);
+        dictionary(sorted.stream().map(TransactionDTO::getName).toList(),
+                raw, Column.NAME_DICTIONARY, Column.NAME_CODES);
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(sorted.size());
+        List<ByteBuffer> blocks = new ArrayList<>();
+        long offset = HEADER_BYTES;
+        for (Column column : Column.values()) {
+            byte[] bytes = raw.get(column);
+            byte[] compressed = deflate(bytes);
+            header.putLong(offset).putInt(compressed.length).putInt(bytes.length);
+            blocks.add(ByteBuffer.wrap(compressed));
+            offset += compressed.length;
+        }
+        header.flip();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            for (ByteBuffer block : blocks) {
+                while (block.hasRemaining()) {
+                    channel.write(block);
+                }
+            }
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir el segmento " + file, ex);
+        }
+    }
+    
+    int rows() {
+        return rows;
+    }
+    
+    List<TransactionDTO> all() {
+        return decode(ids());
+    }
+    
+    Optional<TransactionDTO> find(int id) {
+        int[] ids = ids();
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? Optional.of(decode(ids).get(row)) : Optional.empty();
+    }
+    
+    /**
+     * Transacciones del Tenpista; si no aparece en el diccionario no se descomprime nada más
+     */
+    List<TransactionDTO> findByName(String name) {
+        Integer code = names().get(name);
+        if (code == null) {
+            return List.of();
+        }
+        List<TransactionDTO> all = decode(ids());
+        Decoder codes = new Decoder(inflate(Column.NAME_CODES));
+        List<TransactionDTO> matches = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            if (codes.varint() == code) {
+                matches.add(all.get(row));
+            }
+        }
+        return matches;
+    }
+    
+    private Map<String, Integer> names() {
+        Map<String, Integer> loaded = names;
+        if (loaded == null) {
+            List<String> dictionary = readDictionary(Column.NAME_DICTIONARY);
+            loaded = new HashMap<>(dictionary.size() * 2);
+            for (int i = 0; i < dictionary.size(); i++) {
+                loaded.put(dictionary.get(i), i);
+            }
+            names = loaded;
+        }
+        return loaded;
+    }
+    
+    private int[] ids() {
+        Decoder decoder = new Decoder(inflate(Column.IDS));
+        int[] ids = new int[rows];
+        int previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += (int) decoder.varint();
+            ids[row] = previous;
+        }
+        return ids;
+    }
+    
+    private List<TransactionDTO> decode(int[] ids) {
+        Decoder amounts = new Decoder(inflate(Column.AMOUNTS));
+        Decoder dates = new Decoder(inflate(Column.DATES));
+        List<String> currencies = readDictionary(Column.CURRENCY_DICTIONARY);
+        Decoder currencyCodes = new Decoder(inflate(Column.CURRENCY_CODES));
+        List<String> merchants = readDictionary(Column.MERCHANT_DICTIONARY);
+        Decoder merchantCodes = new Decoder(inflate(Column.MERCHANT_CODES));
+        List<String> clients = readDictionary(Column.NAME_DICTIONARY);
+        Decoder nameCodes = new Decoder(inflate(Column.NAME_CODES));
+        
+        List<TransactionDTO> transactions = new ArrayList<>(rows);
+        long micros = 0;
+        for (int row = 0; row < rows; row++) {
+            micros += dates.zigzag();
+            transactions.add(new TransactionDTO(ids[row], amounts.zigzag(),
+                    currencies.get((int) currencyCodes.varint()),
+                    merchants.get((int) merchantCodes.varint()),
+                    clients.get((int) nameCodes.varint()),
+                    fromMicros(micros)));
+        }
+        return transactions;
+    }
+    
+    private List<String> readDictionary(Column column) {
+        Decoder decoder = new Decoder(inflate(column));
+        int size = (int) decoder.varint();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(decoder.string());
+        }
+        return values;
+    }
+    
+    private byte[] inflate(Column column) {
+        int index = column.ordinal();
+        ByteBuffer block = data.slice((int) offsets[index], compressedLengths[index]);
+        byte[] raw = new byte[rawLengths[index]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Segmento corrupto en la columna " + column, ex);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static void dictionary(List<String> values, Map<Column, byte[]> raw, Column dictionaryColumn,
+                                   Column codesColumn) {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        Encoder rowCodes = new Encoder();
+        for (String value : values) {
+            rowCodes.varint(codes.computeIfAbsent(value, key -> codes.size()));
+        }
+        Encoder dictionary = new Encoder();
+        dictionary.varint(codes.size());
+        codes.keySet().forEach(dictionary::string);
+        raw.put(dictionaryColumn, dictionary.toByteArray());
+        raw.put(codesColumn, rowCodes.toByteArray());
+    }
+    
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    /**
+     * Microsegundos desde epoch en UTC; la misma precisión que guarda PostgreSQL
+     */
+    private static long toMicros(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + date.getNano() / 1_000;
+    }
+    
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+    
+    private static final class Encoder extends ByteArrayOutputStream {
+        
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+        
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+        
+        void string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+    
+    private static final class Decoder {
+        
+        private final byte[] bytes;
+        private int position;
+        
+        Decoder(byte[] bytes) {
+            this.bytes = bytes;
+        }
+        
+        long varint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+        
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+        
+        String string() {
+            int length = (int) varint();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
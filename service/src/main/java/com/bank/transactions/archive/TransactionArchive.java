@@ -0,0 +1,171 @@
+package com.bank.transactions.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.dto.TransactionDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Lecturas sobre las transacciones archivadas en segmentos columnares locales.
+ * <p>
+ * Los segmentos se mapean en memoria al arrancar según el manifiesto; una búsqueda por id
+ * solo abre los segmentos cuyo rango de ids lo contiene y una por Tenpista descarta los que
+ * no lo tienen en su diccionario. Las filas archivadas por Tenpista se guardan en el manifiesto y
+ * se mantienen sumadas en memoria para el límite de transacciones por cliente. Apagado, no guarda
+ * nada y todas las búsquedas vienen vacías.
+ */
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+@Slf4j
+public class TransactionArchive {
+    
+    private final boolean enabled;
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Manifiesto y segmentos abiertos se publican juntos para que las lecturas vean un estado consistente
+     */
+    private volatile List<Published> published = List.of();
+    private ArchiveManifest manifest = new ArchiveManifest(List.of());
+    private final Map<String, Long> rowsByClient = new ConcurrentHashMap<>();
+    
+    public TransactionArchive(ArchiveProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.directory = Path.of(properties.getDirectory());
+        this.objectMapper = objectMapper;
+        if (enabled) {
+            load();
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Transacción archivada con ese id, si existe
+     */
+    public Optional<TransactionDTO> findById(Integer id) {
+        for (Published segment : published) {
+            if (segment.entry().containsId(id)) {
+                Optional<TransactionDTO> found = segment.data().find(id);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Transacciones archivadas del Tenpista, de la más reciente a la más antigua
+     */
+    public List<TransactionDTO> findByName(String name) {
+        List<TransactionDTO> found = new ArrayList<>();
+        for (Published segment : published) {
+            found.addAll(segment.data().findByName(name));
+        }
+        found.sort(TransactionDTO.NEWEST_FIRST);
+        return found;
+    }
+    
+    /**
+     * Transacciones archivadas del Tenpista, sin abrir ningún segmento
+     */
+    public long countByName(String name) {
+        return rowsByClient.getOrDefault(name, 0L);
+    }
+    
+    /**
+     * Recorre todas las transacciones archivadas, segmento por segmento
+     */
+    public void forEach(Consumer<TransactionDTO> action) {
+        for (Published segment : published) {
+            segment.data().all().forEach(action);
+        }
+    }
+    
+    /**
+     * Escribe las transacciones en un segmento nuevo y lo publica en el manifiesto.
+     * Al retornar el segmento está en disco y ya es visible para las lecturas.
+     */
+    synchronized ArchiveManifest.Entry append(String shard, List<TransactionDTO> transactions) {
+        if (!enabled) {
+            throw new IllegalStateException("El archivo de transacciones está desactivado");
+        }
+        Instant now = Instant.now();
+        String file = "segment-" + shard + "-" + now.toEpochMilli() + "-" + manifest.segments().size() + ".txa";
+        ArchiveSegment.write(directory.resolve(file), transactions);
+        
+        ArchiveManifest.Entry entry = new ArchiveManifest.Entry(file, shard, transactions.size(),
+                transactions.stream().mapToInt(TransactionDTO::getId).min().orElse(0),
+                transactions.stream().mapToInt(TransactionDTO::getId).max().orElse(0),
+                transactions.stream().map(TransactionDTO::getTransactionDate).min(Comparator.naturalOrder()).orElse(null),
+                transactions.stream().map(TransactionDTO::getTransactionDate).max(Comparator.naturalOrder()).orElse(null),
+                now, countByClient(transactions));
+        ArchiveManifest updated = manifest.with(entry);
+        updated.write(directory, objectMapper);
+        
+        List<Published> opened = new ArrayList<>(published);
+        opened.add(new Published(entry, ArchiveSegment.open(directory.resolve(file))));
+        manifest = updated;
+        published = List.copyOf(opened);
+        entry.clients().forEach((name, rows) -> rowsByClient.merge(name, (long) rows, Long::sum));
+        return entry;
+    }
+    
+    /**
+     * Segmentos publicados, en orden de creación
+     */
+    List<ArchiveManifest.Entry> segments() {
+        return published.stream().map(Published::entry).toList();
+    }
+    
+    private void load() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el directorio de archivo " + directory, ex);
+        }
+        ArchiveManifest loaded = ArchiveManifest.read(directory, objectMapper);
+        manifest = loaded;
+        published = loaded.segments().stream()
+                .map(entry -> new Published(entry, ArchiveSegment.open(directory.resolve(entry.file()))))
+                .toList();
+        for (Published segment : published) {
+            // Los segmentos de manifiestos anteriores no traen el conteo: se calcula una vez al cargar
+            Map<String, Integer> clients = segment.entry().clients() != null
+                    ? segment.entry().clients()
+                    : countByClient(segment.data().all());
+            clients.forEach((name, rows) -> rowsByClient.merge(name, (long) rows, Long::sum));
+        }
+        log.info("Archivo de transacciones cargado: {} segmento(s), {} fila(s)", loaded.segments().size(),
+                loaded.segments().stream().mapToLong(ArchiveManifest.Entry::rows).sum());
+    }
+    
+    private static Map<String, Integer> countByClient(List<TransactionDTO> transactions) {
+        Map<String, Integer> counts = new TreeMap<>();
+        transactions.forEach(transaction -> counts.merge(transaction.getName(), 1, Integer::sum));
+        return counts;
+    }
+    
+    private record Published(ArchiveManifest.Entry entry, ArchiveSegment data) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.bank.transactions.archive;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.cache.HotTransactionTier;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mueve periódicamente las transacciones más antiguas que {@code app.archive.max-age} desde cada
+ * shard a segmentos del {@link TransactionArchive}, y expone {@code /actuator/archive}: segmentos
+ * archivados (GET) y una pasada inmediata (POST).
+ * <p>
+ * Cada lote se escribe y sincroniza en disco, junto con el manifiesto que lo publica, antes de
+ * borrarse de la base. Si el proceso cae entre ambos pasos las filas quedan en los dos lugares y
+ * las lecturas descartan el duplicado.
+ * <p>
+ * Las filas archivadas siguen contando para el límite de transacciones por cliente:
+ * {@link com.bank.transactions.validation.ClientLimitCheck} suma a la base el conteo por Tenpista del
+ * manifiesto. Mientras un lote está en los dos lugares cuenta doble, lo que solo adelanta el rechazo.
+ */
+@Component
+@Endpoint(id = "archive")
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchiver {
+    
+    private final ArchiveProperties properties;
+    private final TransactionArchive archive;
+    private final TransactionRepository transactionRepository;
+    private final TransactionShards shards;
+    private final HotTransactionTier hotTier;
+    private final EncodedResponseCache responseCache;
+    private final ScheduledExecutorService scheduler;
+    
+    public TransactionArchiver(ArchiveProperties properties, TransactionArchive archive,
+                               TransactionRepository transactionRepository, TransactionShards shards,
+                               HotTransactionTier hotTier, EncodedResponseCache responseCache) {
+        this.properties = properties;
+        this.archive = archive;
+        this.transactionRepository = transactionRepository;
+        this.shards = shards;
+        this.hotTier = hotTier;
+        this.responseCache = responseCache;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::scheduledRun, properties.getInitialDelay().toMillis(),
+                properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    @ReadOperation
+    public ArchiveStats stats() {
+        List<ArchiveManifest.Entry> segments = archive.segments();
+        Map<String, Long> rowsByShard = new LinkedHashMap<>();
+        segments.forEach(entry -> rowsByShard.merge(entry.shard(), (long) entry.rows(), Long::sum));
+        return new ArchiveStats(segments.size(), rowsByShard.values().stream().mapToLong(Long::longValue).sum(),
+                rowsByShard,
+                segments.stream().map(ArchiveManifest.Entry::minDate).min(LocalDateTime::compareTo).orElse(null),
+                segments.stream().map(ArchiveManifest.Entry::maxDate).max(LocalDateTime::compareTo).orElse(null));
+    }
+    
+    /**
+     * Archiva ahora las transacciones vencidas de todos los shards
+     */
+    @WriteOperation
+    public synchronized ArchiveRun archiveNow() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMaxAge());
+        int segments = 0;
+        long rows = 0;
+        for (String shard : shards.shards()) {
+            List<TransactionDTO> batch;
+            do {
+                batch = shards.inNewTransaction(shard, () -> transactionRepository.findDtoOlderThan(cutoff,
+                        PageRequest.of(0, properties.getBatchSize())));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                archive.append(shard, batch);
+                List<Integer> ids = batch.stream().map(TransactionDTO::getId).toList();
+                shards.inNewTransaction(shard, () -> {
+                    transactionRepository.deleteAllByIdInBatch(ids);
+                    ids.forEach(hotTier::onDeleted);
+                    responseCache.onArchived();
+                    return null;
+                });
+                segments++;
+                rows += batch.size();
+            } while (batch.size() == properties.getBatchSize());
+        }
+        if (rows > 0) {
+            log.info("Archivadas {} transacción(es) anteriores a {} en {} segmento(s)", rows, cutoff, segments);
+        }
+        return new ArchiveRun(cutoff, segments, rows);
+    }
+    
+    private void scheduledRun() {
+        try {
+            archiveNow();
+        } catch (RuntimeException ex) {
+            log.warn("Falló la pasada del archivador: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    public record ArchiveStats(int segments, long rows, Map<String, Long> rowsByShard,
+                               LocalDateTime oldest, LocalDateTime newest) {
+    }
+    
+    public record ArchiveRun(LocalDateTime cutoff, int segments, long rows) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.bank.transactions.bulk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.cache.HotTransactionTier;
+import com.bank.transactions.cache.NegativeLookupFilter;
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobRequest.Operation;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.entity.Transaction;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.ledger.TransactionLedger;
+import com.bank.transactions.overload.ConcurrencyLimited;
+import com.bank.transactions.overload.Priority;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.service.CrossShardMover;
+import com.bank.transactions.sharding.TransactionShards;
+import com.bank.transactions.validation.ClientLimitCheck;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica un tramo de una tarea masiva: lee en un shard las siguientes transacciones filtradas
+ * después de la posición anterior (fecha e id ascendentes) y las elimina o modifica en una sola
+ * transacción corta de ese shard.
+ * <p>
+ * Cada fila deja los mismos asientos e invalidaciones de caché que su operación individual en
+ * {@code TransactionService}, incluido el traslado de shard cuando cambia el Tenpista. Pasa por
+ * el limitador de concurrencia con prioridad BULK: con el servicio cargado los tramos ceden primero.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkChunkExecutor {
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionShards shards;
+    private final TransactionLedger ledger;
+    private final HotTransactionTier hotTier;
+    private final NegativeLookupFilter lookupFilter;
+    private final EncodedResponseCache responseCache;
+    private final CrossShardMover crossShardMover;
+    private final ClientLimitCheck clientLimitCheck;
+    
+    @ConcurrencyLimited(value = Priority.BULK, sampled = false)
+    public Chunk apply(String shard, BulkJobRequest request, TransactionSearchCriteria filter, Chunk after, int size) {
+        return shards.inNewTransaction(shard, () -> {
+            List<TransactionDTO> rows = transactionRepository.search(filter,
+                    after != null ? after.lastDate() : null, after != null ? after.lastId() : null, size);
+            if (rows.isEmpty()) {
+                return new Chunk(0, 0, null, null);
+            }
+            int changed = request.getOperation() == Operation.DELETE
+                    ? delete(rows)
+                    : update(shard, request, rows);
+            TransactionDTO last = rows.get(rows.size() - 1);
+            return new Chunk(rows.size(), changed, last.getTransactionDate(), last.getId());
+        });
+    }
+    
+    private int delete(List<TransactionDTO> rows) {
+        transactionRepository.deleteAllByIdInBatch(rows.stream().map(TransactionDTO::getId).toList());
+        Set<String> names = new LinkedHashSet<>();
+        for (TransactionDTO row : rows) {
+            ledger.recordReversed(row);
+            hotTier.onDeleted(row.getId());
+            lookupFilter.onDeleted(row.getId(), row.getName());
+            names.add(row.getName());
+        }
+        responseCache.onChanged(names.toArray(String[]::new));
+        return rows.size();
+    }
+    
+    private int update(String shard, BulkJobRequest request, List<TransactionDTO> rows) {
+        String newName = StringUtils.hasText(request.getNewName()) ? request.getNewName() : null;
+        String newBusinessName = StringUtils.hasText(request.getNewBusinessName()) ? request.getNewBusinessName() : null;
+        // Las filas que ya tienen los valores nuevos (p. ej. trasladadas a este shard por un tramo anterior) se saltan
+        List<Transaction> pending = transactionRepository.findAllById(rows.stream().map(TransactionDTO::getId).toList())
+                .stream()
+                .filter(t -> (newName != null && !newName.equals(t.getName()))
+                        || (newBusinessName != null && !newBusinessName.equals(t.getBusinessName())))
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        if (newName != null) {
+            checkClientLimit(newName, pending.stream().filter(t -> !newName.equals(t.getName())).count());
+        }
+        
+        Map<Transaction, TransactionDTO> previous = pending.stream()
+                .collect(Collectors.toMap(Function.identity(), BulkChunkExecutor::toDTO, (a, b) -> a, LinkedHashMap::new));
+        List<Transaction> stayed = new ArrayList<>();
+        List<Transaction> moved = new ArrayList<>();
+        for (Transaction transaction : pending) {
+            if (newName != null) {
+                transaction.setName(newName);
+            }
+            if (newBusinessName != null) {
+                transaction.setBusinessName(newBusinessName);
+            }
+            if (shards.shardFor(transaction.getName()).equals(shard)) {
+                stayed.add(transaction);
+            } else {
+                moved.add(transaction);
+            }
+        }
+        // Se escribe aquí para que el comercio nuevo se copie al shard de las filas
+        transactionRepository.flush();
+        stayed.forEach(transaction -> ledger.recordAmended(previous.get(transaction), toDTO(transaction)));
+        // El nuevo Tenpista vive en otro shard: se borran de aquí y se copian allá con el mismo id;
+        // si el tramo no confirma, las copias se revierten y el reintento las vuelve a trasladar
+        if (!moved.isEmpty()) {
+            Map<Transaction, TransactionDTO> moves = new LinkedHashMap<>();
+            moved.forEach(transaction -> moves.put(transaction, previous.get(transaction)));
+            crossShardMover.move(moves, shards.shardFor(newName));
+        }
+        
+        Set<String> names = new LinkedHashSet<>();
+        for (Transaction transaction : pending) {
+            TransactionDTO updated = toDTO(transaction);
+            String previousName = previous.get(transaction).getName();
+            hotTier.onSaved(updated);
+            lookupFilter.onUpdated(previousName, updated);
+            names.add(previousName);
+            names.add(updated.getName());
+        }
+        responseCache.onChanged(names.toArray(String[]::new));
+        return pending.size();
+    }
+    
+    /**
+     * Verifica antes de cada tramo que el Tenpista destino no supere el límite de transacciones;
+     * cubre las altas que llegaron después de aceptar la tarea
+     */
+    private void checkClientLimit(String name, long incoming) {
+        if (incoming == 0) {
+            return;
+        }
+        long count = clientLimitCheck.countFor(name);
+        if (count + incoming > ClientLimitCheck.MAX_TRANSACTIONS_PER_CLIENT) {
+            throw new BusinessException(String.format(
+                    "El cliente %s superaría el límite máximo de %d transacciones: tiene %d y el tramo le asigna %d",
+                    name, ClientLimitCheck.MAX_TRANSACTIONS_PER_CLIENT, count, incoming));
+        }
+    }
+    
+    private static TransactionDTO toDTO(Transaction transaction) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .businessName(transaction.getBusinessName())
+                .name(transaction.getName())
+                .transactionDate(transaction.getTransactionDate())
+                .build();
+    }
+    
+    /**
+     * Resultado de un tramo: filas leídas, filas cambiadas y posición de la última leída
+     */
+    public record Chunk(int rows, int changed, LocalDateTime lastDate, Integer lastId) {
+    }
+}
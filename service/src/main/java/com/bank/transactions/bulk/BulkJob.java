@@ -0,0 +1,106 @@
+package com.bank.transactions.bulk;
+
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobStatusDTO;
+import com.bank.transactions.dto.BulkJobStatusDTO.Status;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estado en memoria de una tarea masiva. Solo el hilo de tareas la avanza; las lecturas de estado
+ * y la cancelación llegan desde los hilos HTTP.
+ */
+class BulkJob {
+    
+    private final String id = UUID.randomUUID().toString();
+    private final BulkJobRequest request;
+    private final TransactionSearchCriteria filter;
+    private final long matched;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    
+    private volatile Status status = Status.QUEUED;
+    private volatile long processed;
+    private volatile int chunks;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    
+    BulkJob(BulkJobRequest request, TransactionSearchCriteria filter, long matched) {
+        this.request = request;
+        this.filter = filter;
+        this.matched = matched;
+    }
+    
+    String id() {
+        return id;
+    }
+    
+    BulkJobRequest request() {
+        return request;
+    }
+    
+    TransactionSearchCriteria filter() {
+        return filter;
+    }
+    
+    boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+    
+    boolean isCancelled() {
+        return cancelled.getCount() == 0;
+    }
+    
+    void cancel() {
+        cancelled.countDown();
+    }
+    
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+    
+    void onChunk(int changed) {
+        processed += changed;
+        chunks++;
+    }
+    
+    void finish(Status finalStatus, String failure) {
+        error = failure;
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+    
+    /**
+     * Espera la pausa indicada o hasta que se cancele la tarea
+     */
+    void pause(Duration duration) {
+        try {
+            cancelled.await(duration.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tarea interrumpida por el cierre del servicio");
+        }
+    }
+    
+    BulkJobStatusDTO toStatus() {
+        return BulkJobStatusDTO.builder()
+                .id(id)
+                .operation(request.getOperation())
+                .status(status)
+                .matched(matched)
+                .processed(processed)
+                .chunks(chunks)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
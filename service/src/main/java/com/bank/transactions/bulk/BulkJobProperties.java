@@ -0,0 +1,32 @@
+package com.bank.transactions.bulk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de las tareas masivas de actualización y eliminación
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkJobProperties {
+    
+    /**
+     * Transacciones por tramo; cada tramo es una transacción de base de datos corta en un shard
+     */
+    private int chunkSize = 200;
+    
+    /**
+     * Tope de transacciones procesadas por segundo por la tarea en curso; 0 sin tope
+     */
+    private int maxRowsPerSecond = 1000;
+    
+    /**
+     * Tareas aceptadas que pueden esperar a la que está en curso; con la cola llena se responde 503
+     */
+    private int maxQueuedJobs = 10;
+    
+    /**
+     * Tareas terminadas cuyo estado se conserva para consultarlo; se descartan las más antiguas
+     */
+    private int retainedJobs = 100;
+}
@@ -0,0 +1,300 @@
+package com.bank.transactions.bulk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobRequest.Operation;
+import com.bank.transactions.dto.BulkJobStatusDTO;
+import com.bank.transactions.dto.BulkJobStatusDTO.Status;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortDirection;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortField;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.exception.ResourceNotFoundException;
+import com.bank.transactions.exception.ServiceOverloadedException;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+import com.bank.transactions.validation.ClientLimitCheck;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acepta y ejecuta en segundo plano las tareas masivas de eliminación y actualización filtrada.
+ * <p>
+ * Un solo hilo ejecuta las tareas de a una, recorriendo cada shard por fecha e id ascendentes en
+ * tramos de {@code app.bulk.chunk-size}: cada tramo es su propia transacción corta, así que nunca se
+ * retienen bloqueos sobre más filas que las del tramo. Entre tramos se respeta
+ * {@code app.bulk.max-rows-per-second} y se revisa la cancelación; si el limitador de concurrencia
+ * rechaza un tramo se espera su Retry-After y se reintenta.
+ * <p>
+ * El estado de las tareas vive en memoria: se pierde al reiniciar y una tarea interrumpida no se
+ * retoma, aunque sus tramos ya confirmados quedan aplicados.
+ */
+@Service
+@EnableConfigurationProperties(BulkJobProperties.class)
+@Slf4j
+public class BulkJobService {
+    
+    private static final Duration QUEUE_FULL_RETRY_AFTER = Duration.ofMinutes(1);
+    
+    private final BulkJobProperties properties;
+    private final BulkChunkExecutor chunkExecutor;
+    private final TransactionRepository transactionRepository;
+    private final TransactionShards shards;
+    private final ClientLimitCheck clientLimitCheck;
+    private final ThreadPoolExecutor runner;
+    private final Map<String, BulkJob> jobs = new LinkedHashMap<>();
+    private final Map<Operation, Counter> processedRows = new LinkedHashMap<>();
+    
+    public BulkJobService(BulkJobProperties properties, BulkChunkExecutor chunkExecutor,
+                          TransactionRepository transactionRepository, TransactionShards shards,
+                          ClientLimitCheck clientLimitCheck, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.chunkExecutor = chunkExecutor;
+        this.transactionRepository = transactionRepository;
+        this.shards = shards;
+        this.clientLimitCheck = clientLimitCheck;
+        this.runner = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getMaxQueuedJobs()), r -> {
+                    Thread thread = new Thread(r, "bulk-jobs");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("transaction.bulk.queued", runner, executor -> executor.getQueue().size())
+                .description("Tareas masivas aceptadas a la espera de la que está en curso")
+                .register(meterRegistry);
+        for (Operation operation : Operation.values()) {
+            processedRows.put(operation, Counter.builder("transaction.bulk.rows")
+                    .description("Transacciones eliminadas o modificadas por tareas masivas")
+                    .tag("operation", operation.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+    
+    /**
+     * Valida la solicitud, comprueba el límite de transacciones del Tenpista destino y encola la tarea
+     */
+    public BulkJobStatusDTO submit(BulkJobRequest request) {
+        validate(request);
+        TransactionSearchCriteria filter = filter(request);
+        long matched = count(filter);
+        if (request.getOperation() == Operation.UPDATE && StringUtils.hasText(request.getNewName())) {
+            checkClientLimit(request, filter, matched);
+        }
+        
+        BulkJob job = new BulkJob(request, filter, matched);
+        synchronized (jobs) {
+            jobs.put(job.id(), job);
+        }
+        try {
+            runner.execute(() -> run(job));
+        } catch (RejectedExecutionException ex) {
+            synchronized (jobs) {
+                jobs.remove(job.id());
+            }
+            throw new ServiceOverloadedException(
+                    "Hay demasiadas tareas masivas en espera. Por favor, intenta nuevamente más tarde.",
+                    QUEUE_FULL_RETRY_AFTER);
+        }
+        log.info("Tarea masiva {} aceptada: {} de {} transacción(es)", job.id(), request.getOperation(), matched);
+        return job.toStatus();
+    }
+    
+    public BulkJobStatusDTO get(String id) {
+        return find(id).toStatus();
+    }
+    
+    /**
+     * Tareas en curso, en espera y terminadas recientes, de la más nueva a la más antigua
+     */
+    public List<BulkJobStatusDTO> list() {
+        List<BulkJobStatusDTO> statuses = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> statuses.add(job.toStatus()));
+        }
+        Collections.reverse(statuses);
+        return statuses;
+    }
+    
+    /**
+     * Pide cancelar la tarea: una en espera no empieza y una en curso se detiene al terminar su tramo actual
+     */
+    public BulkJobStatusDTO cancel(String id) {
+        BulkJob job = find(id);
+        job.cancel();
+        log.info("Cancelación solicitada para la tarea masiva {}", id);
+        return job.toStatus();
+    }
+    
+    private BulkJob find(String id) {
+        BulkJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Tarea masiva no encontrada con id: " + id);
+        }
+        return job;
+    }
+    
+    private void run(BulkJob job) {
+        if (job.isCancelled()) {
+            finish(job, Status.CANCELLED, null);
+            return;
+        }
+        job.start();
+        int size = properties.getChunkSize();
+        Counter rows = processedRows.get(job.request().getOperation());
+        try {
+            for (String shard : shards.shards()) {
+                BulkChunkExecutor.Chunk position = null;
+                while (!job.isCancelled()) {
+                    long started = System.nanoTime();
+                    BulkChunkExecutor.Chunk chunk;
+                    try {
+                        chunk = chunkExecutor.apply(shard, job.request(), job.filter(), position, size);
+                    } catch (ServiceOverloadedException ex) {
+                        job.pause(ex.getRetryAfter());
+                        continue;
+                    }
+                    if (chunk.rows() > 0) {
+                        job.onChunk(chunk.changed());
+                        rows.increment(chunk.changed());
+                    }
+                    if (chunk.rows() < size) {
+                        break;
+                    }
+                    position = chunk;
+                    throttle(job, chunk.rows(), started);
+                }
+            }
+            finish(job, job.isCancelled() ? Status.CANCELLED : Status.SUCCEEDED, null);
+        } catch (RuntimeException ex) {
+            log.warn("Falló la tarea masiva {}: {}", job.id(), ex.getMessage(), ex);
+            finish(job, Status.FAILED, ex.getMessage());
+        }
+    }
+    
+    /**
+     * Espera lo necesario para que el tramo no supere el tope de filas por segundo
+     */
+    private void throttle(BulkJob job, int rows, long startedNanos) {
+        if (properties.getMaxRowsPerSecond() <= 0) {
+            return;
+        }
+        long budget = TimeUnit.SECONDS.toNanos(rows) / properties.getMaxRowsPerSecond();
+        long remaining = budget - (System.nanoTime() - startedNanos);
+        if (remaining > 0) {
+            job.pause(Duration.ofNanos(remaining));
+        }
+    }
+    
+    private void finish(BulkJob job, Status status, String error) {
+        job.finish(status, error);
+        BulkJobStatusDTO result = job.toStatus();
+        log.info("Tarea masiva {} terminada como {}: {} transacción(es) en {} tramo(s)",
+                job.id(), status, result.getProcessed(), result.getChunks());
+        synchronized (jobs) {
+            long finished = jobs.values().stream().filter(BulkJob::isFinished).count();
+            Iterator<BulkJob> iterator = jobs.values().iterator();
+            while (finished > properties.getRetainedJobs() && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Una tarea sin filtros tocaría todas las transacciones; UPDATE necesita algo que cambiar
+     */
+    private static void validate(BulkJobRequest request) {
+        if (request.getMinAmount() == null && request.getMaxAmount() == null
+                && request.getFrom() == null && request.getTo() == null
+                && !StringUtils.hasText(request.getBusinessName()) && !StringUtils.hasText(request.getName())) {
+            throw new BusinessException("La tarea masiva requiere al menos un filtro");
+        }
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount() > request.getMaxAmount()) {
+            throw new BusinessException("El monto mínimo no puede ser mayor que el monto máximo");
+        }
+        if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+            throw new BusinessException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+        boolean changes = StringUtils.hasText(request.getNewName()) || StringUtils.hasText(request.getNewBusinessName());
+        if (request.getOperation() == Operation.UPDATE && !changes) {
+            throw new BusinessException("La actualización masiva requiere un nuevo nombre o un nuevo giro");
+        }
+        if (request.getOperation() == Operation.DELETE && changes) {
+            throw new BusinessException("La eliminación masiva no acepta nuevo nombre ni nuevo giro");
+        }
+    }
+    
+    /**
+     * Los filtros de la solicitud como búsqueda por fecha e id ascendentes, el orden de recorrido de los tramos
+     */
+    private static TransactionSearchCriteria filter(BulkJobRequest request) {
+        return TransactionSearchCriteria.builder()
+                .minAmount(request.getMinAmount())
+                .maxAmount(request.getMaxAmount())
+                .from(request.getFrom())
+                .to(request.getTo())
+                .businessName(request.getBusinessName())
+                .businessNameMatch(request.getBusinessNameMatch())
+                .name(request.getName())
+                .sort(SortField.DATE)
+                .direction(SortDirection.ASC)
+                .build();
+    }
+    
+    private long count(TransactionSearchCriteria filter) {
+        return shards.scatter(() -> List.of(transactionRepository.count(filter))).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+    
+    /**
+     * Rechaza la tarea si al terminar el Tenpista destino superaría el límite de transacciones.
+     * Solo cuentan las filas filtradas que hoy son de otro Tenpista; cada tramo vuelve a verificarlo.
+     */
+    private void checkClientLimit(BulkJobRequest request, TransactionSearchCriteria filter, long matched) {
+        String newName = request.getNewName();
+        long incoming;
+        if (StringUtils.hasText(filter.getName())) {
+            incoming = filter.getName().equals(newName) ? 0 : matched;
+        } else {
+            TransactionSearchCriteria alreadyOwned = filter(request);
+            alreadyOwned.setName(newName);
+            incoming = matched - count(alreadyOwned);
+        }
+        long current = clientLimitCheck.countFor(newName);
+        if (current + incoming > ClientLimitCheck.MAX_TRANSACTIONS_PER_CLIENT) {
+            throw new BusinessException(String.format(
+                    "El cliente %s superaría el límite máximo de %d transacciones: tiene %d y la tarea le asignaría %d",
+                    newName, ClientLimitCheck.MAX_TRANSACTIONS_PER_CLIENT, current, incoming));
+        }
+    }
+}
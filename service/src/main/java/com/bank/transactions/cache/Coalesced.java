@@ -0,0 +1,18 @@
+package com.bank.transactions.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una lectura cuyas llamadas concurrentes con los mismos argumentos comparten una sola
+ * ejecución ({@link SingleFlight}). Quien llama recibe el mismo resultado que las demás y no debe
+ * modificarlo. Solo para lecturas: una escritura que llega durante la carga no se ve en su resultado.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
@@ -0,0 +1,115 @@
+package com.bank.transactions.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom con contadores de 4 bits, 16 por {@code long}, que admite eliminar claves.
+ * <p>
+ * Cada clave incrementa {@code k} contadores elegidos por doble hashing; un contador que llega
+ * a 15 queda saturado y ya no se decrementa, así que un desborde solo produce falsos positivos.
+ * Las actualizaciones son CAS por palabra, sin bloqueos.
+ */
+final class CountingBloomFilter {
+    
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+    
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    
+    /**
+     * Dimensiona el filtro para la cantidad esperada de claves y tasa de falsos positivos
+     */
+    CountingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+        this.words = new AtomicLongArray(Math.max(1, words));
+        this.counters = (long) this.words.length() * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / n * Math.log(2)));
+    }
+    
+    void add(long hash) {
+        for (int i = 0; i < hashes; i++) {
+            update(index(hash, i), 1);
+        }
+    }
+    
+    void remove(long hash) {
+        for (int i = 0; i < hashes; i++) {
+            update(index(hash, i), -1);
+        }
+    }
+    
+    boolean mightContain(long hash) {
+        for (int i = 0; i < hashes; i++) {
+            long index = index(hash, i);
+            if (count(words.get((int) (index / COUNTERS_PER_WORD)), index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Memoria ocupada por los contadores
+     */
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+    
+    int hashes() {
+        return hashes;
+    }
+    
+    private void update(long index, int delta) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        long current;
+        long next;
+        do {
+            current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            next = current + ((long) delta << shift);
+        } while (!words.compareAndSet(word, current, next));
+    }
+    
+    private long index(long hash, int i) {
+        // Kirsch-Mitzenmacher: las k posiciones salen de dos mitades del mismo hash de 64 bits
+        long combined = (hash >>> 32) + (long) i * (hash & 0xFFFFFFFFL | 1);
+        return Math.floorMod(combined, counters);
+    }
+    
+    private static long count(long word, long index) {
+        return (word >>> ((int) (index % COUNTERS_PER_WORD) * COUNTER_BITS)) & MAX_COUNT;
+    }
+    
+    /**
+     * Mezclador final de 64 bits de MurmurHash3
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+    
+    /**
+     * FNV-1a de 64 bits sobre los caracteres, seguido del mezclador de MurmurHash3
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return hash(h);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.transactions.cache;
+
+/**
+ * Cuerpo de una respuesta ya serializado a JSON y, si corresponde, comprimido con gzip
+ *
+ * @param json cuerpo sin comprimir
+ * @param gzip el mismo cuerpo comprimido, o null si no se comprimió
+ */
+public record EncodedResponse(byte[] json, byte[] gzip) {
+    
+    /**
+     * Memoria que ocupan ambas codificaciones
+     */
+    public long size() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+    
+    /**
+     * True si el cliente acepta gzip según su encabezado Accept-Encoding (sin "gzip;q=0")
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,277 @@
+package com.bank.transactions.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.transactions.config.ReadReplicaRoutingDataSource;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuestas de los listados ya serializadas (y comprimidas), por Tenpista, para el listado completo
+ * y por página de búsqueda. Un acierto se escribe tal cual en la respuesta, sin convertir ni serializar.
+ * <p>
+ * Cada respuesta guarda la versión de lo que lista, tomada antes de cargarla: la del Tenpista
+ * (repartidas en franjas por hash) o la global para el listado completo y las búsquedas. Las
+ * escrituras suben ambas al confirmar, después de actualizar la Hot Tier, así que una respuesta
+ * cargada con datos anteriores queda con una versión vieja y no se vuelve a servir. Durante
+ * {@code primary-fill-window} después de una invalidación las cargas leen del primario, porque una
+ * réplica atrasada entregaría datos anteriores que quedarían guardados con la versión nueva.
+ * Apagada, cada llamada serializa sin guardar.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class EncodedResponseCache {
+    
+    private static final int STRIPES = 1024;
+    
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long primaryFillNanos;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long gzipMinBytes;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicLongArray clientVersions = new AtomicLongArray(STRIPES);
+    private final AtomicLong globalChangedAt = new AtomicLong();
+    private final AtomicLongArray clientChangedAt = new AtomicLongArray(STRIPES);
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+    
+    public EncodedResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.isEnabled();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.primaryFillNanos = properties.getPrimaryFillWindow().toNanos();
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxEntryBytes = properties.getMaxEntrySize().toBytes();
+        this.gzipMinBytes = enabled && properties.isGzip() ? properties.getGzipMinSize().toBytes() : Long.MAX_VALUE;
+        this.hits = result(meterRegistry, "hit");
+        this.misses = result(meterRegistry, "miss");
+        Gauge.builder("transaction.response.cache.bytes", bytes, AtomicLong::get)
+                .description("Memoria ocupada por las respuestas serializadas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Respuesta guardada para la clave, o la que produce {@code loader} serializada (y guardada)
+     */
+    public EncodedResponse get(Key key, Supplier<?> loader) {
+        if (!enabled) {
+            return encode(loader.get());
+        }
+        long version = version(key);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version() == version && System.nanoTime() - entry.expiresAt() < 0) {
+            hits.increment();
+            return entry.response();
+        }
+        misses.increment();
+        Object value = changedRecently(key, version) ? ReadReplicaRoutingDataSource.onPrimary(loader) : loader.get();
+        EncodedResponse response = encode(value);
+        store(key, new Entry(response, version, System.nanoTime() + ttlNanos));
+        return response;
+    }
+    
+    /**
+     * Invalida los listados de los Tenpistas indicados, el completo y las búsquedas cuando la
+     * transacción de base de datos confirma
+     */
+    public void onChanged(String... clients) {
+        if (enabled) {
+            afterCommit(() -> {
+                long now = System.nanoTime();
+                for (String client : clients) {
+                    if (client != null) {
+                        clientChangedAt.set(stripe(client), now);
+                        clientVersions.incrementAndGet(stripe(client));
+                    }
+                }
+                globalChangedAt.set(now);
+                globalVersion.incrementAndGet();
+            });
+        }
+    }
+    
+    /**
+     * Invalida el listado completo y las búsquedas; los listados por Tenpista incluyen lo archivado
+     */
+    public void onArchived() {
+        if (enabled) {
+            afterCommit(() -> {
+                globalChangedAt.set(System.nanoTime());
+                globalVersion.incrementAndGet();
+            });
+        }
+    }
+    
+    long sizeInBytes() {
+        return bytes.get();
+    }
+    
+    private long version(Key key) {
+        return key.scope() == Scope.CLIENT ? clientVersions.get(stripe(key.value())) : globalVersion.get();
+    }
+    
+    /**
+     * Si la versión leída viene de una invalidación reciente. El instante se anota antes de subir la
+     * versión, así que al ver una versión nueva su instante ya está visible.
+     */
+    private boolean changedRecently(Key key, long version) {
+        if (version == 0) {
+            return false;
+        }
+        long changedAt = key.scope() == Scope.CLIENT ? clientChangedAt.get(stripe(key.value())) : globalChangedAt.get();
+        return System.nanoTime() - changedAt < primaryFillNanos;
+    }
+    
+    private void store(Key key, Entry entry) {
+        long size = entry.response().size();
+        if (size > maxEntryBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        bytes.addAndGet(size - (previous != null ? previous.response().size() : 0));
+        if (bytes.get() > maxBytes) {
+            evict();
+        }
+    }
+    
+    /**
+     * Primero descarta lo que ya no se serviría (invalidado o vencido) y, si no alcanza, las
+     * respuestas más antiguas
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            List<Map.Entry<Key, Entry>> live = new ArrayList<>();
+            for (Map.Entry<Key, Entry> candidate : entries.entrySet()) {
+                Entry entry = candidate.getValue();
+                if (entry.version() != version(candidate.getKey()) || now - entry.expiresAt() >= 0) {
+                    discard(candidate.getKey(), entry);
+                } else {
+                    live.add(candidate);
+                }
+            }
+            live.sort(Comparator.comparingLong(candidate -> candidate.getValue().expiresAt() - now));
+            for (int i = 0; i < live.size() && bytes.get() > maxBytes; i++) {
+                discard(live.get(i).getKey(), live.get(i).getValue());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+    
+    private void discard(Key key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            bytes.addAndGet(-entry.response().size());
+        }
+    }
+    
+    private EncodedResponse encode(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new EncodedResponse(json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo serializar la respuesta", ex);
+        }
+    }
+    
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+    
+    private static int stripe(String client) {
+        int h = client.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+    
+    private static Counter result(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transaction.response.cache")
+                .description("Lecturas de listados servidas desde la caché de respuestas serializadas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * Qué lista una respuesta guardada
+     */
+    public enum Scope {
+        ALL,
+        CLIENT,
+        SEARCH
+    }
+    
+    /**
+     * Clave de una respuesta guardada
+     *
+     * @param scope qué lista
+     * @param value Tenpista o criterio de búsqueda; vacío para el listado completo
+     */
+    public record Key(Scope scope, String value) {
+        
+        public static Key all() {
+            return new Key(Scope.ALL, "");
+        }
+        
+        public static Key client(String name) {
+            return new Key(Scope.CLIENT, name);
+        }
+        
+        public static Key search(TransactionSearchCriteria criteria) {
+            return new Key(Scope.SEARCH, criteria.toString());
+        }
+    }
+    
+    private record Entry(EncodedResponse response, long version, long expiresAt) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.transactions.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de la capa en memoria de transacciones recientes
+ */
+@Data
+@ConfigurationProperties(prefix = "app.hot-tier")
+public class HotTierProperties {
+    
+    /**
+     * Activa la capa; apagada por defecto porque asume una sola instancia escribiendo
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Cantidad de transacciones recientes que se mantienen (se redondea a potencia de 2)
+     */
+    private int capacity = 10_000;
+}
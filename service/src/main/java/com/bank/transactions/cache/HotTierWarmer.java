@@ -0,0 +1,38 @@
+package com.bank.transactions.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.util.List;
+
+/**
+ * Carga en la capa en memoria las transacciones más recientes al iniciar la aplicación
+ */
+@Component
+@RequiredArgsConstructor
+public class HotTierWarmer {
+    
+    private final HotTransactionTier hotTier;
+    private final TransactionRepository transactionRepository;
+    private final TransactionShards shards;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!hotTier.isEnabled()) {
+            return;
+        }
+        hotTier.beginWarmup();
+        int capacity = hotTier.capacity();
+        List<TransactionDTO> recent = shards.gather(
+                () -> transactionRepository.findRecentDto(PageRequest.of(0, capacity)),
+                TransactionDTO.NEWEST_FIRST, capacity);
+        hotTier.completeWarmup(recent, recent.size() < capacity);
+    }
+}
@@ -0,0 +1,300 @@
+package com.bank.transactions.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.transactions.dto.TransactionDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Capa en memoria con las transacciones más recientes.
+ * <p>
+ * Un anillo acotado ({@link AtomicReferenceArray}) define el orden de desalojo y dos índices
+ * concurrentes (por id y por cliente) permiten leer sin bloqueos. Cada escritura de un id cambia
+ * ambos índices dentro de {@code byId.compute}, así las escrituras del mismo id (renombres
+ * simultáneos o un desalojo) no se intercalan; las lecturas por cliente descartan además las
+ * entradas cuyo dueño en {@code byId} ya es otro. La capa garantiza contener todas
+ * las transacciones con fecha posterior a la marca de cobertura; cada desalojo sube la marca.
+ * Una lectura que necesita filas bajo la marca retorna vacío y el llamador consulta la base de datos.
+ */
+@Component
+@EnableConfigurationProperties(HotTierProperties.class)
+@Slf4j
+public class HotTransactionTier {
+    
+    /**
+     * Marca de cobertura cuando la capa contiene la tabla completa
+     */
+    private static final LocalDateTime EVERYTHING = LocalDateTime.MIN;
+    
+    private final boolean enabled;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ClientIndex> byClient = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDateTime> watermark = new AtomicReference<>(LocalDateTime.MAX);
+    private final AtomicLong version = new AtomicLong();
+    private final Set<Integer> deletedDuringWarmup = ConcurrentHashMap.newKeySet();
+    
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+    private volatile boolean warming;
+    private volatile boolean ready;
+    
+    public HotTransactionTier(HotTierProperties properties) {
+        this.enabled = properties.isEnabled();
+        int size = Integer.highestOneBit(Math.max(2, properties.getCapacity() - 1)) << 1;
+        this.mask = size - 1;
+        this.ring = new AtomicReferenceArray<>(enabled ? size : 0);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int capacity() {
+        return mask + 1;
+    }
+    
+    /**
+     * A partir de aquí se aceptan escrituras; debe llamarse antes de leer la base de datos
+     */
+    public void beginWarmup() {
+        warming = true;
+    }
+    
+    /**
+     * Carga las filas más recientes (fecha descendente). Si {@code complete} es true las filas
+     * son la tabla completa. Las escrituras ocurridas durante la carga tienen precedencia.
+     */
+    public void completeWarmup(List<TransactionDTO> newestFirst, boolean complete) {
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            TransactionDTO transaction = newestFirst.get(i);
+            if (!byId.containsKey(transaction.getId()) && !deletedDuringWarmup.contains(transaction.getId())) {
+                insert(transaction);
+            }
+        }
+        LocalDateTime floor = complete || newestFirst.isEmpty()
+                ? EVERYTHING
+                : newestFirst.get(newestFirst.size() - 1).getTransactionDate();
+        watermark.set(floor);
+        byClient.values().forEach(client -> client.complete = complete);
+        deletedDuringWarmup.clear();
+        warming = false;
+        ready = true;
+        log.info("Capa de transacciones recientes cargada con {} transacciones", byId.size());
+    }
+    
+    /**
+     * Registra una transacción creada o actualizada cuando la transacción de base de datos confirma
+     */
+    public void onSaved(TransactionDTO transaction) {
+        if (enabled) {
+            afterCommit(() -> put(transaction));
+        }
+    }
+    
+    /**
+     * Quita una transacción eliminada cuando la transacción de base de datos confirma
+     */
+    public void onDeleted(Integer id) {
+        if (enabled) {
+            afterCommit(() -> remove(id));
+        }
+    }
+    
+    /**
+     * Página de transacciones más recientes (fecha e id descendentes), opcionalmente de un cliente,
+     * que empieza después de (afterDate, afterId). Vacío si la página cruza la marca de cobertura.
+     */
+    public Optional<List<TransactionDTO>> latest(String name, LocalDateTime afterDate, Integer afterId, int count) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        LocalDateTime floor = watermark.get();
+        List<TransactionDTO> candidates;
+        boolean complete;
+        if (name == null) {
+            candidates = newestFirst();
+            complete = floor == EVERYTHING;
+        } else {
+            ClientIndex client = byClient.get(name);
+            candidates = client != null ? client.newestFirst(byId) : List.of();
+            complete = client != null ? client.complete : floor == EVERYTHING;
+        }
+        
+        List<TransactionDTO> page = new ArrayList<>(Math.min(count, candidates.size()));
+        for (TransactionDTO transaction : candidates) {
+            if (page.size() == count) {
+                break;
+            }
+            if (afterId != null && !isAfter(transaction, afterDate, afterId)) {
+                continue;
+            }
+            if (!complete && !transaction.getTransactionDate().isAfter(floor)) {
+                break;
+            }
+            page.add(transaction);
+        }
+        return page.size() == count || complete ? Optional.of(page) : Optional.empty();
+    }
+    
+    /**
+     * Todas las transacciones (o las de un cliente) si la capa las contiene completas
+     */
+    public Optional<List<TransactionDTO>> all(String name) {
+        return latest(name, null, null, Integer.MAX_VALUE);
+    }
+    
+    void put(TransactionDTO transaction) {
+        if (!ready && !warming) {
+            return;
+        }
+        if (warming || byId.containsKey(transaction.getId())
+                || transaction.getTransactionDate().isAfter(watermark.get())) {
+            insert(transaction);
+        } else {
+            // Queda bajo la marca y fuera de memoria: el cliente deja de estar completo
+            clientIndex(transaction.getName()).complete = false;
+        }
+    }
+    
+    void remove(Integer id) {
+        if (warming) {
+            deletedDuringWarmup.add(id);
+        }
+        byId.computeIfPresent(id, (key, current) -> {
+            removeFromClient(current);
+            return null;
+        });
+        version.incrementAndGet();
+    }
+    
+    private void insert(TransactionDTO transaction) {
+        Entry entry = new Entry(transaction);
+        byId.compute(transaction.getId(), (id, previous) -> {
+            if (previous != null && !previous.transaction().getName().equals(transaction.getName())) {
+                removeFromClient(previous);
+            }
+            clientIndex(transaction.getName()).ids.add(id);
+            return entry;
+        });
+        
+        Entry evicted = ring.getAndSet((int) (sequence.getAndIncrement() & mask), entry);
+        // Solo cuenta si era la versión vigente; las versiones reemplazadas ya no están en el índice
+        if (evicted != null && evict(evicted)) {
+            clientIndex(evicted.transaction().getName()).complete = false;
+            LocalDateTime evictedDate = evicted.transaction().getTransactionDate();
+            watermark.accumulateAndGet(evictedDate, (current, date) -> date.isAfter(current) ? date : current);
+        }
+        version.incrementAndGet();
+    }
+    
+    /**
+     * Quita la entrada desalojada si sigue vigente
+     */
+    private boolean evict(Entry evicted) {
+        boolean[] removed = new boolean[1];
+        byId.computeIfPresent(evicted.transaction().getId(), (id, current) -> {
+            if (current != evicted) {
+                return current;
+            }
+            removeFromClient(current);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+    
+    /**
+     * Solo dentro del {@code compute} de su id en {@code byId}
+     */
+    private void removeFromClient(Entry entry) {
+        ClientIndex client = byClient.get(entry.transaction().getName());
+        if (client != null) {
+            client.ids.remove(entry.transaction().getId());
+        }
+    }
+    
+    private ClientIndex clientIndex(String name) {
+        return byClient.computeIfAbsent(name, key -> new ClientIndex(key, watermark.get() == EVERYTHING));
+    }
+    
+    /**
+     * Vista ordenada de la capa; se reconstruye solo si hubo escrituras desde la última lectura
+     */
+    private List<TransactionDTO> newestFirst() {
+        long current = version.get();
+        Snapshot cached = snapshot;
+        if (cached.version() != current) {
+            List<TransactionDTO> sorted = byId.values().stream()
+                    .map(Entry::transaction)
+                    .sorted(TransactionDTO.NEWEST_FIRST)
+                    .toList();
+            cached = new Snapshot(current, sorted);
+            snapshot = cached;
+        }
+        return cached.items();
+    }
+    
+    private static boolean isAfter(TransactionDTO transaction, LocalDateTime afterDate, Integer afterId) {
+        int byDate = transaction.getTransactionDate().compareTo(afterDate);
+        return byDate < 0 || (byDate == 0 && transaction.getId() < afterId);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private record Entry(TransactionDTO transaction) {
+    }
+    
+    private record Snapshot(long version, List<TransactionDTO> items) {
+    }
+    
+    private static final class ClientIndex {
+        
+        private final String name;
+        private final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        private volatile boolean complete;
+        
+        private ClientIndex(String name, boolean complete) {
+            this.name = name;
+            this.complete = complete;
+        }
+        
+        private List<TransactionDTO> newestFirst(ConcurrentHashMap<Integer, Entry> byId) {
+            List<TransactionDTO> transactions = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                Entry entry = byId.get(id);
+                // Un renombre en curso ya agregó el id aquí pero aún no publicó la entrada nueva
+                if (entry != null && entry.transaction().getName().equals(name)) {
+                    transactions.add(entry.transaction());
+                }
+            }
+            transactions.sort(TransactionDTO.NEWEST_FIRST);
+            return transactions;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.transactions.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.transactions.archive.TransactionArchive;
+import com.bank.transactions.sharding.ShardRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Construye el filtro de búsquedas negativas al iniciar recorriendo los ids y Tenpistas de cada
+ * shard y del archivo. La base se lee en una transacción para que PostgreSQL use un cursor por
+ * lotes en vez de cargar la tabla completa en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class LookupFilterLoader {
+    
+    private static final String SELECT_KEYS_SQL = "SELECT id, name FROM transactions";
+    private static final int FETCH_SIZE = 10_000;
+    
+    private final NegativeLookupFilter filter;
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardRoutingDataSource> shardRouting;
+    private final TransactionArchive archive;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!filter.isEnabled()) {
+            return;
+        }
+        filter.beginRebuild();
+        ShardRoutingDataSource routing = shardRouting.getIfAvailable();
+        Map<String, DataSource> targets = routing != null ? routing.getShards() : Map.of("principal", dataSource);
+        AtomicLong rows = new AtomicLong();
+        targets.values().forEach(target -> {
+            JdbcTemplate jdbc = new JdbcTemplate(target);
+            jdbc.setFetchSize(FETCH_SIZE);
+            new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status ->
+                    jdbc.query(SELECT_KEYS_SQL, rs -> {
+                        filter.load(rs.getInt(1), rs.getString(2));
+                        rows.incrementAndGet();
+                    }));
+        });
+        // El archivador escribe el segmento antes de borrar las filas: recorrerlo después no pierde ninguna
+        archive.forEach(transaction -> {
+            filter.load(transaction.getId(), transaction.getName());
+            rows.incrementAndGet();
+        });
+        filter.completeRebuild(rows.get());
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.transactions.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del filtro de búsquedas negativas por id y por Tenpista
+ */
+@Data
+@ConfigurationProperties(prefix = "app.lookup-filter")
+public class LookupFilterProperties {
+    
+    /**
+     * Activa el filtro; apagado por defecto porque asume una sola instancia escribiendo
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Transacciones esperadas (base más archivo); con más filas sube la tasa de falsos positivos
+     */
+    private long expectedTransactions = 1_000_000;
+    
+    /**
+     * Tenpistas distintos esperados
+     */
+    private long expectedClients = 100_000;
+    
+    /**
+     * Probabilidad de que un id o Tenpista inexistente igual consulte la base
+     */
+    private double falsePositiveRate = 0.01;
+}
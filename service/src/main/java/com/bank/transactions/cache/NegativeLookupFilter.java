@@ -0,0 +1,166 @@
+package com.bank.transactions.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.transactions.dto.TransactionDTO;
+
+import java.util.Objects;
+
+/**
+ * Filtros de Bloom con conteo sobre los ids y los nombres de Tenpista existentes (en la base o
+ * archivados), consultados antes de ir a la base: si el filtro responde "no está" la búsqueda
+ * termina sin consulta; si responde "puede estar" se consulta normalmente.
+ * <p>
+ * Nunca debe dar falsos negativos. Las altas se cuentan siempre al guardar, antes de confirmar,
+ * y las bajas se descuentan al confirmar. Cada nombre se cuenta una vez por transacción, así que
+ * deja de estar presente cuando se elimina la última. Las bajas pedidas antes de terminar la
+ * reconstrucción no se descuentan: la carga puede no haber contado esa fila. Contar de más
+ * solo deja falsos positivos.
+ * Apagado o sin construir, todo "puede estar".
+ */
+@Component
+@EnableConfigurationProperties(LookupFilterProperties.class)
+@Slf4j
+public class NegativeLookupFilter {
+    
+    private final boolean enabled;
+    private final CountingBloomFilter ids;
+    private final CountingBloomFilter clients;
+    private final Counter idMisses;
+    private final Counter idPasses;
+    private final Counter clientMisses;
+    private final Counter clientPasses;
+    
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+    
+    public NegativeLookupFilter(LookupFilterProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.ids = enabled
+                ? new CountingBloomFilter(properties.getExpectedTransactions(), properties.getFalsePositiveRate())
+                : null;
+        this.clients = enabled
+                ? new CountingBloomFilter(properties.getExpectedClients(), properties.getFalsePositiveRate())
+                : null;
+        this.idMisses = outcome(meterRegistry, "id", "absent");
+        this.idPasses = outcome(meterRegistry, "id", "maybe");
+        this.clientMisses = outcome(meterRegistry, "client", "absent");
+        this.clientPasses = outcome(meterRegistry, "client", "maybe");
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * False solo si el id seguro no existe
+     */
+    public boolean mightContainId(Integer id) {
+        if (!ready) {
+            return true;
+        }
+        boolean maybe = ids.mightContain(CountingBloomFilter.hash(id));
+        (maybe ? idPasses : idMisses).increment();
+        return maybe;
+    }
+    
+    /**
+     * False solo si el Tenpista seguro no tiene transacciones
+     */
+    public boolean mightContainClient(String name) {
+        if (!ready) {
+            return true;
+        }
+        boolean maybe = clients.mightContain(CountingBloomFilter.hash(name));
+        (maybe ? clientPasses : clientMisses).increment();
+        return maybe;
+    }
+    
+    /**
+     * A partir de aquí se cuentan las altas; debe llamarse antes de leer la base de datos
+     */
+    public void beginRebuild() {
+        rebuilding = true;
+    }
+    
+    /**
+     * Cuenta una fila existente durante la reconstrucción
+     */
+    public void load(Integer id, String name) {
+        ids.add(CountingBloomFilter.hash(id));
+        clients.add(CountingBloomFilter.hash(name));
+    }
+    
+    public void completeRebuild(long rows) {
+        rebuilding = false;
+        ready = true;
+        log.info("Filtro de búsquedas negativas construido con {} transacciones ({} KB)", rows,
+                (ids.sizeInBytes() + clients.sizeInBytes()) / 1024);
+    }
+    
+    /**
+     * Cuenta una transacción nueva; se llama antes de confirmar para que ninguna lectura la vea ausente
+     */
+    public void onCreated(TransactionDTO transaction) {
+        if (enabled) {
+            load(transaction.getId(), transaction.getName());
+        }
+    }
+    
+    /**
+     * Mueve la cuenta del nombre anterior al nuevo si cambió el Tenpista; el anterior se descuenta al confirmar
+     */
+    public void onUpdated(String previousName, TransactionDTO transaction) {
+        if (!enabled || Objects.equals(previousName, transaction.getName())) {
+            return;
+        }
+        boolean counted = ready;
+        clients.add(CountingBloomFilter.hash(transaction.getName()));
+        if (rebuilding) {
+            // Si la fila cambia de shard mientras se recorren, la carga puede no verla en ninguno
+            ids.add(CountingBloomFilter.hash(transaction.getId()));
+        }
+        if (counted) {
+            afterCommit(() -> clients.remove(CountingBloomFilter.hash(previousName)));
+        }
+    }
+    
+    /**
+     * Descuenta una transacción eliminada cuando la transacción de base de datos confirma
+     */
+    public void onDeleted(Integer id, String name) {
+        if (enabled && ready) {
+            afterCommit(() -> {
+                ids.remove(CountingBloomFilter.hash(id));
+                clients.remove(CountingBloomFilter.hash(name));
+            });
+        }
+    }
+    
+    private static Counter outcome(MeterRegistry meterRegistry, String kind, String result) {
+        return Counter.builder("transaction.lookup.filter")
+                .description("Consultas al filtro de búsquedas negativas")
+                .tag("kind", kind)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.transactions.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.config.ClientIdentifier;
+import com.bank.transactions.config.ReadReplicaRoutingDataSource;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aplica {@link SingleFlight} a los métodos anotados con {@link Coalesced}, con los argumentos como clave.
+ * <p>
+ * Va antes que el limitador de concurrencia y que la transacción: las llamadas que esperan no
+ * ocupan lugar en el límite ni retienen una conexión. Si el líder es rechazado por sobrecarga,
+ * las que esperaban reciben el mismo rechazo.
+ * <p>
+ * Un cliente dentro de su ventana de read-your-writes ({@link ReadReplicaRoutingDataSource}) no se
+ * agrupa: su lectura va al primario y no puede recibir el resultado de otra leído desde una réplica.
+ */
+@Aspect
+@Component
+// Antes que el limitador de concurrencia (HIGHEST_PRECEDENCE + 10)
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(prefix = "app.read-coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReadCoalescingAspect {
+    
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ReadReplicaRoutingDataSource> replicaRouting;
+    private final Map<Method, SingleFlight<List<Object>, Object>> flights = new ConcurrentHashMap<>();
+    
+    public ReadCoalescingAspect(MeterRegistry meterRegistry, ObjectProvider<ReadReplicaRoutingDataSource> replicaRouting) {
+        this.meterRegistry = meterRegistry;
+        this.replicaRouting = replicaRouting;
+    }
+    
+    @Around("@annotation(com.bank.transactions.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReadReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        if (routing != null && routing.isRecentWriter(ClientIdentifier.current())) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return flights.computeIfAbsent(method, this::register)
+                .execute(Arrays.asList(joinPoint.getArgs()), joinPoint::proceed);
+    }
+    
+    private SingleFlight<List<Object>, Object> register(Method method) {
+        SingleFlight<List<Object>, Object> flight = new SingleFlight<>();
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        FunctionCounter.builder("transaction.read.coalescing", flight, SingleFlight::executed)
+                .description("Lecturas agrupadas: ejecutadas y las que esperaron a otra idéntica")
+                .tag("method", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("transaction.read.coalescing", flight, SingleFlight::collapsed)
+                .description("Lecturas agrupadas: ejecutadas y las que esperaron a otra idéntica")
+                .tag("method", name)
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+        return flight;
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.transactions.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la caché de respuestas ya serializadas de los listados
+ */
+@Data
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+    
+    /**
+     * Activa la caché; apagada por defecto porque asume una sola instancia escribiendo
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Vida máxima de una respuesta, como respaldo ante escrituras que no pasan por el servicio
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+    
+    /**
+     * Tras una invalidación, las cargas leen del primario durante este tiempo para no guardar con la
+     * versión nueva datos de una réplica atrasada; debería cubrir el retraso tolerado de las réplicas
+     */
+    private Duration primaryFillWindow = Duration.ofSeconds(5);
+    
+    /**
+     * Memoria total de las respuestas guardadas, contando ambas codificaciones
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    
+    /**
+     * Las respuestas más grandes se sirven sin guardarse
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(4);
+    
+    /**
+     * Guarda además una versión gzip para los clientes que la aceptan
+     */
+    private boolean gzip = true;
+    
+    /**
+     * Bajo este tamaño no se comprime: el encabezado gzip costaría más de lo que ahorra
+     */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,103 @@
+package com.bank.transactions.cache;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma clave en una sola ejecución: la primera
+ * (líder) ejecuta la carga y las que llegan mientras tanto esperan y reciben su resultado.
+ * <p>
+ * Si la carga falla, todas las que esperaban reciben la misma excepción: repetirla en paralelo
+ * fallaría igual y cargaría más a la base. La excepción es que el líder haya sido interrumpido;
+ * entonces el resto vuelve a intentar y una de ellas pasa a ser líder. Una llamada que espera y es
+ * interrumpida deja de esperar sin afectar la carga en curso.
+ *
+ * @param <K> clave de la carga, con equals y hashCode por valor
+ * @param <V> resultado, compartido entre todas las llamadas agrupadas
+ */
+public class SingleFlight<K, V> {
+    
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    
+    /**
+     * Carga que puede lanzar cualquier excepción, como un método interceptado
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Throwable;
+    }
+    
+    public V execute(K key, Loader<V> loader) throws Throwable {
+        while (true) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing == null) {
+                return lead(key, call, loader);
+            }
+            collapsed.increment();
+            try {
+                return existing.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Se canceló la espera de una lectura en curso");
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof LeaderInterrupted)) {
+                    throw ex.getCause();
+                }
+            } catch (CancellationException ex) {
+                // El futuro no se expone, pero si alguien lo cancela se reintenta igual que con el líder interrumpido
+            }
+        }
+    }
+    
+    /**
+     * Cargas ejecutadas (una por grupo de llamadas)
+     */
+    public long executed() {
+        return executed.sum();
+    }
+    
+    /**
+     * Llamadas que esperaron la carga de otra en lugar de ejecutar la suya
+     */
+    public long collapsed() {
+        return collapsed.sum();
+    }
+    
+    private V lead(K key, CompletableFuture<V> call, Loader<V> loader) throws Throwable {
+        executed.increment();
+        try {
+            V value = loader.load();
+            call.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            call.completeExceptionally(interrupted(ex) ? new LeaderInterrupted() : ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+    
+    private static boolean interrupted(Throwable error) {
+        return error instanceof InterruptedException
+                || error instanceof InterruptedIOException
+                || error instanceof CancellationException
+                || Thread.currentThread().isInterrupted();
+    }
+    
+    /**
+     * Marca que la carga se cortó por el líder y no por la consulta; las demás llamadas reintentan
+     */
+    private static final class LeaderInterrupted extends RuntimeException {
+        
+        private LeaderInterrupted() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.transactions.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que escribe una única línea de access log por request con su latencia.
+ * Los requests exitosos se muestrean por endpoint; errores y requests lentos se registran siempre.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogFilter extends OncePerRequestFilter {
+    
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    
+    private final AccessLogProperties properties;
+    private final long slowThresholdNanos;
+    
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String endpoint = resolveEndpoint(request);
+            int status = response.getStatus();
+            
+            if (shouldLog(endpoint, status, elapsed) && accessLog.isInfoEnabled()) {
+                accessLog.info("method={} endpoint={} status={} latency_ms={} client={}",
+                        request.getMethod(), endpoint, status,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), ClientIdentifier.resolve(request));
+            }
+        }
+    }
+    
+    /**
+     * Usa el patrón de la ruta (p. ej. /api/transaction/{id}) para no generar una clave por id
+     */
+    private String resolveEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+    
+    private boolean shouldLog(String endpoint, int status, long elapsedNanos) {
+        if (status >= 400 || elapsedNanos >= slowThresholdNanos) {
+            return true;
+        }
+        double rate = properties.getEndpointSampleRates().getOrDefault(endpoint, properties.getSampleRate());
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
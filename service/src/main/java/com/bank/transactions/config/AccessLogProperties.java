@@ -0,0 +1,36 @@
+package com.bank.transactions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades del access log
+ */
+@Data
+@ConfigurationProperties(prefix = "app.logging.access")
+public class AccessLogProperties {
+    
+    /**
+     * Activa la línea de access log por request
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Fracción de requests exitosos que se registran (0.0 a 1.0)
+     */
+    private double sampleRate = 1.0;
+    
+    /**
+     * Fracción por patrón de endpoint, p. ej. /api/transaction/{id}; tiene prioridad sobre sampleRate
+     */
+    private Map<String, Double> endpointSampleRates = new HashMap<>();
+    
+    /**
+     * Requests más lentos que este umbral se registran siempre
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,48 @@
+package com.bank.transactions.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import com.bank.transactions.dto.TransactionBatchRequest;
+
+import java.lang.reflect.Type;
+
+/**
+ * Cobra en el rate limit el tamaño de las lecturas por lote.
+ * <p>
+ * {@link RateLimitInterceptor} cobra una request antes de leer el cuerpo; una vez leído, el lote
+ * paga las que le faltan según {@link RateLimitInterceptor#batchWeight}. Así un lote de 5000 ids
+ * no cuesta lo mismo que uno de 1: con los valores por omisión vacía el bucket del cliente.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class BatchRateLimitAdvice extends RequestBodyAdviceAdapter {
+    
+    private final RateLimitInterceptor rateLimitInterceptor;
+    
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return methodParameter.getParameterType() == TransactionBatchRequest.class;
+    }
+    
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        TransactionBatchRequest batchRequest = (TransactionBatchRequest) body;
+        if (batchRequest.getIds() != null
+                && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            long pending = rateLimitInterceptor.batchWeight(batchRequest.getIds().size()) - 1;
+            if (pending > 0) {
+                rateLimitInterceptor.consume(attributes.getRequest(), attributes.getResponse(), pending);
+            }
+        }
+        return body;
+    }
+}
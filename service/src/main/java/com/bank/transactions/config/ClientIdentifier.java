@@ -0,0 +1,69 @@
+package com.bank.transactions.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Resuelve el identificador de cliente usado por el rate limiting y el enrutamiento
+ * Prioriza header X-Client-Id, luego IP
+ */
+public final class ClientIdentifier {
+    
+    public static final String HEADER = "X-Client-Id";
+    
+    private static final ThreadLocal<String> PROPAGATED = new ThreadLocal<>();
+    
+    private ClientIdentifier() {
+    }
+    
+    /**
+     * Obtiene un identificador único del cliente
+     */
+    public static String resolve(HttpServletRequest request) {
+        String clientId = request.getHeader(HEADER);
+        
+        if (clientId == null || clientId.isEmpty()) {
+            clientId = request.getRemoteAddr();
+        }
+        
+        return clientId;
+    }
+    
+    /**
+     * Obtiene el identificador del cliente del request en curso,
+     * o null si el hilo actual no está atendiendo un request HTTP
+     */
+    public static String current() {
+        String propagated = PROPAGATED.get();
+        if (propagated != null) {
+            return propagated;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return resolve(servletAttributes.getRequest());
+        }
+        return null;
+    }
+    
+    /**
+     * Ejecuta la acción en otro hilo como si atendiera el request del cliente indicado.
+     * Se propaga solo el identificador: el request puede terminar y reciclarse antes que la acción.
+     */
+    public static <T> T callAs(String clientId, Supplier<T> action) {
+        String previous = PROPAGATED.get();
+        PROPAGATED.set(clientId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                PROPAGATED.set(previous);
+            } else {
+                PROPAGATED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.transactions.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Dimensiona los pools Hikari según los núcleos disponibles y el presupuesto de conexiones de la BD.
+ * Usa la fórmula (núcleos * 2) + 1 acotada por (max_connections - reservadas) / instancias,
+ * y deja el pool de tamaño fijo para evitar abrir conexiones bajo carga.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.pool", name = "auto-size", havingValue = "true")
+@EnableConfigurationProperties(PoolSizingProperties.class)
+@Slf4j
+public class HikariPoolSizingConfig {
+    
+    @Bean
+    public static BeanPostProcessor hikariPoolSizingPostProcessor(ObjectProvider<PoolSizingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int size = computePoolSize(properties.getObject(), Runtime.getRuntime().availableProcessors());
+                    hikari.setMaximumPoolSize(size);
+                    hikari.setMinimumIdle(size);
+                    log.info("Pool {} dimensionado a {} conexiones", beanName, size);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    /**
+     * Calcula el tamaño del pool para una instancia
+     */
+    static int computePoolSize(PoolSizingProperties properties, int cores) {
+        int byCores = cores * 2 + 1;
+        int byDatabase = (properties.getDbMaxConnections() - properties.getReservedConnections())
+                / Math.max(properties.getInstances(), 1);
+        return Math.max(properties.getMinimumSize(), Math.min(byCores, byDatabase));
+    }
+}
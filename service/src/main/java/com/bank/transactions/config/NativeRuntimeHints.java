@@ -0,0 +1,80 @@
+package com.bank.transactions.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobStatusDTO;
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.CurrencyBalanceDTO;
+import com.bank.transactions.dto.ErrorResponse;
+import com.bank.transactions.dto.LedgerEntryDTO;
+import com.bank.transactions.dto.TransactionBatchRequest;
+import com.bank.transactions.dto.TransactionBatchResponse;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.entity.BalanceSnapshot;
+import com.bank.transactions.entity.LedgerEntry;
+import com.bank.transactions.entity.Merchant;
+import com.bank.transactions.entity.Transaction;
+import com.bank.transactions.ledger.LedgerTotal;
+import com.bank.transactions.merchant.MerchantNameConverter;
+import com.bank.transactions.velocity.RecentCreate;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Hints de alcanzabilidad para la imagen nativa y el procesamiento AOT:
+ * builders de Lombok, springdoc y los proxies JDBC de datasource-proxy
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final MemberCategory[] ALL_MEMBERS = {
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_DECLARED_METHODS,
+        MemberCategory.DECLARED_FIELDS
+    };
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // DTOs y entidad con sus builders generados por Lombok (Jackson, Hibernate y constructor expressions)
+        for (Class<?> type : List.of(TransactionDTO.class, TransactionDTO.TransactionDTOBuilder.class,
+                TransactionBatchRequest.class, TransactionBatchRequest.TransactionBatchRequestBuilder.class,
+                TransactionBatchResponse.class, TransactionBatchResponse.TransactionBatchResponseBuilder.class,
+                ErrorResponse.class, ErrorResponse.ErrorResponseBuilder.class,
+                ClientBalanceDTO.class, ClientBalanceDTO.ClientBalanceDTOBuilder.class,
+                CurrencyBalanceDTO.class, CurrencyBalanceDTO.CurrencyBalanceDTOBuilder.class,
+                LedgerEntryDTO.class, LedgerEntryDTO.LedgerEntryDTOBuilder.class,
+                BulkJobRequest.class, BulkJobRequest.BulkJobRequestBuilder.class,
+                BulkJobStatusDTO.class, BulkJobStatusDTO.BulkJobStatusDTOBuilder.class,
+                Transaction.class, Transaction.TransactionBuilder.class,
+                LedgerEntry.class, LedgerEntry.LedgerEntryBuilder.class,
+                BalanceSnapshot.class, BalanceSnapshot.BalanceSnapshotBuilder.class,
+                Merchant.class, Merchant.MerchantBuilder.class, LedgerTotal.class, RecentCreate.class)) {
+            hints.reflection().registerType(type, ALL_MEMBERS);
+        }
+        
+        // Hibernate crea el converter del giro con el bean factory de Spring
+        hints.reflection().registerType(MerchantNameConverter.class, ALL_MEMBERS);
+        
+        // springdoc sirve la UI de Swagger desde el webjar
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+        hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        
+        // Scripts de índices y migraciones de PostgreSQL que se ejecutan al iniciar
+        hints.resources().registerPattern("db/postgresql/*.sql");
+        
+        // datasource-proxy envuelve cada objeto JDBC en un proxy dinámico de JDK
+        TypeReference proxyJdbcObject = TypeReference.of("net.ttddyy.dsproxy.proxy.ProxyJdbcObject");
+        for (Class<?> jdbcType : List.of(javax.sql.DataSource.class, Connection.class, Statement.class,
+                PreparedStatement.class, CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(proxyJdbcObject, TypeReference.of(jdbcType));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.transactions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del dimensionamiento automático del pool de conexiones
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.pool")
+public class PoolSizingProperties {
+    
+    /**
+     * Calcula maximumPoolSize a partir de los núcleos y de las conexiones disponibles en la BD
+     */
+    private boolean autoSize = false;
+    
+    /**
+     * max_connections configurado en PostgreSQL
+     */
+    private int dbMaxConnections = 100;
+    
+    /**
+     * Conexiones reservadas para superusuario, réplicas y herramientas administrativas
+     */
+    private int reservedConnections = 10;
+    
+    /**
+     * Instancias del servicio que comparten la misma base de datos
+     */
+    private int instances = 1;
+    
+    /**
+     * Tamaño mínimo del pool aunque el cálculo dé menos
+     */
+    private int minimumSize = 2;
+}
@@ -0,0 +1,88 @@
+package com.bank.transactions.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.merchant.MerchantDictionary;
+import com.bank.transactions.sharding.ShardRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reemplaza la columna business_name por merchant_id en bases PostgreSQL creadas antes del
+ * diccionario de comercios. Los nombres de cada shard se registran con el diccionario para que
+ * los ids sean los del registro (shard-0, que se migra primero). En otras bases de datos no hace nada.
+ * <p>
+ * Corre al crearse el bean, antes del EntityManagerFactory ({@link SchemaMigrationOrder}), para que
+ * ninguna consulta lea merchant_id mientras aún no está poblado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresMerchantMigration implements InitializingBean {
+    
+    private static final String PREPARE_SCRIPT = "db/postgresql/merchants-prepare.sql";
+    private static final String BACKFILL_SCRIPT = "db/postgresql/merchants-backfill.sql";
+    
+    private static final String HAS_BUSINESS_NAME_SQL = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'transactions' AND column_name = 'business_name'";
+    
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardRoutingDataSource> shardRouting;
+    private final MerchantDictionary merchants;
+    
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+    
+    public void migrate() {
+        ShardRoutingDataSource routing = shardRouting.getIfAvailable();
+        Map<String, DataSource> targets = routing != null ? routing.getShards() : Map.of("principal", dataSource);
+        targets.forEach(this::migrate);
+    }
+    
+    private void migrate(String name, DataSource target) {
+        if (!isPostgres(target)) {
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        Long pending = jdbc.queryForObject(HAS_BUSINESS_NAME_SQL, Long.class);
+        if (pending == null || pending == 0) {
+            return;
+        }
+        log.info("Migrando giros a ids de comercio en {}", name);
+        new ResourceDatabasePopulator(new ClassPathResource(PREPARE_SCRIPT)).execute(target);
+        
+        List<String> businessNames = jdbc.queryForList(
+                "SELECT DISTINCT business_name FROM transactions WHERE merchant_id IS NULL AND business_name IS NOT NULL",
+                String.class);
+        // Sin sharding la única base es el registro
+        String shard = shardRouting.getIfAvailable() != null ? name : null;
+        businessNames.forEach(businessName -> merchants.idFor(businessName, shard));
+        
+        new ResourceDatabasePopulator(new ClassPathResource(BACKFILL_SCRIPT)).execute(target);
+        log.info("{} comercio(s) registrados en {}", businessNames.size(), name);
+    }
+    
+    private boolean isPostgres(DataSource target) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(target, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException ex) {
+            log.warn("No se pudo determinar el motor de base de datos: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
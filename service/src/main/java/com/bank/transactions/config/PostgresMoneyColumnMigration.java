@@ -0,0 +1,74 @@
+package com.bank.transactions.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.sharding.ShardRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migra la columna amount de integer a bigint y agrega la moneda en bases PostgreSQL creadas
+ * antes de los montos en unidades mínimas. ddl-auto=update agrega columnas pero no cambia tipos.
+ * Con sharding se revisa cada shard. En otras bases de datos no hace nada.
+ * <p>
+ * Corre al crearse el bean, antes del EntityManagerFactory ({@link SchemaMigrationOrder}): el cambio
+ * de tipo reescribe la tabla y no debe convivir con consultas sobre el tipo anterior.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresMoneyColumnMigration implements InitializingBean {
+    
+    private static final String SCRIPT = "db/postgresql/money-columns.sql";
+    
+    private static final String AMOUNT_TYPE_SQL = "SELECT data_type FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'transactions' AND column_name = 'amount'";
+    
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardRoutingDataSource> shardRouting;
+    
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+    
+    public void migrate() {
+        ShardRoutingDataSource routing = shardRouting.getIfAvailable();
+        Map<String, DataSource> targets = routing != null ? routing.getShards() : Map.of("principal", dataSource);
+        targets.forEach(this::migrate);
+    }
+    
+    private void migrate(String name, DataSource target) {
+        if (!isPostgres(target)) {
+            return;
+        }
+        List<String> type = new JdbcTemplate(target).queryForList(AMOUNT_TYPE_SQL, String.class);
+        if (!type.equals(List.of("integer"))) {
+            return;
+        }
+        log.info("Migrando montos a unidades mínimas con moneda en {}", name);
+        new ResourceDatabasePopulator(new ClassPathResource(SCRIPT)).execute(target);
+    }
+    
+    private boolean isPostgres(DataSource target) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(target, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException ex) {
+            log.warn("No se pudo determinar el motor de base de datos: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
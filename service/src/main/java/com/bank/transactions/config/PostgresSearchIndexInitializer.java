@@ -0,0 +1,54 @@
+package com.bank.transactions.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Crea los índices de búsqueda específicos de PostgreSQL (trigram y prefijo sobre el nombre de comercio)
+ * una vez que Hibernate creó o actualizó el esquema. En otras bases de datos no hace nada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresSearchIndexInitializer {
+    
+    private static final String SCRIPT = "db/postgresql/search-indexes.sql";
+    
+    private final DataSource dataSource;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            // CONCURRENTLY no admite transacción: el pool puede entregar conexiones sin autocommit (perfil perf)
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try {
+                // continueOnError: sin privilegios para pg_trgm la búsqueda funciona, solo que sin índice
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+                populator.setContinueOnError(true);
+                populator.populate(connection);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            log.info("Índices de búsqueda de PostgreSQL verificados");
+        } catch (SQLException ex) {
+            log.warn("No se pudieron verificar los índices de búsqueda: {}", ex.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -1,81 +1,123 @@
 package com.bank.transactions.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import com.bank.transactions.controller.BulkJobController;
 import com.bank.transactions.exception.RateLimitExceededException;
+import com.bank.transactions.profiling.RateLimitEvent;
+import com.bank.transactions.ratelimit.RateLimitProperties;
+import com.bank.transactions.ratelimit.StripedTokenBuckets;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Interceptor para implementar rate limiting usando Bucket4j
- * Límite: 3 requests por minuto por cliente
+ * Interceptor para implementar rate limiting con token buckets por cliente
+ * Límite: 3 requests por minuto por cliente (app.rate-limit.requests-per-minute)
+ * Las consultas y cancelaciones de tareas masivas quedan fuera del límite; las lecturas por lote
+ * pagan además según su tamaño ({@link BatchRateLimitAdvice})
  */
 @Component
+@EnableConfigurationProperties(RateLimitProperties.class)
 @Slf4j
 public class RateLimitInterceptor implements HandlerInterceptor {
     
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private final StripedTokenBuckets buckets;
     
     /**
-     * Crea un nuevo bucket con límite de 3 requests por minuto
+     * Opcional: los tests de la capa web no registran un Tracer
      */
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.classic(3, Refill.intervally(3, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
+    private final ObjectProvider<Tracer> tracer;
     
-    /**
-     * Resuelve el bucket para un cliente específico
-     */
-    private Bucket resolveBucket(String clientId) {
-        return cache.computeIfAbsent(clientId, k -> createNewBucket());
+    private final long requestsPerMinute;
+    
+    private final int batchIdsPerRequest;
+    
+    public RateLimitInterceptor(RateLimitProperties properties, ObjectProvider<Tracer> tracer,
+                                MeterRegistry meterRegistry) {
+        this.requestsPerMinute = properties.getRequestsPerMinute();
+        this.batchIdsPerRequest = properties.getBatchIdsPerRequest();
+        this.buckets = new StripedTokenBuckets(requestsPerMinute, Duration.ofMinutes(1).toMillis(),
+                properties.getStripes(), properties.getStripeCapacity());
+        this.tracer = tracer;
+        Gauge.builder("rate.limit.clients", buckets, StripedTokenBuckets::trackedClients)
+                .description("Clientes con bucket de rate limiting en memoria")
+                .register(meterRegistry);
     }
     
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, 
                             Object handler) throws Exception {
         
-        // Obtener identificador del cliente (IP o header personalizado)
-        String clientId = getClientIdentifier(request);
+        if (isBulkJobPolling(request, handler)) {
+            return true;
+        }
         
-        Bucket bucket = resolveBucket(clientId);
+        consume(request, response, 1);
+        return true;
+    }
+    
+    /**
+     * Requests que cuesta una lectura por lote de {@code ids} ids: una cada
+     * app.rate-limit.batch-ids-per-request ids, sin pasar de la capacidad del bucket
+     */
+    long batchWeight(int ids) {
+        long weight = Math.max(1, (ids + (long) batchIdsPerRequest - 1) / batchIdsPerRequest);
+        return Math.min(weight, requestsPerMinute);
+    }
+    
+    /**
+     * Consume tokens del cliente del request o lanza {@link RateLimitExceededException} si no le alcanzan
+     */
+    void consume(HttpServletRequest request, HttpServletResponse response, long tokens) {
+        // Obtener identificador del cliente (IP o header personalizado)
+        String clientId = ClientIdentifier.resolve(request);
         
-        // Intentar consumir un token
-        if (bucket.tryConsume(1)) {
+        // Intentar consumir los tokens
+        Span span = tracer.getIfAvailable(() -> Tracer.NOOP).nextSpan().name("rate-limit").start();
+        RateLimitEvent event = new RateLimitEvent();
+        event.begin();
+        boolean allowed;
+        long remaining;
+        try {
+            remaining = buckets.tryConsume(clientId, tokens);
+            allowed = remaining != StripedTokenBuckets.REJECTED;
+            remaining = Math.max(remaining, 0);
+            span.tag("result", allowed ? "allowed" : "rejected");
+        } finally {
+            span.end();
+        }
+        event.finish(clientId, allowed, remaining);
+        if (allowed) {
             // Agregar headers informativos
-            response.addHeader("X-Rate-Limit-Remaining", 
-                String.valueOf(bucket.getAvailableTokens()));
-            return true;
+            response.setHeader("X-Rate-Limit-Remaining", 
+                String.valueOf(remaining));
         } else {
             log.warn("Rate limit excedido para cliente: {}", clientId);
             throw new RateLimitExceededException(
-                "Has excedido el límite de 3 requests por minuto. Por favor, intenta más tarde."
+                "Has excedido el límite de " + requestsPerMinute + " requests por minuto. Por favor, intenta más tarde."
             );
         }
     }
     
     /**
-     * Obtiene un identificador único del cliente
-     * Prioriza header X-Client-Id, luego IP
+     * Consultar y cancelar tareas masivas no consume requests: el avance se sondea mientras la
+     * tarea corre y no debe agotar el límite ni impedir cancelarla. Crearlas sí lo consume.
      */
-    private String getClientIdentifier(HttpServletRequest request) {
-        String clientId = request.getHeader("X-Client-Id");
-        
-        if (clientId == null || clientId.isEmpty()) {
-            clientId = request.getRemoteAddr();
-        }
-        
-        return clientId;
+    private static boolean isBulkJobPolling(HttpServletRequest request, Object handler) {
+        return handler instanceof HandlerMethod method
+                && method.getBeanType() == BulkJobController.class
+                && (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.DELETE.matches(request.getMethod()));
     }
 }
@@ -0,0 +1,80 @@
+package com.bank.transactions.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del DataSource con enrutamiento de lecturas hacia réplicas
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+    
+    /**
+     * Pool del primario; recibe la configuración spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+    
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            DataSourceProperties dataSourceProperties,
+            ReadReplicaProperties replicaProperties) {
+        
+        String username = replicaProperties.getReplicaUsername() != null
+                ? replicaProperties.getReplicaUsername() : dataSourceProperties.getUsername();
+        String password = replicaProperties.getReplicaPassword() != null
+                ? replicaProperties.getReplicaPassword() : dataSourceProperties.getPassword();
+        
+        List<String> urls = replicaProperties.getReplicaUrls();
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            // Las réplicas heredan el tamaño y timeouts del pool primario
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            replicas.add(new HikariDataSource(config));
+        }
+        
+        log.info("Enrutamiento de lecturas activo con {} réplica(s)", replicas.size());
+        return new ReadReplicaRoutingDataSource(primary, replicas, replicaProperties);
+    }
+    
+    /**
+     * El proxy perezoso retrasa la obtención de la conexión hasta la primera sentencia,
+     * cuando ya se conoce si la transacción es de solo lectura
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.transactions.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades del enrutamiento de lecturas hacia réplicas
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReadReplicaProperties {
+    
+    /**
+     * Activa el enrutamiento de transacciones de solo lectura hacia réplicas
+     */
+    private boolean enabled = false;
+    
+    /**
+     * URLs JDBC de las réplicas
+     */
+    private List<String> replicaUrls = new ArrayList<>();
+    
+    /**
+     * Usuario de las réplicas; si no se define se usa el del primario
+     */
+    private String replicaUsername;
+    
+    /**
+     * Contraseña de las réplicas; si no se define se usa la del primario
+     */
+    private String replicaPassword;
+    
+    /**
+     * Retraso de replicación máximo tolerado antes de sacar una réplica de rotación
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    /**
+     * Consulta que retorna el retraso de la réplica en segundos; vacía para solo validar conexión
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_is_in_recovery() "
+            + "THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) "
+            + "ELSE 0 END";
+    
+    /**
+     * Intervalo entre chequeos de salud de las réplicas
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+    
+    /**
+     * Tiempo durante el cual un cliente lee del primario después de escribir
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,226 @@
+package com.bank.transactions.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a réplicas sanas
+ * y todo lo demás al primario.
+ * Un cliente que acaba de escribir sigue leyendo del primario durante una ventana
+ * configurable para ver sus propios cambios. Debe envolverse en un
+ * LazyConnectionDataSourceProxy para que la decisión se tome con la transacción ya iniciada.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public static final String PRIMARY = "primary";
+    
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+    
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+    
+    private final List<String> replicaKeys;
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Boolean> replicaHealth = new ConcurrentHashMap<>();
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ReadReplicaProperties properties;
+    
+    private ScheduledExecutorService healthChecker;
+    
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                        ReadReplicaProperties properties) {
+        this.properties = properties;
+        this.replicas = new HashMap<>();
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            String key = "replica-" + i;
+            replicas.put(key, replicaDataSources.get(i));
+            replicaHealth.put(key, Boolean.TRUE);
+            targets.put(key, replicaDataSources.get(i));
+        }
+        this.replicaKeys = replicas.keySet().stream().sorted().toList();
+        
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientId = ClientIdentifier.current();
+        
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (clientId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite(clientId);
+            }
+            return PRIMARY;
+        }
+        
+        if (FORCE_PRIMARY.get() != null || clientId != null && isWithinReadYourWritesWindow(clientId)) {
+            return PRIMARY;
+        }
+        
+        return nextHealthyReplica();
+    }
+    
+    /**
+     * Ejecuta la acción leyendo del primario también en transacciones de solo lectura.
+     * Sin réplicas configuradas no tiene efecto.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+    
+    /**
+     * Si la acción en curso se ejecuta con {@link #onPrimary}
+     */
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get() != null;
+    }
+    
+    /**
+     * Selecciona la siguiente réplica sana en round robin, o el primario si no hay ninguna
+     */
+    private String nextHealthyReplica() {
+        int size = replicaKeys.size();
+        int start = Math.floorMod(roundRobin.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (replicaHealth.getOrDefault(key, Boolean.FALSE)) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+    
+    private void recordWrite(String clientId) {
+        if (recentWriters.size() >= MAX_TRACKED_CLIENTS) {
+            pruneExpiredWriters();
+        }
+        recentWriters.put(clientId, System.nanoTime() + properties.getReadYourWritesWindow().toNanos());
+    }
+    
+    /**
+     * Si las lecturas del cliente van al primario porque escribió hace poco
+     */
+    public boolean isRecentWriter(String clientId) {
+        return clientId != null && isWithinReadYourWritesWindow(clientId);
+    }
+    
+    private boolean isWithinReadYourWritesWindow(String clientId) {
+        Long until = recentWriters.get(clientId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        recentWriters.remove(clientId, until);
+        return false;
+    }
+    
+    private void pruneExpiredWriters() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> now - until >= 0);
+    }
+    
+    /**
+     * Verifica conectividad y retraso de cada réplica y actualiza su estado
+     */
+    public void checkReplicas() {
+        for (String key : replicaKeys) {
+            boolean healthy = isHealthy(key, replicas.get(key));
+            Boolean previous = replicaHealth.put(key, healthy);
+            if (previous == null || previous != healthy) {
+                log.warn("Réplica {} marcada como {}", key, healthy ? "disponible" : "no disponible");
+            }
+        }
+        pruneExpiredWriters();
+    }
+    
+    private boolean isHealthy(String key, DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(2)) {
+                return false;
+            }
+            if (!StringUtils.hasText(properties.getLagQuery())) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+                return Duration.ofMillis((long) (lagSeconds * 1000)).compareTo(properties.getMaxLag()) <= 0;
+            }
+        } catch (Exception ex) {
+            log.debug("Chequeo de salud fallido para réplica {}: {}", key, ex.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Marca manualmente el estado de una réplica
+     */
+    void setReplicaHealth(String key, boolean healthy) {
+        replicaHealth.put(key, healthy);
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (!replicaKeys.isEmpty()) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getHealthCheckInterval().toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Detiene el chequeo de salud y cierra los pools de las réplicas;
+     * el pool primario es un bean y lo cierra el contexto
+     */
+    public void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.debug("Error cerrando réplica: {}", ex.getMessage());
+                }
+            }
+        }
+    }
+}
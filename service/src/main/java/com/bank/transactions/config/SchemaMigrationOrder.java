@@ -0,0 +1,17 @@
+package com.bank.transactions.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hace que el EntityManagerFactory dependa de las migraciones de esquema de PostgreSQL, igual que
+ * Spring Boot lo hace con Flyway: se ejecutan antes de que Hibernate valide o actualice el esquema
+ * y antes de atender tráfico, así ninguna consulta ve el esquema a medio migrar.
+ */
+@Component
+public class SchemaMigrationOrder extends EntityManagerFactoryDependsOnPostProcessor {
+    
+    public SchemaMigrationOrder() {
+        super(PostgresMoneyColumnMigration.class, PostgresMerchantMigration.class);
+    }
+}
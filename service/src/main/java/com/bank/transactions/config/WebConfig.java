@@ -28,7 +28,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins(allowedOrigins.split(","))
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("X-Rate-Limit-Remaining")
+                .exposedHeaders("X-Rate-Limit-Remaining", "Retry-After")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -0,0 +1,134 @@
+package com.bank.transactions.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.bank.transactions.bulk.BulkJobService;
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobStatusDTO;
+
+import java.util.List;
+
+/**
+ * Controlador REST de las tareas masivas de eliminación y actualización filtrada.
+ * Crear una tarea consume un solo request del rate limit sin importar cuántas transacciones afecte;
+ * listar, consultar y cancelar tareas no lo consumen, para poder seguir el avance.
+ */
+@RestController
+@RequestMapping("/api/transaction/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Bulk Jobs", description = "Eliminación y actualización masiva de transacciones en segundo plano")
+public class BulkJobController {
+    
+    private final BulkJobService bulkJobService;
+    
+    @Operation(
+        summary = "Crear tarea masiva",
+        description = "Elimina o cambia el Tenpista y/o el giro de las transacciones que cumplen los filtros " +
+                      "(los mismos de la búsqueda; al menos uno). Se ejecuta en segundo plano en tramos cortos; " +
+                      "el avance se consulta con el id retornado"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Tarea aceptada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkJobStatusDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Filtros inválidos o el Tenpista destino superaría el límite de transacciones"),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas tareas en espera")
+    })
+    @PostMapping
+    public ResponseEntity<BulkJobStatusDTO> submit(
+            @Parameter(description = "Operación, filtros y cambios de la tarea", required = true)
+            @Valid @RequestBody BulkJobRequest request) {
+        
+        log.debug("POST /api/transaction/jobs - Creando tarea masiva {}", request.getOperation());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobService.submit(request));
+    }
+    
+    @Operation(
+        summary = "Listar tareas masivas",
+        description = "Tareas en espera, en curso y terminadas recientes, de la más nueva a la más antigua"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tareas obtenidas",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = BulkJobStatusDTO.class))
+            )
+        )
+    })
+    @GetMapping
+    public ResponseEntity<List<BulkJobStatusDTO>> list() {
+        log.debug("GET /api/transaction/jobs - Listando tareas masivas");
+        return ResponseEntity.ok(bulkJobService.list());
+    }
+    
+    @Operation(
+        summary = "Obtener estado de una tarea masiva",
+        description = "Estado, transacciones procesadas y tramos confirmados"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tarea encontrada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkJobStatusDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Tarea no encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobStatusDTO> get(
+            @Parameter(description = "ID de la tarea", required = true)
+            @PathVariable String id) {
+        
+        log.debug("GET /api/transaction/jobs/{} - Obteniendo tarea masiva", id);
+        return ResponseEntity.ok(bulkJobService.get(id));
+    }
+    
+    @Operation(
+        summary = "Cancelar tarea masiva",
+        description = "Una tarea en espera no empieza; una en curso se detiene al confirmar su tramo actual. " +
+                      "Los tramos ya confirmados no se revierten"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Cancelación solicitada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkJobStatusDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Tarea no encontrada")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BulkJobStatusDTO> cancel(
+            @Parameter(description = "ID de la tarea", required = true)
+            @PathVariable String id) {
+        
+        log.debug("DELETE /api/transaction/jobs/{} - Cancelando tarea masiva", id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobService.cancel(id));
+    }
+}
@@ -11,17 +11,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.bank.transactions.cache.EncodedResponse;
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.LedgerEntryDTO;
+import com.bank.transactions.dto.TransactionBatchRequest;
+import com.bank.transactions.dto.TransactionBatchResponse;
 import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchResponse;
 import com.bank.transactions.service.TransactionService;
 
 import java.util.List;
 
 /**
- * Controlador REST para operaciones CRUD de transacciones
+ * Controlador REST para operaciones CRUD de transacciones.
+ * Los listados se responden desde {@link EncodedResponseCache} con el JSON ya serializado.
  */
 @RestController
 @RequestMapping("/api/transaction")
@@ -31,6 +43,7 @@ import java.util.List;
 public class TransactionController {
     
     private final TransactionService transactionService;
+    private final EncodedResponseCache responseCache;
     
     @Operation(
         summary = "Obtener todas las transacciones",
@@ -49,10 +62,13 @@ public class TransactionController {
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getAllTransactions() {
-        log.info("GET /api/transaction - Obteniendo todas las transacciones");
-        List<TransactionDTO> transactions = transactionService.getAllTransactions();
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<byte[]> getAllTransactions(
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        log.debug("GET /api/transaction - Obteniendo todas las transacciones");
+        EncodedResponse transactions = responseCache.get(EncodedResponseCache.Key.all(),
+                transactionService::getAllTransactions);
+        return encoded(transactions, acceptEncoding);
     }
     
     @Operation(
@@ -77,11 +93,70 @@ public class TransactionController {
             @Parameter(description = "ID de la transacción", required = true)
             @PathVariable Integer id) {
         
-        log.info("GET /api/transaction/{} - Obteniendo transacción", id);
+        log.debug("GET /api/transaction/{} - Obteniendo transacción", id);
         TransactionDTO transaction = transactionService.getTransactionById(id);
         return ResponseEntity.ok(transaction);
     }
     
+    @Operation(
+        summary = "Obtener transacciones por lote de IDs",
+        description = "Retorna en una sola consulta las transacciones encontradas y los IDs inexistentes. " +
+                "Acepta hasta " + TransactionBatchRequest.MAX_IDS + " IDs y consume un request del rate limit " +
+                "cada app.rate-limit.batch-ids-per-request IDs (1000 por omisión), sin pasar del límite por minuto"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote procesado exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TransactionBatchResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado grande"),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResponse> getTransactionsByIds(
+            @Parameter(description = "IDs de las transacciones a consultar", required = true)
+            @Valid @RequestBody TransactionBatchRequest batchRequest) {
+        
+        log.debug("POST /api/transaction/batch - Obteniendo {} transacciones", batchRequest.getIds().size());
+        TransactionBatchResponse response = transactionService.getTransactionsByIds(batchRequest.getIds());
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(
+        summary = "Buscar transacciones",
+        description = "Filtra por rango de monto, rango de fechas, giro o comercio (prefijo o contiene) y Tenpista. " +
+                      "Ordena por fecha o monto y pagina con un cursor opaco (nextCursor)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de resultados obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TransactionSearchResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Filtros o cursor inválidos"),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchTransactions(
+            @ParameterObject @Valid TransactionSearchCriteria criteria,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        
+        log.debug("GET /api/transaction/search - Buscando transacciones: {}", criteria);
+        EncodedResponse response = responseCache.get(EncodedResponseCache.Key.search(criteria),
+                () -> transactionService.searchTransactions(criteria));
+        return encoded(response, acceptEncoding);
+    }
+    
     @Operation(
         summary = "Obtener transacciones por Tenpista",
         description = "Retorna todas las transacciones de un Tenpista específico"
@@ -99,13 +174,89 @@ public class TransactionController {
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/user/{name}")
-    public ResponseEntity<List<TransactionDTO>> getTransactionsByTenpista(
+    public ResponseEntity<byte[]> getTransactionsByTenpista(
+            @Parameter(description = "Nombre del Tenpista", required = true)
+            @PathVariable String name,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        
+        log.debug("GET /api/transaction/tenpista/{} - Obteniendo transacciones", name);
+        EncodedResponse transactions = responseCache.get(EncodedResponseCache.Key.client(name),
+                () -> transactionService.getTransactionsByTenpista(name));
+        return encoded(transactions, acceptEncoding);
+    }
+    
+    @Operation(
+        summary = "Verificar si un Tenpista tiene transacciones",
+        description = "Responde sin cuerpo; los nombres desconocidos se descartan en memoria sin consultar la base"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "El Tenpista tiene transacciones"),
+        @ApiResponse(responseCode = "404", description = "El Tenpista no tiene transacciones"),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @RequestMapping(value = "/user/{name}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> existsTenpista(
+            @Parameter(description = "Nombre del Tenpista", required = true)
+            @PathVariable String name) {
+        
+        log.debug("HEAD /api/transaction/user/{} - Verificando Tenpista", name);
+        return transactionService.existsTenpista(name)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+    
+    @Operation(
+        summary = "Obtener saldo de un Tenpista",
+        description = "Saldo y cantidad de transacciones vigentes por moneda según el libro de transacciones: " +
+                      "la última foto de saldo más los asientos posteriores"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Saldo calculado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ClientBalanceDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/user/{name}/balance")
+    public ResponseEntity<ClientBalanceDTO> getClientBalance(
             @Parameter(description = "Nombre del Tenpista", required = true)
             @PathVariable String name) {
         
-        log.info("GET /api/transaction/tenpista/{} - Obteniendo transacciones", name);
-        List<TransactionDTO> transactions = transactionService.getTransactionsByTenpista(name);
-        return ResponseEntity.ok(transactions);
+        log.debug("GET /api/transaction/user/{}/balance - Calculando saldo", name);
+        return ResponseEntity.ok(transactionService.getClientBalance(name));
+    }
+    
+    @Operation(
+        summary = "Obtener historial de una transacción",
+        description = "Asientos del libro de la transacción (alta, ediciones y reversas) en el orden en que se registraron"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Historial encontrado",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = LedgerEntryDTO.class))
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Transacción sin asientos"),
+        @ApiResponse(responseCode = "429", description = "Rate limit excedido"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<LedgerEntryDTO>> getTransactionHistory(
+            @Parameter(description = "ID de la transacción", required = true)
+            @PathVariable Integer id) {
+        
+        log.debug("GET /api/transaction/{}/history - Obteniendo historial", id);
+        return ResponseEntity.ok(transactionService.getTransactionHistory(id));
     }
     
     @Operation(
@@ -130,7 +281,7 @@ public class TransactionController {
             @Parameter(description = "Datos de la transacción", required = true)
             @Valid @RequestBody TransactionDTO transactionDTO) {
         
-        log.info("POST /api/transaction - Creando nueva transacción");
+        log.debug("POST /api/transaction - Creando nueva transacción");
         TransactionDTO createdTransaction = transactionService.createTransaction(transactionDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
     }
@@ -160,7 +311,7 @@ public class TransactionController {
             @Parameter(description = "Datos actualizados de la transacción", required = true)
             @Valid @RequestBody TransactionDTO transactionDTO) {
         
-        log.info("PUT /api/transaction/{} - Actualizando transacción", id);
+        log.debug("PUT /api/transaction/{} - Actualizando transacción", id);
         TransactionDTO updatedTransaction = transactionService.updateTransaction(id, transactionDTO);
         return ResponseEntity.ok(updatedTransaction);
     }
@@ -180,8 +331,21 @@ public class TransactionController {
             @Parameter(description = "ID de la transacción", required = true)
             @PathVariable Integer id) {
         
-        log.info("DELETE /api/transaction/{} - Eliminando transacción", id);
+        log.debug("DELETE /api/transaction/{} - Eliminando transacción", id);
         transactionService.deleteTransaction(id);
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * Escribe el cuerpo ya serializado; comprimido si existe la versión gzip y el cliente la acepta
+     */
+    private static ResponseEntity<byte[]> encoded(EncodedResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (response.gzip() != null && EncodedResponse.acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
 }
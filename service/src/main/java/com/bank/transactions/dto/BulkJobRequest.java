@@ -0,0 +1,63 @@
+package com.bank.transactions.dto;
+
+import com.bank.transactions.dto.TransactionSearchCriteria.MatchMode;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para solicitar una tarea masiva: los filtros eligen las transacciones, igual que en la búsqueda,
+ * y la operación las elimina o les cambia el Tenpista y/o el giro
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkJobRequest {
+    
+    /**
+     * Operación que se aplica a cada transacción filtrada
+     */
+    public enum Operation {
+        DELETE,
+        UPDATE
+    }
+    
+    @NotNull(message = "La operación es obligatoria")
+    private Operation operation;
+    
+    @Min(value = 0, message = "El monto mínimo no puede ser negativo")
+    private Long minAmount;
+    
+    @Min(value = 0, message = "El monto máximo no puede ser negativo")
+    private Long maxAmount;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+    
+    @Size(max = 255, message = "El giro no puede exceder 255 caracteres")
+    private String businessName;
+    
+    @Builder.Default
+    private MatchMode businessNameMatch = MatchMode.CONTAINS;
+    
+    @Size(max = 255, message = "El nombre no puede exceder 255 caracteres")
+    private String name;
+    
+    /**
+     * Nuevo Tenpista de las transacciones (solo UPDATE)
+     */
+    @Size(max = 255, message = "El nuevo nombre no puede exceder 255 caracteres")
+    private String newName;
+    
+    /**
+     * Nuevo giro o comercio de las transacciones (solo UPDATE)
+     */
+    @Size(max = 255, message = "El nuevo giro no puede exceder 255 caracteres")
+    private String newBusinessName;
+}
@@ -0,0 +1,60 @@
+package com.bank.transactions.dto;
+
+import com.bank.transactions.dto.BulkJobRequest.Operation;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el estado y el avance de una tarea masiva
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkJobStatusDTO {
+    
+    /**
+     * Estado de la tarea; SUCCEEDED, FAILED y CANCELLED son finales
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+    
+    private String id;
+    
+    private Operation operation;
+    
+    private Status status;
+    
+    /**
+     * Transacciones que cumplían los filtros al aceptar la tarea; referencia para el avance
+     */
+    private long matched;
+    
+    /**
+     * Transacciones eliminadas o modificadas hasta ahora
+     */
+    private long processed;
+    
+    private int chunks;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startedAt;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime finishedAt;
+    
+    /**
+     * Motivo de la falla si status es FAILED
+     */
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.bank.transactions.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO del saldo de un Tenpista calculado desde el libro de transacciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientBalanceDTO {
+    
+    private String name;
+    
+    private List<CurrencyBalanceDTO> balances;
+    
+    /**
+     * Último asiento cubierto por la foto usada; null si no había foto
+     */
+    private Long snapshotEntryId;
+    
+    /**
+     * Asientos sumados después de la foto
+     */
+    private long replayedEntries;
+}
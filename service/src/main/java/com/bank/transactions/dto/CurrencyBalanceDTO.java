@@ -0,0 +1,25 @@
+package com.bank.transactions.dto;
+
+import lombok.*;
+
+/**
+ * Saldo de un Tenpista en una moneda
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurrencyBalanceDTO {
+    
+    private String currency;
+    
+    /**
+     * Suma de los montos vigentes, en unidades mínimas de la moneda
+     */
+    private long balance;
+    
+    /**
+     * Transacciones vigentes en la moneda
+     */
+    private long transactionCount;
+}
@@ -29,6 +29,11 @@ public class ErrorResponse {
     
     private String path;
     
+    /**
+     * Traza del request, para buscarla en el backend de trazas; vacío si las trazas están desactivadas
+     */
+    private String traceId;
+    
     public ErrorResponse(int status, String error, String message, String path) {
         this.status = status;
         this.error = error;
@@ -0,0 +1,46 @@
+package com.bank.transactions.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import com.bank.transactions.entity.LedgerEntryType;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de un asiento del libro de transacciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntryDTO {
+    
+    private Long id;
+    
+    private Integer transactionId;
+    
+    private LedgerEntryType type;
+    
+    private String name;
+    
+    private String currency;
+    
+    /**
+     * Monto de la transacción después del cambio; en las reversas, el monto revertido
+     */
+    private long amount;
+    
+    /**
+     * Lo que el asiento suma al saldo del Tenpista en la moneda
+     */
+    private long delta;
+    
+    private String businessName;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime transactionDate;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime recordedAt;
+}
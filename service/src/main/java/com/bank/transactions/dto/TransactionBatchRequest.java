@@ -0,0 +1,22 @@
+package com.bank.transactions.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para solicitudes de lectura por lote de transacciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchRequest {
+    
+    public static final int MAX_IDS = 5000;
+    
+    @NotEmpty(message = "La lista de ids es obligatoria")
+    @Size(max = MAX_IDS, message = "No se pueden consultar más de " + MAX_IDS + " ids por lote")
+    private List<@NotNull(message = "Los ids no pueden ser nulos") Integer> ids;
+}
@@ -0,0 +1,19 @@
+package com.bank.transactions.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para respuestas de lectura por lote: transacciones encontradas e ids inexistentes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionBatchResponse {
+    
+    private List<TransactionDTO> items;
+    
+    private List<Integer> missingIds;
+}
@@ -1,8 +1,12 @@
 package com.bank.transactions.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * DTO para transferencia de datos de transacciones
@@ -13,11 +17,25 @@ import lombok.*;
 @Builder
 public class TransactionDTO {
     
+    /**
+     * Orden de los listados: fecha e id descendentes
+     */
+    public static final Comparator<TransactionDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionDTO::getTransactionDate)
+            .thenComparing(TransactionDTO::getId)
+            .reversed();
+    
     private Integer id;
     
     @NotNull(message = "El monto de la transacción es obligatorio")
     @Min(value = 0, message = "El monto no puede ser negativo")
-    private Integer amount;
+    private Long amount;
+    
+    /**
+     * Código ISO 4217 del monto, expresado en unidades mínimas de la moneda. Si se omite se usa CLP.
+     */
+    @Pattern(regexp = "[A-Z]{3}", message = "La moneda debe ser un código ISO 4217 de tres letras")
+    private String currency;
     
     @NotBlank(message = "El giro o comercio es obligatorio")
     @Size(max = 255, message = "El giro no puede exceder 255 caracteres")
@@ -26,4 +44,11 @@ public class TransactionDTO {
     @NotBlank(message = "El nombre del Tenpista es obligatorio")
     @Size(max = 255, message = "El nombre no puede exceder 255 caracteres")
     private String name;
+    
+    /**
+     * Asignada por el servidor al crear la transacción
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime transactionDate;
 }
@@ -0,0 +1,80 @@
+package com.bank.transactions.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros, orden y paginación para la búsqueda de transacciones
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchCriteria {
+    
+    public static final int MAX_LIMIT = 500;
+    
+    /**
+     * Modo de comparación del giro o comercio
+     */
+    public enum MatchMode {
+        PREFIX,
+        CONTAINS
+    }
+    
+    /**
+     * Campo de ordenamiento
+     */
+    public enum SortField {
+        DATE,
+        AMOUNT
+    }
+    
+    /**
+     * Dirección de ordenamiento
+     */
+    public enum SortDirection {
+        ASC,
+        DESC
+    }
+    
+    @Min(value = 0, message = "El monto mínimo no puede ser negativo")
+    private Long minAmount;
+    
+    @Min(value = 0, message = "El monto máximo no puede ser negativo")
+    private Long maxAmount;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    
+    @Size(max = 255, message = "El giro no puede exceder 255 caracteres")
+    private String businessName;
+    
+    @Builder.Default
+    private MatchMode businessNameMatch = MatchMode.CONTAINS;
+    
+    @Size(max = 255, message = "El nombre no puede exceder 255 caracteres")
+    private String name;
+    
+    @Builder.Default
+    private SortField sort = SortField.DATE;
+    
+    @Builder.Default
+    private SortDirection direction = SortDirection.DESC;
+    
+    @Builder.Default
+    @Min(value = 1, message = "El límite debe ser al menos 1")
+    @Max(value = MAX_LIMIT, message = "El límite no puede exceder " + MAX_LIMIT)
+    private int limit = 50;
+    
+    /**
+     * Cursor opaco retornado por la página anterior
+     */
+    private String cursor;
+}
@@ -0,0 +1,22 @@
+package com.bank.transactions.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO para una página de resultados de búsqueda con el cursor de la siguiente
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearchResponse {
+    
+    private List<TransactionDTO> items;
+    
+    /**
+     * Cursor para pedir la siguiente página; null si no hay más resultados
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,44 @@
+package com.bank.transactions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de un Tenpista en una moneda considerando los asientos hasta {@link #lastEntryId}.
+ * Cada foto se inserta junto a las de las demás monedas del Tenpista con el mismo lastEntryId.
+ */
+@Entity
+@Table(name = "balance_snapshots", indexes = {
+    @Index(name = "idx_snapshot_name_entry", columnList = "name, last_entry_id")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "name", nullable = false, updatable = false)
+    private String name;
+    
+    @Column(name = "currency", nullable = false, updatable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "balance", nullable = false, updatable = false)
+    private long balance;
+    
+    @Column(name = "transaction_count", nullable = false, updatable = false)
+    private long transactionCount;
+    
+    @Column(name = "last_entry_id", nullable = false, updatable = false)
+    private long lastEntryId;
+    
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+}
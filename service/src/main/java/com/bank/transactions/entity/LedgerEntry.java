@@ -0,0 +1,76 @@
+package com.bank.transactions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import com.bank.transactions.merchant.MerchantNameConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asiento inmutable del libro de transacciones: solo se inserta, nunca se edita ni se borra.
+ * Guarda el estado de la transacción después del cambio y lo que el cambio suma al saldo
+ * del Tenpista en esa moneda.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = {
+    @Index(name = "idx_ledger_name_id", columnList = "name, id"),
+    @Index(name = "idx_ledger_transaction", columnList = "transaction_id, id"),
+    @Index(name = "idx_ledger_recorded_at", columnList = "recorded_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    
+    @Column(name = "transaction_id", nullable = false, updatable = false)
+    private Integer transactionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 16)
+    private LedgerEntryType type;
+    
+    /**
+     * Tenpista cuyo saldo afecta el asiento
+     */
+    @Column(name = "name", nullable = false, updatable = false)
+    private String name;
+    
+    @Column(name = "currency", nullable = false, updatable = false, length = 3)
+    private String currency;
+    
+    /**
+     * Monto de la transacción después del cambio en unidades mínimas de {@link #currency}; en las
+     * reversas, el monto revertido
+     */
+    @Column(name = "amount", nullable = false, updatable = false)
+    private long amount;
+    
+    /**
+     * Lo que el asiento suma al saldo (negativo en las reversas)
+     */
+    @Column(name = "delta", nullable = false, updatable = false)
+    private long delta;
+    
+    /**
+     * Lo que el asiento suma a la cantidad de transacciones vigentes: 1, 0 o -1
+     */
+    @Column(name = "count_delta", nullable = false, updatable = false)
+    private int countDelta;
+    
+    @Convert(converter = MerchantNameConverter.class)
+    @Column(name = "merchant_id", nullable = false, updatable = false)
+    private String businessName;
+    
+    @Column(name = "transaction_date", nullable = false, updatable = false)
+    private LocalDateTime transactionDate;
+    
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,22 @@
+package com.bank.transactions.entity;
+
+/**
+ * Tipo de asiento del libro de transacciones
+ */
+public enum LedgerEntryType {
+    
+    /**
+     * Alta de una transacción
+     */
+    CREATED,
+    
+    /**
+     * Edición de una transacción; lleva el estado nuevo completo
+     */
+    AMENDED,
+    
+    /**
+     * Eliminación de una transacción, o salida de su Tenpista o moneda anterior al editarla
+     */
+    REVERSED
+}
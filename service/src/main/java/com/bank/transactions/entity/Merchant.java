@@ -0,0 +1,29 @@
+package com.bank.transactions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Giro o comercio. Las transacciones guardan solo su id (merchant_id); el nombre se
+ * resuelve en memoria con {@link com.bank.transactions.merchant.MerchantDictionary}.
+ * Los comercios no se renombran ni se borran, así que un id siempre identifica el mismo nombre.
+ */
+@Entity
+@Table(name = "merchants", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_merchant_name", columnNames = "name")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Merchant {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+    
+    @Column(name = "name", nullable = false)
+    private String name;
+}
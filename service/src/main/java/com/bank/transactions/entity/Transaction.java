@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
+import com.bank.transactions.merchant.MerchantNameConverter;
+import com.bank.transactions.money.Money;
+
 import java.time.LocalDateTime;
 
 /**
@@ -12,7 +15,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_person_name", columnList = "name"),
-    @Index(name = "idx_transaction_date", columnList = "transaction_date")
+    @Index(name = "idx_transaction_date", columnList = "transaction_date"),
+    @Index(name = "idx_name_date_id", columnList = "name, transaction_date, id"),
+    @Index(name = "idx_date_id", columnList = "transaction_date, id"),
+    @Index(name = "idx_amount_id", columnList = "amount, id"),
+    @Index(name = "idx_merchant_date_id", columnList = "merchant_id, transaction_date, id")
 })
 @Getter
 @Setter
@@ -26,14 +33,30 @@ public class Transaction {
     @Column(name = "id")
     private Integer id;
     
-    @NotNull(message = "El monto de la transacción es obligatorio")
+    /**
+     * Monto en unidades mínimas de {@link #currency}
+     */
     @Min(value = 0, message = "El monto no puede ser negativo")
     @Column(name = "amount", nullable = false)
-    private Integer amount;
+    private long amount;
+    
+    /**
+     * Código ISO 4217; el default de la columna cubre las filas anteriores a la moneda
+     */
+    @NotBlank(message = "La moneda es obligatoria")
+    @Size(min = 3, max = 3, message = "La moneda debe ser un código ISO 4217 de tres letras")
+    @Column(name = "currency", nullable = false, length = 3,
+            columnDefinition = "varchar(3) default '" + Money.DEFAULT_CURRENCY + "'")
+    @Builder.Default
+    private String currency = Money.DEFAULT_CURRENCY;
     
+    /**
+     * Nombre del comercio; en la tabla se guarda el id de {@link Merchant}
+     */
     @NotBlank(message = "El giro o comercio es obligatorio")
     @Size(max = 255, message = "El giro no puede exceder 255 caracteres")
-    @Column(name = "business_name", nullable = false)
+    @Convert(converter = MerchantNameConverter.class)
+    @Column(name = "merchant_id", nullable = false)
     private String businessName;
     
     @NotBlank(message = "El nombre de la persona es obligatorio")
@@ -4,12 +4,16 @@ package com.bank.transactions.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.bank.transactions.dto.ErrorResponse;
@@ -22,6 +26,7 @@ import java.util.stream.Collectors;
  * Manejador global de excepciones para proporcionar respuestas estructuradas
  */
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
     
     /**
@@ -38,6 +43,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
@@ -57,6 +63,7 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -76,11 +83,54 @@ public class GlobalExceptionHandler {
                 .message(ex.getMessage())
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
     }
     
+    /**
+     * Maneja los rechazos por sobrecarga: 503 con Retry-After para que el cliente espere antes de reintentar
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(
+            ServiceOverloadedException ex, 
+            HttpServletRequest request) {
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Overloaded")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(error);
+    }
+    
+    /**
+     * Maneja validaciones que no respondieron a tiempo
+     */
+    @ExceptionHandler(ValidationUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleValidationUnavailable(
+            ValidationUnavailableException ex, 
+            HttpServletRequest request) {
+        
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
+                .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+    
     /**
      * Maneja errores de validación de @Valid
      */
@@ -102,6 +152,7 @@ public class GlobalExceptionHandler {
                 .details(details)
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -127,6 +178,7 @@ public class GlobalExceptionHandler {
                 .details(details)
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -149,6 +201,7 @@ public class GlobalExceptionHandler {
                 .message(message)
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -168,10 +221,13 @@ public class GlobalExceptionHandler {
                 .message("Ha ocurrido un error interno en el servidor")
                 .timestamp(LocalDateTime.now())
                 .path(request.getRequestURI())
+                .traceId(MDC.get("traceId"))
                 .build();
         
         // Log del error para debugging
-        ex.printStackTrace();
+        log.error("Error no controlado en {}", request.getRequestURI(), ex);
+        // La excepción quedó manejada aquí; se informa a la observación del request para que su span quede en error
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setError(ex));
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
@@ -3,15 +3,17 @@ package com.bank.transactions.exception;
 
 
 /**
- * Excepción lanzada cuando un recurso no es encontrado
+ * Excepción lanzada cuando un recurso no es encontrado.
+ * No captura el stack trace: es un resultado esperado, frecuente con ids inexistentes, y el
+ * manejador global solo usa el mensaje.
  */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ResourceNotFoundException(String resource, Integer id) {
-        super(String.format("%s no encontrado con id: %d", resource, id));
+        this(String.format("%s no encontrado con id: %d", resource, id));
     }
 }
@@ -0,0 +1,21 @@
+package com.bank.transactions.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando el limitador de concurrencia rechaza una operación por sobrecarga.
+ * Sin stack trace: se lanza en ráfagas justo cuando el servicio está saturado.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final Duration retryAfter;
+    
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
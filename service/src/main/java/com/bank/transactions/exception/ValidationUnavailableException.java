@@ -0,0 +1,11 @@
+package com.bank.transactions.exception;
+
+/**
+ * Excepción lanzada cuando una validación obligatoria no pudo completarse a tiempo
+ */
+public class ValidationUnavailableException extends RuntimeException {
+    
+    public ValidationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.transactions.ledger;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.repository.BalanceSnapshotRepository;
+import com.bank.transactions.repository.LedgerEntryRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserta periódicamente fotos de saldo de los Tenpistas con al menos {@code app.ledger.snapshot-every}
+ * asientos desde su última foto, y expone {@code POST /actuator/ledger} para una pasada inmediata.
+ * <p>
+ * Cada pasada revisa solo los Tenpistas con asientos posteriores a la marca de la pasada anterior
+ * (al iniciar, la foto más reciente del shard) y anteriores a {@code snapshot-lag}.
+ */
+@Component
+@Endpoint(id = "ledger")
+@ConditionalOnProperty(prefix = "app.ledger", name = "snapshot-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BalanceSnapshotter {
+    
+    private final LedgerProperties properties;
+    private final TransactionLedger ledger;
+    private final LedgerEntryRepository entries;
+    private final BalanceSnapshotRepository snapshots;
+    private final TransactionShards shards;
+    private final Map<String, Long> marks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    
+    public BalanceSnapshotter(LedgerProperties properties, TransactionLedger ledger, LedgerEntryRepository entries,
+                              BalanceSnapshotRepository snapshots, TransactionShards shards) {
+        this.properties = properties;
+        this.ledger = ledger;
+        this.entries = entries;
+        this.snapshots = snapshots;
+        this.shards = shards;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "balance-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getSnapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledRun, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    /**
+     * Fotografía ahora los Tenpistas que lo necesitan en todos los shards
+     */
+    @WriteOperation
+    public synchronized SnapshotRun snapshotNow() {
+        LocalDateTime horizon = LocalDateTime.now().minus(properties.getSnapshotLag());
+        int clients = 0;
+        int taken = 0;
+        for (String shard : shards.shards()) {
+            long mark = marks.computeIfAbsent(shard, key -> {
+                Long latest = shards.inNewTransaction(key, snapshots::findMaxLastEntryId);
+                return latest != null ? latest : 0L;
+            });
+            Long upToId = shards.inNewTransaction(shard, () -> entries.findMaxIdRecordedBefore(horizon));
+            if (upToId == null || upToId <= mark) {
+                continue;
+            }
+            List<String> names = shards.inNewTransaction(shard, () -> entries.findNamesBetween(mark, upToId));
+            for (String name : names) {
+                if (shards.inNewTransaction(shard, () -> ledger.snapshot(name, upToId, properties.getSnapshotEvery()))) {
+                    taken++;
+                }
+            }
+            clients += names.size();
+            marks.put(shard, upToId);
+        }
+        if (taken > 0) {
+            log.info("Fotos de saldo: {} de {} Tenpista(s) con asientos nuevos", taken, clients);
+        }
+        return new SnapshotRun(horizon, clients, taken);
+    }
+    
+    private void scheduledRun() {
+        try {
+            snapshotNow();
+        } catch (RuntimeException ex) {
+            log.warn("Falló la pasada de fotos de saldo: {}", ex.getMessage(), ex);
+        }
+    }
+    
+    public record SnapshotRun(LocalDateTime horizon, int clientsChecked, int snapshotsTaken) {
+    }
+}
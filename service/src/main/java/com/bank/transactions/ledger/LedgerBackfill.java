@@ -0,0 +1,76 @@
+package com.bank.transactions.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.transactions.sharding.ShardRoutingDataSource;
+import com.bank.transactions.sharding.ShardSchemaInitializer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Abre el libro en bases anteriores a él: en cada shard con transacciones y sin ningún asiento,
+ * asienta cada transacción vigente como alta en su fecha. Corre antes de recibir tráfico para que
+ * ninguna escritura llegue primero al libro vacío, y después de las migraciones de esquema, porque
+ * lee merchant_id y los montos ya migrados. Las transacciones ya archivadas no se asientan.
+ */
+@Component
+@DependsOn({"postgresMoneyColumnMigration", "postgresMerchantMigration"})
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerBackfill implements SmartInitializingSingleton {
+    
+    private static final String OPEN_LEDGER_SQL = "INSERT INTO ledger_entries (transaction_id, entry_type, name, "
+            + "currency, amount, delta, count_delta, merchant_id, transaction_date, recorded_at) "
+            + "SELECT id, 'CREATED', name, currency, amount, amount, 1, merchant_id, transaction_date, transaction_date "
+            + "FROM transactions";
+    
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardRoutingDataSource> shardRouting;
+    private final ObjectProvider<ShardSchemaInitializer> shardSchema;
+    private final AtomicBoolean prepared = new AtomicBoolean();
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        prepare();
+    }
+    
+    /**
+     * Idempotente: quien necesite leer el libro al iniciar puede invocarlo antes
+     */
+    public void prepare() {
+        if (!prepared.compareAndSet(false, true)) {
+            return;
+        }
+        // Los shards necesitan las tablas del libro antes de consultarlos
+        shardSchema.ifAvailable(ShardSchemaInitializer::prepare);
+        ShardRoutingDataSource routing = shardRouting.getIfAvailable();
+        Map<String, DataSource> targets = routing != null ? routing.getShards() : Map.of("principal", dataSource);
+        targets.forEach(this::open);
+    }
+    
+    private void open(String name, DataSource target) {
+        // Transacción explícita: con autocommit desactivado en el pool el insert se revertiría
+        // al devolver la conexión y el libro quedaría vacío sin volver a abrirse
+        Integer rows = new TransactionTemplate(new DataSourceTransactionManager(target)).execute(status -> {
+            JdbcTemplate probe = new JdbcTemplate(target);
+            probe.setMaxRows(1);
+            if (!probe.queryForList("SELECT id FROM ledger_entries", Long.class).isEmpty()) {
+                return 0;
+            }
+            return new JdbcTemplate(target).update(OPEN_LEDGER_SQL);
+        });
+        if (rows != null && rows > 0) {
+            log.info("Libro abierto en {} con {} transacción(es) vigentes", name, rows);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.transactions.ledger;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del libro de transacciones y de sus fotos de saldo
+ */
+@Data
+@ConfigurationProperties(prefix = "app.ledger")
+public class LedgerProperties {
+    
+    /**
+     * Activa las fotos periódicas; sin fotos el saldo se calcula con todos los asientos del Tenpista
+     */
+    private boolean snapshotEnabled = true;
+    
+    /**
+     * Pausa entre pasadas del fotógrafo
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+    
+    /**
+     * Asientos nuevos de un Tenpista desde su última foto que justifican una foto nueva
+     */
+    private int snapshotEvery = 100;
+    
+    /**
+     * Solo se fotografían asientos más antiguos que esto: cota de la duración de una transacción
+     * de base de datos, para que ninguna confirme después con un id menor al de la foto
+     */
+    private Duration snapshotLag = Duration.ofMinutes(1);
+}
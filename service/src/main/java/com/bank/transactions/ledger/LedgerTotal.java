@@ -0,0 +1,12 @@
+package com.bank.transactions.ledger;
+
+/**
+ * Suma de los asientos de un Tenpista en una moneda
+ *
+ * @param currency moneda de los asientos
+ * @param delta    suma de lo que los asientos aportan al saldo
+ * @param count    suma de lo que aportan a la cantidad de transacciones vigentes
+ * @param entries  asientos sumados
+ */
+public record LedgerTotal(String currency, long delta, long count, long entries) {
+}
@@ -0,0 +1,252 @@
+package com.bank.transactions.ledger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.CurrencyBalanceDTO;
+import com.bank.transactions.dto.LedgerEntryDTO;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.entity.BalanceSnapshot;
+import com.bank.transactions.entity.LedgerEntry;
+import com.bank.transactions.entity.LedgerEntryType;
+import com.bank.transactions.money.Money;
+import com.bank.transactions.repository.BalanceSnapshotRepository;
+import com.bank.transactions.repository.LedgerEntryRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Libro de transacciones: cada alta, edición y eliminación agrega asientos inmutables en la misma
+ * transacción de base de datos que cambia la fila, en el shard del Tenpista afectado. La tabla de
+ * transacciones queda como la proyección del estado vigente que sirve la API.
+ * <p>
+ * El saldo de un Tenpista es su foto más reciente ({@link BalanceSnapshotter}) más la suma de los
+ * asientos posteriores, así que una lectura recorre solo la cola desde la última foto.
+ */
+@Component
+@EnableConfigurationProperties(LedgerProperties.class)
+public class TransactionLedger {
+    
+    private static final Comparator<LedgerEntryDTO> RECORDED_ORDER = Comparator
+            .comparing(LedgerEntryDTO::getRecordedAt)
+            .thenComparing(LedgerEntryDTO::getId);
+    
+    private final LedgerEntryRepository entries;
+    private final BalanceSnapshotRepository snapshots;
+    private final TransactionShards shards;
+    private final DistributionSummary replayed;
+    private final Counter snapshotsTaken;
+    
+    public TransactionLedger(LedgerEntryRepository entries, BalanceSnapshotRepository snapshots,
+                             TransactionShards shards, MeterRegistry meterRegistry) {
+        this.entries = entries;
+        this.snapshots = snapshots;
+        this.shards = shards;
+        this.replayed = DistributionSummary.builder("ledger.balance.replayed")
+                .description("Asientos sumados después de la foto al calcular un saldo")
+                .register(meterRegistry);
+        this.snapshotsTaken = Counter.builder("ledger.snapshots")
+                .description("Fotos de saldo insertadas")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Asienta el alta de una transacción
+     */
+    public void recordCreated(TransactionDTO transaction) {
+        append(LedgerEntryType.CREATED, transaction, transaction.getAmount(), 1);
+    }
+    
+    /**
+     * Asienta una edición dentro del mismo shard. Si cambió el Tenpista o la moneda se revierte el
+     * estado anterior y se suma el nuevo completo; si no, un solo asiento con la diferencia.
+     */
+    public void recordAmended(TransactionDTO previous, TransactionDTO current) {
+        if (Objects.equals(previous.getName(), current.getName())
+                && Objects.equals(previous.getCurrency(), current.getCurrency())) {
+            append(LedgerEntryType.AMENDED, current, current.getAmount() - previous.getAmount(), 0);
+        } else {
+            recordReversed(previous);
+            recordMovedIn(current);
+        }
+    }
+    
+    /**
+     * Asienta la llegada de una transacción editada desde otro Tenpista o moneda: suma el monto completo
+     */
+    public void recordMovedIn(TransactionDTO current) {
+        append(LedgerEntryType.AMENDED, current, current.getAmount(), 1);
+    }
+    
+    /**
+     * Asienta la eliminación de una transacción, o su salida del Tenpista o moneda anterior
+     */
+    public void recordReversed(TransactionDTO previous) {
+        append(LedgerEntryType.REVERSED, previous, -previous.getAmount(), -1);
+    }
+    
+    /**
+     * Saldo por moneda del Tenpista: última foto más los asientos posteriores
+     */
+    public ClientBalanceDTO balance(String name) {
+        List<ShardBalance> parts = shards.forClient(name, () -> List.of(balanceOnShard(name)),
+                Comparator.comparingLong(ShardBalance::replayed), Integer.MAX_VALUE);
+        
+        // Durante una migración el Tenpista puede tener asientos en más de un shard
+        Map<String, CurrencyTotal> totals = new TreeMap<>();
+        Long snapshotEntryId = null;
+        long replayedEntries = 0;
+        for (ShardBalance part : parts) {
+            part.totals().forEach((currency, total) -> add(totals, currency, total.balance.minorUnits(), total.count));
+            if (part.snapshotEntryId() != null) {
+                snapshotEntryId = snapshotEntryId != null ? Math.max(snapshotEntryId, part.snapshotEntryId())
+                        : part.snapshotEntryId();
+            }
+            replayedEntries += part.replayed();
+        }
+        replayed.record(replayedEntries);
+        
+        List<CurrencyBalanceDTO> balances = new ArrayList<>(totals.size());
+        totals.forEach((currency, total) -> {
+            if (total.balance.minorUnits() != 0 || total.count != 0) {
+                balances.add(new CurrencyBalanceDTO(currency, total.balance.minorUnits(), total.count));
+            }
+        });
+        return ClientBalanceDTO.builder()
+                .name(name)
+                .balances(balances)
+                .snapshotEntryId(snapshotEntryId)
+                .replayedEntries(replayedEntries)
+                .build();
+    }
+    
+    /**
+     * Asientos de una transacción en el orden en que se registraron, de todos los shards por los
+     * que pasó su Tenpista
+     */
+    public List<LedgerEntryDTO> history(Integer transactionId) {
+        List<LedgerEntryDTO> history = new ArrayList<>(shards.scatter(() ->
+                entries.findByTransactionIdOrderByIdAsc(transactionId).stream()
+                        .map(TransactionLedger::toDto)
+                        .toList()));
+        history.sort(RECORDED_ORDER);
+        return history;
+    }
+    
+    /**
+     * Inserta una foto del Tenpista con los asientos hasta {@code upToId} si acumula al menos
+     * {@code minEntries} desde la anterior, y borra las fotos previas a la anterior.
+     * Debe ejecutarse en una transacción sobre el shard del Tenpista.
+     */
+    boolean snapshot(String name, long upToId, int minEntries) {
+        List<BalanceSnapshot> previous = snapshots.findLatest(name);
+        long afterId = previous.isEmpty() ? 0 : previous.get(0).getLastEntryId();
+        if (afterId >= upToId || entries.countBetween(name, afterId, upToId) < minEntries) {
+            return false;
+        }
+        
+        Map<String, CurrencyTotal> totals = new TreeMap<>();
+        previous.forEach(row -> add(totals, row.getCurrency(), row.getBalance(), row.getTransactionCount()));
+        entries.sumBetween(name, afterId, upToId)
+                .forEach(total -> add(totals, total.currency(), total.delta(), total.count()));
+        
+        LocalDateTime takenAt = LocalDateTime.now();
+        List<BalanceSnapshot> rows = new ArrayList<>(totals.size());
+        totals.forEach((currency, total) -> rows.add(BalanceSnapshot.builder()
+                .name(name)
+                .currency(currency)
+                .balance(total.balance.minorUnits())
+                .transactionCount(total.count)
+                .lastEntryId(upToId)
+                .takenAt(takenAt)
+                .build()));
+        snapshots.saveAll(rows);
+        // Se conserva la anterior para las lecturas que ya la leyeron y aún suman su cola
+        snapshots.deleteOlderThan(name, afterId);
+        snapshotsTaken.increment();
+        return true;
+    }
+    
+    private ShardBalance balanceOnShard(String name) {
+        List<BalanceSnapshot> latest = snapshots.findLatest(name);
+        Long snapshotEntryId = latest.isEmpty() ? null : latest.get(0).getLastEntryId();
+        Map<String, CurrencyTotal> totals = new TreeMap<>();
+        latest.forEach(row -> add(totals, row.getCurrency(), row.getBalance(), row.getTransactionCount()));
+        long replayedEntries = 0;
+        for (LedgerTotal total : entries.sumAfter(name, snapshotEntryId != null ? snapshotEntryId : 0)) {
+            add(totals, total.currency(), total.delta(), total.count());
+            replayedEntries += total.entries();
+        }
+        return new ShardBalance(snapshotEntryId, replayedEntries, totals);
+    }
+    
+    private void append(LedgerEntryType type, TransactionDTO state, long delta, int countDelta) {
+        entries.save(LedgerEntry.builder()
+                .transactionId(state.getId())
+                .type(type)
+                .name(state.getName())
+                .currency(state.getCurrency())
+                .amount(state.getAmount())
+                .delta(delta)
+                .countDelta(countDelta)
+                .businessName(state.getBusinessName())
+                .transactionDate(state.getTransactionDate())
+                .recordedAt(LocalDateTime.now())
+                .build());
+    }
+    
+    private static void add(Map<String, CurrencyTotal> totals, String currency, long balance, long count) {
+        totals.computeIfAbsent(currency, CurrencyTotal::new).add(Money.of(balance, currency), count);
+    }
+    
+    private static LedgerEntryDTO toDto(LedgerEntry entry) {
+        return LedgerEntryDTO.builder()
+                .id(entry.getId())
+                .transactionId(entry.getTransactionId())
+                .type(entry.getType())
+                .name(entry.getName())
+                .currency(entry.getCurrency())
+                .amount(entry.getAmount())
+                .delta(entry.getDelta())
+                .businessName(entry.getBusinessName())
+                .transactionDate(entry.getTransactionDate())
+                .recordedAt(entry.getRecordedAt())
+                .build();
+    }
+    
+    /**
+     * Saldo calculado en un shard, por moneda
+     */
+    private record ShardBalance(Long snapshotEntryId, long replayed, Map<String, CurrencyTotal> totals) {
+    }
+    
+    /**
+     * Saldo y transacciones de una moneda. El saldo se acumula con {@link Money}: un asiento en otra
+     * moneda o una suma que desborda falla en vez de corromper el total.
+     */
+    private static final class CurrencyTotal {
+        
+        private Money balance;
+        private long count;
+        
+        private CurrencyTotal(String currency) {
+            this.balance = Money.zero(currency);
+        }
+        
+        private void add(Money delta, long countDelta) {
+            balance = balance.plus(delta);
+            count = Math.addExact(count, countDelta);
+        }
+    }
+}
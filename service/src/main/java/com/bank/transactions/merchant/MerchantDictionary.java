@@ -0,0 +1,233 @@
+package com.bank.transactions.merchant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.sharding.ShardRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario bidireccional nombre de comercio ↔ id, en memoria.
+ * <p>
+ * Los ids los asigna la tabla merchants del registro (shard-0, o la única base sin sharding),
+ * así que son los mismos en todos los shards; cada shard recibe una copia de los comercios
+ * que usan sus filas. Los aciertos no consultan la base; un nombre nuevo se registra con su
+ * propia conexión, con autocommit activado explícitamente, para que el id quede confirmado
+ * aunque el pool no use autocommit y no desaparezca si la transacción que lo usa se revierte.
+ */
+@Component
+@Slf4j
+public class MerchantDictionary {
+    
+    private static final String FIND_ID_SQL = "SELECT id FROM merchants WHERE name = ?";
+    private static final String FIND_NAME_SQL = "SELECT name FROM merchants WHERE id = ?";
+    private static final String FIND_ALL_SQL = "SELECT id, name FROM merchants";
+    private static final String INSERT_SQL = "INSERT INTO merchants (name) VALUES (?)";
+    private static final String INSERT_WITH_ID_SQL = "INSERT INTO merchants (id, name) VALUES (?, ?)";
+    
+    private static final String UNIQUE_VIOLATION = "23505";
+    
+    private final DataSource registry;
+    private final Map<String, DataSource> shards;
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> copiedToShard = new ConcurrentHashMap<>();
+    
+    public MerchantDictionary(DataSource dataSource, ObjectProvider<ShardRoutingDataSource> shardRouting) {
+        ShardRoutingDataSource routing = shardRouting.getIfAvailable();
+        this.shards = routing != null ? routing.getShards() : Map.of();
+        this.registry = routing != null ? shards.get(ShardRoutingDataSource.shardName(0)) : dataSource;
+    }
+    
+    /**
+     * Carga los comercios existentes para que las primeras lecturas no consulten la base
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try (Connection connection = registry.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(FIND_ALL_SQL)) {
+            while (rs.next()) {
+                remember(rs.getInt(1), rs.getString(2));
+            }
+            log.info("Diccionario de comercios cargado: {} comercio(s)", namesById.size());
+        } catch (SQLException ex) {
+            log.warn("No se pudo cargar el diccionario de comercios: {}", ex.getMessage());
+        }
+    }
+    
+    /**
+     * Id del comercio, registrándolo si es nuevo
+     */
+    public int idFor(String name) {
+        Integer id = idsByName.get(name);
+        if (id == null) {
+            id = register(name);
+            remember(id, name);
+        }
+        return id;
+    }
+    
+    /**
+     * Id del comercio, asegurando que el shard donde se escribirá la fila tenga su copia.
+     * Un shard null es shard-0, igual que en el enrutamiento.
+     */
+    public int idFor(String name, String shard) {
+        int id = idFor(name);
+        copyTo(shard, id, name);
+        return id;
+    }
+    
+    /**
+     * Nombre del comercio; solo consulta el registro la primera vez que ve el id
+     */
+    public String nameFor(int id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            name = find(id);
+            remember(id, name);
+        }
+        return name;
+    }
+    
+    /**
+     * Copia al shard los comercios indicados que aún no tenga (al mover filas entre shards)
+     */
+    public void copyTo(String shard, Collection<Integer> ids) {
+        ids.forEach(id -> copyTo(shard, id, nameFor(id)));
+    }
+    
+    public int size() {
+        return namesById.size();
+    }
+    
+    private void remember(int id, String name) {
+        namesById.put(id, name);
+        idsByName.put(name, id);
+    }
+    
+    private int register(String name) {
+        try {
+            return inAutoCommit(registry, connection -> {
+                Integer existing = findId(connection, name);
+                if (existing != null) {
+                    return existing;
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    insert.setString(1, name);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            return keys.getInt(1);
+                        }
+                    }
+                } catch (SQLException ex) {
+                    if (!UNIQUE_VIOLATION.equals(ex.getSQLState())) {
+                        throw ex;
+                    }
+                }
+                // Otro hilo u otra instancia lo registró entre la consulta y el insert
+                Integer registered = findId(connection, name);
+                if (registered == null) {
+                    throw new DataRetrievalFailureException("No se obtuvo el id del comercio " + name);
+                }
+                return registered;
+            });
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("No se pudo registrar el comercio " + name, ex);
+        }
+    }
+    
+    private String find(int id) {
+        try (Connection connection = registry.getConnection();
+             PreparedStatement query = connection.prepareStatement(FIND_NAME_SQL)) {
+            query.setInt(1, id);
+            try (ResultSet rs = query.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString(1);
+                }
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("No se pudo leer el comercio " + id, ex);
+        }
+        throw new DataRetrievalFailureException("Comercio inexistente: " + id);
+    }
+    
+    private void copyTo(String shard, int id, String name) {
+        DataSource target = shard != null ? shards.get(shard) : null;
+        if (target == null || target == registry) {
+            return;
+        }
+        Set<Integer> copied = copiedToShard.computeIfAbsent(shard, key -> ConcurrentHashMap.newKeySet());
+        if (copied.contains(id)) {
+            return;
+        }
+        try {
+            inAutoCommit(target, connection -> {
+                try (PreparedStatement exists = connection.prepareStatement(FIND_NAME_SQL)) {
+                    exists.setInt(1, id);
+                    try (ResultSet rs = exists.executeQuery()) {
+                        if (rs.next()) {
+                            return null;
+                        }
+                    }
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID_SQL)) {
+                    insert.setInt(1, id);
+                    insert.setString(2, name);
+                    insert.executeUpdate();
+                } catch (SQLException ex) {
+                    if (!UNIQUE_VIOLATION.equals(ex.getSQLState())) {
+                        throw ex;
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("No se pudo copiar el comercio " + id + " a " + shard, ex);
+        }
+        copied.add(id);
+    }
+    
+    /**
+     * Ejecuta el trabajo en una conexión propia con autocommit activado explícitamente: el pool
+     * puede entregarlas con autocommit desactivado (perfil perf) y el insert se perdería al
+     * devolverla. Restaura el modo anterior antes de liberar la conexión.
+     */
+    private static <T> T inAutoCommit(DataSource target, ConnectionCallback<T> work) throws SQLException {
+        try (Connection connection = target.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try {
+                return work.doInConnection(connection);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    private static Integer findId(Connection connection, String name) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(FIND_ID_SQL)) {
+            query.setString(1, name);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.transactions.merchant;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+import com.bank.transactions.sharding.ShardContext;
+
+/**
+ * Guarda el giro de una transacción como el id de su comercio (columna merchant_id).
+ * Hibernate la instancia como bean de Spring, por eso recibe el diccionario en el constructor.
+ * Al escribir se usa el shard del hilo para que la fila y la copia del comercio queden juntas.
+ */
+@Converter
+@RequiredArgsConstructor
+public class MerchantNameConverter implements AttributeConverter<String, Integer> {
+    
+    private final MerchantDictionary merchants;
+    
+    @Override
+    public Integer convertToDatabaseColumn(String businessName) {
+        return businessName != null ? merchants.idFor(businessName, ShardContext.current()) : null;
+    }
+    
+    @Override
+    public String convertToEntityAttribute(Integer merchantId) {
+        return merchantId != null ? merchants.nameFor(merchantId) : null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.transactions.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Monto en unidades mínimas de la moneda (pesos para CLP, centavos para USD) con su código ISO 4217.
+ * Un long cubre montos que no caben en un int y las sumas fallan ante un desborde en vez de dar la vuelta.
+ */
+public record Money(long minorUnits, String currency) {
+    
+    public static final String DEFAULT_CURRENCY = "CLP";
+    
+    public Money {
+        if (!isSupportedCurrency(currency)) {
+            throw new IllegalArgumentException("Moneda no soportada: " + currency);
+        }
+    }
+    
+    public static Money of(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+    
+    public static Money zero(String currency) {
+        return new Money(0L, currency);
+    }
+    
+    /**
+     * Suma dos montos de la misma moneda
+     *
+     * @throws ArithmeticException si la suma desborda un long
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+    
+    /**
+     * Resta dos montos de la misma moneda
+     *
+     * @throws ArithmeticException si la resta desborda un long
+     */
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+    
+    /**
+     * Decimales de la moneda: 0 para CLP, 2 para USD
+     */
+    public int fractionDigits() {
+        return Currency.getInstance(currency).getDefaultFractionDigits();
+    }
+    
+    /**
+     * Valor en unidades mayores, solo para presentación
+     */
+    public BigDecimal toMajorUnits() {
+        return BigDecimal.valueOf(minorUnits, Math.max(fractionDigits(), 0));
+    }
+    
+    /**
+     * Verifica que el código sea una moneda ISO 4217 conocida por la JVM.
+     * {@link Currency} guarda sus instancias, por lo que la validación no reserva memoria en el camino habitual.
+     */
+    public static boolean isSupportedCurrency(String code) {
+        if (code == null || code.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        try {
+            Currency.getInstance(code);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+    
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    String.format("No se pueden combinar montos en %s y %s", currency, other.currency));
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return currency + " " + toMajorUnits().toPlainString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.transactions.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra la latencia de cada sentencia SQL etiquetada por método de repositorio,
+ * reporta las sentencias lentas y solicita su plan de ejecución
+ */
+@Slf4j
+public class QueryMetricsListener implements QueryExecutionListener {
+    
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdMillis;
+    private final SlowQueryExplainer explainer;
+    
+    public QueryMetricsListener(MeterRegistry meterRegistry, long slowThresholdMillis, SlowQueryExplainer explainer) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdMillis = slowThresholdMillis;
+        this.explainer = explainer;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String method = RepositoryInvocationContext.currentMethod();
+        String sql = queryInfoList.get(0).getQuery();
+        QueryType type = QueryUtils.getQueryType(sql);
+        long elapsed = execInfo.getElapsedTime();
+        
+        Timer.builder("db.query")
+                .description("Latencia de sentencias SQL por método de repositorio")
+                .tag("method", method)
+                .tag("type", type.name().toLowerCase())
+                .tag("batch", String.valueOf(execInfo.isBatch()))
+                .tag("success", String.valueOf(execInfo.isSuccess()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.MILLISECONDS);
+        
+        RepositoryInvocationContext.recordStatement(sql);
+        
+        if (elapsed >= slowThresholdMillis) {
+            log.warn("Consulta lenta ({} ms) en {}: {}", elapsed, method, sql);
+            QueryInfo queryInfo = queryInfoList.get(0);
+            if (explainer != null && type == QueryType.SELECT && !execInfo.isBatch()
+                    && queryInfo.getParametersList().size() <= 1) {
+                explainer.explain(method, sql, queryInfo.getParametersList().isEmpty()
+                        ? List.of() : queryInfo.getParametersList().get(0));
+            }
+        }
+    }
+}
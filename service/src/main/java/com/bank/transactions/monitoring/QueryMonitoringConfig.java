@@ -0,0 +1,97 @@
+package com.bank.transactions.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Configuración de la instrumentación de consultas: envuelve el DataSource principal
+ * en un proxy JDBC y etiqueta las sentencias con el método de repositorio que las origina.
+ * Con las trazas activas ({@code management.tracing.enabled}) también crea un span por invocación
+ * de repositorio y por sentencia.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.monitoring.queries", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryMonitoringProperties.class)
+public class QueryMonitoringConfig {
+    
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    
+    private static boolean tracingEnabled(Environment environment) {
+        return environment.getProperty("management.tracing.enabled", Boolean.class, true);
+    }
+    
+    /**
+     * Bean propio para que el contexto detenga su hilo al cerrarse; el post-procesador le entrega el DataSource
+     */
+    @Bean
+    public SlowQueryExplainer slowQueryExplainer() {
+        return new SlowQueryExplainer();
+    }
+    
+    @Bean
+    public static BeanPostProcessor queryMonitoringDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<QueryMonitoringProperties> properties,
+            ObjectProvider<SlowQueryExplainer> explainers,
+            ObjectProvider<Tracer> tracer,
+            Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !DATA_SOURCE_BEAN.equals(beanName)) {
+                    return bean;
+                }
+                QueryMonitoringProperties props = properties.getObject();
+                SlowQueryExplainer explainer = props.isExplainEnabled() ? explainers.getObject() : null;
+                if (explainer != null) {
+                    explainer.bind(dataSource);
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(DATA_SOURCE_BEAN)
+                        .listener(new QueryMetricsListener(meterRegistry.getObject(),
+                                props.getSlowThreshold().toMillis(), explainer));
+                if (tracingEnabled(environment)) {
+                    QueryTracingListener tracing = new QueryTracingListener(tracer::getObject);
+                    builder.listener(tracing).methodListener(tracing).proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+    
+    @Bean
+    public static BeanPostProcessor repositoryMethodTaggingPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<QueryMonitoringProperties> properties,
+            ObjectProvider<Tracer> tracer,
+            Environment environment) {
+        Supplier<Tracer> repositoryTracer = tracingEnabled(environment) ? tracer::getObject : () -> Tracer.NOOP;
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new RepositoryMethodInterceptor(
+                                            repositoryInformation.getRepositoryInterface().getSimpleName(),
+                                            meterRegistry.getObject(),
+                                            properties.getObject().getRepeatedStatementThreshold(),
+                                            repositoryTracer))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.transactions.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la instrumentación de consultas SQL
+ */
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.queries")
+public class QueryMonitoringProperties {
+    
+    /**
+     * Activa el proxy JDBC que mide cada sentencia
+     */
+    private boolean enabled = true;
+    
+    /**
+     * Sentencias más lentas que este umbral se registran como lentas
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+    
+    /**
+     * Ejecuta EXPLAIN en segundo plano para las consultas lentas
+     */
+    private boolean explainEnabled = false;
+    
+    /**
+     * Veces que la misma sentencia puede repetirse en una invocación de repositorio
+     * antes de reportarla como N+1
+     */
+    private int repeatedStatementThreshold = 5;
+}
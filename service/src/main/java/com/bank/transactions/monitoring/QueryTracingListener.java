@@ -0,0 +1,186 @@
+package com.bank.transactions.monitoring;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Crea un span por sentencia SQL, nombrado con el tipo de sentencia y el método de repositorio
+ * que la origina, con las filas afectadas (DML) o leídas (SELECT).
+ * <p>
+ * El span de un SELECT queda abierto mientras se recorre el ResultSet, para contar las filas y
+ * que su duración incluya la lectura; se cierra al cerrar el ResultSet o su Statement. Todo ocurre
+ * en el hilo que ejecuta la consulta, así que el estado se guarda por hilo.
+ */
+public class QueryTracingListener implements QueryExecutionListener, MethodExecutionListener {
+    
+    private static final String SPAN_KEY = QueryTracingListener.class.getName();
+    private static final int MAX_STATEMENT_LENGTH = 1_000;
+    
+    /**
+     * Sin valor inicial: afterMethod corre en cada llamada JDBC y no debe crear un mapa si no hay consultas abiertas
+     */
+    private static final ThreadLocal<Map<Object, OpenQuery>> OPEN = new ThreadLocal<>();
+    
+    private final Supplier<Tracer> tracer;
+    
+    /**
+     * @param tracer se resuelve en cada sentencia porque el DataSource se crea antes que el Tracer
+     */
+    public QueryTracingListener(Supplier<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        Tracer current = tracer.get();
+        if (current.currentSpan() == null) {
+            // Sentencias fuera de un request o tarea trazada (DDL, arranque): serían trazas de un solo span
+            return;
+        }
+        String method = RepositoryInvocationContext.currentMethod();
+        String sql = queryInfoList.get(0).getQuery();
+        String type = QueryUtils.getQueryType(sql).name().toLowerCase();
+        Span span = current.nextSpan()
+                .name(type + " " + method)
+                .tag("db.operation", type)
+                .tag("db.statement", sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql)
+                .tag("repository.method", method)
+                .tag("db.batch", String.valueOf(execInfo.isBatch()))
+                .start();
+        execInfo.addCustomValue(SPAN_KEY, span);
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Span span = execInfo.getCustomValue(SPAN_KEY, Span.class);
+        if (span == null) {
+            return;
+        }
+        if (!execInfo.isSuccess()) {
+            if (execInfo.getThrowable() != null) {
+                span.error(execInfo.getThrowable());
+            }
+            span.end();
+            return;
+        }
+        Object result = execInfo.getResult();
+        if (result instanceof ResultSet resultSet
+                && QueryUtils.getQueryType(queryInfoList.get(0).getQuery()) == QueryType.SELECT) {
+            // Desenvolver el proxy es otra llamada JDBC que pasa por afterMethod, así que va antes de tomar el mapa
+            Object target = unwrap(resultSet);
+            OpenQuery query = new OpenQuery(span, unwrap(execInfo.getStatement()));
+            Map<Object, OpenQuery> open = OPEN.get();
+            if (open == null) {
+                open = new IdentityHashMap<>();
+                OPEN.set(open);
+            }
+            open.put(target, query);
+            return;
+        }
+        long rows = affectedRows(result);
+        if (rows >= 0) {
+            span.tag("db.rows", rows);
+        }
+        span.end();
+    }
+    
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+    
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        Map<Object, OpenQuery> open = OPEN.get();
+        if (open == null) {
+            return;
+        }
+        Object target = executionContext.getTarget();
+        String name = executionContext.getMethod().getName();
+        if (target instanceof ResultSet) {
+            if ("next".equals(name)) {
+                OpenQuery query = open.get(target);
+                if (query != null && Boolean.TRUE.equals(executionContext.getResult())) {
+                    query.rows++;
+                }
+            } else if ("close".equals(name)) {
+                end(open.remove(target));
+            }
+        } else if (target instanceof Statement && "close".equals(name)) {
+            open.values().removeIf(query -> {
+                if (query.statement != target) {
+                    return false;
+                }
+                end(query);
+                return true;
+            });
+        }
+        if (open.isEmpty()) {
+            OPEN.remove();
+        }
+    }
+    
+    private static void end(OpenQuery query) {
+        if (query != null) {
+            query.span.tag("db.rows", query.rows);
+            query.span.end();
+        }
+    }
+    
+    /**
+     * Filas afectadas por un executeUpdate o un batch, o -1 si el resultado no las informa
+     */
+    private static long affectedRows(Object result) {
+        if (result instanceof Number number) {
+            return number.longValue();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+    
+    private static Object unwrap(Object jdbcObject) {
+        return jdbcObject instanceof ProxyJdbcObject proxy ? proxy.getTarget() : jdbcObject;
+    }
+    
+    private static final class OpenQuery {
+        
+        private final Span span;
+        private final Object statement;
+        private long rows;
+        
+        private OpenQuery(Span span, Object statement) {
+            this.span = span;
+            this.statement = statement;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.transactions.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contexto por hilo con el método de repositorio en ejecución, para etiquetar
+ * las sentencias SQL que genera y contar repeticiones
+ */
+public final class RepositoryInvocationContext {
+    
+    public static final String NONE = "none";
+    
+    /**
+     * Sin valor inicial: las sentencias fuera de un repositorio consultan el contexto sin crear la pila
+     */
+    private static final ThreadLocal<Deque<Invocation>> CURRENT = new ThreadLocal<>();
+    
+    private RepositoryInvocationContext() {
+    }
+    
+    /**
+     * Invocación de un método de repositorio y las sentencias que ejecutó
+     */
+    public static final class Invocation {
+        
+        private final String method;
+        private final Map<String, Integer> statementCounts = new HashMap<>();
+        
+        private Invocation(String method) {
+            this.method = method;
+        }
+        
+        public String getMethod() {
+            return method;
+        }
+        
+        public Map<String, Integer> getStatementCounts() {
+            return statementCounts;
+        }
+    }
+    
+    static Invocation enter(String method) {
+        Invocation invocation = new Invocation(method);
+        Deque<Invocation> stack = CURRENT.get();
+        if (stack == null) {
+            stack = new ArrayDeque<>();
+            CURRENT.set(stack);
+        }
+        stack.push(invocation);
+        return invocation;
+    }
+    
+    static void exit() {
+        Deque<Invocation> stack = CURRENT.get();
+        if (stack == null) {
+            return;
+        }
+        stack.poll();
+        if (stack.isEmpty()) {
+            CURRENT.remove();
+        }
+    }
+    
+    /**
+     * Método de repositorio en curso, o "none" si la sentencia no viene de un repositorio
+     */
+    public static String currentMethod() {
+        Invocation invocation = peek();
+        return invocation != null ? invocation.method : NONE;
+    }
+    
+    /**
+     * Registra una sentencia ejecutada y retorna cuántas veces se ha ejecutado en la invocación actual
+     */
+    static int recordStatement(String sql) {
+        Invocation invocation = peek();
+        if (invocation == null) {
+            return 1;
+        }
+        return invocation.statementCounts.merge(sql, 1, Integer::sum);
+    }
+    
+    private static Invocation peek() {
+        Deque<Invocation> stack = CURRENT.get();
+        return stack != null ? stack.peek() : null;
+    }
+}
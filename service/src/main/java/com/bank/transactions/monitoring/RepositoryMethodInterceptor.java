@@ -0,0 +1,97 @@
+package com.bank.transactions.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Marca el método de repositorio en curso, registra las filas que retorna
+ * y detecta sentencias repetidas (N+1) dentro de una misma invocación.
+ * La invocación es un span, padre de las sentencias SQL y del flush de Hibernate que dispare.
+ */
+@Slf4j
+public class RepositoryMethodInterceptor implements MethodInterceptor {
+    
+    private final String repositoryName;
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+    private final Supplier<Tracer> tracer;
+    
+    public RepositoryMethodInterceptor(String repositoryName, MeterRegistry meterRegistry, int repeatedStatementThreshold,
+                                       Supplier<Tracer> tracer) {
+        this.repositoryName = repositoryName;
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.tracer = tracer;
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = repositoryName + "." + invocation.getMethod().getName();
+        RepositoryInvocationContext.Invocation current = RepositoryInvocationContext.enter(method);
+        Tracer activeTracer = tracer.get();
+        Span span = activeTracer.nextSpan().name(method).start();
+        try (Tracer.SpanInScope ignored = activeTracer.withSpan(span)) {
+            Object result = invocation.proceed();
+            long rows = countRows(result);
+            DistributionSummary.builder("repository.rows")
+                    .description("Filas retornadas por método de repositorio")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(rows);
+            span.tag("repository.rows", rows);
+            return result;
+        } catch (Throwable ex) {
+            span.error(ex);
+            throw ex;
+        } finally {
+            span.end();
+            RepositoryInvocationContext.exit();
+            reportRepeatedStatements(current);
+        }
+    }
+    
+    private void reportRepeatedStatements(RepositoryInvocationContext.Invocation invocation) {
+        for (Map.Entry<String, Integer> entry : invocation.getStatementCounts().entrySet()) {
+            if (entry.getValue() > repeatedStatementThreshold) {
+                log.warn("Posible N+1 en {}: sentencia ejecutada {} veces: {}",
+                        invocation.getMethod(), entry.getValue(), entry.getKey());
+                Counter.builder("db.query.n_plus_one")
+                        .description("Invocaciones de repositorio con sentencias repetidas")
+                        .tag("method", invocation.getMethod())
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+    
+    private static long countRows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?> iterable) {
+            long count = 0;
+            for (Object ignored : iterable) {
+                count++;
+            }
+            return count;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,129 @@
+package com.bank.transactions.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta EXPLAIN en segundo plano para las consultas lentas y registra el plan.
+ * Usa el DataSource sin proxy para no medirse a sí mismo y descarta trabajo si la cola se llena.
+ * El hilo se crea con la primera consulta lenta y se detiene al cerrar el contexto.
+ */
+@Slf4j
+public class SlowQueryExplainer {
+    
+    private volatile DataSource dataSource;
+    private ThreadPoolExecutor executor;
+    private boolean closed;
+    
+    /**
+     * DataSource sin proxy sobre el que se ejecutan los EXPLAIN; lo entrega el post-procesador del DataSource
+     */
+    void bind(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Encola el EXPLAIN de una consulta SELECT con sus parámetros
+     */
+    public void explain(String method, String sql, List<ParameterSetOperation> parameters) {
+        String inlined = inlineParameters(sql, parameters);
+        ThreadPoolExecutor explainExecutor = inlined != null && dataSource != null ? executor() : null;
+        if (explainExecutor == null) {
+            return;
+        }
+        explainExecutor.execute(() -> {
+            StringBuilder plan = new StringBuilder();
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("EXPLAIN " + inlined)) {
+                while (rs.next()) {
+                    plan.append(System.lineSeparator()).append(rs.getString(1));
+                }
+                log.warn("Plan de consulta lenta en {}:{}", method, plan);
+            } catch (Exception ex) {
+                log.debug("No se pudo obtener el plan de {}: {}", method, ex.getMessage());
+            }
+        });
+    }
+    
+    private synchronized ThreadPoolExecutor executor() {
+        if (executor == null && !closed) {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(100),
+                    r -> {
+                        Thread thread = new Thread(r, "slow-query-explain");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.DiscardPolicy());
+        }
+        return executor;
+    }
+    
+    /**
+     * Reemplaza los '?' por literales; retorna null si algún parámetro no se puede representar
+     */
+    static String inlineParameters(String sql, List<ParameterSetOperation> parameters) {
+        List<ParameterSetOperation> ordered = parameters.stream()
+                .filter(op -> op.getArgs().length > 0 && op.getArgs()[0] instanceof Integer)
+                .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                .toList();
+        
+        StringBuilder result = new StringBuilder(sql.length() + 16 * ordered.size());
+        int next = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                result.append(c);
+                continue;
+            }
+            if (next >= ordered.size()) {
+                return null;
+            }
+            String literal = toLiteral(ordered.get(next++));
+            if (literal == null) {
+                return null;
+            }
+            result.append(literal);
+        }
+        return result.toString();
+    }
+    
+    private static String toLiteral(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+            return "NULL";
+        }
+        Object[] args = operation.getArgs();
+        Object value = args.length > 1 ? args[1] : null;
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof String || value instanceof Temporal || value instanceof java.util.Date) {
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+        return null;
+    }
+}
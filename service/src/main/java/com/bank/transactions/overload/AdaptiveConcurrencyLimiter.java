@@ -0,0 +1,148 @@
+package com.bank.transactions.overload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de concurrencia que ajusta su límite según la latencia observada (algoritmo de gradiente).
+ * <p>
+ * Compara la latencia de cada operación con una latencia de referencia de largo plazo: mientras
+ * no la supera en más de la tolerancia el límite crece (en raíz del límite, la cola que se admite),
+ * y cuando la supera se reduce en proporción. Así el límite converge a la concurrencia que la base
+ * atiende sin encolar, en lugar de un valor fijo. Solo crece si la carga lo usa (al menos la mitad
+ * ocupada), para no inflarse en períodos tranquilos; las fallas por sobrecarga lo reducen de inmediato.
+ * <p>
+ * Cada prioridad puede ocupar una fracción del límite: las lecturas masivas se rechazan antes
+ * que las puntuales, y estas antes que las escrituras.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    private static final double MIN_GRADIENT = 0.5;
+    
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+    
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+    
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.limit = properties.getInitialLimit();
+    }
+    
+    /**
+     * Reserva un lugar para una operación, o retorna null si su prioridad ya ocupó su parte del límite
+     */
+    public Permit tryAcquire(Priority priority) {
+        int allowed = allowedFor(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, nanoClock.getAsLong());
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    /**
+     * Latencia de referencia actual en milisegundos
+     */
+    public synchronized double getLongRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+    
+    int allowedFor(Priority priority) {
+        double share = switch (priority) {
+            case WRITE -> 1.0;
+            case READ -> properties.getReadShare();
+            case BULK -> properties.getBulkShare();
+        };
+        return Math.max(1, (int) (limit * share));
+    }
+    
+    /**
+     * Ajusta el límite con la medición de una operación terminada
+     *
+     * @param inFlightAtStart operaciones en curso cuando empezó, incluida ella
+     * @param dropped         si falló por sobrecarga
+     */
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(properties.getMinLimit(), current * properties.getBackoffRatio());
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / properties.getLongWindow();
+        }
+        // Si la latencia bajó para quedarse, la referencia la sigue rápido en vez de esperar la ventana
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, properties.getRttTolerance() * longRttNanos / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - properties.getSmoothing()) + target * properties.getSmoothing();
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+    }
+    
+    /**
+     * Lugar reservado por una operación; se libera una sola vez al terminar
+     */
+    public final class Permit {
+        
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private boolean released;
+        
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+        
+        /**
+         * @param dropped si la operación falló por sobrecarga; esas fallas reducen el límite
+         */
+        public void release(boolean dropped) {
+            release(dropped, true);
+        }
+        
+        /**
+         * @param dropped si la operación falló por sobrecarga; esas fallas reducen el límite
+         * @param sampled si su latencia cuenta para el gradiente
+         */
+        public void release(boolean dropped, boolean sampled) {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            if (sampled || dropped) {
+                onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.transactions.overload;
+
+import com.bank.transactions.exception.ServiceOverloadedException;
+import com.bank.transactions.exception.ValidationUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aplica el {@link AdaptiveConcurrencyLimiter} a los métodos anotados con {@link ConcurrencyLimited}.
+ * <p>
+ * Va antes que la transacción y la observación del servicio, así que una operación rechazada
+ * no toma una conexión del pool. Los rechazos responden 503 con Retry-After de inmediato, en vez
+ * de encolarse y subir la latencia de todos.
+ */
+@Aspect
+@Component
+// Antes que @Transactional; el primer lugar lo necesita el interceptor que expone la invocación a AspectJ
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitAspect {
+    
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    
+    public ConcurrencyLimitAspect(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limiter = new AdaptiveConcurrencyLimiter(properties);
+        Gauge.builder("transaction.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite adaptativo de operaciones simultáneas")
+                .register(meterRegistry);
+        Gauge.builder("transaction.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Operaciones en curso bajo el limitador")
+                .register(meterRegistry);
+        Gauge.builder("transaction.concurrency.rtt", limiter, AdaptiveConcurrencyLimiter::getLongRttMillis)
+                .description("Latencia de referencia del limitador")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("transaction.concurrency.rejected")
+                    .description("Operaciones rechazadas por sobrecarga")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+    
+    @Around("@annotation(limited)")
+    public Object limit(ProceedingJoinPoint joinPoint, ConcurrencyLimited limited) throws Throwable {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(limited.value());
+        if (permit == null) {
+            rejected.get(limited.value()).increment();
+            throw new ServiceOverloadedException(
+                    "El servicio está sobrecargado. Por favor, intenta nuevamente en unos segundos.",
+                    properties.getRetryAfter());
+        }
+        boolean dropped = false;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            dropped = isOverload(ex);
+            throw ex;
+        } finally {
+            permit.release(dropped, limited.sampled());
+        }
+    }
+    
+    /**
+     * Fallas que indican que la base no da abasto; las de negocio y los 404 son mediciones normales
+     */
+    private static boolean isOverload(Throwable error) {
+        return error instanceof TransientDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof CannotCreateTransactionException
+                || error instanceof ValidationUnavailableException;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.transactions.overload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del limitador de concurrencia adaptativo frente a la base de datos
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    
+    /**
+     * Activa el limitador sobre los métodos de TransactionService
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Límite inicial de operaciones simultáneas, antes de tener mediciones
+     */
+    private int initialLimit = 20;
+    
+    private int minLimit = 4;
+    
+    /**
+     * Tope del límite; no conviene que supere mucho el tamaño del pool de conexiones
+     */
+    private int maxLimit = 200;
+    
+    /**
+     * Cuánto puede crecer la latencia sobre la de referencia antes de reducir el límite (1.5 = 50%)
+     */
+    private double rttTolerance = 1.5;
+    
+    /**
+     * Fracción del límite calculado que se aplica en cada medición; más bajo es más estable y más lento
+     */
+    private double smoothing = 0.2;
+    
+    /**
+     * Mediciones que promedia la latencia de referencia
+     */
+    private int longWindow = 600;
+    
+    /**
+     * Factor que se aplica al límite cuando una operación falla por sobrecarga (timeout, sin conexión)
+     */
+    private double backoffRatio = 0.9;
+    
+    /**
+     * Fracción del límite que pueden ocupar las lecturas puntuales
+     */
+    private double readShare = 0.9;
+    
+    /**
+     * Fracción del límite que pueden ocupar las lecturas masivas
+     */
+    private double bulkShare = 0.7;
+    
+    /**
+     * Valor del header Retry-After de las respuestas rechazadas
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
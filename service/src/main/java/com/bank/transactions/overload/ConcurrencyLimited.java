@@ -0,0 +1,25 @@
+package com.bank.transactions.overload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método de servicio que pasa por el limitador de concurrencia adaptativo
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConcurrencyLimited {
+    
+    Priority value();
+    
+    /**
+     * Si la latencia de la operación ajusta el límite. Las operaciones largas por diseño (los tramos
+     * de las tareas masivas) lo reducirían para todos sin que la base esté saturada; sus fallas por
+     * sobrecarga sí lo reducen.
+     */
+    boolean sampled() default true;
+}
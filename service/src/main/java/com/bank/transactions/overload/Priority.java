@@ -0,0 +1,23 @@
+package com.bank.transactions.overload;
+
+/**
+ * Clase de prioridad de una operación frente al limitador de concurrencia.
+ * Con la carga cerca del límite se rechazan primero las lecturas masivas y al final las escrituras.
+ */
+public enum Priority {
+    
+    /**
+     * Creación, actualización y eliminación: pueden usar todo el límite
+     */
+    WRITE,
+    
+    /**
+     * Lecturas puntuales: por id o de un Tenpista
+     */
+    READ,
+    
+    /**
+     * Lecturas masivas (listados, búsquedas y lotes de ids) y tramos de las tareas masivas
+     */
+    BULK
+}
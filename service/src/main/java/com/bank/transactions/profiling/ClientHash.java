@@ -0,0 +1,33 @@
+package com.bank.transactions.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash del identificador de cliente para los eventos JFR: permite agrupar por cliente
+ * en una grabación sin que el archivo contenga IPs ni nombres
+ */
+final class ClientHash {
+    
+    private static final HexFormat HEX = HexFormat.of();
+    
+    private ClientHash() {
+    }
+    
+    /**
+     * Primeros 8 bytes del SHA-256 en hexadecimal, o null sin cliente
+     */
+    static String of(String clientId) {
+        if (clientId == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(clientId.getBytes(StandardCharsets.UTF_8));
+            return HEX.formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
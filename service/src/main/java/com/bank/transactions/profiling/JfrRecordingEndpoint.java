@@ -0,0 +1,210 @@
+package com.bank.transactions.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Endpoint de Actuator {@code /actuator/jfr}: estado de la grabación (GET) y
+ * {@code POST /actuator/jfr/start|stop|dump} para controlar una grabación JFR acotada
+ * en duración y tamaño, sin reiniciar ni agregar agentes.
+ * <p>
+ * Hay a lo sumo una grabación en curso. Al detenerse (por {@code stop} o al cumplir su duración)
+ * se escribe en el directorio configurado; {@code dump} escribe una copia de lo grabado hasta
+ * ahora sin detenerla. Solo se conservan los últimos {@code app.profiling.max-files} archivos.
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ProfilingProperties.class)
+@Slf4j
+public class JfrRecordingEndpoint {
+    
+    private static final int STATUS_CONFLICT = 409;
+    private static final String RECORDING_NAME = "transactions-on-demand";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final ProfilingProperties properties;
+    private final Path directory;
+    private Recording recording;
+    private String profile;
+    private Path destination;
+    
+    public JfrRecordingEndpoint(ProfilingProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+    }
+    
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        return status(null);
+    }
+    
+    /**
+     * @param action   start, stop o dump
+     * @param profile  configuración de JFR para start ("profile", "default" o una ruta .jfc)
+     * @param duration duración de la grabación para start, acotada por app.profiling.max-duration
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> control(@Selector String action, @Nullable String profile,
+                                                                     @Nullable Duration duration) {
+        try {
+            return switch (action) {
+                case "start" -> start(profile, duration);
+                case "stop" -> stop();
+                case "dump" -> dump();
+                default -> response(WebEndpointResponse.STATUS_BAD_REQUEST, "Acción desconocida: " + action);
+            };
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir la grabación en " + directory, ex);
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+    
+    private WebEndpointResponse<RecordingStatus> start(String requestedProfile, Duration requestedDuration)
+            throws IOException {
+        if (isRunning()) {
+            return response(STATUS_CONFLICT, "Ya hay una grabación en curso");
+        }
+        String configurationName = requestedProfile != null ? requestedProfile : properties.getProfile();
+        Configuration configuration;
+        try {
+            configuration = configurationName.endsWith(".jfc")
+                    ? Configuration.create(Path.of(configurationName))
+                    : Configuration.getConfiguration(configurationName);
+        } catch (IOException | ParseException | InvalidPathException ex) {
+            return response(WebEndpointResponse.STATUS_BAD_REQUEST, "Configuración JFR inválida: " + configurationName);
+        }
+        Duration duration = requestedDuration == null || requestedDuration.compareTo(properties.getMaxDuration()) > 0
+                ? properties.getMaxDuration()
+                : requestedDuration;
+        
+        shutdown();
+        Files.createDirectories(directory);
+        prune();
+        Path file = directory.resolve("recording-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.setDuration(duration);
+        started.setDestination(file);
+        started.start();
+        
+        this.recording = started;
+        this.profile = configurationName;
+        this.destination = file;
+        log.info("Grabación JFR iniciada: perfil {}, duración {}, destino {}", configurationName, duration, file);
+        return new WebEndpointResponse<>(status(null));
+    }
+    
+    private WebEndpointResponse<RecordingStatus> stop() throws IOException {
+        if (!isRunning()) {
+            return response(STATUS_CONFLICT, "No hay una grabación en curso");
+        }
+        // Con destino configurado, detenerla la escribe en el archivo y la cierra
+        recording.stop();
+        log.info("Grabación JFR detenida: {}", destination);
+        prune();
+        return new WebEndpointResponse<>(status(destination));
+    }
+    
+    private WebEndpointResponse<RecordingStatus> dump() throws IOException {
+        if (!isRunning()) {
+            return response(STATUS_CONFLICT, "No hay una grabación en curso");
+        }
+        Path file = directory.resolve("snapshot-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        recording.dump(file);
+        log.info("Volcado de la grabación JFR: {}", file);
+        prune();
+        return new WebEndpointResponse<>(status(file));
+    }
+    
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+    
+    private RecordingStatus status(Path written) {
+        List<String> files = files().map(Path::toString).toList();
+        if (recording == null) {
+            return new RecordingStatus("NONE", null, null, null, 0, null, files, null);
+        }
+        return new RecordingStatus(recording.getState().name(), profile, recording.getStartTime(),
+                recording.getDuration(), recording.getSize(),
+                written != null ? written.toString() : destination.toString(), files, null);
+    }
+    
+    private WebEndpointResponse<RecordingStatus> response(int status, String message) {
+        RecordingStatus current = status(null);
+        return new WebEndpointResponse<>(new RecordingStatus(current.state(), current.profile(), current.startedAt(),
+                current.duration(), current.sizeBytes(), current.file(), current.files(), message), status);
+    }
+    
+    /**
+     * Borra los archivos más antiguos sobre app.profiling.max-files
+     */
+    private void prune() throws IOException {
+        List<Path> files = files().toList();
+        for (int i = 0; i < files.size() - properties.getMaxFiles(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+    
+    /**
+     * Archivos .jfr del directorio, del más antiguo al más reciente
+     */
+    private Stream<Path> files() {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(path -> path.toFile().lastModified()))
+                    .toList()
+                    .stream();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    /**
+     * @param file    archivo escrito por la operación, o el destino de la grabación en curso
+     * @param files   grabaciones conservadas en el directorio
+     * @param message motivo cuando la operación no se pudo realizar
+     */
+    public record RecordingStatus(String state, String profile, Instant startedAt, Duration duration, long sizeBytes,
+                                  String file, List<String> files, String message) {
+    }
+}
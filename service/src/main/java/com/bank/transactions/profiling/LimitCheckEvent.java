@@ -0,0 +1,46 @@
+package com.bank.transactions.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la verificación del límite de transacciones por cliente; su duración es la del conteo
+ */
+@Name("com.bank.transactions.LimitCheck")
+@Label("Client Limit Check")
+@Category({"Bank", "Transactions"})
+@Description("Conteo de transacciones de un Tenpista contra su límite")
+@StackTrace(false)
+public final class LimitCheckEvent extends Event {
+    
+    @Label("Client Hash")
+    @Description("SHA-256 truncado del Tenpista")
+    String clientHash;
+    
+    @Label("Count")
+    long count;
+    
+    @Label("Limit")
+    long limit;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    /**
+     * Termina el evento y lo registra si la grabación activa lo incluye
+     */
+    public void finish(String client, long count, long limit, boolean passed) {
+        end();
+        if (shouldCommit()) {
+            this.clientHash = ClientHash.of(client);
+            this.count = count;
+            this.limit = limit;
+            this.outcome = passed ? "passed" : "rejected";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.transactions.profiling;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.exception.ResourceNotFoundException;
+import com.bank.transactions.exception.ValidationUnavailableException;
+
+/**
+ * Resultado de una operación para los eventos JFR, con los mismos nombres que las métricas
+ */
+final class Outcomes {
+    
+    private Outcomes() {
+    }
+    
+    static String of(RuntimeException error) {
+        if (error instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof BusinessException) {
+            return "rejected";
+        }
+        if (error instanceof ValidationUnavailableException) {
+            return "timeout";
+        }
+        return "error";
+    }
+    
+    static int idOf(Object result) {
+        return result instanceof TransactionDTO dto && dto.getId() != null ? dto.getId() : 0;
+    }
+    
+    static String clientOf(Object result) {
+        return result instanceof TransactionDTO dto ? dto.getName() : null;
+    }
+}
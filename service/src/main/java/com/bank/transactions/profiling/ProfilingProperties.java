@@ -0,0 +1,45 @@
+package com.bank.transactions.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de las grabaciones JFR bajo demanda ({@code /actuator/jfr})
+ */
+@Data
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+    
+    /**
+     * Registra el endpoint; igual hay que exponerlo en management.endpoints.web.exposure.include
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Directorio donde se escriben las grabaciones y los volcados
+     */
+    private String directory = "./recordings";
+    
+    /**
+     * Configuración de JFR por defecto: "profile" (muestreo de asignaciones y contención) o "default"
+     */
+    private String profile = "profile";
+    
+    /**
+     * Duración máxima de una grabación; al cumplirse se detiene y se escribe sola
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+    
+    /**
+     * Tamaño máximo de los datos retenidos; sobre esto JFR descarta los más antiguos
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+    
+    /**
+     * Archivos .jfr que se conservan en el directorio; los más antiguos se borran
+     */
+    private int maxFiles = 10;
+}
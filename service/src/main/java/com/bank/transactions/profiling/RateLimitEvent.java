@@ -0,0 +1,42 @@
+package com.bank.transactions.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de la decisión del rate limiter para un request
+ */
+@Name("com.bank.transactions.RateLimit")
+@Label("Rate Limit Decision")
+@Category({"Bank", "HTTP"})
+@Description("Consumo de un token del bucket del cliente")
+@StackTrace(false)
+public final class RateLimitEvent extends Event {
+    
+    @Label("Client Hash")
+    @Description("SHA-256 truncado del identificador de cliente (X-Client-Id o IP)")
+    String clientHash;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    @Label("Remaining Tokens")
+    long remaining;
+    
+    /**
+     * Termina el evento y lo registra si la grabación activa lo incluye
+     */
+    public void finish(String clientId, boolean allowed, long remaining) {
+        end();
+        if (shouldCommit()) {
+            this.clientHash = ClientHash.of(clientId);
+            this.outcome = allowed ? "allowed" : "rejected";
+            this.remaining = remaining;
+            commit();
+        }
+    }
+}
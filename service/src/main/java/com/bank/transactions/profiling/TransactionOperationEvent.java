@@ -0,0 +1,64 @@
+package com.bank.transactions.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.Supplier;
+
+/**
+ * Evento JFR de una creación, actualización o eliminación de transacción, con su duración y resultado
+ */
+@Name("com.bank.transactions.TransactionOperation")
+@Label("Transaction Operation")
+@Category({"Bank", "Transactions"})
+@Description("Creación, actualización o eliminación de una transacción")
+@StackTrace(false)
+public final class TransactionOperationEvent extends Event {
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Transaction Id")
+    int transactionId;
+    
+    @Label("Client Hash")
+    @Description("SHA-256 truncado del Tenpista")
+    String clientHash;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    /**
+     * Ejecuta la operación dentro del evento; el id se toma del resultado si es una transacción
+     *
+     * @param transactionId id conocido antes de ejecutar (actualización, eliminación), o null
+     * @param client        Tenpista de la transacción, o null si aún no se conoce
+     */
+    public static <T> T record(String operation, Integer transactionId, String client, Supplier<T> action) {
+        TransactionOperationEvent event = new TransactionOperationEvent();
+        event.begin();
+        String outcome = "error";
+        T result = null;
+        try {
+            result = action.get();
+            outcome = "ok";
+            return result;
+        } catch (RuntimeException ex) {
+            outcome = Outcomes.of(ex);
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.transactionId = transactionId != null ? transactionId : Outcomes.idOf(result);
+                event.clientHash = ClientHash.of(client != null ? client : Outcomes.clientOf(result));
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.transactions.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades del rate limiting por cliente (X-Client-Id o IP)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    
+    /**
+     * Requests por cliente que se reponen juntas al cumplirse cada minuto
+     */
+    private long requestsPerMinute = 3;
+    
+    /**
+     * Ids de POST /api/transaction/batch que cubre cada request: un lote de n ids consume
+     * ceil(n / batchIdsPerRequest) requests, hasta vaciar el bucket
+     */
+    private int batchIdsPerRequest = 1000;
+    
+    /**
+     * Tablas independientes entre las que se reparten los clientes (potencia de 2); solo el alta
+     * de un cliente nuevo bloquea su tabla
+     */
+    private int stripes = 16;
+    
+    /**
+     * Capacidad inicial de cada tabla (potencia de 2); se duplica al pasar la mitad de ocupación
+     */
+    private int stripeCapacity = 256;
+}
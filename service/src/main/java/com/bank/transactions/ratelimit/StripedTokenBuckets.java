@@ -0,0 +1,272 @@
+package com.bank.transactions.ratelimit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets por cliente guardados en arreglos de {@code long} en lugar de un objeto por cliente.
+ * <p>
+ * Cada cliente ocupa una celda en una de varias tablas de direccionamiento abierto: la clave es un
+ * hash de 64 bits de su identificador y el estado un solo {@code long} con el instante de la última
+ * recarga (milisegundos, 44 bits) y los tokens disponibles (20 bits), que se actualiza con CAS sin
+ * bloquear. Solo el alta de un cliente nuevo toma el lock de su tabla.
+ * <p>
+ * Misma política que {@code Bandwidth.builder().capacity(n).refillIntervally(n, período)} de bucket4j: el
+ * bucket nace lleno y al cumplirse cada período completo desde la última recarga vuelve a tener
+ * {@code n} tokens. Al crecer una tabla se descartan los clientes inactivos (con al menos un período
+ * sin recargar, es decir con el bucket lleno); si vuelven empiezan un período nuevo, nunca antes.
+ */
+public class StripedTokenBuckets {
+    
+    /**
+     * Resultado de {@link #tryConsume} cuando el cliente no tiene tokens suficientes
+     */
+    public static final long REJECTED = -1;
+    
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    
+    /**
+     * Estado de las celdas de una tabla reemplazada: quien lo lee reintenta sobre la tabla nueva
+     */
+    private static final long SEALED = -1L;
+    private static final long RETRY = Long.MIN_VALUE;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private final long capacity;
+    private final long periodMillis;
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+    private final Stripe[] stripes;
+    
+    public StripedTokenBuckets(long capacity, long periodMillis, int stripes, int stripeCapacity) {
+        this(capacity, periodMillis, stripes, stripeCapacity, System::nanoTime);
+    }
+    
+    StripedTokenBuckets(long capacity, long periodMillis, int stripes, int stripeCapacity, LongSupplier nanoClock) {
+        if (capacity < 1 || capacity > TOKEN_MASK) {
+            throw new IllegalArgumentException("La capacidad debe estar entre 1 y " + TOKEN_MASK);
+        }
+        if (Integer.bitCount(stripes) != 1 || Integer.bitCount(stripeCapacity) != 1 || stripeCapacity < 2) {
+            throw new IllegalArgumentException("Las tablas y su capacidad deben ser potencias de 2");
+        }
+        this.capacity = capacity;
+        this.periodMillis = periodMillis;
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+    
+    /**
+     * Consume un token del cliente
+     *
+     * @return tokens que le quedan, o {@link #REJECTED} si no tenía
+     */
+    public long tryConsume(String clientId) {
+        return tryConsume(clientId, 1);
+    }
+    
+    /**
+     * Consume varios tokens del cliente de una vez: si no le alcanzan no consume ninguno
+     *
+     * @param tokens entre 1 y la capacidad del bucket
+     * @return tokens que le quedan, o {@link #REJECTED} si no tenía suficientes
+     */
+    public long tryConsume(String clientId, long tokens) {
+        if (tokens < 1 || tokens > capacity) {
+            throw new IllegalArgumentException("Se deben consumir entre 1 y " + capacity + " tokens");
+        }
+        long key = fingerprint(clientId);
+        Stripe stripe = stripes[(int) (key >>> 32) & (stripes.length - 1)];
+        long now = nowMillis();
+        while (true) {
+            Table table = stripe.table;
+            int slot = table.find(key);
+            if (slot < 0) {
+                stripe.add(key, now);
+                continue;
+            }
+            long remaining = consume(table.states, slot, now, tokens);
+            if (remaining != RETRY) {
+                return remaining;
+            }
+            stripe.awaitReplacement();
+        }
+    }
+    
+    /**
+     * Clientes con bucket en las tablas, incluidos los inactivos aún no descartados
+     */
+    public long trackedClients() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.table.size;
+        }
+        return total;
+    }
+    
+    private long consume(AtomicLongArray states, int slot, long now, long requested) {
+        while (true) {
+            long state = states.get(slot);
+            if (state == SEALED) {
+                return RETRY;
+            }
+            long refilledAt = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            long periods = (now - refilledAt) / periodMillis;
+            if (periods > 0) {
+                // Cada período repone la capacidad completa, así que uno basta para llenarlo
+                refilledAt += periods * periodMillis;
+                tokens = capacity;
+            }
+            if (tokens < requested) {
+                return REJECTED;
+            }
+            if (states.compareAndSet(slot, state, pack(refilledAt, tokens - requested))) {
+                return tokens - requested;
+            }
+        }
+    }
+    
+    private boolean idle(long state, long now) {
+        return now - (state >>> TOKEN_BITS) >= periodMillis;
+    }
+    
+    private long nowMillis() {
+        return (nanoClock.getAsLong() - originNanos) / 1_000_000;
+    }
+    
+    private static long pack(long refilledAt, long tokens) {
+        return refilledAt << TOKEN_BITS | tokens;
+    }
+    
+    /**
+     * FNV-1a de 64 bits con semilla aleatoria y mezcla final; 0 queda reservado para celdas vacías
+     */
+    private long fingerprint(String clientId) {
+        long hash = seed;
+        for (int i = 0; i < clientId.length(); i++) {
+            hash = (hash ^ clientId.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash != 0 ? hash : 1;
+    }
+    
+    /**
+     * Tabla de direccionamiento abierto con sondeo lineal. Las claves no se borran: al llenarse se
+     * reemplaza la tabla completa.
+     */
+    private static final class Table {
+        
+        private final AtomicLongArray keys;
+        private final AtomicLongArray states;
+        private final int mask;
+        private volatile int size;
+        
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.states = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+        
+        private int find(long key) {
+            for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+                long current = keys.get(slot);
+                if (current == key) {
+                    return slot;
+                }
+                if (current == 0) {
+                    return -1;
+                }
+            }
+        }
+        
+        /**
+         * Solo con el lock de la tabla. El estado se escribe antes que la clave para que quien
+         * encuentre la clave vea también el estado.
+         */
+        private void put(long key, long state) {
+            int slot = (int) key & mask;
+            while (keys.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            states.set(slot, state);
+            keys.set(slot, key);
+            size++;
+        }
+        
+        private int capacity() {
+            return mask + 1;
+        }
+    }
+    
+    private final class Stripe {
+        
+        private volatile Table table;
+        
+        private Stripe(int capacity) {
+            this.table = new Table(capacity);
+        }
+        
+        private synchronized void add(long key, long now) {
+            Table current = table;
+            if (current.find(key) >= 0) {
+                return;
+            }
+            if ((current.size + 1) * 2 > current.capacity()) {
+                current = replace(current, now);
+                table = current;
+            }
+            current.put(key, pack(now, capacity));
+        }
+        
+        /**
+         * Sella cada celda de la tabla actual (desde ahí ningún CAS sobre ella prospera) y copia a
+         * una tabla nueva los clientes activos, duplicando la capacidad si siguen ocupando más de la mitad
+         */
+        private Table replace(Table old, long now) {
+            long[] keys = new long[old.capacity()];
+            long[] states = new long[old.capacity()];
+            int active = 0;
+            for (int slot = 0; slot < old.capacity(); slot++) {
+                long key = old.keys.get(slot);
+                if (key == 0) {
+                    continue;
+                }
+                long state = old.states.getAndSet(slot, SEALED);
+                if (!idle(state, now)) {
+                    keys[active] = key;
+                    states[active] = state;
+                    active++;
+                }
+            }
+            int capacity = old.capacity();
+            while ((active + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+            Table replacement = new Table(capacity);
+            for (int i = 0; i < active; i++) {
+                replacement.put(keys[i], states[i]);
+            }
+            return replacement;
+        }
+        
+        /**
+         * Espera a que quien selló la tabla publique la nueva
+         */
+        private void awaitReplacement() {
+            synchronized (this) {
+                // El reemplazo se publica antes de soltar el lock
+            }
+        }
+    }
+}
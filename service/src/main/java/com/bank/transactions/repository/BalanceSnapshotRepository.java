@@ -0,0 +1,38 @@
+package com.bank.transactions.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bank.transactions.entity.BalanceSnapshot;
+
+import java.util.List;
+
+/**
+ * Repositorio de las fotos de saldo por Tenpista
+ */
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    
+    /**
+     * Filas (una por moneda) de la foto más reciente del Tenpista
+     */
+    @Query("SELECT s FROM BalanceSnapshot s WHERE s.name = :name AND s.lastEntryId = "
+            + "(SELECT MAX(l.lastEntryId) FROM BalanceSnapshot l WHERE l.name = :name)")
+    List<BalanceSnapshot> findLatest(@Param("name") String name);
+    
+    /**
+     * Mayor último asiento cubierto por alguna foto
+     */
+    @Query("SELECT MAX(s.lastEntryId) FROM BalanceSnapshot s")
+    Long findMaxLastEntryId();
+    
+    /**
+     * Borra las fotos del Tenpista anteriores a {@code lastEntryId}
+     */
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.name = :name AND s.lastEntryId < :lastEntryId")
+    int deleteOlderThan(@Param("name") String name, @Param("lastEntryId") long lastEntryId);
+}
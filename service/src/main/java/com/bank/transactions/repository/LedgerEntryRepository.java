@@ -0,0 +1,66 @@
+package com.bank.transactions.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bank.transactions.entity.LedgerEntry;
+import com.bank.transactions.ledger.LedgerTotal;
+import com.bank.transactions.velocity.RecentCreate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del libro de transacciones; solo inserta y lee
+ */
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    
+    /**
+     * Asientos de una transacción en el orden en que se registraron
+     */
+    List<LedgerEntry> findByTransactionIdOrderByIdAsc(Integer transactionId);
+    
+    /**
+     * Suma por moneda de los asientos del Tenpista posteriores a {@code afterId}
+     */
+    @Query("SELECT new com.bank.transactions.ledger.LedgerTotal(e.currency, SUM(e.delta), SUM(e.countDelta), COUNT(e)) "
+            + "FROM LedgerEntry e WHERE e.name = :name AND e.id > :afterId GROUP BY e.currency")
+    List<LedgerTotal> sumAfter(@Param("name") String name, @Param("afterId") long afterId);
+    
+    /**
+     * Suma por moneda de los asientos del Tenpista en (afterId, upToId]
+     */
+    @Query("SELECT new com.bank.transactions.ledger.LedgerTotal(e.currency, SUM(e.delta), SUM(e.countDelta), COUNT(e)) "
+            + "FROM LedgerEntry e WHERE e.name = :name AND e.id > :afterId AND e.id <= :upToId GROUP BY e.currency")
+    List<LedgerTotal> sumBetween(@Param("name") String name, @Param("afterId") long afterId,
+                                 @Param("upToId") long upToId);
+    
+    /**
+     * Cantidad de asientos del Tenpista en (afterId, upToId]
+     */
+    @Query("SELECT COUNT(e) FROM LedgerEntry e WHERE e.name = :name AND e.id > :afterId AND e.id <= :upToId")
+    long countBetween(@Param("name") String name, @Param("afterId") long afterId, @Param("upToId") long upToId);
+    
+    /**
+     * Mayor id entre los asientos registrados antes de {@code horizon}
+     */
+    @Query("SELECT MAX(e.id) FROM LedgerEntry e WHERE e.recordedAt < :horizon")
+    Long findMaxIdRecordedBefore(@Param("horizon") LocalDateTime horizon);
+    
+    /**
+     * Tenpistas con asientos en (afterId, upToId]
+     */
+    @Query("SELECT DISTINCT e.name FROM LedgerEntry e WHERE e.id > :afterId AND e.id <= :upToId")
+    List<String> findNamesBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+    
+    /**
+     * Altas registradas después de {@code since}
+     */
+    @Query("SELECT new com.bank.transactions.velocity.RecentCreate(e.name, e.currency, e.amount, e.recordedAt) "
+            + "FROM LedgerEntry e WHERE e.type = com.bank.transactions.entity.LedgerEntryType.CREATED "
+            + "AND e.recordedAt > :since")
+    List<RecentCreate> findCreatedSince(@Param("since") LocalDateTime since);
+}
@@ -1,17 +1,23 @@
 package com.bank.transactions.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.bank.transactions.dto.TransactionDTO;
 import com.bank.transactions.entity.Transaction;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para operaciones de base de datos de transacciones
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
+public interface TransactionRepository extends JpaRepository<Transaction, Integer>, TransactionRepositoryCustom {
     
     /**
      * Encuentra todas las transacciones de un usuario
@@ -32,4 +38,46 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
      * Verifica si un usuario existe
      */
     boolean existsByName(String tenpistaName);
-}
\ No newline at end of file
+    
+    /**
+     * Proyecta a DTO todas las transacciones ordenadas por fecha descendente,
+     * sin cargar entidades en el contexto de persistencia
+     */
+    @Query("SELECT new com.bank.transactions.dto.TransactionDTO(t.id, t.amount, t.currency, t.businessName, t.name, t.transactionDate) "
+            + "FROM Transaction t ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findAllDtoByOrderByTransactionDateDesc();
+    
+    /**
+     * Proyecta a DTO las transacciones de un usuario ordenadas por fecha descendente
+     */
+    @Query("SELECT new com.bank.transactions.dto.TransactionDTO(t.id, t.amount, t.currency, t.businessName, t.name, t.transactionDate) "
+            + "FROM Transaction t WHERE t.name = :name ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findDtoByNameOrderByTransactionDateDesc(@Param("name") String tenpistaName);
+    
+    /**
+     * Proyecta a DTO una transacción por id
+     */
+    @Query("SELECT new com.bank.transactions.dto.TransactionDTO(t.id, t.amount, t.currency, t.businessName, t.name, t.transactionDate) "
+            + "FROM Transaction t WHERE t.id = :id")
+    Optional<TransactionDTO> findDtoById(@Param("id") Integer id);
+    
+    /**
+     * Tenpista de una transacción, sin cargar la entidad
+     */
+    @Query("SELECT t.name FROM Transaction t WHERE t.id = :id")
+    Optional<String> findNameById(@Param("id") Integer id);
+    
+    /**
+     * Proyecta a DTO las transacciones más recientes (fecha e id descendentes) hasta el tamaño de página
+     */
+    @Query("SELECT new com.bank.transactions.dto.TransactionDTO(t.id, t.amount, t.currency, t.businessName, t.name, t.transactionDate) "
+            + "FROM Transaction t ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionDTO> findRecentDto(Pageable pageable);
+    
+    /**
+     * Proyecta a DTO las transacciones anteriores a la fecha de corte, de la más antigua a la más reciente
+     */
+    @Query("SELECT new com.bank.transactions.dto.TransactionDTO(t.id, t.amount, t.currency, t.businessName, t.name, t.transactionDate) "
+            + "FROM Transaction t WHERE t.transactionDate < :cutoff ORDER BY t.transactionDate, t.id")
+    List<TransactionDTO> findDtoOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
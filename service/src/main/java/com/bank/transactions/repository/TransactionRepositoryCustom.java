@@ -0,0 +1,36 @@
+package com.bank.transactions.repository;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Consultas de transacciones implementadas a mano sobre el EntityManager
+ */
+public interface TransactionRepositoryCustom {
+    
+    /**
+     * Proyecta directamente a DTO las transacciones cuyos ids están en el arreglo.
+     * Usa {@code = ANY(?)} para que el plan sea el mismo sin importar
+     * cuántos ids se consulten.
+     */
+    List<TransactionDTO> findDtoByIdIn(Integer[] ids);
+    
+    /**
+     * Busca transacciones con los filtros del criterio, ordenadas por el campo solicitado e id,
+     * empezando después de la posición (afterValue, afterId) si se entrega
+     */
+    List<TransactionDTO> search(TransactionSearchCriteria criteria, Comparable<?> afterValue, Integer afterId, int limit);
+    
+    /**
+     * Cantidad de transacciones que cumplen los filtros del criterio; ignora orden, límite y cursor
+     */
+    long count(TransactionSearchCriteria criteria);
+    
+    /**
+     * Inserta la transacción conservando su id (traslado entre shards)
+     */
+    void insertWithId(Transaction transaction);
+}
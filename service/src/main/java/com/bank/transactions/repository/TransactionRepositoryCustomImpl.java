@@ -0,0 +1,182 @@
+package com.bank.transactions.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.util.StringUtils;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchCriteria.MatchMode;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortDirection;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortField;
+import com.bank.transactions.entity.Merchant;
+import com.bank.transactions.entity.Transaction;
+import com.bank.transactions.merchant.MerchantDictionary;
+import com.bank.transactions.sharding.ShardContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de las consultas manuales de transacciones
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+    
+    private static final String FIND_BY_IDS_SQL =
+            "SELECT id, amount, currency, merchant_id, name, transaction_date FROM transactions WHERE id = ANY(:ids)";
+    
+    private static final String INSERT_WITH_ID_SQL =
+            "INSERT INTO transactions (id, amount, currency, merchant_id, name, transaction_date) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6)";
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final MerchantDictionary merchants;
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionDTO> findDtoByIdIn(Integer[] ids) {
+        NativeQuery<TransactionDTO> query = entityManager.createNativeQuery(FIND_BY_IDS_SQL)
+                .unwrap(NativeQuery.class);
+        return query.setParameter("ids", ids)
+                .setTupleTransformer((tuple, aliases) -> new TransactionDTO(
+                        ((Number) tuple[0]).intValue(),
+                        ((Number) tuple[1]).longValue(),
+                        (String) tuple[2],
+                        merchants.nameFor(((Number) tuple[3]).intValue()),
+                        (String) tuple[4],
+                        toLocalDateTime(tuple[5])))
+                .getResultList();
+    }
+    
+    @Override
+    public List<TransactionDTO> search(TransactionSearchCriteria criteria, Comparable<?> afterValue,
+                                       Integer afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDTO> query = cb.createQuery(TransactionDTO.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        query.select(cb.construct(TransactionDTO.class,
+                t.get("id"), t.get("amount"), t.get("currency"), t.get("businessName"), t.get("name"), t.get("transactionDate")));
+        
+        List<Predicate> predicates = filters(cb, query, t, criteria);
+        
+        boolean descending = criteria.getDirection() == SortDirection.DESC;
+        Path<Integer> id = t.get("id");
+        if (criteria.getSort() == SortField.AMOUNT) {
+            Path<Long> amount = t.get("amount");
+            if (afterId != null) {
+                predicates.add(keyset(cb, amount, id, (Long) afterValue, afterId, descending));
+            }
+            query.orderBy(order(cb, amount, descending), order(cb, id, descending));
+        } else {
+            Path<LocalDateTime> date = t.get("transactionDate");
+            if (afterId != null) {
+                predicates.add(keyset(cb, date, id, (LocalDateTime) afterValue, afterId, descending));
+            }
+            query.orderBy(order(cb, date, descending), order(cb, id, descending));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public long count(TransactionSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        query.select(cb.count(t)).where(filters(cb, query, t, criteria).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    @Override
+    public void insertWithId(Transaction transaction) {
+        entityManager.createNativeQuery(INSERT_WITH_ID_SQL)
+                .setParameter(1, transaction.getId())
+                .setParameter(2, transaction.getAmount())
+                .setParameter(3, transaction.getCurrency())
+                .setParameter(4, merchants.idFor(transaction.getBusinessName(), ShardContext.current()))
+                .setParameter(5, transaction.getName())
+                .setParameter(6, transaction.getTransactionDate())
+                .executeUpdate();
+    }
+    
+    /**
+     * Filtros de monto, fecha, Tenpista y giro del criterio, sin la posición del cursor
+     */
+    private List<Predicate> filters(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Transaction> t,
+                                    TransactionSearchCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("amount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("amount"), criteria.getMaxAmount()));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("transactionDate"), criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("transactionDate"), criteria.getTo()));
+        }
+        if (StringUtils.hasText(criteria.getName())) {
+            predicates.add(cb.equal(t.get("name"), criteria.getName()));
+        }
+        if (StringUtils.hasText(criteria.getBusinessName())) {
+            // El texto se busca en la tabla de comercios (lower(name) tiene índices trigram y text_pattern_ops
+            // en PostgreSQL) y las transacciones se filtran por los merchant_id que coinciden
+            String escaped = escapeLike(criteria.getBusinessName().toLowerCase());
+            String pattern = criteria.getBusinessNameMatch() == MatchMode.PREFIX ? escaped + "%" : "%" + escaped + "%";
+            Subquery<Integer> merchantIds = query.subquery(Integer.class);
+            Root<Merchant> m = merchantIds.from(Merchant.class);
+            merchantIds.select(m.get("id")).where(cb.like(cb.lower(m.get("name")), pattern, LIKE_ESCAPE));
+            predicates.add(t.get("businessName").in(merchantIds));
+        }
+        return predicates;
+    }
+    
+    /**
+     * (valor, id) estrictamente después de la posición del cursor en la dirección de orden
+     */
+    private static <Y extends Comparable<? super Y>> Predicate keyset(CriteriaBuilder cb, Path<Y> sortPath,
+                                                                     Path<Integer> id, Y value, Integer afterId,
+                                                                     boolean descending) {
+        if (descending) {
+            return cb.or(cb.lessThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.lessThan(id, afterId)));
+        }
+        return cb.or(cb.greaterThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.greaterThan(id, afterId)));
+    }
+    
+    private static jakarta.persistence.criteria.Order order(CriteriaBuilder cb, Path<?> path, boolean descending) {
+        return descending ? cb.desc(path) : cb.asc(path);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
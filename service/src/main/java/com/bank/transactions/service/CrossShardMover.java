@@ -0,0 +1,95 @@
+package com.bank.transactions.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.entity.Transaction;
+import com.bank.transactions.ledger.TransactionLedger;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Traslada transacciones al shard de su nuevo Tenpista conservando el id.
+ * <p>
+ * Los dos shards no comparten transacción: primero se borran del shard de origen en la transacción
+ * del llamador (con su asiento de salida, ya escrito en la base) y al final se insertan en el destino
+ * en una transacción propia, que confirma de inmediato. Si después la transacción del llamador no
+ * confirma, se compensa borrando las copias del destino y revirtiendo su asiento de llegada, así que
+ * la transacción queda en un solo shard. Solo una caída del proceso entre ambas confirmaciones deja
+ * la copia duplicada; la detecta y corrige el rebalanceo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrossShardMover {
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionLedger ledger;
+    private final TransactionShards shards;
+    
+    /**
+     * Debe invocarse en la transacción del llamador, sobre el shard de origen
+     *
+     * @param moves       transacciones ya modificadas con su estado anterior
+     * @param targetShard shard del nuevo Tenpista
+     */
+    public void move(Map<Transaction, TransactionDTO> moves, String targetShard) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        transactionRepository.deleteAll(moves.keySet());
+        moves.values().forEach(ledger::recordReversed);
+        // Las fallas del origen aparecen aquí, antes de confirmar nada en el destino
+        transactionRepository.flush();
+        
+        List<TransactionDTO> moved = moves.keySet().stream().map(CrossShardMover::toDTO).toList();
+        shards.inNewTransaction(targetShard, () -> {
+            moves.keySet().forEach(transactionRepository::insertWithId);
+            moved.forEach(ledger::recordMovedIn);
+            return null;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        compensate(moved, targetShard);
+                    }
+                }
+            });
+        }
+    }
+    
+    private void compensate(List<TransactionDTO> moved, String targetShard) {
+        List<Integer> ids = moved.stream().map(TransactionDTO::getId).toList();
+        try {
+            shards.inNewTransaction(targetShard, () -> {
+                transactionRepository.deleteAllByIdInBatch(ids);
+                moved.forEach(ledger::recordReversed);
+                return null;
+            });
+            log.warn("Traslado a {} revertido: el origen no confirmó, se borraron las copias {}", targetShard, ids);
+        } catch (RuntimeException ex) {
+            log.error("No se pudo revertir el traslado a {}; las transacciones {} quedaron en dos shards",
+                    targetShard, ids, ex);
+        }
+    }
+    
+    private static TransactionDTO toDTO(Transaction transaction) {
+        return TransactionDTO.builder()
+                .id(transaction.getId())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .businessName(transaction.getBusinessName())
+                .name(transaction.getName())
+                .transactionDate(transaction.getTransactionDate())
+                .build();
+    }
+}
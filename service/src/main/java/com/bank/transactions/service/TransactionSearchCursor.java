@@ -0,0 +1,50 @@
+package com.bank.transactions.service;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortField;
+import com.bank.transactions.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posición de keyset (valor de orden + id) codificada como cursor opaco
+ */
+record TransactionSearchCursor(SortField sort, Comparable<?> sortValue, Integer id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    /**
+     * Construye el cursor que apunta después de la transacción recibida
+     */
+    static TransactionSearchCursor after(TransactionDTO transaction, SortField sort) {
+        Comparable<?> value = sort == SortField.AMOUNT ? transaction.getAmount() : transaction.getTransactionDate();
+        return new TransactionSearchCursor(sort, value, transaction.getId());
+    }
+    
+    String encode() {
+        String raw = sort.name() + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodifica un cursor y verifica que corresponda al orden solicitado
+     */
+    static TransactionSearchCursor decode(String cursor, SortField expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            SortField sort = SortField.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("orden distinto");
+            }
+            Comparable<?> value = sort == SortField.AMOUNT
+                    ? Long.valueOf(parts[1])
+                    : LocalDateTime.parse(parts[1]);
+            return new TransactionSearchCursor(sort, value, Integer.valueOf(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new BusinessException("El cursor de paginación es inválido o no corresponde al orden solicitado");
+        }
+    }
+}
@@ -1,152 +1,399 @@
 package com.bank.transactions.service;
 
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import com.bank.transactions.archive.TransactionArchive;
+import com.bank.transactions.cache.Coalesced;
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.cache.HotTransactionTier;
+import com.bank.transactions.cache.NegativeLookupFilter;
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.LedgerEntryDTO;
+import com.bank.transactions.dto.TransactionBatchResponse;
 import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortDirection;
+import com.bank.transactions.dto.TransactionSearchCriteria.SortField;
+import com.bank.transactions.dto.TransactionSearchResponse;
 import com.bank.transactions.entity.Transaction;
 import com.bank.transactions.exception.BusinessException;
 import com.bank.transactions.exception.ResourceNotFoundException;
+import com.bank.transactions.ledger.TransactionLedger;
+import com.bank.transactions.overload.ConcurrencyLimited;
+import com.bank.transactions.overload.Priority;
+import com.bank.transactions.profiling.TransactionOperationEvent;
 import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+import com.bank.transactions.validation.CurrencyCheck;
+import com.bank.transactions.validation.TransactionValidationPipeline;
+import com.bank.transactions.validation.ValidationContext;
+import com.bank.transactions.validation.VelocityCheck;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Servicio de lógica de negocio para transacciones
+ * Servicio de lógica de negocio para transacciones.
+ * Cada escritura agrega sus asientos al {@link TransactionLedger} en la misma transacción de base
+ * de datos; la tabla de transacciones es la proyección del estado vigente que sirve la API.
+ * Cada método público es una observación (métrica y span "transaction.service") y pasa por el
+ * limitador de concurrencia con la prioridad de su operación.
  */
 @Service
+@Observed(name = "transaction.service")
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionService {
     
-    private static final int MAX_TRANSACTIONS_PER_CLIENT = 100;
-    
     private final TransactionRepository transactionRepository;
+    private final HotTransactionTier hotTier;
+    private final TransactionShards shards;
+    private final TransactionValidationPipeline validationPipeline;
+    private final TransactionArchive archive;
+    private final NegativeLookupFilter lookupFilter;
+    private final EncodedResponseCache responseCache;
+    private final TransactionLedger ledger;
+    private final CrossShardMover crossShardMover;
     
     /**
-     * Obtiene todas las transacciones
+     * Obtiene todas las transacciones; las llamadas simultáneas comparten una sola consulta
      */
     @Transactional(readOnly = true)
+    @Coalesced
+    @ConcurrencyLimited(Priority.BULK)
     public List<TransactionDTO> getAllTransactions() {
-        log.info("Obteniendo todas las transacciones");
-        return transactionRepository.findAllByOrderByTransactionDateDesc()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        log.debug("Obteniendo todas las transacciones");
+        return hotTier.all(null)
+                .orElseGet(() -> shards.gather(transactionRepository::findAllDtoByOrderByTransactionDateDesc,
+                        TransactionDTO.NEWEST_FIRST, Integer.MAX_VALUE));
     }
     
     /**
-     * Obtiene una transacción por ID
+     * Obtiene una transacción por ID, buscándola en el archivo si ya no está en la base
      */
     @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.READ)
     public TransactionDTO getTransactionById(Integer id) {
-        log.info("Obteniendo transacción con id: {}", id);
-        Transaction transaction = transactionRepository.findById(id)
+        log.debug("Obteniendo transacción con id: {}", id);
+        if (!lookupFilter.mightContainId(id)) {
+            throw new ResourceNotFoundException("Transacción", id);
+        }
+        return shards.findAny(() -> transactionRepository.findDtoById(id))
+                .or(() -> archive.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
-        return convertToDTO(transaction);
     }
     
     /**
-     * Obtiene todas las transacciones de un Tenpista
+     * Obtiene un lote de transacciones por sus ids en una sola consulta.
+     * Respeta el orden de los ids recibidos e informa los que no existen; como {@link #getTransactionById},
+     * los que no están en la base se buscan en el archivo antes de darlos por inexistentes.
      */
     @Transactional(readOnly = true)
-    public List<TransactionDTO> getTransactionsByTenpista(String tenpistaName) {
-        log.info("Obteniendo transacciones del Tenpista: {}", tenpistaName);
-        return transactionRepository.findByNameOrderByTransactionDateDesc(tenpistaName)
+    @ConcurrencyLimited(Priority.BULK)
+    public TransactionBatchResponse getTransactionsByIds(List<Integer> ids) {
+        log.debug("Obteniendo lote de {} transacciones", ids.size());
+        Integer[] distinctIds = ids.stream().distinct().toArray(Integer[]::new);
+        
+        Map<Integer, TransactionDTO> found = shards.scatter(() -> transactionRepository.findDtoByIdIn(distinctIds))
                 .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(TransactionDTO::getId, Function.identity()));
+        
+        List<TransactionDTO> items = new ArrayList<>(found.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : distinctIds) {
+            Optional<TransactionDTO> transaction = Optional.ofNullable(found.get(id)).or(() -> archive.findById(id));
+            if (transaction.isPresent()) {
+                items.add(transaction.get());
+            } else {
+                missingIds.add(id);
+            }
+        }
+        
+        return TransactionBatchResponse.builder()
+                .items(items)
+                .missingIds(missingIds)
+                .build();
     }
     
     /**
-     * Crea una nueva transacción
+     * Busca transacciones por filtros con paginación por keyset.
+     * Pide un registro extra para saber si existe una página siguiente.
      */
-    @Transactional
-    public TransactionDTO createTransaction(TransactionDTO transactionDTO) {
-        log.info("Creando nueva transacción para: {}", transactionDTO.getName());
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.BULK)
+    public TransactionSearchResponse searchTransactions(TransactionSearchCriteria criteria) {
+        log.debug("Buscando transacciones con criterio: {}", criteria);
+        validateSearchRanges(criteria);
         
-        // Validar que el monto no sea negativo
-        validateAmount(transactionDTO.getAmount());
-                
-        // Validar límite de transacciones por cliente
-        validateTransactionLimit(transactionDTO.getName());
+        TransactionSearchCursor after = criteria.getCursor() != null
+                ? TransactionSearchCursor.decode(criteria.getCursor(), criteria.getSort())
+                : null;
+        int limit = criteria.getLimit();
+        Comparable<?> afterValue = after != null ? after.sortValue() : null;
+        Integer afterId = after != null ? after.id() : null;
         
-        Transaction transaction = convertToEntity(transactionDTO);
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        // Las páginas de "más recientes" se sirven desde memoria mientras no crucen la marca de la capa
+        Optional<List<TransactionDTO>> fromMemory = isLatestQuery(criteria)
+                ? hotTier.latest(StringUtils.hasText(criteria.getName()) ? criteria.getName() : null,
+                        (LocalDateTime) afterValue, afterId, limit + 1)
+                : Optional.empty();
+        List<TransactionDTO> rows = fromMemory
+                .orElseGet(() -> searchShards(criteria, afterValue, afterId, limit + 1));
         
-        log.info("Transacción creada exitosamente con id: {}", savedTransaction.getId());
-        return convertToDTO(savedTransaction);
+        boolean hasMore = rows.size() > limit;
+        List<TransactionDTO> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasMore
+                ? TransactionSearchCursor.after(items.get(items.size() - 1), criteria.getSort()).encode()
+                : null;
+        
+        return TransactionSearchResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
+    /**
+     * Obtiene todas las transacciones de un Tenpista, incluidas las archivadas.
+     * Las llamadas simultáneas para el mismo Tenpista comparten una sola consulta.
+     */
+    @Transactional(readOnly = true)
+    @Coalesced
+    @ConcurrencyLimited(Priority.READ)
+    public List<TransactionDTO> getTransactionsByTenpista(String tenpistaName) {
+        log.debug("Obteniendo transacciones del Tenpista: {}", tenpistaName);
+        if (!lookupFilter.mightContainClient(tenpistaName)) {
+            return List.of();
+        }
+        List<TransactionDTO> live = hotTier.all(tenpistaName)
+                .orElseGet(() -> shards.forClient(tenpistaName,
+                        () -> transactionRepository.findDtoByNameOrderByTransactionDateDesc(tenpistaName),
+                        TransactionDTO.NEWEST_FIRST, Integer.MAX_VALUE));
+        List<TransactionDTO> archived = archive.findByName(tenpistaName);
+        if (archived.isEmpty()) {
+            return live;
+        }
+        // Una fila puede estar en ambos lados si el archivador se interrumpió antes de borrarla
+        Map<Integer, TransactionDTO> merged = new LinkedHashMap<>();
+        live.forEach(transaction -> merged.put(transaction.getId(), transaction));
+        archived.forEach(transaction -> merged.putIfAbsent(transaction.getId(), transaction));
+        List<TransactionDTO> all = new ArrayList<>(merged.values());
+        all.sort(TransactionDTO.NEWEST_FIRST);
+        return all;
+    }
+    
+    /**
+     * Indica si el Tenpista tiene transacciones; la mayoría de los nombres desconocidos los
+     * descarta el filtro sin consultar la base
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.READ)
+    public boolean existsTenpista(String tenpistaName) {
+        if (!lookupFilter.mightContainClient(tenpistaName)) {
+            return false;
+        }
+        return shards.countForClient(tenpistaName, () -> transactionRepository.existsByName(tenpistaName) ? 1 : 0) > 0
+                || !archive.findByName(tenpistaName).isEmpty();
+    }
+    
+    /**
+     * Saldo por moneda del Tenpista según el libro: su última foto más los asientos posteriores
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.READ)
+    public ClientBalanceDTO getClientBalance(String tenpistaName) {
+        log.debug("Calculando saldo del Tenpista: {}", tenpistaName);
+        return ledger.balance(tenpistaName);
+    }
+    
+    /**
+     * Asientos de una transacción desde su alta, incluida su eliminación si ya no existe
+     */
+    @Transactional(readOnly = true)
+    @ConcurrencyLimited(Priority.READ)
+    public List<LedgerEntryDTO> getTransactionHistory(Integer id) {
+        log.debug("Obteniendo historial de la transacción con id: {}", id);
+        List<LedgerEntryDTO> history = ledger.history(id);
+        if (history.isEmpty()) {
+            throw new ResourceNotFoundException("Transacción", id);
+        }
+        return history;
+    }
+    
+    /**
+     * Crea una nueva transacción.
+     * Sin transacción propia: la validación no retiene una conexión mientras espera sus etapas
+     * y el guardado y su asiento se confirman juntos en una transacción del shard del Tenpista.
+     */
+    @ConcurrencyLimited(Priority.WRITE)
+    public TransactionDTO createTransaction(TransactionDTO transactionDTO) {
+        log.debug("Creando nueva transacción para: {}", transactionDTO.getName());
+        
+        return TransactionOperationEvent.record("create", null, transactionDTO.getName(), () -> {
+            // Monto, moneda, límite de transacciones y reglas de velocidad por cliente
+            ValidationContext validation = ValidationContext.forCreate(transactionDTO);
+            try {
+                validationPipeline.validate(validation);
+                String currency = validation.getAttribute(CurrencyCheck.RESOLVED_CURRENCY, String.class);
+                
+                return shards.inNewTransaction(shards.shardFor(transactionDTO.getName()), () -> {
+                    Transaction transaction = convertToEntity(transactionDTO, currency);
+                    Transaction savedTransaction = transactionRepository.save(transaction);
+                    TransactionDTO saved = convertToDTO(savedTransaction);
+                    ledger.recordCreated(saved);
+                    hotTier.onSaved(saved);
+                    lookupFilter.onCreated(saved);
+                    responseCache.onChanged(saved.getName());
+                    
+                    log.info("Transacción creada exitosamente con id: {}", savedTransaction.getId());
+                    return saved;
+                });
+            } catch (RuntimeException ex) {
+                // Rechazada por otra etapa o sin guardar: el alta no cuenta para las reglas de velocidad
+                VelocityCheck.release(validation);
+                throw ex;
+            }
+        });
     }
     
     /**
      * Actualiza una transacción existente
      */
     @Transactional
+    @ConcurrencyLimited(Priority.WRITE)
     public TransactionDTO updateTransaction(Integer id, TransactionDTO transactionDTO) {
-        log.info("Actualizando transacción con id: {}", id);
-        
-        Transaction existingTransaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
-        
-        // Validar que el monto no sea negativo
-        validateAmount(transactionDTO.getAmount());
+        log.debug("Actualizando transacción con id: {}", id);
         
-        // Si se cambia el nombre del Tenpista, validar límite
-        if (!existingTransaction.getName().equals(transactionDTO.getName())) {
-            validateTransactionLimit(transactionDTO.getName());
-        }
-        
-        // Actualizar campos
-        existingTransaction.setAmount(transactionDTO.getAmount());
-        existingTransaction.setBusinessName(transactionDTO.getBusinessName());
-        existingTransaction.setName(transactionDTO.getName());
-        
-        Transaction updatedTransaction = transactionRepository.save(existingTransaction);
-        
-        log.info("Transacción actualizada exitosamente con id: {}", id);
-        return convertToDTO(updatedTransaction);
+        return TransactionOperationEvent.record("update", id, transactionDTO.getName(), () -> {
+            String shard = shards.locate(() -> transactionRepository.existsById(id))
+                    .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
+            
+            return shards.onShard(shard, () -> {
+                Transaction existingTransaction = transactionRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
+                
+                // Monto, moneda (sin moneda se conserva la actual) y límite si cambia el Tenpista
+                ValidationContext validation = ValidationContext.forUpdate(transactionDTO, existingTransaction);
+                validationPipeline.validate(validation);
+                String currency = validation.getAttribute(CurrencyCheck.RESOLVED_CURRENCY, String.class);
+                TransactionDTO previous = convertToDTO(existingTransaction);
+                String previousName = previous.getName();
+                
+                // Actualizar campos
+                existingTransaction.setAmount(transactionDTO.getAmount());
+                existingTransaction.setCurrency(currency);
+                existingTransaction.setBusinessName(transactionDTO.getBusinessName());
+                existingTransaction.setName(transactionDTO.getName());
+                
+                TransactionDTO updated;
+                String targetShard = shards.shardFor(transactionDTO.getName());
+                if (targetShard.equals(shard)) {
+                    updated = convertToDTO(transactionRepository.save(existingTransaction));
+                    // Se escribe aquí y no al confirmar para que el comercio se copie al shard de la fila
+                    transactionRepository.flush();
+                    ledger.recordAmended(previous, updated);
+                } else {
+                    // El nuevo Tenpista vive en otro shard: se borra de aquí y se copia allá con el mismo id;
+                    // cada shard asienta su parte del cambio
+                    updated = convertToDTO(existingTransaction);
+                    crossShardMover.move(Map.of(existingTransaction, previous), targetShard);
+                }
+                hotTier.onSaved(updated);
+                lookupFilter.onUpdated(previousName, updated);
+                responseCache.onChanged(previousName, updated.getName());
+                
+                log.info("Transacción actualizada exitosamente con id: {}", id);
+                return updated;
+            });
+        });
     }
     
     /**
      * Elimina una transacción
      */
     @Transactional
+    @ConcurrencyLimited(Priority.WRITE)
     public void deleteTransaction(Integer id) {
-        log.info("Eliminando transacción con id: {}", id);
+        log.debug("Eliminando transacción con id: {}", id);
         
-        if (!transactionRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Transacción", id);
-        }
-        
-        transactionRepository.deleteById(id);
-        log.info("Transacción eliminada exitosamente con id: {}", id);
+        TransactionOperationEvent.record("delete", id, null, () -> {
+            String shard = shards.locate(() -> transactionRepository.existsById(id))
+                    .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
+            
+            TransactionDTO deleted = shards.onShard(shard, () -> {
+                TransactionDTO existing = transactionRepository.findDtoById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Transacción", id));
+                String name = existing.getName();
+                
+                transactionRepository.deleteById(id);
+                ledger.recordReversed(existing);
+                hotTier.onDeleted(id);
+                lookupFilter.onDeleted(id, name);
+                responseCache.onChanged(name);
+                return existing;
+            });
+            log.info("Transacción eliminada exitosamente con id: {}", id);
+            // El evento toma el Tenpista de la transacción eliminada
+            return deleted;
+        });
     }
     
     /**
-     * Valida que el monto no sea negativo
+     * Valida que los rangos de monto y fecha de la búsqueda sean coherentes
      */
-    private void validateAmount(Integer amount) {
-        if (amount < 0) {
-            throw new BusinessException("El monto de la transacción no puede ser negativo");
+    private void validateSearchRanges(TransactionSearchCriteria criteria) {
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount() > criteria.getMaxAmount()) {
+            throw new BusinessException("El monto mínimo no puede ser mayor que el monto máximo");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null
+                && criteria.getFrom().isAfter(criteria.getTo())) {
+            throw new BusinessException("La fecha desde no puede ser posterior a la fecha hasta");
         }
     }
     
     /**
-     * Valida que el cliente no exceda el límite de transacciones
+     * Ejecuta la búsqueda en el shard del Tenpista, o en todos y combina las páginas si no se filtra por Tenpista
      */
-    private void validateTransactionLimit(String tenpistaName) {
-        long count = transactionRepository.countByName(tenpistaName);
-        if (count >= MAX_TRANSACTIONS_PER_CLIENT) {
-            throw new BusinessException(
-                String.format("El cliente %s ha alcanzado el límite máximo de %d transacciones",
-                    tenpistaName, MAX_TRANSACTIONS_PER_CLIENT)
-            );
+    private List<TransactionDTO> searchShards(TransactionSearchCriteria criteria, Comparable<?> afterValue,
+                                              Integer afterId, int limit) {
+        Supplier<List<TransactionDTO>> query = () -> transactionRepository.search(criteria, afterValue, afterId, limit);
+        Comparator<TransactionDTO> order = criteria.getSort() == SortField.AMOUNT
+                ? Comparator.comparing(TransactionDTO::getAmount)
+                : Comparator.comparing(TransactionDTO::getTransactionDate);
+        order = order.thenComparing(TransactionDTO::getId);
+        if (criteria.getDirection() == SortDirection.DESC) {
+            order = order.reversed();
         }
+        return StringUtils.hasText(criteria.getName())
+                ? shards.forClient(criteria.getName(), query, order, limit)
+                : shards.gather(query, order, limit);
+    }
+    
+    /**
+     * Búsqueda sin filtros salvo el Tenpista, ordenada por fecha descendente
+     */
+    private boolean isLatestQuery(TransactionSearchCriteria criteria) {
+        return criteria.getSort() == SortField.DATE
+                && criteria.getDirection() == SortDirection.DESC
+                && criteria.getMinAmount() == null
+                && criteria.getMaxAmount() == null
+                && criteria.getFrom() == null
+                && criteria.getTo() == null
+                && !StringUtils.hasText(criteria.getBusinessName());
     }
     
     /**
@@ -156,18 +403,21 @@ public class TransactionService {
         return TransactionDTO.builder()
                 .id(transaction.getId())
                 .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
                 .businessName(transaction.getBusinessName())
                 .name(transaction.getName())
+                .transactionDate(transaction.getTransactionDate())
                 .build();
     }
     
     /**
      * Convierte un DTO a entidad
      */
-    private Transaction convertToEntity(TransactionDTO dto) {
+    private Transaction convertToEntity(TransactionDTO dto, String currency) {
         return Transaction.builder()
                 .id(dto.getId())
                 .amount(dto.getAmount())
+                .currency(currency)
                 .businessName(dto.getBusinessName())
                 .name(dto.getName())
                 .transactionDate(LocalDateTime.now())
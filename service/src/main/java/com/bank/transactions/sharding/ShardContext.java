@@ -0,0 +1,38 @@
+package com.bank.transactions.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard asignado al hilo actual; lo lee ShardRoutingDataSource al obtener la conexión
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    /**
+     * Shard del hilo actual, o null si no se asignó ninguno
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Ejecuta la acción con el shard asignado y restaura el anterior al terminar
+     */
+    public static <T> T callOn(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.transactions.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.transactions.merchant.MerchantDictionary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Endpoint de Actuator {@code /actuator/shards}: distribución de filas por shard (GET) y
+ * rebalanceo (POST) de los clientes cuyo shard cambió tras agregar shards.
+ * <p>
+ * Cada cliente se mueve copiando sus filas y sus asientos del libro (con los mismos ids) al shard
+ * nuevo en una transacción y luego borrándolos del anterior. Durante el rebalanceo debe estar activo
+ * {@code app.sharding.migration-mode} para que las lecturas por cliente consulten todos los shards.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardRebalancer {
+    
+    private final ShardRoutingDataSource routingDataSource;
+    private final TransactionShards shards;
+    private final MerchantDictionary merchants;
+    
+    @ReadOperation
+    public Map<String, ShardStats> distribution() {
+        Map<String, ShardStats> stats = new LinkedHashMap<>();
+        routingDataSource.getShards().forEach((shard, dataSource) -> {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            List<String> clients = jdbc.queryForList("SELECT DISTINCT name FROM transactions", String.class);
+            Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+            long misplaced = clients.stream().filter(name -> !shards.shardFor(name).equals(shard)).count();
+            stats.put(shard, new ShardStats(rows != null ? rows : 0, clients.size(), misplaced));
+        });
+        return stats;
+    }
+    
+    /**
+     * Mueve cada cliente a su shard actual; con {@code dryRun} (por defecto) solo informa
+     */
+    @WriteOperation
+    public RebalanceReport rebalance(@Nullable Boolean dryRun) {
+        boolean simulate = dryRun == null || dryRun;
+        Map<String, DataSource> all = routingDataSource.getShards();
+        Map<String, Integer> clientsByTarget = new LinkedHashMap<>();
+        int clientsMoved = 0;
+        long rowsMoved = 0;
+        
+        for (Map.Entry<String, DataSource> source : all.entrySet()) {
+            JdbcTemplate sourceJdbc = new JdbcTemplate(source.getValue());
+            for (String name : sourceJdbc.queryForList("SELECT DISTINCT name FROM transactions", String.class)) {
+                String target = shards.shardFor(name);
+                if (target.equals(source.getKey())) {
+                    continue;
+                }
+                rowsMoved += simulate
+                        ? countRows(sourceJdbc, name)
+                        : moveClient(name, source.getValue(), target, all.get(target));
+                clientsMoved++;
+                clientsByTarget.merge(target, 1, Integer::sum);
+            }
+        }
+        
+        log.info("Rebalanceo {}: {} cliente(s), {} fila(s)", simulate ? "simulado" : "ejecutado", clientsMoved, rowsMoved);
+        return new RebalanceReport(simulate, clientsMoved, rowsMoved, clientsByTarget);
+    }
+    
+    private int moveClient(String name, DataSource source, String targetShard, DataSource target) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        List<Map<String, Object>> rows = sourceJdbc.queryForList("SELECT * FROM transactions WHERE name = ?", name);
+        List<Map<String, Object>> entries = sourceJdbc.queryForList("SELECT * FROM ledger_entries WHERE name = ?", name);
+        if (rows.isEmpty() && entries.isEmpty()) {
+            return 0;
+        }
+        
+        // merchant_id se copia tal cual: el shard destino necesita esos comercios
+        merchants.copyTo(targetShard, sourceJdbc.queryForList(
+                "SELECT merchant_id FROM transactions WHERE name = ? UNION SELECT merchant_id FROM ledger_entries WHERE name = ?",
+                Integer.class, name, name));
+        
+        new TransactionTemplate(new DataSourceTransactionManager(target)).executeWithoutResult(status -> {
+            copyRows(targetJdbc, "transactions", name, rows);
+            copyRows(targetJdbc, "ledger_entries", name, entries);
+        });
+        // Las fotos no se copian: en el destino el saldo se suma desde los asientos hasta la próxima foto
+        new TransactionTemplate(new DataSourceTransactionManager(source)).executeWithoutResult(status -> {
+            sourceJdbc.batchUpdate("DELETE FROM transactions WHERE id = ?", ids(rows));
+            sourceJdbc.batchUpdate("DELETE FROM ledger_entries WHERE id = ?", ids(entries));
+            sourceJdbc.update("DELETE FROM balance_snapshots WHERE name = ?", name);
+        });
+        return rows.size();
+    }
+    
+    /**
+     * Inserta las filas del cliente con los mismos ids, salvo las que ya están en el destino
+     */
+    private static void copyRows(JdbcTemplate targetJdbc, String table, String name, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // Las columnas se leen del resultado para no atar el rebalanceo al esquema
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+        Set<Object> existing = new HashSet<>(
+                targetJdbc.queryForList("SELECT id FROM " + table + " WHERE name = ?", Object.class, name));
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            if (!existing.contains(row.get("id"))) {
+                values.add(columns.stream().map(row::get).toArray());
+            }
+        }
+        targetJdbc.batchUpdate(insert, values);
+    }
+    
+    private static List<Object[]> ids(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> new Object[] { row.get("id") }).toList();
+    }
+    
+    private static long countRows(JdbcTemplate jdbc, String name) {
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE name = ?", Long.class, name);
+        return rows != null ? rows : 0;
+    }
+    
+    public record ShardStats(long rows, int clients, long misplacedClients) {
+    }
+    
+    public record RebalanceReport(boolean dryRun, int clientsMoved, long rowsMoved, Map<String, Integer> clientsByTarget) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.transactions.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hashing consistente con nodos virtuales.
+ * Agregar un shard al final de la lista solo reasigna ~1/n de los clientes.
+ */
+public class ShardRing {
+    
+    private final NavigableMap<Integer, String> ring = new TreeMap<>();
+    
+    public ShardRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un shard");
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+    
+    /**
+     * Shard dueño del cliente
+     */
+    public String shardFor(String name) {
+        Map.Entry<Integer, String> entry = ring.ceilingEntry(hash(name));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+    
+    /**
+     * FNV-1a de 32 bits seguido del mezclador final de MurmurHash3 para repartir mejor claves parecidas
+     */
+    static int hash(String key) {
+        int h = 0x811c9dc5;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.transactions.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource que envía cada conexión al shard asignado en {@link ShardContext}.
+ * Sin shard asignado usa shard-0 (arranque de Hibernate, consultas de mantenimiento).
+ * Debe envolverse en un LazyConnectionDataSourceProxy para que el shard se elija
+ * con la transacción ya iniciada.
+ */
+@Slf4j
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private final Map<String, DataSource> shards;
+    
+    public ShardRoutingDataSource(List<DataSource> shardDataSources) {
+        Map<String, DataSource> named = new LinkedHashMap<>();
+        for (int i = 0; i < shardDataSources.size(); i++) {
+            named.put(shardName(i), shardDataSources.get(i));
+        }
+        this.shards = Collections.unmodifiableMap(named);
+        setTargetDataSources(new LinkedHashMap<>(named));
+        setDefaultTargetDataSource(shardDataSources.get(0));
+    }
+    
+    public static String shardName(int index) {
+        return "shard-" + index;
+    }
+    
+    /**
+     * Shards en orden, con su DataSource sin enrutar
+     */
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+    
+    /**
+     * Cierra los pools de los shards adicionales; shard-0 es un bean y lo cierra el contexto
+     */
+    public void shutdown() {
+        shards.values().stream().skip(1).forEach(shard -> {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.debug("Error cerrando shard: {}", ex.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.bank.transactions.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prepara los shards antes de recibir tráfico: crea el esquema en los shards nuevos o sin las
+ * tablas del libro (Hibernate solo actualiza shard-0 al arrancar) y reparte los ids generados de
+ * las tablas que se copian entre shards para que sean únicos: el shard i genera solo ids con
+ * id % n == i, por sobre el máximo global.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+    
+    /**
+     * Tablas que deben existir en cada shard
+     */
+    private static final List<String> TABLES = List.of("transactions", "ledger_entries", "balance_snapshots");
+    
+    /**
+     * Tablas cuyas filas el rebalanceo copia con el mismo id
+     */
+    private static final List<String> COPIED_TABLES = List.of("transactions", "ledger_entries");
+    
+    private final ShardRoutingDataSource routingDataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AtomicBoolean prepared = new AtomicBoolean();
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        prepare();
+    }
+    
+    /**
+     * Idempotente: quien necesite leer los shards al iniciar puede invocarlo antes
+     */
+    public void prepare() {
+        if (!prepared.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, DataSource> shards = routingDataSource.getShards();
+        for (Map.Entry<String, DataSource> shard : shards.entrySet()) {
+            JdbcTemplate jdbc = new JdbcTemplate(shard.getValue());
+            if (!TABLES.stream().allMatch(table -> hasTable(jdbc, table))) {
+                // Las tablas que ya existen fallan al crearse y Hibernate solo lo registra en el log
+                ShardContext.callOn(shard.getKey(), () -> {
+                    entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                            .getSchemaManager()
+                            .exportMappedObjects(false);
+                    return null;
+                });
+                log.info("Esquema creado en {}", shard.getKey());
+            }
+        }
+        COPIED_TABLES.forEach(table -> alignIdentities(shards, table));
+    }
+    
+    private void alignIdentities(Map<String, DataSource> shards, String table) {
+        long globalMax = 0;
+        for (DataSource shard : shards.values()) {
+            Long max = new JdbcTemplate(shard).queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            globalMax = Math.max(globalMax, max != null ? max : 0);
+        }
+        int count = shards.size();
+        int index = 0;
+        for (Map.Entry<String, DataSource> shard : shards.entrySet()) {
+            long start = firstIdAbove(globalMax, count, index++);
+            String alter = "ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + count + " RESTART WITH " + start;
+            try {
+                // En PostgreSQL el DDL es transaccional: sin commit explícito el pool sin autocommit lo revierte
+                new TransactionTemplate(new DataSourceTransactionManager(shard.getValue()))
+                        .executeWithoutResult(status -> new JdbcTemplate(shard.getValue()).execute(alter));
+            } catch (DataAccessException ex) {
+                // Columnas serial antiguas no admiten la sintaxis de identidad
+                log.warn("No se pudo ajustar la generación de ids de {} en {}: {}", table, shard.getKey(), ex.getMessage());
+            }
+        }
+        log.info("Ids de {} en {} shard(s) alineados por sobre {}", table, count, globalMax);
+    }
+    
+    /**
+     * Menor id mayor que {@code max} (y mayor que 0) con id % shardCount == shardIndex
+     */
+    static long firstIdAbove(long max, int shardCount, int shardIndex) {
+        long candidate = max + 1 + Math.floorMod(shardIndex - (max + 1), (long) shardCount);
+        return candidate > 0 ? candidate : candidate + shardCount;
+    }
+    
+    private static boolean hasTable(JdbcTemplate jdbc, String table) {
+        try {
+            jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE 1 = 0", Long.class);
+            return true;
+        } catch (DataAccessException ex) {
+            return false;
+        }
+    }
+}
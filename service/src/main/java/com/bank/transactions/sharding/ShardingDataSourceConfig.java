@@ -0,0 +1,84 @@
+package com.bank.transactions.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del DataSource particionado por cliente
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardingDataSourceConfig {
+    
+    /**
+     * Pool de shard-0; recibe la configuración spring.datasource.hikari.*
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource shardZeroDataSource(DataSourceProperties dataSourceProperties,
+                                                @Value("${app.datasource.routing.enabled:false}") boolean replicaRouting) {
+        if (replicaRouting) {
+            throw new IllegalStateException(
+                    "app.sharding.enabled y app.datasource.routing.enabled no pueden activarse a la vez");
+        }
+        HikariDataSource shardZero = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        shardZero.setPoolName(ShardRoutingDataSource.shardName(0));
+        return shardZero;
+    }
+    
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            @Qualifier("shardZeroDataSource") HikariDataSource shardZero,
+            DataSourceProperties dataSourceProperties,
+            ShardingProperties shardingProperties) {
+        
+        String username = shardingProperties.getShardUsername() != null
+                ? shardingProperties.getShardUsername() : dataSourceProperties.getUsername();
+        String password = shardingProperties.getShardPassword() != null
+                ? shardingProperties.getShardPassword() : dataSourceProperties.getPassword();
+        
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(shardZero);
+        List<String> urls = shardingProperties.getShardUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            // Los shards heredan el tamaño y timeouts del pool de shard-0
+            HikariConfig config = new HikariConfig();
+            shardZero.copyStateTo(config);
+            config.setPoolName(ShardRoutingDataSource.shardName(i + 1));
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            shards.add(new HikariDataSource(config));
+        }
+        
+        log.info("Particionamiento por cliente activo con {} shard(s)", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+    
+    /**
+     * El proxy perezoso retrasa la obtención de la conexión hasta la primera sentencia,
+     * cuando el servicio ya asignó el shard del cliente
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
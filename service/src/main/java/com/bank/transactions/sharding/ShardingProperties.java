@@ -0,0 +1,51 @@
+package com.bank.transactions.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades del particionamiento de transacciones por cliente
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+    
+    /**
+     * Activa el particionamiento; la base de spring.datasource es siempre shard-0
+     */
+    private boolean enabled = false;
+    
+    /**
+     * URLs JDBC de los shards adicionales (shard-1, shard-2, ...), en orden estable
+     */
+    private List<String> shardUrls = new ArrayList<>();
+    
+    /**
+     * Usuario de los shards adicionales; si no se define se usa el de spring.datasource
+     */
+    private String shardUsername;
+    
+    /**
+     * Contraseña de los shards adicionales; si no se define se usa la de spring.datasource
+     */
+    private String shardPassword;
+    
+    /**
+     * Nodos virtuales por shard en el anillo de hashing consistente
+     */
+    private int virtualNodes = 128;
+    
+    /**
+     * Mientras se rebalancea, las lecturas y conteos por cliente consultan todos los shards
+     */
+    private boolean migrationMode = false;
+    
+    /**
+     * Tiempo máximo de espera de las consultas distribuidas a todos los shards
+     */
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+}
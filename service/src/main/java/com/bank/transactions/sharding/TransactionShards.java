@@ -0,0 +1,279 @@
+package com.bank.transactions.sharding;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Punto de entrada del servicio al particionamiento por cliente.
+ * <p>
+ * Las lecturas se ejecutan en cada shard involucrado en su propia transacción de solo lectura
+ * (en paralelo cuando son varios) y se combinan aquí. Las escrituras se ejecutan en la
+ * transacción del llamador con el shard asignado antes de la primera sentencia.
+ * Con el particionamiento apagado todas las operaciones se ejecutan directamente.
+ */
+@Component
+@EnableConfigurationProperties(ShardingProperties.class)
+@Slf4j
+public class TransactionShards {
+    
+    private static final String SINGLE_SHARD = ShardRoutingDataSource.shardName(0);
+    
+    private final List<String> shardNames;
+    private final ShardRing ring;
+    private final ShardingProperties properties;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final ExecutorService scatterExecutor;
+    
+    @Autowired
+    public TransactionShards(ShardingProperties properties,
+                             ObjectProvider<ShardRoutingDataSource> routingDataSource,
+                             ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.properties = properties;
+        ShardRoutingDataSource routing = properties.isEnabled() ? routingDataSource.getIfAvailable() : null;
+        PlatformTransactionManager manager = transactionManager != null ? transactionManager.getIfAvailable() : null;
+        this.newTransactionTemplate = manager != null ? new TransactionTemplate(manager) : null;
+        if (newTransactionTemplate != null) {
+            newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        if (routing == null) {
+            this.shardNames = List.of(SINGLE_SHARD);
+            this.ring = null;
+            this.readTemplate = null;
+            this.scatterExecutor = null;
+            return;
+        }
+        this.shardNames = List.copyOf(routing.getShards().keySet());
+        this.ring = new ShardRing(shardNames, properties.getVirtualNodes());
+        
+        this.readTemplate = new TransactionTemplate(manager);
+        readTemplate.setReadOnly(true);
+        readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(shardNames.size() * 2, r -> {
+            Thread thread = new Thread(r, "shard-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Instancia sin particionamiento, para tests unitarios del servicio
+     */
+    public static TransactionShards disabled() {
+        return new TransactionShards(new ShardingProperties(), null, null);
+    }
+    
+    public boolean isEnabled() {
+        return ring != null;
+    }
+    
+    public List<String> shards() {
+        return shardNames;
+    }
+    
+    /**
+     * Shard dueño de las transacciones del cliente
+     */
+    public String shardFor(String name) {
+        return ring != null ? ring.shardFor(name) : SINGLE_SHARD;
+    }
+    
+    /**
+     * Ejecuta una escritura en la transacción actual, sobre el shard indicado
+     */
+    public <T> T onShard(String shard, Supplier<T> action) {
+        return isEnabled() ? ShardContext.callOn(shard, action) : action.get();
+    }
+    
+    /**
+     * Ejecuta una escritura en la transacción actual, sobre el shard del cliente
+     */
+    public <T> T route(String name, Supplier<T> action) {
+        return onShard(shardFor(name), action);
+    }
+    
+    /**
+     * Ejecuta una escritura en una transacción nueva sobre el shard indicado.
+     * Sin particionamiento también abre la transacción; solo los tests unitarios la omiten.
+     */
+    public <T> T inNewTransaction(String shard, Supplier<T> action) {
+        if (newTransactionTemplate == null) {
+            return action.get();
+        }
+        return onShard(shard, () -> newTransactionTemplate.execute(status -> action.get()));
+    }
+    
+    /**
+     * Shard que contiene la fila según la sonda; sin particionamiento retorna el único shard sin consultar
+     */
+    public Optional<String> locate(BooleanSupplier probe) {
+        if (!isEnabled()) {
+            return Optional.of(SINGLE_SHARD);
+        }
+        return readOn(shardNames, () -> probe.getAsBoolean() ? ShardContext.current() : null).stream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+    
+    /**
+     * Primer resultado presente entre todos los shards
+     */
+    public <T> Optional<T> findAny(Supplier<Optional<T>> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        return readOn(shardNames, query).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+    
+    /**
+     * Resultados de todos los shards concatenados, sin orden
+     */
+    public <T> List<T> scatter(Supplier<List<T>> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        List<T> all = new ArrayList<>();
+        readOn(shardNames, query).forEach(all::addAll);
+        return all;
+    }
+    
+    /**
+     * Resultados de todos los shards combinados por k-way merge. Cada shard debe
+     * retornar su lista ya ordenada con el mismo orden total.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query, Comparator<? super T> order, int limit) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        return merge(readOn(shardNames, query), order, limit);
+    }
+    
+    /**
+     * Lectura de un cliente: su shard, o todos durante una migración
+     */
+    public <T> List<T> forClient(String name, Supplier<List<T>> query, Comparator<? super T> order, int limit) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        return merge(readOn(clientShards(name), query), order, limit);
+    }
+    
+    /**
+     * Conteo de un cliente: su shard, o la suma de todos durante una migración
+     */
+    public long countForClient(String name, LongSupplier count) {
+        if (!isEnabled()) {
+            return count.getAsLong();
+        }
+        return readOn(clientShards(name), count::getAsLong).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+    
+    private List<String> clientShards(String name) {
+        return properties.isMigrationMode() ? shardNames : List.of(shardFor(name));
+    }
+    
+    /**
+     * Ejecuta la consulta en cada shard en su propia transacción de solo lectura y espera todos los resultados
+     */
+    private <T> List<T> readOn(List<String> shards, Supplier<T> query) {
+        if (shards.size() == 1) {
+            return List.of(read(shards.get(0), query));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            futures.add(scatterExecutor.submit(() -> read(shard, query)));
+        }
+        long deadline = System.nanoTime() + properties.getScatterTimeout().toNanos();
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException ex) {
+            throw new QueryTimeoutException("Consulta distribuida excedió " + properties.getScatterTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Consulta distribuida interrumpida");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+    
+    private <T> T read(String shard, Supplier<T> query) {
+        return ShardContext.callOn(shard, () -> readTemplate.execute(status -> query.get()));
+    }
+    
+    /**
+     * Mezcla listas ordenadas; descarta duplicados consecutivos (una fila copiada a dos shards durante una migración)
+     */
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> order, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head, b.head));
+        for (List<T> list : sortedLists) {
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor<>(iterator.next(), iterator));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        T previous = null;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Cursor<T> cursor = heads.poll();
+            if (!Objects.equals(previous, cursor.head)) {
+                merged.add(cursor.head);
+                previous = cursor.head;
+            }
+            if (cursor.rest.hasNext()) {
+                heads.add(new Cursor<>(cursor.rest.next(), cursor.rest));
+            }
+        }
+        return merged;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+    
+    private record Cursor<T>(T head, Iterator<T> rest) {
+    }
+}
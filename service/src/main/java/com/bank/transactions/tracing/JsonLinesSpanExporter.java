@@ -0,0 +1,95 @@
+package com.bank.transactions.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporta los spans a un archivo, un JSON por línea, para entornos sin colector OTLP
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+    
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private BufferedWriter writer;
+    
+    public JsonLinesSpanExporter(ObjectMapper objectMapper, Path file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (writer == null) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toJson(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException ex) {
+            log.warn("No se pudieron escribir {} spans en {}: {}", spans.size(), file, ex.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+    
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer == null) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException ex) {
+            return CompletableResultCode.ofFailure();
+        } finally {
+            writer = null;
+        }
+    }
+    
+    private ObjectNode toJson(SpanData span) {
+        ObjectNode node = objectMapper.createObjectNode()
+                .put("traceId", span.getTraceId())
+                .put("spanId", span.getSpanId())
+                .put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null)
+                .put("name", span.getName())
+                .put("kind", span.getKind().name())
+                .put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString())
+                .put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()))
+                .put("status", span.getStatus().getStatusCode().name());
+        if (!span.getStatus().getDescription().isEmpty()) {
+            node.put("statusDescription", span.getStatus().getDescription());
+        }
+        ObjectNode attributes = node.putObject("attributes");
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return node;
+    }
+}
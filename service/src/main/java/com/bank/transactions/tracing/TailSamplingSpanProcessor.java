@@ -0,0 +1,213 @@
+package com.bank.transactions.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Muestreo por cola: guarda los spans terminados de cada traza hasta que termina su span raíz
+ * local y recién entonces decide si la traza completa pasa al procesador de exportación.
+ * <p>
+ * Se exportan las trazas lentas, las que tienen algún span con error (salvo las que terminan en
+ * un 4xx, que son errores del cliente) y una fracción fija del resto. El muestreo de cabecera debe
+ * dejar pasar todas las trazas ({@code management.tracing.sampling.probability=1.0}) para que
+ * la decisión pueda tomarse aquí.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+    
+    /**
+     * Resultado del request que Micrometer agrega al span HTTP del servidor
+     */
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final String CLIENT_ERROR = "CLIENT_ERROR";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+    
+    private final SpanProcessor delegate;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final long pendingTimeoutNanos;
+    private final ConcurrentHashMap<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final Counter keptSlow;
+    private final Counter keptError;
+    private final Counter keptSampled;
+    private final Counter discarded;
+    private final Counter dropped;
+    
+    public TailSamplingSpanProcessor(SpanProcessor delegate, TraceSamplingProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.maxPendingTraces = properties.getMaxPendingTraces();
+        this.maxSpansPerTrace = properties.getMaxSpansPerTrace();
+        this.pendingTimeoutNanos = properties.getPendingTimeout().toNanos();
+        this.keptSlow = decision(meterRegistry, "slow");
+        this.keptError = decision(meterRegistry, "error");
+        this.keptSampled = decision(meterRegistry, "sampled");
+        this.discarded = decision(meterRegistry, "discarded");
+        this.dropped = decision(meterRegistry, "overflow");
+    }
+    
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        delegate.onStart(parentContext, span);
+    }
+    
+    @Override
+    public boolean isStartRequired() {
+        return delegate.isStartRequired();
+    }
+    
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!span.getSpanContext().isSampled()) {
+            return;
+        }
+        String traceId = span.getSpanContext().getTraceId();
+        if (isLocalRoot(span)) {
+            PendingTrace trace = pending.remove(traceId);
+            List<ReadableSpan> spans = trace != null ? trace.spans() : new ArrayList<>(1);
+            spans.add(span);
+            decide(span, spans);
+            sweepIfDue();
+            return;
+        }
+        
+        PendingTrace trace = pending.get(traceId);
+        if (trace == null) {
+            if (pending.size() >= maxPendingTraces) {
+                sweep();
+                if (pending.size() >= maxPendingTraces) {
+                    dropped.increment();
+                    return;
+                }
+            }
+            trace = pending.computeIfAbsent(traceId, id -> new PendingTrace(System.nanoTime()));
+        }
+        if (!trace.add(span, maxSpansPerTrace)) {
+            dropped.increment();
+        }
+    }
+    
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+    
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        return delegate.shutdown();
+    }
+    
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+    
+    /**
+     * Trazas esperando su span raíz, para los tests
+     */
+    int pendingTraces() {
+        return pending.size();
+    }
+    
+    private void decide(ReadableSpan root, List<ReadableSpan> spans) {
+        Counter reason;
+        if (root.getLatencyNanos() >= slowThresholdNanos) {
+            reason = keptSlow;
+        } else if (failed(root.getAttribute(OUTCOME), spans)) {
+            reason = keptError;
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            reason = keptSampled;
+        } else {
+            discarded.increment();
+            return;
+        }
+        reason.increment();
+        spans.forEach(delegate::onEnd);
+    }
+    
+    private static boolean failed(String outcome, List<ReadableSpan> spans) {
+        if (SERVER_ERROR.equals(outcome)) {
+            return true;
+        }
+        return !CLIENT_ERROR.equals(outcome)
+                && spans.stream().anyMatch(span -> span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR);
+    }
+    
+    /**
+     * El span raíz de este servicio: sin padre o con un padre que llegó de otro proceso
+     */
+    private static boolean isLocalRoot(ReadableSpan span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+    
+    private void sweepIfDue() {
+        long last = lastSweep.get();
+        long now = System.nanoTime();
+        if (now - last >= pendingTimeoutNanos && lastSweep.compareAndSet(last, now)) {
+            sweep();
+        }
+    }
+    
+    /**
+     * Descarta las trazas cuyo span raíz nunca terminó (o terminó antes que sus hijos)
+     */
+    private void sweep() {
+        long now = System.nanoTime();
+        pending.entrySet().removeIf(entry -> {
+            boolean expired = now - entry.getValue().createdNanos >= pendingTimeoutNanos;
+            if (expired) {
+                dropped.increment();
+            }
+            return expired;
+        });
+    }
+    
+    private static Counter decision(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("tracing.tail.sampling")
+                .description("Trazas según la decisión del muestreo por cola")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+    
+    private static final class PendingTrace {
+        
+        private final long createdNanos;
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        
+        private PendingTrace(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+        
+        private synchronized boolean add(ReadableSpan span, int max) {
+            if (spans.size() >= max) {
+                return false;
+            }
+            spans.add(span);
+            return true;
+        }
+        
+        private synchronized List<ReadableSpan> spans() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transactions.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del muestreo por cola de las trazas y del exportador a archivo
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TraceSamplingProperties {
+    
+    /**
+     * Las trazas cuyo span raíz dura al menos esto se exportan siempre
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+    
+    /**
+     * Fracción de las trazas rápidas y exitosas que igual se exporta, como línea base
+     */
+    private double sampleRate = 0.01;
+    
+    /**
+     * Trazas en curso que se mantienen a la espera de su span raíz; sobre esto se descartan
+     */
+    private int maxPendingTraces = 10_000;
+    
+    /**
+     * Spans que se guardan por traza; los siguientes se descartan
+     */
+    private int maxSpansPerTrace = 1_000;
+    
+    /**
+     * Una traza sin span raíz después de este tiempo se descarta
+     */
+    private Duration pendingTimeout = Duration.ofMinutes(1);
+    
+    /**
+     * Archivo donde se escriben los spans exportados, uno por línea en JSON; vacío para no escribirlos
+     */
+    private String file;
+}
@@ -0,0 +1,46 @@
+package com.bank.transactions.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuración de las trazas OpenTelemetry: el muestreo por cola antes de exportar
+ * y el exportador opcional a archivo. El exportador OTLP lo crea Spring Boot cuando
+ * {@code management.otlp.tracing.endpoint} está definido.
+ */
+@Configuration
+@ConditionalOnEnabledTracing
+@ConditionalOnClass(SpanProcessor.class)
+@EnableConfigurationProperties(TraceSamplingProperties.class)
+public class TracingConfig {
+    
+    /**
+     * Reemplaza la lista de procesadores de Spring Boot: el procesador por lotes que exporta
+     * solo recibe las trazas que el muestreo por cola decide conservar
+     */
+    @Bean
+    public SpanProcessors spanProcessors(BatchSpanProcessor otelSpanProcessor, TraceSamplingProperties properties,
+                                         MeterRegistry meterRegistry) {
+        return SpanProcessors.of(new TailSamplingSpanProcessor(otelSpanProcessor, properties, meterRegistry));
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "file")
+    public SpanExporter jsonLinesSpanExporter(ObjectMapper objectMapper, TraceSamplingProperties properties)
+            throws IOException {
+        return new JsonLinesSpanExporter(objectMapper, Path.of(properties.getFile()));
+    }
+}
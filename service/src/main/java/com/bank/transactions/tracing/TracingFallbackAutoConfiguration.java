@@ -0,0 +1,25 @@
+package com.bank.transactions.tracing;
+
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registra un {@link Tracer} sin efecto cuando las trazas están desactivadas
+ * ({@code management.tracing.enabled=false}, y siempre en los tests), para que los componentes
+ * instrumentados puedan inyectarlo sin condiciones
+ */
+@AutoConfiguration(afterName = {
+        "org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration"
+})
+public class TracingFallbackAutoConfiguration {
+    
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracer noopTracer() {
+        return Tracer.NOOP;
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.exception.BusinessException;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Valida que el monto no sea negativo
+ */
+@Component
+@Order(0)
+public class AmountCheck implements TransactionCheck {
+    
+    public static final String NAME = "amount";
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public void check(ValidationContext context) {
+        if (context.getTransaction().getAmount() < 0) {
+            throw new BusinessException("El monto de la transacción no puede ser negativo");
+        }
+    }
+}
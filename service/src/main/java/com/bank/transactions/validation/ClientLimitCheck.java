@@ -0,0 +1,64 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.archive.TransactionArchive;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.profiling.LimitCheckEvent;
+import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Valida que el cliente no exceda el límite de transacciones al crear o al reasignar una transacción.
+ * Cuentan las de la base y las archivadas.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class ClientLimitCheck implements TransactionCheck {
+    
+    public static final String NAME = "client-limit";
+    
+    public static final int MAX_TRANSACTIONS_PER_CLIENT = 100;
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionShards shards;
+    private final TransactionArchive archive;
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public boolean blocking() {
+        return true;
+    }
+    
+    @Override
+    public void check(ValidationContext context) {
+        if (!context.assignsToClient()) {
+            return;
+        }
+        String tenpistaName = context.getTransaction().getName();
+        LimitCheckEvent event = new LimitCheckEvent();
+        event.begin();
+        long count = countFor(tenpistaName);
+        event.finish(tenpistaName, count, MAX_TRANSACTIONS_PER_CLIENT, count < MAX_TRANSACTIONS_PER_CLIENT);
+        if (count >= MAX_TRANSACTIONS_PER_CLIENT) {
+            throw new BusinessException(
+                String.format("El cliente %s ha alcanzado el límite máximo de %d transacciones",
+                    tenpistaName, MAX_TRANSACTIONS_PER_CLIENT)
+            );
+        }
+    }
+    
+    /**
+     * Transacciones del Tenpista que cuentan para el límite: las de su shard y las archivadas
+     */
+    public long countFor(String tenpistaName) {
+        return shards.countForClient(tenpistaName, () -> transactionRepository.countByName(tenpistaName))
+                + archive.countByName(tenpistaName);
+    }
+}
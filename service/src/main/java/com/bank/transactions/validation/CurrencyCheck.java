@@ -0,0 +1,38 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.money.Money;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Valida la moneda recibida y publica la moneda a guardar: la recibida, la actual
+ * al actualizar sin moneda, o la moneda por defecto al crear sin moneda
+ */
+@Component
+@Order(1)
+public class CurrencyCheck implements TransactionCheck {
+    
+    public static final String NAME = "currency";
+    
+    /**
+     * Atributo con la moneda resuelta
+     */
+    public static final String RESOLVED_CURRENCY = "currency";
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public void check(ValidationContext context) {
+        String currency = context.getTransaction().getCurrency();
+        if (currency == null) {
+            currency = context.getPreviousCurrency() != null ? context.getPreviousCurrency() : Money.DEFAULT_CURRENCY;
+        } else if (!Money.isSupportedCurrency(currency)) {
+            throw new BusinessException("La moneda " + currency + " no es un código ISO 4217 soportado");
+        }
+        context.setAttribute(RESOLVED_CURRENCY, currency);
+    }
+}
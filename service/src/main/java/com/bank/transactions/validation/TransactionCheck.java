@@ -0,0 +1,51 @@
+package com.bank.transactions.validation;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Etapa del pipeline de validación de transacciones. Cada bean que implementa esta interfaz
+ * se agrega al pipeline; las etapas sin dependencias entre sí se ejecutan en paralelo.
+ */
+public interface TransactionCheck {
+    
+    /**
+     * Nombre único de la etapa; se usa en dependsOn, en la configuración y como tag de las métricas
+     */
+    String name();
+    
+    /**
+     * Etapas que deben terminar sin rechazar antes de ejecutar esta
+     */
+    default Set<String> dependsOn() {
+        return Set.of();
+    }
+    
+    /**
+     * Las etapas que hacen I/O se ejecutan en el executor del pipeline con timeout;
+     * las demás se ejecutan directamente en el hilo que las habilita
+     */
+    default boolean blocking() {
+        return false;
+    }
+    
+    /**
+     * Timeout propio de la etapa, o null para usar app.validation.stage-timeout
+     */
+    default Duration timeout() {
+        return null;
+    }
+    
+    /**
+     * Si es true, un timeout o error inesperado de la etapa se registra y la transacción continúa;
+     * si es false la transacción se rechaza con 503
+     */
+    default boolean failOpen() {
+        return false;
+    }
+    
+    /**
+     * Valida o enriquece el contexto; lanza BusinessException para rechazar la transacción
+     */
+    void check(ValidationContext context);
+}
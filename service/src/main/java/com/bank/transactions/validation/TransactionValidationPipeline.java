@@ -0,0 +1,381 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.config.ClientIdentifier;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.exception.ValidationUnavailableException;
+import com.bank.transactions.sharding.ShardContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta las etapas de validación de una transacción según sus dependencias.
+ * <p>
+ * Cada etapa empieza en cuanto terminan las que declara en dependsOn, así que las etapas
+ * independientes corren en paralelo y la latencia total es la del camino más largo, no la suma.
+ * Las etapas bloqueantes se ejecutan en un executor acotado con timeout; el primer rechazo
+ * responde de inmediato y las etapas que aún no empezaron ya no se ejecutan.
+ * <p>
+ * Las etapas ven el shard, el identificador de cliente (para el enrutamiento a réplicas) y el MDC
+ * del hilo que llama, pero no su transacción: las consultas abren la suya. Cada etapa tiene su
+ * propio span, hijo del span del pipeline.
+ */
+@Component
+@EnableConfigurationProperties(ValidationProperties.class)
+@Slf4j
+public class TransactionValidationPipeline {
+    
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+    
+    private final List<TransactionCheck> stages;
+    private final ValidationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timeouts;
+    
+    public TransactionValidationPipeline(List<TransactionCheck> checks, ValidationProperties properties,
+                                         MeterRegistry meterRegistry, Tracer tracer) {
+        this.stages = inDependencyOrder(checks);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "validation-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.timeouts = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "validation-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timeouts.setRemoveOnCancelPolicy(true);
+        log.info("Pipeline de validación: {}", stages.stream().map(TransactionCheck::name).toList());
+    }
+    
+    /**
+     * Ejecuta todas las etapas; retorna cuando todas pasaron o lanza el primer rechazo
+     *
+     * @throws BusinessException              si una etapa rechaza la transacción
+     * @throws ValidationUnavailableException si una etapa obligatoria no terminó a tiempo
+     */
+    public void validate(ValidationContext context) {
+        long start = System.nanoTime();
+        Span span = tracer.nextSpan().name("transaction.validation")
+                .tag("operation", context.getOperation().name().toLowerCase())
+                .start();
+        Run run = new Run(context, Propagation.capture(), span);
+        Map<String, CompletableFuture<Void>> finished = new HashMap<>();
+        for (TransactionCheck stage : stages) {
+            CompletableFuture<Void> ready = stage.dependsOn().isEmpty()
+                    ? DONE
+                    : CompletableFuture.allOf(stage.dependsOn().stream()
+                            .map(finished::get)
+                            .toArray(CompletableFuture[]::new));
+            // Si una dependencia rechaza, el futuro queda fallido y la etapa no se ejecuta
+            finished.put(stage.name(), ready.thenCompose(ignored -> start(stage, run)));
+        }
+        
+        CompletableFuture<Void> all = CompletableFuture.allOf(finished.values().toArray(CompletableFuture[]::new));
+        try {
+            CompletableFuture.anyOf(all, run.failed).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            run.fail(new ValidationUnavailableException("Validación interrumpida"));
+        } catch (ExecutionException ex) {
+            // El rechazo ya quedó en run.failure
+        }
+        
+        RuntimeException failure = run.failure.get();
+        String outcome = failure == null ? "passed" : outcome(failure);
+        Timer.builder("transaction.validation")
+                .description("Latencia total del pipeline de validación")
+                .tag("operation", context.getOperation().name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        end(span, outcome, failure);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * Etapas en orden de ejecución, para el log y los tests
+     */
+    public List<String> stageNames() {
+        return stages.stream().map(TransactionCheck::name).toList();
+    }
+    
+    private CompletableFuture<Void> start(TransactionCheck stage, Run run) {
+        if (run.failure.get() != null) {
+            return DONE;
+        }
+        StageRun stageRun = new StageRun(stage, run);
+        if (!stage.blocking()) {
+            stageRun.execute();
+            return stageRun.result;
+        }
+        
+        Future<?> task;
+        try {
+            task = executor.submit(stageRun::execute);
+        } catch (RejectedExecutionException ex) {
+            stageRun.settle(new Unavailable(stage.name() + " rechazada: executor saturado"));
+            return stageRun.result;
+        }
+        Duration timeout = timeoutOf(stage);
+        ScheduledFuture<?> timer = timeouts.schedule(() -> {
+            // La etapa ya no cuenta, pero no se interrumpe su hilo: una interrupción mientras carga
+            // clases del jar o espera al driver JDBC puede dejar inservibles la clase o la conexión.
+            // El hilo queda ocupado hasta que la etapa termine, acotada por el timeout de sus consultas.
+            stageRun.settle(new Unavailable(stage.name() + " excedió " + timeout));
+            task.cancel(false);
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        stageRun.result.whenComplete((ignored, error) -> timer.cancel(false));
+        return stageRun.result;
+    }
+    
+    private static String outcome(RuntimeException error) {
+        if (error instanceof BusinessException) {
+            return "rejected";
+        }
+        if (error instanceof Unavailable || error instanceof ValidationUnavailableException) {
+            return "timeout";
+        }
+        return "error";
+    }
+    
+    /**
+     * Un rechazo de negocio no marca el span como error: no es una falla del servicio
+     */
+    private static void end(Span span, String outcome, RuntimeException error) {
+        span.tag("outcome", outcome);
+        if (error != null && !(error instanceof BusinessException)) {
+            span.error(error);
+        }
+        span.end();
+    }
+    
+    private Duration timeoutOf(TransactionCheck stage) {
+        Duration configured = properties.getStageTimeouts().get(stage.name());
+        if (configured != null) {
+            return configured;
+        }
+        return stage.timeout() != null ? stage.timeout() : properties.getStageTimeout();
+    }
+    
+    /**
+     * Orden topológico estable (respeta el orden de los beans entre etapas independientes).
+     * Falla al arrancar si hay nombres repetidos, dependencias desconocidas o ciclos.
+     */
+    static List<TransactionCheck> inDependencyOrder(List<TransactionCheck> checks) {
+        Map<String, TransactionCheck> byName = new LinkedHashMap<>();
+        for (TransactionCheck check : checks) {
+            if (byName.put(check.name(), check) != null) {
+                throw new IllegalStateException("Etapa de validación duplicada: " + check.name());
+            }
+        }
+        Map<String, Integer> pending = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (TransactionCheck check : checks) {
+            for (String dependency : check.dependsOn()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                            "La etapa " + check.name() + " depende de una etapa inexistente: " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(check.name());
+            }
+            pending.put(check.name(), check.dependsOn().size());
+        }
+        
+        List<TransactionCheck> ordered = new ArrayList<>(checks.size());
+        Deque<String> ready = new ArrayDeque<>();
+        byName.keySet().stream().filter(name -> pending.get(name) == 0).forEach(ready::add);
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            ordered.add(byName.get(name));
+            for (String dependent : dependents.getOrDefault(name, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered.size() < checks.size()) {
+            List<String> cyclic = byName.keySet().stream().filter(name -> pending.get(name) > 0).toList();
+            throw new IllegalStateException("Dependencias circulares entre etapas de validación: " + cyclic);
+        }
+        return List.copyOf(ordered);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+    
+    /**
+     * Una etapa en ejecución; gana el primer resultado entre la ejecución y el timeout
+     */
+    private final class StageRun {
+        
+        private final TransactionCheck stage;
+        private final Run run;
+        private final long start = System.nanoTime();
+        private final Span span;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        
+        private StageRun(TransactionCheck stage, Run run) {
+            this.stage = stage;
+            this.run = run;
+            this.span = tracer.nextSpan(run.span).name("validation." + stage.name()).start();
+        }
+        
+        private void execute() {
+            run.propagation.run(() -> {
+                RuntimeException error = null;
+                try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+                    stage.check(run.context);
+                } catch (RuntimeException ex) {
+                    error = ex;
+                } catch (Error ex) {
+                    // Sin esto el executor se tragaría el error y el llamador esperaría hasta el timeout
+                    settle(new IllegalStateException("La etapa " + stage.name() + " falló", ex));
+                    throw ex;
+                }
+                settle(error);
+            });
+        }
+        
+        private void settle(RuntimeException error) {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            String outcome = error == null ? "passed" : outcome(error);
+            Timer.builder("transaction.validation.stage")
+                    .description("Latencia de cada etapa del pipeline de validación")
+                    .tag("stage", stage.name())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            end(span, outcome, error);
+            
+            if (error == null) {
+                result.complete(null);
+            } else if (!(error instanceof BusinessException) && stage.failOpen()) {
+                log.warn("Etapa de validación {} omitida ({}): {}", stage.name(), outcome, error.getMessage());
+                result.complete(null);
+            } else {
+                // El rechazo se publica antes de completar para que el llamador lo encuentre al despertar
+                RuntimeException failure = error instanceof Unavailable
+                        ? new ValidationUnavailableException("No se pudo validar la transacción: " + error.getMessage())
+                        : error;
+                run.fail(failure);
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+    
+    /**
+     * Estado de una ejecución del pipeline: el primer rechazo gana y despierta al llamador
+     */
+    private static final class Run {
+        
+        private final ValidationContext context;
+        private final Propagation propagation;
+        private final Span span;
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final CompletableFuture<Void> failed = new CompletableFuture<>();
+        
+        private Run(ValidationContext context, Propagation propagation, Span span) {
+            this.context = context;
+            this.propagation = propagation;
+            this.span = span;
+        }
+        
+        private void fail(RuntimeException error) {
+            if (failure.compareAndSet(null, error)) {
+                failed.completeExceptionally(error);
+            }
+        }
+    }
+    
+    /**
+     * Timeout o saturación del executor; se convierte en ValidationUnavailableException si la etapa no es fail-open
+     */
+    private static final class Unavailable extends RuntimeException {
+        
+        private Unavailable(String message) {
+            super(message, null, false, false);
+        }
+    }
+    
+    /**
+     * Contexto del hilo llamador que se replica en los hilos del pipeline
+     */
+    private record Propagation(String shard, String clientId, Map<String, String> mdc) {
+        
+        static Propagation capture() {
+            return new Propagation(ShardContext.current(), ClientIdentifier.current(), MDC.getCopyOfContextMap());
+        }
+        
+        void run(Runnable action) {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            try {
+                Supplier<Void> body = () -> {
+                    action.run();
+                    return null;
+                };
+                ShardContext.callOn(shard, () -> clientId != null ? ClientIdentifier.callAs(clientId, body) : body.get());
+            } finally {
+                setMdc(previousMdc);
+            }
+        }
+        
+        private static void setMdc(Map<String, String> values) {
+            if (values != null) {
+                MDC.setContextMap(values);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+}
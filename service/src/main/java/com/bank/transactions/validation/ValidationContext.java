@@ -0,0 +1,65 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.entity.Transaction;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Datos de una transacción en validación. Las etapas leen el DTO recibido y publican
+ * atributos de enriquecimiento que leen las etapas dependientes y el servicio.
+ */
+@Getter
+public final class ValidationContext {
+    
+    public enum Operation {
+        CREATE,
+        UPDATE
+    }
+    
+    private final Operation operation;
+    private final TransactionDTO transaction;
+    
+    /**
+     * Tenpista y moneda guardados antes de la actualización; null al crear
+     */
+    private final String previousName;
+    private final String previousCurrency;
+    
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    
+    private ValidationContext(Operation operation, TransactionDTO transaction,
+                              String previousName, String previousCurrency) {
+        this.operation = operation;
+        this.transaction = transaction;
+        this.previousName = previousName;
+        this.previousCurrency = previousCurrency;
+    }
+    
+    public static ValidationContext forCreate(TransactionDTO transaction) {
+        return new ValidationContext(Operation.CREATE, transaction, null, null);
+    }
+    
+    public static ValidationContext forUpdate(TransactionDTO transaction, Transaction existing) {
+        return new ValidationContext(Operation.UPDATE, transaction, existing.getName(), existing.getCurrency());
+    }
+    
+    /**
+     * True al crear o cuando la actualización cambia el Tenpista
+     */
+    public boolean assignsToClient() {
+        return operation == Operation.CREATE || !Objects.equals(previousName, transaction.getName());
+    }
+    
+    public void setAttribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+    
+    public <T> T getAttribute(String key, Class<T> type) {
+        return type.cast(attributes.get(key));
+    }
+}
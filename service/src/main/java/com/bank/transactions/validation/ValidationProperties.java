@@ -0,0 +1,36 @@
+package com.bank.transactions.validation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades del pipeline de validación de transacciones
+ */
+@Data
+@ConfigurationProperties(prefix = "app.validation")
+public class ValidationProperties {
+    
+    /**
+     * Hilos que ejecutan las etapas bloqueantes
+     */
+    private int threads = 8;
+    
+    /**
+     * Etapas en espera antes de rechazar nuevas; una etapa rechazada cuenta como timeout
+     */
+    private int queueCapacity = 256;
+    
+    /**
+     * Timeout de las etapas bloqueantes que no declaran uno propio, medido desde que se encolan
+     */
+    private Duration stageTimeout = Duration.ofMillis(500);
+    
+    /**
+     * Timeouts por nombre de etapa; tienen prioridad sobre los declarados en el código
+     */
+    private Map<String, Duration> stageTimeouts = new HashMap<>();
+}
@@ -0,0 +1,60 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.velocity.VelocityEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Valida las reglas de velocidad del Tenpista al crear y publica la reserva del alta,
+ * que el servicio libera si la transacción no llega a guardarse
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class VelocityCheck implements TransactionCheck {
+    
+    public static final String NAME = "velocity";
+    
+    /**
+     * Atributo con la reserva del alta en los contadores de velocidad
+     */
+    public static final String RESERVATION = "velocity-reservation";
+    
+    private final VelocityEngine velocityEngine;
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public Set<String> dependsOn() {
+        return Set.of(AmountCheck.NAME, CurrencyCheck.NAME);
+    }
+    
+    @Override
+    public void check(ValidationContext context) {
+        if (context.getOperation() != ValidationContext.Operation.CREATE) {
+            return;
+        }
+        String currency = context.getAttribute(CurrencyCheck.RESOLVED_CURRENCY, String.class);
+        VelocityEngine.Reservation reservation = velocityEngine.tryAcquire(
+                context.getTransaction().getName(), currency, context.getTransaction().getAmount());
+        if (reservation != null) {
+            context.setAttribute(RESERVATION, reservation);
+        }
+    }
+    
+    /**
+     * Descuenta el alta de los contadores de velocidad, si la etapa la contó
+     */
+    public static void release(ValidationContext context) {
+        VelocityEngine.Reservation reservation = context.getAttribute(RESERVATION, VelocityEngine.Reservation.class);
+        if (reservation != null) {
+            reservation.release();
+        }
+    }
+}
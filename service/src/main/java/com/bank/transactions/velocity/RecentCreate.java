@@ -0,0 +1,9 @@
+package com.bank.transactions.velocity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alta reciente del libro con la que se reconstruyen los contadores al iniciar
+ */
+public record RecentCreate(String name, String currency, long amount, LocalDateTime recordedAt) {
+}
@@ -0,0 +1,348 @@
+package com.bank.transactions.velocity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.money.Money;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Reglas de velocidad por Tenpista ("no más de X transacciones o Y de monto en los últimos Z minutos")
+ * evaluadas en memoria, sin consultar el historial en cada alta.
+ * <p>
+ * Cada Tenpista tiene, por regla, un anillo de contadores de cantidad y monto de ancho
+ * window / buckets-per-window con los totales de la ventana, todo en un solo arreglo de {@code long};
+ * evaluar una regla compara los totales bajo el lock del Tenpista, sin reservar memoria. La ventana
+ * avanza de a un contador, así que puede contar hasta un contador más de historia que la ventana
+ * configurada, nunca menos.
+ * <p>
+ * Una alta que pasa las reglas queda contada de inmediato (así dos altas simultáneas no superan juntas
+ * el tope) y se descuenta con {@link Reservation#release()} si luego no se guarda.
+ */
+@Component
+@EnableConfigurationProperties(VelocityProperties.class)
+@Slf4j
+public class VelocityEngine {
+    
+    /**
+     * Encabezado del arreglo de cada Tenpista: última alta contada y si se descartó de memoria
+     */
+    private static final int LAST_RECORDED = 0;
+    private static final int REMOVED = 1;
+    private static final int HEADER = 2;
+    
+    private final Rule[] rules;
+    private final int cellsPerClient;
+    private final long retentionMillis;
+    private final long sweepIntervalMillis;
+    private final int maxClients;
+    private final LongSupplier clock;
+    private final Map<String, long[]> clients = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+    private final Counter untracked;
+    
+    @Autowired
+    public VelocityEngine(VelocityProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+    
+    VelocityEngine(VelocityProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.maxClients = properties.getMaxClients();
+        this.rules = properties.isEnabled() ? compile(properties, meterRegistry) : new Rule[0];
+        this.cellsPerClient = HEADER + Arrays.stream(rules).mapToInt(rule -> Rule.size(rule.buckets)).sum();
+        this.retentionMillis = Arrays.stream(rules).mapToLong(rule -> rule.buckets * rule.bucketMillis).max().orElse(0);
+        this.sweepIntervalMillis = Arrays.stream(rules).mapToLong(Rule::bucketMillis).min().orElse(0);
+        this.untracked = Counter.builder("transaction.velocity.untracked")
+                .description("Altas sin evaluar las reglas de velocidad por tope de Tenpistas en memoria")
+                .register(meterRegistry);
+        Gauge.builder("transaction.velocity.clients", clients, Map::size)
+                .description("Tenpistas con contadores de velocidad en memoria")
+                .register(meterRegistry);
+    }
+    
+    public boolean isEnabled() {
+        return rules.length > 0;
+    }
+    
+    /**
+     * Historia más antigua que puede contar alguna regla
+     */
+    public Duration retention() {
+        return Duration.ofMillis(retentionMillis);
+    }
+    
+    /**
+     * Evalúa las reglas para una nueva transacción del Tenpista y, si las cumple, la cuenta
+     *
+     * @return la reserva a liberar si la transacción no se guarda, o null si no hay reglas o el
+     * Tenpista no cabe en memoria
+     * @throws BusinessException si la transacción supera alguna regla
+     */
+    public Reservation tryAcquire(String name, String currency, long amount) {
+        if (rules.length == 0) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        Money money = Money.of(amount, currency);
+        while (true) {
+            long[] window = windowFor(name, now);
+            if (window == null) {
+                untracked.increment();
+                return null;
+            }
+            synchronized (window) {
+                if (window[REMOVED] != 0) {
+                    continue;
+                }
+                for (Rule rule : rules) {
+                    if (rule.applies(currency) && rule.exceeded(window, now, money)) {
+                        rule.rejected.increment();
+                        throw new BusinessException(String.format(
+                                "El cliente %s superó la regla de velocidad %s", name, rule.description));
+                    }
+                }
+                record(window, now, 1, money);
+            }
+            return new Reservation(window, now, money);
+        }
+    }
+    
+    /**
+     * Cuenta una transacción ya creada, sin evaluar las reglas; se ignora si ya salió de todas las ventanas
+     */
+    public void replay(String name, String currency, long amount, long epochMillis) {
+        long now = clock.getAsLong();
+        if (rules.length == 0 || now - epochMillis >= retentionMillis) {
+            return;
+        }
+        Money money = Money.of(amount, currency);
+        while (true) {
+            long[] window = windowFor(name, now);
+            if (window == null) {
+                return;
+            }
+            synchronized (window) {
+                if (window[REMOVED] == 0) {
+                    record(window, epochMillis, 1, money);
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Solo con el lock del arreglo del Tenpista
+     */
+    private void record(long[] window, long epochMillis, long count, Money amount) {
+        for (Rule rule : rules) {
+            if (rule.applies(amount.currency())) {
+                rule.add(window, epochMillis, count, amount);
+            }
+        }
+        window[LAST_RECORDED] = Math.max(window[LAST_RECORDED], epochMillis);
+    }
+    
+    private long[] windowFor(String name, long now) {
+        long[] window = clients.get(name);
+        if (window != null) {
+            return window;
+        }
+        if (clients.size() >= maxClients) {
+            sweep(now);
+            if (clients.size() >= maxClients) {
+                return null;
+            }
+        }
+        return clients.computeIfAbsent(name, key -> new long[cellsPerClient]);
+    }
+    
+    /**
+     * Descarta los Tenpistas sin altas dentro de ninguna ventana; a lo más una vez por ancho de contador
+     */
+    private void sweep(long now) {
+        long next = nextSweepAt.get();
+        if (now < next || !nextSweepAt.compareAndSet(next, now + sweepIntervalMillis)) {
+            return;
+        }
+        int before = clients.size();
+        clients.forEach((name, window) -> {
+            synchronized (window) {
+                if (now - window[LAST_RECORDED] >= retentionMillis) {
+                    window[REMOVED] = 1;
+                    clients.remove(name, window);
+                }
+            }
+        });
+        log.debug("Reglas de velocidad: {} Tenpista(s) inactivos descartados", before - clients.size());
+    }
+    
+    private Rule[] compile(VelocityProperties properties, MeterRegistry meterRegistry) {
+        List<Rule> compiled = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        int offset = HEADER;
+        for (VelocityProperties.Rule rule : properties.getRules()) {
+            String name = rule.getName();
+            if (name == null || name.isBlank() || !names.add(name)) {
+                throw new IllegalStateException("Regla de velocidad sin nombre o con nombre repetido: " + name);
+            }
+            if (rule.getWindow() == null || rule.getWindow().toMillis() <= 0) {
+                throw new IllegalStateException("La regla de velocidad " + name + " necesita una ventana positiva");
+            }
+            if (rule.getMaxCount() == null && rule.getMaxAmount() == null) {
+                throw new IllegalStateException("La regla de velocidad " + name + " necesita max-count o max-amount");
+            }
+            if (rule.getCurrency() != null ? !Money.isSupportedCurrency(rule.getCurrency()) : rule.getMaxAmount() != null) {
+                throw new IllegalStateException("La regla de velocidad " + name + " necesita una moneda ISO 4217 para max-amount");
+            }
+            int buckets = properties.getBucketsPerWindow();
+            long bucketMillis = Math.max(1, (rule.getWindow().toMillis() + buckets - 1) / buckets);
+            Counter rejected = Counter.builder("transaction.velocity.rejected")
+                    .description("Altas rechazadas por una regla de velocidad")
+                    .tag("rule", name)
+                    .register(meterRegistry);
+            compiled.add(new Rule(describe(rule), rule.getCurrency(), bucketMillis, buckets, offset,
+                    rule.getMaxCount() != null ? rule.getMaxCount() : Long.MAX_VALUE,
+                    rule.getMaxAmount() != null ? rule.getMaxAmount() : Long.MAX_VALUE, rejected));
+            offset += Rule.size(buckets);
+        }
+        return compiled.toArray(Rule[]::new);
+    }
+    
+    private static String describe(VelocityProperties.Rule rule) {
+        List<String> limits = new ArrayList<>();
+        if (rule.getMaxCount() != null) {
+            limits.add(rule.getMaxCount() + " transacciones");
+        }
+        if (rule.getMaxAmount() != null) {
+            limits.add(Money.of(rule.getMaxAmount(), rule.getCurrency()).toMajorUnits().toPlainString() + " " + rule.getCurrency());
+        }
+        long seconds = rule.getWindow().toSeconds();
+        String window = seconds % 60 == 0 ? seconds / 60 + " minuto(s)" : seconds + " segundo(s)";
+        return rule.getName() + " (máximo " + String.join(" o ", limits) + " cada " + window + ")";
+    }
+    
+    /**
+     * Regla compilada. Desde offset ocupa la época del contador más reciente, los totales de la
+     * ventana y un anillo de buckets contadores de (cantidad, monto): al avanzar la época se restan
+     * de los totales los contadores que salen de la ventana, así evaluar la regla solo lee los totales.
+     */
+    private record Rule(String description, String currency, long bucketMillis, int buckets, int offset,
+                        long maxCount, long maxAmount, Counter rejected) {
+        
+        private static final int HEAD = 0;
+        private static final int TOTAL_COUNT = 1;
+        private static final int TOTAL_AMOUNT = 2;
+        private static final int RING = 3;
+        
+        static int size(int buckets) {
+            return RING + buckets * 2;
+        }
+        
+        boolean applies(String transactionCurrency) {
+            return currency == null || currency.equals(transactionCurrency);
+        }
+        
+        boolean exceeded(long[] cells, long now, Money amount) {
+            advance(cells, now / bucketMillis);
+            if (cells[offset + TOTAL_COUNT] >= maxCount) {
+                return true;
+            }
+            if (currency == null) {
+                return false;
+            }
+            try {
+                return windowAmount(cells, TOTAL_AMOUNT).plus(amount).minorUnits() > maxAmount;
+            } catch (ArithmeticException ex) {
+                return true;
+            }
+        }
+        
+        /**
+         * Solo las reglas con moneda acumulan montos, y siempre a través de {@link Money}: no se
+         * mezclan monedas y un desborde falla en vez de dar la vuelta
+         */
+        void add(long[] cells, long epochMillis, long count, Money amount) {
+            long epoch = epochMillis / bucketMillis;
+            advance(cells, epoch);
+            if (epoch <= cells[offset + HEAD] - buckets) {
+                // Ya salió de la ventana
+                return;
+            }
+            int cell = offset + RING + (int) (epoch % buckets) * 2;
+            cells[cell] += count;
+            cells[offset + TOTAL_COUNT] += count;
+            if (currency != null) {
+                cells[cell + 1] = windowAmount(cells, cell + 1 - offset).plus(amount).minorUnits();
+                cells[offset + TOTAL_AMOUNT] = windowAmount(cells, TOTAL_AMOUNT).plus(amount).minorUnits();
+            }
+        }
+        
+        private Money windowAmount(long[] cells, int slot) {
+            return Money.of(cells[offset + slot], currency);
+        }
+        
+        private void advance(long[] cells, long epoch) {
+            long head = cells[offset + HEAD];
+            if (epoch <= head) {
+                return;
+            }
+            if (epoch - head >= buckets) {
+                Arrays.fill(cells, offset + TOTAL_COUNT, offset + size(buckets), 0);
+            } else {
+                for (long expired = head + 1; expired <= epoch; expired++) {
+                    int cell = offset + RING + (int) (expired % buckets) * 2;
+                    cells[offset + TOTAL_COUNT] -= cells[cell];
+                    if (currency != null) {
+                        cells[offset + TOTAL_AMOUNT] = windowAmount(cells, TOTAL_AMOUNT)
+                                .minus(windowAmount(cells, cell + 1 - offset)).minorUnits();
+                    }
+                    cells[cell] = 0;
+                    cells[cell + 1] = 0;
+                }
+            }
+            cells[offset + HEAD] = epoch;
+        }
+    }
+    
+    /**
+     * Alta contada por {@link #tryAcquire}
+     */
+    public final class Reservation {
+        
+        private final long[] window;
+        private final long epochMillis;
+        private final Money amount;
+        
+        private Reservation(long[] window, long epochMillis, Money amount) {
+            this.window = window;
+            this.epochMillis = epochMillis;
+            this.amount = amount;
+        }
+        
+        /**
+         * Descuenta el alta de los contadores que aún la incluyen
+         */
+        public void release() {
+            synchronized (window) {
+                record(window, epochMillis, -1, Money.zero(amount.currency()).minus(amount));
+            }
+        }
+    }
+}
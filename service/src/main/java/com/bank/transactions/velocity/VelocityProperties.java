@@ -0,0 +1,60 @@
+package com.bank.transactions.velocity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propiedades de las reglas de velocidad por Tenpista
+ */
+@Data
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityProperties {
+    
+    /**
+     * Evalúa las reglas al crear transacciones
+     */
+    private boolean enabled = false;
+    
+    /**
+     * Contadores en que se divide la ventana de cada regla; la ventana avanza de a window / buckets
+     */
+    private int bucketsPerWindow = 12;
+    
+    /**
+     * Tenpistas con contadores en memoria; al llegar al tope se descartan los inactivos y, si no
+     * alcanza, los Tenpistas nuevos se crean sin evaluar las reglas
+     */
+    private int maxClients = 100_000;
+    
+    private List<Rule> rules = new ArrayList<>();
+    
+    @Data
+    public static class Rule {
+        
+        /**
+         * Nombre único; se usa en el mensaje de rechazo y como tag de las métricas
+         */
+        private String name;
+        
+        private Duration window;
+        
+        /**
+         * Máximo de transacciones creadas en la ventana, o null sin tope
+         */
+        private Long maxCount;
+        
+        /**
+         * Máximo de la suma de montos en la ventana, en unidades mínimas de currency, o null sin tope
+         */
+        private Long maxAmount;
+        
+        /**
+         * Moneda de las transacciones que cuenta la regla; null cuenta todas (solo sin maxAmount)
+         */
+        private String currency;
+    }
+}
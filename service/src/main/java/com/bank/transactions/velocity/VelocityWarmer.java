@@ -0,0 +1,45 @@
+package com.bank.transactions.velocity;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.bank.transactions.ledger.LedgerBackfill;
+import com.bank.transactions.repository.LedgerEntryRepository;
+import com.bank.transactions.sharding.TransactionShards;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Reconstruye los contadores de velocidad con las altas del libro dentro de la ventana más larga,
+ * antes de recibir tráfico. Usa la hora de registro del asiento, no la fecha de la transacción.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VelocityWarmer implements SmartInitializingSingleton {
+    
+    private final VelocityEngine engine;
+    private final LedgerBackfill ledgerBackfill;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final TransactionShards shards;
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!engine.isEnabled()) {
+            return;
+        }
+        ledgerBackfill.prepare();
+        LocalDateTime since = LocalDateTime.now().minus(engine.retention());
+        List<RecentCreate> recent = shards.scatter(() -> ledgerEntryRepository.findCreatedSince(since));
+        ZoneId zone = ZoneId.systemDefault();
+        for (RecentCreate create : recent) {
+            engine.replay(create.name(), create.currency(), create.amount(),
+                    create.recordedAt().atZone(zone).toInstant().toEpochMilli());
+        }
+        log.info("Reglas de velocidad: {} alta(s) recientes cargadas", recent.size());
+    }
+}
@@ -0,0 +1,9 @@
+-- Giro como id de comercio (2 de 2): se ejecuta cuando merchants ya tiene todos los nombres de este shard
+-- con los ids del registro. El UPDATE reescribe cada fila: en tablas grandes conviene ejecutarlo por lotes
+-- en una ventana de mantención.
+
+UPDATE transactions t SET merchant_id = m.id FROM merchants m
+    WHERE t.merchant_id IS NULL AND m.name = t.business_name;
+ALTER TABLE transactions ALTER COLUMN merchant_id SET NOT NULL;
+ALTER TABLE transactions DROP COLUMN business_name;
+CREATE INDEX IF NOT EXISTS idx_merchant_date_id ON transactions (merchant_id, transaction_date, id);
@@ -0,0 +1,10 @@
+-- Giro como id de comercio (1 de 2): tabla de comercios y columna merchant_id.
+-- business_name deja de ser obligatoria para que las filas nuevas, que ya no la escriben, se puedan insertar.
+
+CREATE TABLE IF NOT EXISTS merchants (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_merchant_name UNIQUE (name)
+);
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS merchant_id INTEGER;
+ALTER TABLE transactions ALTER COLUMN business_name DROP NOT NULL;
@@ -0,0 +1,6 @@
+-- Montos en unidades mínimas (long) con moneda ISO 4217.
+-- Las filas existentes quedan en CLP, donde la unidad mínima es el peso, por lo que sus valores no cambian.
+-- ALTER COLUMN TYPE reescribe la tabla: en tablas grandes conviene ejecutarlo manualmente en una ventana de mantención.
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS currency VARCHAR(3) NOT NULL DEFAULT 'CLP';
+ALTER TABLE transactions ALTER COLUMN amount TYPE BIGINT;
@@ -0,0 +1,13 @@
+-- Índices de búsqueda por giro o comercio que JPA no puede declarar.
+-- PostgresSearchIndexInitializer los ejecuta en una conexión con autocommit activado explícitamente
+-- (CONCURRENTLY no admite transacción) y son idempotentes.
+-- La búsqueda filtra merchants por nombre y luego las transacciones por merchant_id.
+
+-- Búsqueda "contiene": lower(name) LIKE '%texto%'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_merchant_name_trgm
+    ON merchants USING gin (lower(name) gin_trgm_ops);
+
+-- Búsqueda por prefijo: lower(name) LIKE 'texto%' (independiente del collation)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_merchant_name_prefix
+    ON merchants (lower(name) text_pattern_ops);
@@ -0,0 +1,125 @@
+package com.bank.transactions.archive;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TransactionArchive y el formato de sus segmentos
+ */
+@DisplayName("Transaction Archive Tests")
+class TransactionArchiveTest {
+    
+    @TempDir
+    Path directory;
+    
+    private ArchiveProperties properties;
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+    
+    @Test
+    @DisplayName("Debe leer desde el segmento las mismas transacciones que se escribieron")
+    void testSegmentRoundTrip() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2023, 3, 1, 10, 15, 30, 123_456_000);
+        List<TransactionDTO> rows = List.of(
+                transaction(40, 150_000L, "CLP", "Supermercado", "Juan", base),
+                transaction(7, 0L, "USD", "Farmacia", "Ana", base.minusDays(3)),
+                transaction(1_000_000, Long.MAX_VALUE, "CLP", "Supermercado", "Juan", base.plusSeconds(1)));
+        Path file = directory.resolve("segment.txa");
+        
+        // When
+        ArchiveSegment.write(file, rows);
+        ArchiveSegment segment = ArchiveSegment.open(file);
+        
+        // Then
+        assertEquals(3, segment.rows());
+        assertEquals(rows.get(1), segment.find(7).orElseThrow());
+        assertEquals(rows.get(2), segment.find(1_000_000).orElseThrow());
+        assertTrue(segment.find(8).isEmpty());
+        assertEquals(List.of(rows.get(0), rows.get(2)), segment.findByName("Juan"));
+        assertTrue(segment.findByName("Pedro").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe publicar los segmentos en el manifiesto y recuperarlos al reiniciar")
+    void testAppendAndReload() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2022, 1, 1, 0, 0);
+        TransactionArchive archive = new TransactionArchive(properties, objectMapper);
+        archive.append("shard-0", List.of(
+                transaction(1, 100L, "CLP", "Cine", "Juan", base),
+                transaction(2, 200L, "CLP", "Cine", "Ana", base.plusDays(1))));
+        archive.append("shard-0", List.of(transaction(3, 300L, "CLP", "Cine", "Juan", base.plusDays(2))));
+        
+        // When
+        TransactionArchive reloaded = new TransactionArchive(properties, objectMapper);
+        
+        // Then
+        assertEquals(2, reloaded.segments().size());
+        assertEquals(base, reloaded.segments().get(0).minDate());
+        assertEquals(200L, reloaded.findById(2).orElseThrow().getAmount());
+        assertTrue(reloaded.findById(4).isEmpty());
+        assertEquals(List.of(3, 1), reloaded.findByName("Juan").stream().map(TransactionDTO::getId).toList());
+        assertEquals(2, archive.countByName("Juan"));
+        assertEquals(2, reloaded.countByName("Juan"));
+        assertEquals(1, reloaded.countByName("Ana"));
+        assertEquals(0, reloaded.countByName("Pedro"));
+    }
+    
+    @Test
+    @DisplayName("Debe contar por Tenpista los segmentos de un manifiesto sin conteos")
+    void testCountsLegacyManifest() {
+        // Given: manifiesto escrito antes de registrar las filas por Tenpista
+        LocalDateTime base = LocalDateTime.of(2022, 1, 1, 0, 0);
+        new TransactionArchive(properties, objectMapper).append("shard-0", List.of(
+                transaction(1, 100L, "CLP", "Cine", "Juan", base),
+                transaction(2, 200L, "CLP", "Cine", "Juan", base.plusDays(1))));
+        ArchiveManifest manifest = ArchiveManifest.read(directory, objectMapper);
+        ArchiveManifest.Entry entry = manifest.segments().get(0);
+        new ArchiveManifest(List.of(new ArchiveManifest.Entry(entry.file(), entry.shard(), entry.rows(),
+                entry.minId(), entry.maxId(), entry.minDate(), entry.maxDate(), entry.createdAt(), null)))
+                .write(directory, objectMapper);
+        
+        // When
+        TransactionArchive reloaded = new TransactionArchive(properties, objectMapper);
+        
+        // Then
+        assertEquals(2, reloaded.countByName("Juan"));
+    }
+    
+    @Test
+    @DisplayName("Debe responder vacío sin tocar el disco cuando está desactivado")
+    void testDisabled() {
+        // Given
+        properties.setEnabled(false);
+        TransactionArchive archive = new TransactionArchive(properties, objectMapper);
+        
+        // When & Then
+        assertTrue(archive.findById(1).isEmpty());
+        assertTrue(archive.findByName("Juan").isEmpty());
+        assertEquals(0, archive.countByName("Juan"));
+        assertThrows(IllegalStateException.class, () -> archive.append("shard-0", List.of()));
+    }
+    
+    private static TransactionDTO transaction(int id, long amount, String currency, String businessName,
+                                              String name, LocalDateTime date) {
+        return new TransactionDTO(id, amount, currency, businessName, name, date);
+    }
+}
@@ -0,0 +1,249 @@
+package com.bank.transactions.bulk;
+
+import com.bank.transactions.dto.BulkJobRequest;
+import com.bank.transactions.dto.BulkJobRequest.Operation;
+import com.bank.transactions.dto.BulkJobStatusDTO;
+import com.bank.transactions.dto.BulkJobStatusDTO.Status;
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.CurrencyBalanceDTO;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria.MatchMode;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.service.TransactionService;
+import com.bank.transactions.sharding.TransactionShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración de las tareas masivas con tres shards H2
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:bulk0;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create",
+    "app.sharding.enabled=true",
+    "app.sharding.shard-urls=jdbc:h2:mem:bulk1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:bulk2;DB_CLOSE_DELAY=-1",
+    "app.bulk.chunk-size=3",
+    "app.bulk.max-rows-per-second=0"
+})
+@DisplayName("Bulk Job Service Tests")
+class BulkJobServiceTest {
+    
+    @Autowired
+    private BulkJobService bulkJobService;
+    
+    @Autowired
+    private BulkJobProperties properties;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionShards shards;
+    
+    @Test
+    @DisplayName("Debe eliminar por comercio y rango de fechas en varios tramos y revertir los asientos")
+    void testDeleteByMerchantAndDateRange() throws InterruptedException {
+        // Given: siete transacciones del comercio dentro del rango, de varios clientes, y otras fuera
+        LocalDateTime from = LocalDateTime.now().minusSeconds(1);
+        List<Integer> inRange = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            inRange.add(transactionService.createTransaction(transaction("Borrar " + (i % 3), 100, "Farmacia Borrada")).getId());
+        }
+        TransactionDTO otherMerchant = transactionService.createTransaction(transaction("Borrar 0", 100, "Otra Tienda"));
+        Thread.sleep(20);
+        LocalDateTime to = LocalDateTime.now();
+        Thread.sleep(20);
+        TransactionDTO afterRange = transactionService.createTransaction(transaction("Borrar 1", 100, "Farmacia Borrada"));
+        
+        // When
+        BulkJobStatusDTO accepted = bulkJobService.submit(BulkJobRequest.builder()
+                .operation(Operation.DELETE)
+                .businessName("farmacia borrada")
+                .businessNameMatch(MatchMode.PREFIX)
+                .from(from)
+                .to(to)
+                .build());
+        BulkJobStatusDTO finished = await(accepted.getId());
+        
+        // Then
+        assertEquals(7, accepted.getMatched());
+        assertEquals(Status.SUCCEEDED, finished.getStatus());
+        assertEquals(7, finished.getProcessed());
+        assertTrue(finished.getChunks() >= 3);
+        assertEquals(0, transactionService.getTransactionsByIds(inRange).getItems().size());
+        assertEquals(otherMerchant.getId(), transactionService.getTransactionById(otherMerchant.getId()).getId());
+        assertEquals(afterRange.getId(), transactionService.getTransactionById(afterRange.getId()).getId());
+        assertEquals(1, count(transactionService.getClientBalance("Borrar 0")));
+        assertEquals(1, count(transactionService.getClientBalance("Borrar 1")));
+        assertEquals(0, count(transactionService.getClientBalance("Borrar 2")));
+    }
+    
+    @Test
+    @DisplayName("Debe renombrar un Tenpista trasladando sus transacciones al shard del nuevo nombre")
+    void testRenameAcrossShards() {
+        // Given
+        String source = "Renombrar";
+        String target = nameOnOtherShard(source);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(transactionService.createTransaction(transaction(source, 200 + i, "Comercio")).getId());
+        }
+        
+        // When
+        BulkJobStatusDTO finished = await(bulkJobService.submit(BulkJobRequest.builder()
+                .operation(Operation.UPDATE)
+                .name(source)
+                .newName(target)
+                .newBusinessName("Comercio Corregido")
+                .build()).getId());
+        
+        // Then: mismos ids, en el shard del nuevo Tenpista, y el saldo se movió con ellos
+        assertEquals(Status.SUCCEEDED, finished.getStatus());
+        assertEquals(5, finished.getProcessed());
+        assertFalse(transactionService.existsTenpista(source));
+        List<TransactionDTO> moved = transactionService.getTransactionsByTenpista(target);
+        assertEquals(ids.stream().sorted().toList(), moved.stream().map(TransactionDTO::getId).sorted().toList());
+        assertTrue(moved.stream().allMatch(transaction -> "Comercio Corregido".equals(transaction.getBusinessName())));
+        assertEquals(0, count(transactionService.getClientBalance(source)));
+        assertEquals(5, count(transactionService.getClientBalance(target)));
+        assertEquals(1010, transactionService.getClientBalance(target).getBalances().get(0).getBalance());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar la tarea si el Tenpista destino superaría el límite de transacciones")
+    void testRenameRespectsClientLimit() {
+        // Given: el destino tiene 98 transacciones y el origen 3
+        String target = "Limite destino";
+        for (int i = 0; i < 98; i++) {
+            transactionService.createTransaction(transaction(target, 1, "Comercio"));
+        }
+        for (int i = 0; i < 3; i++) {
+            transactionService.createTransaction(transaction("Limite origen", 1, "Comercio"));
+        }
+        BulkJobRequest request = BulkJobRequest.builder()
+                .operation(Operation.UPDATE)
+                .name("Limite origen")
+                .newName(target)
+                .build();
+        
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class, () -> bulkJobService.submit(request));
+        assertTrue(ex.getMessage().contains("Limite destino"));
+        assertEquals(3, transactionService.getTransactionsByTenpista("Limite origen").size());
+        
+        // Given: con una menos en el destino la tarea cabe justo
+        transactionService.deleteTransaction(transactionService.getTransactionsByTenpista(target).get(0).getId());
+        
+        // When
+        BulkJobStatusDTO finished = await(bulkJobService.submit(request).getId());
+        
+        // Then
+        assertEquals(Status.SUCCEEDED, finished.getStatus());
+        assertEquals(100, transactionService.getTransactionsByTenpista(target).size());
+    }
+    
+    @Test
+    @DisplayName("Debe detener una tarea cancelada entre tramos conservando los tramos confirmados")
+    void testCancelBetweenChunks() throws InterruptedException {
+        // Given: con el tope de 3 filas por segundo cada tramo de 3 espera un segundo
+        for (int i = 0; i < 12; i++) {
+            transactionService.createTransaction(transaction("Cancelar " + (i % 4), 300, "Tienda Cancelada"));
+        }
+        properties.setMaxRowsPerSecond(3);
+        try {
+            BulkJobStatusDTO accepted = bulkJobService.submit(BulkJobRequest.builder()
+                    .operation(Operation.DELETE)
+                    .businessName("Tienda Cancelada")
+                    .build());
+            
+            // When: cancela después del primer tramo
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bulkJobService.get(accepted.getId()).getChunks() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            bulkJobService.cancel(accepted.getId());
+            BulkJobStatusDTO finished = await(accepted.getId());
+            
+            // Then
+            assertEquals(Status.CANCELLED, finished.getStatus());
+            assertTrue(finished.getProcessed() > 0 && finished.getProcessed() < 12);
+            assertEquals(finished.getStatus(), bulkJobService.list().stream()
+                    .filter(job -> job.getId().equals(accepted.getId()))
+                    .findFirst().orElseThrow().getStatus());
+        } finally {
+            properties.setMaxRowsPerSecond(0);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar tareas sin filtros o sin cambios")
+    void testInvalidRequests() {
+        assertThrows(BusinessException.class, () -> bulkJobService.submit(BulkJobRequest.builder()
+                .operation(Operation.DELETE)
+                .build()));
+        assertThrows(BusinessException.class, () -> bulkJobService.submit(BulkJobRequest.builder()
+                .operation(Operation.UPDATE)
+                .name("Sin cambios")
+                .build()));
+        assertThrows(BusinessException.class, () -> bulkJobService.submit(BulkJobRequest.builder()
+                .operation(Operation.DELETE)
+                .minAmount(10L)
+                .maxAmount(1L)
+                .build()));
+    }
+    
+    private BulkJobStatusDTO await(String id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        BulkJobStatusDTO status = bulkJobService.get(id);
+        while (!isFinal(status) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            status = bulkJobService.get(id);
+        }
+        assertTrue(isFinal(status), "La tarea no terminó a tiempo");
+        return status;
+    }
+    
+    private static boolean isFinal(BulkJobStatusDTO status) {
+        return status.getStatus() != Status.QUEUED && status.getStatus() != Status.RUNNING;
+    }
+    
+    private String nameOnOtherShard(String reference) {
+        String home = shards.shardFor(reference);
+        for (int i = 1; ; i++) {
+            String candidate = reference + " " + i;
+            if (!shards.shardFor(candidate).equals(home)) {
+                return candidate;
+            }
+        }
+    }
+    
+    private static long count(ClientBalanceDTO balance) {
+        return balance.getBalances().stream().mapToLong(CurrencyBalanceDTO::getTransactionCount).sum();
+    }
+    
+    private static TransactionDTO transaction(String name, long amount, String businessName) {
+        return TransactionDTO.builder()
+                .amount(amount)
+                .businessName(businessName)
+                .name(name)
+                .build();
+    }
+}
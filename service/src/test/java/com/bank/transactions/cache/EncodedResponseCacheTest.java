@@ -0,0 +1,143 @@
+package com.bank.transactions.cache;
+
+import com.bank.transactions.config.ReadReplicaRoutingDataSource;
+import com.bank.transactions.dto.TransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para EncodedResponseCache
+ */
+@DisplayName("Encoded Response Cache Tests")
+class EncodedResponseCacheTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ResponseCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setGzipMinSize(DataSize.ofBytes(0));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+    
+    @Test
+    @DisplayName("Debe servir los mismos bytes sin volver a cargar ni serializar, también en gzip")
+    void testServesEncodedBytes() throws IOException {
+        // Given
+        EncodedResponseCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<TransactionDTO>> loader = counting(loads, "Juan");
+        
+        // When
+        EncodedResponse first = cache.get(EncodedResponseCache.Key.client("Juan"), loader);
+        EncodedResponse second = cache.get(EncodedResponseCache.Key.client("Juan"), loader);
+        
+        // Then
+        assertEquals(1, loads.get());
+        assertSame(first.json(), second.json());
+        assertArrayEquals(objectMapper.writeValueAsBytes(loader.get()), first.json());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertArrayEquals(first.json(), in.readAllBytes());
+        }
+        assertEquals(first.size(), cache.sizeInBytes());
+        assertEquals(1, meterRegistry.get("transaction.response.cache").tag("result", "hit").counter().count());
+    }
+    
+    @Test
+    @DisplayName("Debe invalidar el listado del Tenpista escrito y el completo, no los de otros Tenpistas")
+    void testWriteInvalidatesAffectedLists() {
+        // Given
+        EncodedResponseCache cache = cache();
+        AtomicInteger juanLoads = new AtomicInteger();
+        AtomicInteger anaLoads = new AtomicInteger();
+        AtomicInteger allLoads = new AtomicInteger();
+        cache.get(EncodedResponseCache.Key.client("Juan"), counting(juanLoads, "Juan"));
+        cache.get(EncodedResponseCache.Key.client("Ana"), counting(anaLoads, "Ana"));
+        cache.get(EncodedResponseCache.Key.all(), counting(allLoads, "Juan"));
+        
+        // When
+        cache.onChanged("Juan");
+        cache.get(EncodedResponseCache.Key.client("Juan"), counting(juanLoads, "Juan"));
+        cache.get(EncodedResponseCache.Key.client("Ana"), counting(anaLoads, "Ana"));
+        cache.get(EncodedResponseCache.Key.all(), counting(allLoads, "Juan"));
+        
+        // Then
+        assertEquals(2, juanLoads.get());
+        assertEquals(1, anaLoads.get());
+        assertEquals(2, allLoads.get());
+    }
+    
+    @Test
+    @DisplayName("No debe volver a servir una respuesta cargada antes de una escritura concurrente")
+    void testFillRacingWriteIsNotServed() {
+        // Given: la escritura confirma mientras la primera lectura todavía carga
+        EncodedResponseCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(EncodedResponseCache.Key.client("Juan"), () -> {
+            loads.incrementAndGet();
+            cache.onChanged("Juan");
+            return List.of();
+        });
+        
+        // When
+        cache.get(EncodedResponseCache.Key.client("Juan"), counting(loads, "Juan"));
+        
+        // Then
+        assertEquals(2, loads.get());
+    }
+    
+    @Test
+    @DisplayName("Debe cargar desde el primario justo después de una invalidación")
+    void testFillAfterInvalidationReadsPrimary() {
+        // Given
+        EncodedResponseCache cache = cache();
+        List<Boolean> primary = new ArrayList<>();
+        Supplier<List<TransactionDTO>> loader = () -> {
+            primary.add(ReadReplicaRoutingDataSource.isPrimaryForced());
+            return List.of();
+        };
+        cache.get(EncodedResponseCache.Key.client("Juan"), loader);
+        
+        // When
+        cache.onChanged("Juan");
+        cache.get(EncodedResponseCache.Key.client("Juan"), loader);
+        properties.setPrimaryFillWindow(Duration.ZERO);
+        EncodedResponseCache outsideWindow = cache();
+        outsideWindow.onChanged("Juan");
+        outsideWindow.get(EncodedResponseCache.Key.client("Juan"), loader);
+        
+        // Then
+        assertEquals(List.of(false, true, false), primary);
+        assertFalse(ReadReplicaRoutingDataSource.isPrimaryForced());
+    }
+    
+    private EncodedResponseCache cache() {
+        return new EncodedResponseCache(properties, objectMapper, meterRegistry);
+    }
+    
+    private static Supplier<List<TransactionDTO>> counting(AtomicInteger loads, String name) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(TransactionDTO.builder().id(1).amount(1000L).name(name).businessName("Supermercado").build());
+        };
+    }
+}
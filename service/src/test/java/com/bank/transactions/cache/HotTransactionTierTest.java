@@ -0,0 +1,175 @@
+package com.bank.transactions.cache;
+
+import com.bank.transactions.dto.TransactionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HotTransactionTier
+ */
+@DisplayName("Hot Transaction Tier Tests")
+class HotTransactionTierTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 1, 12, 0);
+    
+    private HotTierProperties properties;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new HotTierProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(4);
+    }
+    
+    @Test
+    @DisplayName("Debe servir toda la tabla cuando cabe completa en memoria")
+    void testCompleteTier() {
+        // Given
+        HotTransactionTier tier = warmed(List.of(transaction(2, "Ana"), transaction(1, "Juan")), true);
+        
+        // When
+        tier.put(transaction(3, "Juan"));
+        
+        // Then
+        assertEquals(List.of(3, 2, 1), ids(tier.all(null).orElseThrow()));
+        assertEquals(List.of(3, 1), ids(tier.all("Juan").orElseThrow()));
+        assertEquals(List.of(), tier.all("Desconocido").orElseThrow());
+    }
+    
+    @Test
+    @DisplayName("Debe retornar vacío cuando la página cruza la marca de cobertura")
+    void testFallbackBelowWatermark() {
+        // Given: cuatro filas recientes de una tabla más grande
+        HotTransactionTier tier = warmed(List.of(
+                transaction(5, "Ana"), transaction(4, "Juan"), transaction(3, "Ana"), transaction(2, "Juan")), false);
+        
+        // When & Then: la fila 2 define la marca, así que solo 5, 4 y 3 están cubiertas
+        assertEquals(List.of(5, 4, 3), ids(tier.latest(null, null, null, 3).orElseThrow()));
+        assertTrue(tier.latest(null, null, null, 4).isEmpty());
+        assertEquals(List.of(3), ids(tier.latest(null, date(4), 4, 1).orElseThrow()));
+        assertTrue(tier.latest(null, date(3), 3, 1).isEmpty());
+        assertTrue(tier.all("Ana").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe subir la marca al desalojar y mantener actualizaciones y eliminaciones")
+    void testEvictionAndWrites() {
+        // Given
+        HotTransactionTier tier = warmed(List.of(), true);
+        for (int id = 1; id <= 4; id++) {
+            tier.put(transaction(id, "Ana"));
+        }
+        
+        // When
+        tier.put(transaction(5, "Juan"));
+        TransactionDTO renamed = transaction(4, "Juan");
+        renamed.setAmount(999L);
+        tier.put(renamed);
+        tier.remove(3);
+        
+        // Then
+        assertTrue(tier.all(null).isEmpty());
+        assertTrue(tier.all("Ana").isEmpty());
+        assertEquals(List.of(5, 4), ids(tier.all("Juan").orElseThrow()));
+        assertEquals(999L, tier.latest(null, null, null, 2).orElseThrow().get(1).getAmount());
+        assertTrue(tier.latest(null, null, null, 3).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe dejar cada transacción solo en el índice de su cliente con renombres concurrentes")
+    void testConcurrentRenames() throws Exception {
+        // Given: capacidad de sobra para que ningún renombre desaloje
+        properties.setCapacity(1 << 17);
+        List<TransactionDTO> initial = new ArrayList<>();
+        for (int id = 32; id >= 1; id--) {
+            initial.add(transaction(id, "Ana"));
+        }
+        HotTransactionTier tier = warmed(initial, true);
+        List<String> names = List.of("Ana", "Juan", "Pedro");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        // When: cada hilo renombra ids al azar, muchas veces el mismo id a la vez
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < 5_000; i++) {
+                    tier.put(transaction(1 + random.nextInt(32), names.get(random.nextInt(names.size()))));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        // Then
+        Set<Integer> indexed = new HashSet<>();
+        for (String name : names) {
+            for (TransactionDTO transaction : tier.all(name).orElseThrow()) {
+                assertEquals(name, transaction.getName());
+                assertTrue(indexed.add(transaction.getId()), "id " + transaction.getId() + " en dos clientes");
+            }
+        }
+        assertEquals(32, indexed.size());
+        assertEquals(32, tier.all(null).orElseThrow().size());
+    }
+    
+    @Test
+    @DisplayName("No debe servir lecturas si está deshabilitada")
+    void testDisabled() {
+        // Given
+        properties.setEnabled(false);
+        HotTransactionTier tier = new HotTransactionTier(properties);
+        
+        // When
+        tier.onSaved(transaction(1, "Ana"));
+        
+        // Then
+        assertEquals(Optional.empty(), tier.all(null));
+    }
+    
+    private HotTransactionTier warmed(List<TransactionDTO> newestFirst, boolean complete) {
+        HotTransactionTier tier = new HotTransactionTier(properties);
+        tier.beginWarmup();
+        tier.completeWarmup(newestFirst, complete);
+        return tier;
+    }
+    
+    private static TransactionDTO transaction(int id, String name) {
+        return TransactionDTO.builder()
+                .id(id)
+                .amount(id * 1000L)
+                .businessName("Comercio " + id)
+                .name(name)
+                .transactionDate(date(id))
+                .build();
+    }
+    
+    private static LocalDateTime date(int id) {
+        return BASE.plusMinutes(id);
+    }
+    
+    private static List<Integer> ids(List<TransactionDTO> transactions) {
+        List<Integer> ids = new ArrayList<>();
+        transactions.forEach(transaction -> ids.add(transaction.getId()));
+        return ids;
+    }
+}
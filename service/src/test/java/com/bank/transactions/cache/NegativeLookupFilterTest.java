@@ -0,0 +1,118 @@
+package com.bank.transactions.cache;
+
+import com.bank.transactions.dto.TransactionDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para NegativeLookupFilter y CountingBloomFilter
+ */
+@DisplayName("Negative Lookup Filter Tests")
+class NegativeLookupFilterTest {
+    
+    private LookupFilterProperties properties;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new LookupFilterProperties();
+        properties.setEnabled(true);
+        properties.setExpectedTransactions(10_000);
+        properties.setExpectedClients(1_000);
+    }
+    
+    @Test
+    @DisplayName("Debe reconocer todas las claves cargadas y descartar casi todas las ausentes")
+    void testNoFalseNegativesAndBoundedFalsePositives() {
+        // Given
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(id -> filter.add(CountingBloomFilter.hash(id)));
+        
+        // When
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(id -> filter.mightContain(CountingBloomFilter.hash(id)))
+                .count();
+        
+        // Then
+        assertTrue(IntStream.range(0, 10_000).allMatch(id -> filter.mightContain(CountingBloomFilter.hash(id))));
+        assertTrue(falsePositives < 2_000, "Falsos positivos: " + falsePositives);
+    }
+    
+    @Test
+    @DisplayName("Debe olvidar un Tenpista solo cuando se elimina su última transacción")
+    void testDeletionAware() {
+        // Given
+        NegativeLookupFilter filter = rebuilt();
+        filter.onCreated(transaction(1, "Juan"));
+        filter.onCreated(transaction(2, "Juan"));
+        
+        // When
+        filter.onDeleted(1, "Juan");
+        
+        // Then
+        assertFalse(filter.mightContainId(1));
+        assertTrue(filter.mightContainId(2));
+        assertTrue(filter.mightContainClient("Juan"));
+        filter.onDeleted(2, "Juan");
+        assertFalse(filter.mightContainClient("Juan"));
+    }
+    
+    @Test
+    @DisplayName("Debe mover la cuenta al nuevo Tenpista al editar")
+    void testRename() {
+        // Given
+        NegativeLookupFilter filter = rebuilt();
+        filter.onCreated(transaction(1, "Juan"));
+        
+        // When
+        filter.onUpdated("Juan", transaction(1, "Ana"));
+        
+        // Then
+        assertFalse(filter.mightContainClient("Juan"));
+        assertTrue(filter.mightContainClient("Ana"));
+        assertTrue(filter.mightContainId(1));
+    }
+    
+    @Test
+    @DisplayName("No debe descontar bajas pedidas antes de terminar la reconstrucción")
+    void testDeletesDuringRebuildAreIgnored() {
+        // Given: la baja llega antes de que la carga cuente la fila
+        NegativeLookupFilter filter = new NegativeLookupFilter(properties, new SimpleMeterRegistry());
+        filter.beginRebuild();
+        filter.onDeleted(7, "Ana");
+        filter.load(8, "Ana");
+        
+        // When
+        filter.completeRebuild(1);
+        
+        // Then
+        assertTrue(filter.mightContainId(8));
+        assertTrue(filter.mightContainClient("Ana"));
+    }
+    
+    @Test
+    @DisplayName("Debe responder que todo puede existir mientras está apagado o sin construir")
+    void testPassThroughUntilReady() {
+        assertTrue(new NegativeLookupFilter(properties, new SimpleMeterRegistry()).mightContainId(1));
+        properties.setEnabled(false);
+        NegativeLookupFilter disabled = new NegativeLookupFilter(properties, new SimpleMeterRegistry());
+        assertTrue(disabled.mightContainId(1));
+        assertTrue(disabled.mightContainClient("Juan"));
+    }
+    
+    private NegativeLookupFilter rebuilt() {
+        NegativeLookupFilter filter = new NegativeLookupFilter(properties, new SimpleMeterRegistry());
+        filter.beginRebuild();
+        filter.completeRebuild(0);
+        return filter;
+    }
+    
+    private static TransactionDTO transaction(int id, String name) {
+        return TransactionDTO.builder().id(id).name(name).build();
+    }
+}
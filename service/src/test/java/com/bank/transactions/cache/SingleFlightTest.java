@@ -0,0 +1,130 @@
+package com.bank.transactions.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para SingleFlight
+ */
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+    
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    @DisplayName("Debe ejecutar una sola carga para las llamadas simultáneas con la misma clave")
+    void testCollapsesConcurrentCalls() throws Exception {
+        // Given: la carga espera hasta que las demás llamadas estén esperándola
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Future<String> leader = executor.submit(() -> call("juan", () -> {
+            loads.incrementAndGet();
+            release.await();
+            return "resultado";
+        }));
+        awaitInFlight();
+        
+        // When
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> call("juan", () -> "otra carga")));
+        }
+        while (flight.collapsed() < 5) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        
+        // Then
+        assertEquals("resultado", leader.get(1, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("resultado", follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.executed());
+        
+        // Una llamada posterior vuelve a cargar
+        assertEquals("nueva", call("juan", () -> "nueva"));
+    }
+    
+    @Test
+    @DisplayName("Debe entregar la falla del líder a las llamadas que esperaban")
+    void testPropagatesFailure() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> call("ana", () -> {
+            release.await();
+            throw new IllegalStateException("base caída");
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> call("ana", () -> "no debe ejecutarse"));
+        while (flight.collapsed() < 1) {
+            Thread.onSpinWait();
+        }
+        
+        // When
+        release.countDown();
+        
+        // Then
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(1, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(1, TimeUnit.SECONDS));
+        assertEquals("base caída", leaderError.getCause().getMessage());
+        assertSame(leaderError.getCause(), followerError.getCause());
+    }
+    
+    @Test
+    @DisplayName("Debe reintentar la carga cuando el líder es interrumpido")
+    void testRetriesWhenLeaderInterrupted() throws Exception {
+        // Given
+        Future<String> leader = executor.submit(() -> call("pedro", () -> {
+            Thread.sleep(10_000);
+            return "nunca";
+        }));
+        awaitInFlight();
+        Future<String> follower = executor.submit(() -> call("pedro", () -> "recargado"));
+        while (flight.collapsed() < 1) {
+            Thread.onSpinWait();
+        }
+        
+        // When
+        leader.cancel(true);
+        
+        // Then
+        assertEquals("recargado", follower.get(1, TimeUnit.SECONDS));
+        assertEquals(2, flight.executed());
+    }
+    
+    private String call(String key, SingleFlight.Loader<String> loader) throws Exception {
+        try {
+            return flight.execute(key, loader);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    private void awaitInFlight() {
+        while (flight.executed() == 0) {
+            Thread.onSpinWait();
+        }
+    }
+}
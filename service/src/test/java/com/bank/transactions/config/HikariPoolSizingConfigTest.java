@@ -0,0 +1,41 @@
+package com.bank.transactions.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del dimensionamiento automático del pool
+ */
+@DisplayName("Hikari Pool Sizing Tests")
+class HikariPoolSizingConfigTest {
+    
+    @Test
+    @DisplayName("Debe usar (núcleos * 2) + 1 cuando la BD tiene conexiones de sobra")
+    void testSizeByCores() {
+        PoolSizingProperties properties = new PoolSizingProperties();
+        
+        assertEquals(9, HikariPoolSizingConfig.computePoolSize(properties, 4));
+    }
+    
+    @Test
+    @DisplayName("Debe repartir las conexiones de la BD entre las instancias")
+    void testSizeByDatabaseBudget() {
+        PoolSizingProperties properties = new PoolSizingProperties();
+        properties.setDbMaxConnections(100);
+        properties.setReservedConnections(10);
+        properties.setInstances(12);
+        
+        assertEquals(7, HikariPoolSizingConfig.computePoolSize(properties, 16));
+    }
+    
+    @Test
+    @DisplayName("Debe respetar el tamaño mínimo")
+    void testMinimumSize() {
+        PoolSizingProperties properties = new PoolSizingProperties();
+        properties.setInstances(200);
+        
+        assertEquals(2, HikariPoolSizingConfig.computePoolSize(properties, 8));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.transactions.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del enrutamiento de lecturas sobre dos instancias H2
+ */
+@DisplayName("Read Replica Routing Tests")
+class ReadReplicaRoutingDataSourceTest {
+    
+    private ReadReplicaRoutingDataSource routingDataSource;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setLagQuery("SELECT 0");
+        
+        routingDataSource = new ReadReplicaRoutingDataSource(
+                h2("primary"), List.of(h2("replica")), properties);
+        routingDataSource.afterPropertiesSet();
+        
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ClientIdentifier.HEADER, "client-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        routingDataSource.shutdown();
+        RequestContextHolder.resetRequestAttributes();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    
+    @Test
+    @DisplayName("Debe enviar transacciones de solo lectura a la réplica")
+    void testReadOnlyGoesToReplica() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica", currentNode());
+    }
+    
+    @Test
+    @DisplayName("Debe leer del primario dentro de onPrimary")
+    void testOnPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String node = ReadReplicaRoutingDataSource.onPrimary(() -> {
+            try {
+                return currentNode();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertEquals("primary", node);
+        assertEquals("replica", currentNode());
+    }
+    
+    @Test
+    @DisplayName("Debe enviar escrituras al primario")
+    void testWriteGoesToPrimary() throws Exception {
+        assertEquals("primary", currentNode());
+    }
+    
+    @Test
+    @DisplayName("Debe leer del primario después de una escritura del mismo cliente")
+    void testReadYourWrites() throws Exception {
+        currentNode();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("primary", currentNode());
+        assertTrue(routingDataSource.isRecentWriter("client-1"));
+        assertFalse(routingDataSource.isRecentWriter("client-2"));
+        
+        MockHttpServletRequest otherClient = new MockHttpServletRequest();
+        otherClient.addHeader(ClientIdentifier.HEADER, "client-2");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(otherClient));
+        assertEquals("replica", currentNode());
+    }
+    
+    @Test
+    @DisplayName("Debe usar el primario cuando no hay réplicas sanas")
+    void testFallbackToPrimary() throws Exception {
+        routingDataSource.setReplicaHealth("replica-0", false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("primary", currentNode());
+    }
+    
+    private String currentNode() throws Exception {
+        try (Connection connection = routingDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT node FROM marker")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+    
+    private static DataSource h2(String node) throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS marker (node VARCHAR(20))");
+            statement.execute("DELETE FROM marker");
+            statement.execute("INSERT INTO marker VALUES ('" + node + "')");
+        }
+        return dataSource;
+    }
+}
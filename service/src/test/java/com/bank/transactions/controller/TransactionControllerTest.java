@@ -2,23 +2,34 @@ package com.bank.transactions.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.dto.TransactionBatchRequest;
+import com.bank.transactions.dto.TransactionBatchResponse;
 import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchResponse;
 import com.bank.transactions.exception.ResourceNotFoundException;
 import com.bank.transactions.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests unitarios para TransactionController
  */
 @WebMvcTest(TransactionController.class)
+@Import({EncodedResponseCache.class, SimpleMeterRegistry.class})
 @DisplayName("Transaction Controller Tests")
 class TransactionControllerTest {
     
@@ -47,7 +59,7 @@ class TransactionControllerTest {
         
         transactionDTO = TransactionDTO.builder()
                 .id(1)
-                .amount(10000)
+                .amount(10000L)
                 .businessName("Supermercado")
                 .name("Juan Pérez")
                 .build();
@@ -126,7 +138,7 @@ class TransactionControllerTest {
     void testCreateTransactionWithInvalidData() throws Exception {
         // Given
         TransactionDTO invalidDTO = TransactionDTO.builder()
-                .amount(-1000)  // Monto negativo
+                .amount(-1000L)  // Monto negativo
                 .build();
         
         // When & Then
@@ -142,7 +154,7 @@ class TransactionControllerTest {
     @DisplayName("PUT /api/transaction/{id} debe actualizar transacción")
     void testUpdateTransaction() throws Exception {
         // Given
-        transactionDTO.setAmount(15000);
+        transactionDTO.setAmount(15000L);
         when(transactionService.updateTransaction(eq(1), any(TransactionDTO.class)))
                 .thenReturn(transactionDTO);
         
@@ -170,4 +182,111 @@ class TransactionControllerTest {
         
         verify(transactionService, times(1)).deleteTransaction(1);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("POST /api/transaction/batch debe retornar encontradas e inexistentes")
+    void testGetTransactionsByIds() throws Exception {
+        // Given
+        TransactionBatchResponse batchResponse = TransactionBatchResponse.builder()
+                .items(List.of(transactionDTO))
+                .missingIds(List.of(999))
+                .build();
+        when(transactionService.getTransactionsByIds(List.of(1, 999))).thenReturn(batchResponse);
+        
+        // When & Then
+        mockMvc.perform(post("/api/transaction/batch")
+                .header("X-Client-Id", "batch-client")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionBatchRequest(List.of(1, 999)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+        
+        verify(transactionService, times(1)).getTransactionsByIds(List.of(1, 999));
+    }
+    
+    @Test
+    @DisplayName("POST /api/transaction/batch con un lote grande debe vaciar el rate limit del cliente")
+    void testLargeBatchDrainsRateLimit() throws Exception {
+        // Given: 2001 ids cuestan 3 requests, el límite completo del minuto
+        List<Integer> ids = IntStream.rangeClosed(1, 2001).boxed().toList();
+        when(transactionService.getTransactionsByIds(ids)).thenReturn(TransactionBatchResponse.builder()
+                .items(List.of())
+                .missingIds(ids)
+                .build());
+        
+        // When & Then
+        mockMvc.perform(post("/api/transaction/batch")
+                .header("X-Client-Id", "batch-client-large")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionBatchRequest(ids))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Rate-Limit-Remaining", "0"));
+        mockMvc.perform(post("/api/transaction/batch")
+                .header("X-Client-Id", "batch-client-large")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionBatchRequest(List.of(1)))))
+                .andExpect(status().isTooManyRequests());
+        
+        verify(transactionService, times(1)).getTransactionsByIds(anyList());
+    }
+    
+    @Test
+    @DisplayName("POST /api/transaction/batch debe retornar 400 con lista vacía")
+    void testGetTransactionsByIdsEmpty() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/transaction/batch")
+                .header("X-Client-Id", "batch-client-empty")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionBatchRequest(Collections.emptyList()))))
+                .andExpect(status().isBadRequest());
+        
+        verify(transactionService, never()).getTransactionsByIds(anyList());
+    }
+    
+    @Test
+    @DisplayName("GET /api/transaction/search debe enlazar filtros y retornar el cursor siguiente")
+    void testSearchTransactions() throws Exception {
+        // Given
+        TransactionSearchResponse searchResponse = TransactionSearchResponse.builder()
+                .items(List.of(transactionDTO))
+                .nextCursor("abc")
+                .build();
+        when(transactionService.searchTransactions(any(TransactionSearchCriteria.class))).thenReturn(searchResponse);
+        
+        // When & Then
+        mockMvc.perform(get("/api/transaction/search")
+                .header("X-Client-Id", "search-client")
+                .param("minAmount", "1000")
+                .param("from", "2024-01-01T00:00:00")
+                .param("businessName", "super")
+                .param("businessNameMatch", "PREFIX")
+                .param("sort", "AMOUNT")
+                .param("direction", "ASC")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value("abc"));
+        
+        verify(transactionService, times(1)).searchTransactions(argThat(criteria ->
+                criteria.getMinAmount() == 1000
+                        && criteria.getFrom().getYear() == 2024
+                        && criteria.getBusinessNameMatch() == TransactionSearchCriteria.MatchMode.PREFIX
+                        && criteria.getSort() == TransactionSearchCriteria.SortField.AMOUNT
+                        && criteria.getDirection() == TransactionSearchCriteria.SortDirection.ASC
+                        && criteria.getLimit() == 10));
+    }
+    
+    @Test
+    @DisplayName("GET /api/transaction/search debe retornar 400 si el límite excede el máximo")
+    void testSearchTransactionsLimitTooLarge() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/transaction/search")
+                .header("X-Client-Id", "search-client-limit")
+                .param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        
+        verify(transactionService, never()).searchTransactions(any());
+    }
+}
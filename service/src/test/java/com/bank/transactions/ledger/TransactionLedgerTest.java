@@ -0,0 +1,123 @@
+package com.bank.transactions.ledger;
+
+import com.bank.transactions.dto.ClientBalanceDTO;
+import com.bank.transactions.dto.CurrencyBalanceDTO;
+import com.bank.transactions.dto.LedgerEntryDTO;
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.entity.LedgerEntryType;
+import com.bank.transactions.merchant.MerchantDictionary;
+import com.bank.transactions.repository.BalanceSnapshotRepository;
+import com.bank.transactions.repository.LedgerEntryRepository;
+import com.bank.transactions.sharding.TransactionShards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración para TransactionLedger sobre H2
+ */
+@DataJpaTest
+@Import({TransactionLedger.class, TransactionShards.class, MerchantDictionary.class, SimpleMeterRegistry.class})
+@DisplayName("Transaction Ledger Tests")
+class TransactionLedgerTest {
+    
+    @Autowired
+    private TransactionLedger ledger;
+    
+    @Autowired
+    private LedgerEntryRepository entries;
+    
+    @Autowired
+    private BalanceSnapshotRepository snapshots;
+    
+    @Test
+    @DisplayName("Debe calcular el saldo por moneda sumando altas, ediciones y reversas")
+    void testBalanceReplaysEntries() {
+        // Given
+        TransactionDTO first = transaction(1, 1000L, "CLP");
+        TransactionDTO second = transaction(2, 500L, "CLP");
+        ledger.recordCreated(first);
+        ledger.recordCreated(second);
+        ledger.recordAmended(first, transaction(1, 1500L, "CLP"));
+        ledger.recordReversed(second);
+        ledger.recordCreated(transaction(3, 200L, "USD"));
+        
+        // When
+        ClientBalanceDTO balance = ledger.balance("Juan");
+        
+        // Then
+        assertEquals(List.of(new CurrencyBalanceDTO("CLP", 1500L, 1), new CurrencyBalanceDTO("USD", 200L, 1)),
+                balance.getBalances());
+        assertNull(balance.getSnapshotEntryId());
+        assertEquals(5, balance.getReplayedEntries());
+    }
+    
+    @Test
+    @DisplayName("Debe partir de la última foto y sumar solo los asientos posteriores")
+    void testBalanceFromSnapshotAndTail() {
+        // Given
+        for (int id = 1; id <= 4; id++) {
+            ledger.recordCreated(transaction(id, 100L, "CLP"));
+        }
+        long firstUpTo = lastEntryId();
+        assertFalse(ledger.snapshot("Juan", firstUpTo, 5));
+        assertTrue(ledger.snapshot("Juan", firstUpTo, 4));
+        ledger.recordReversed(transaction(2, 100L, "CLP"));
+        assertTrue(ledger.snapshot("Juan", lastEntryId(), 1));
+        ledger.recordCreated(transaction(5, 50L, "CLP"));
+        assertTrue(ledger.snapshot("Juan", lastEntryId(), 1));
+        ledger.recordCreated(transaction(6, 25L, "CLP"));
+        
+        // When
+        ClientBalanceDTO balance = ledger.balance("Juan");
+        
+        // Then: la foto anterior a la última se conserva y las demás se borran
+        assertEquals(List.of(new CurrencyBalanceDTO("CLP", 375L, 5)), balance.getBalances());
+        assertEquals(lastEntryId() - 1, balance.getSnapshotEntryId());
+        assertEquals(1, balance.getReplayedEntries());
+        assertEquals(2, snapshots.count());
+    }
+    
+    @Test
+    @DisplayName("Debe revertir el estado anterior al cambiar la moneda y listar el historial en orden")
+    void testAmendmentAcrossCurrencies() {
+        // Given
+        TransactionDTO created = transaction(1, 1000L, "CLP");
+        TransactionDTO amended = transaction(1, 10L, "USD");
+        ledger.recordCreated(created);
+        ledger.recordAmended(created, amended);
+        
+        // When
+        List<LedgerEntryDTO> history = ledger.history(1);
+        
+        // Then
+        assertEquals(List.of(LedgerEntryType.CREATED, LedgerEntryType.REVERSED, LedgerEntryType.AMENDED),
+                history.stream().map(LedgerEntryDTO::getType).toList());
+        assertEquals(List.of(1000L, -1000L, 10L), history.stream().map(LedgerEntryDTO::getDelta).toList());
+        assertEquals("Supermercado", history.get(2).getBusinessName());
+        assertEquals(List.of(new CurrencyBalanceDTO("USD", 10L, 1)), ledger.balance("Juan").getBalances());
+    }
+    
+    private long lastEntryId() {
+        return entries.findMaxIdRecordedBefore(LocalDateTime.now().plusDays(1));
+    }
+    
+    private static TransactionDTO transaction(int id, long amount, String currency) {
+        return TransactionDTO.builder()
+                .id(id)
+                .amount(amount)
+                .currency(currency)
+                .businessName("Supermercado")
+                .name("Juan")
+                .transactionDate(LocalDateTime.now().minusMinutes(5))
+                .build();
+    }
+}
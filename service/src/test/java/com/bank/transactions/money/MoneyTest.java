@@ -0,0 +1,64 @@
+package com.bank.transactions.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el valor monetario en unidades mínimas
+ */
+@DisplayName("Money Tests")
+class MoneyTest {
+    
+    @Test
+    @DisplayName("Debe sumar montos sobre el rango de int sin perder precisión")
+    void testPlusBeyondIntRange() {
+        // Given
+        Money big = Money.of(Integer.MAX_VALUE, "CLP");
+        
+        // When
+        Money total = big.plus(big).plus(Money.of(2, "CLP"));
+        
+        // Then
+        assertEquals(4_294_967_296L, total.minorUnits());
+        assertEquals("CLP", total.currency());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar ante un desborde en vez de dar la vuelta")
+    void testPlusOverflow() {
+        Money max = Money.of(Long.MAX_VALUE, "USD");
+        
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.of(1, "USD")));
+        assertThrows(ArithmeticException.class, () -> Money.of(Long.MIN_VALUE, "USD").minus(Money.of(1, "USD")));
+    }
+    
+    @Test
+    @DisplayName("No debe combinar monedas distintas")
+    void testCurrencyMismatch() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(100, "CLP").plus(Money.of(100, "USD")));
+    }
+    
+    @Test
+    @DisplayName("Debe validar códigos ISO 4217")
+    void testSupportedCurrency() {
+        assertTrue(Money.isSupportedCurrency("CLP"));
+        assertTrue(Money.isSupportedCurrency("USD"));
+        assertFalse(Money.isSupportedCurrency("usd"));
+        assertFalse(Money.isSupportedCurrency("XYZ"));
+        assertFalse(Money.isSupportedCurrency("PESO"));
+        assertFalse(Money.isSupportedCurrency(null));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(1, "ABC"));
+    }
+    
+    @Test
+    @DisplayName("Debe convertir a unidades mayores según los decimales de la moneda")
+    void testMajorUnits() {
+        assertEquals(new BigDecimal("12.34"), Money.of(1234, "USD").toMajorUnits());
+        assertEquals(new BigDecimal("1234"), Money.of(1234, "CLP").toMajorUnits());
+        assertEquals("USD 12.34", Money.of(1234, "USD").toString());
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.transactions.monitoring;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la instrumentación de sentencias SQL
+ */
+@DisplayName("Query Metrics Listener Tests")
+class QueryMetricsListenerTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query-metrics;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS items (id INT, name VARCHAR(20))");
+        }
+        
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = ProxyDataSourceBuilder.create(h2)
+                .listener(new QueryMetricsListener(meterRegistry, Long.MAX_VALUE, null))
+                .build();
+    }
+    
+    @Test
+    @DisplayName("Debe etiquetar la latencia de la sentencia con el método de repositorio")
+    void testTimerTaggedByRepositoryMethod() throws Exception {
+        // Given
+        RepositoryInvocationContext.enter("ItemRepository.findByName");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM items WHERE name = ?")) {
+            statement.setString(1, "a");
+            
+            // When
+            statement.executeQuery().close();
+            statement.executeQuery().close();
+        } finally {
+            RepositoryInvocationContext.exit();
+        }
+        
+        // Then
+        Timer timer = meterRegistry.find("db.query")
+                .tag("method", "ItemRepository.findByName")
+                .tag("type", "select")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+    
+    @Test
+    @DisplayName("Debe usar 'none' para sentencias fuera de un repositorio")
+    void testTimerWithoutRepository() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO items VALUES (1, 'a')");
+        }
+        
+        assertNotNull(meterRegistry.find("db.query")
+                .tag("method", RepositoryInvocationContext.NONE)
+                .tag("type", "insert")
+                .timer());
+    }
+    
+    @Test
+    @DisplayName("Debe reemplazar parámetros por literales para el EXPLAIN")
+    void testInlineParameters() throws Exception {
+        List<ParameterSetOperation> parameters = List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[] { 2, "O'Brien" }),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setInt", int.class, int.class),
+                        new Object[] { 1, 10 }));
+        
+        assertEquals("SELECT * FROM items WHERE id = 10 AND name = 'O''Brien'",
+                SlowQueryExplainer.inlineParameters("SELECT * FROM items WHERE id = ? AND name = ?", parameters));
+    }
+}
@@ -0,0 +1,116 @@
+package com.bank.transactions.overload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para AdaptiveConcurrencyLimiter
+ */
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+    
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+    
+    private ConcurrencyLimitProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar primero las lecturas masivas y reservar el resto del límite para escrituras")
+    void testPriorityShares() {
+        // Given: límite 10, las lecturas masivas pueden ocupar 7
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            permits.add(limiter.tryAcquire(Priority.BULK));
+        }
+        
+        // When & Then
+        assertNull(limiter.tryAcquire(Priority.BULK));
+        assertNotNull(limiter.tryAcquire(Priority.READ));
+        assertNotNull(limiter.tryAcquire(Priority.READ));
+        assertNull(limiter.tryAcquire(Priority.READ));
+        assertNotNull(limiter.tryAcquire(Priority.WRITE));
+        assertNull(limiter.tryAcquire(Priority.WRITE));
+        assertEquals(10, limiter.getInFlight());
+        
+        permits.get(0).release(false);
+        permits.get(0).release(false);
+        assertEquals(9, limiter.getInFlight());
+    }
+    
+    @Test
+    @DisplayName("Debe subir el límite con latencia estable y bajarlo cuando la latencia crece")
+    void testLimitFollowsLatency() {
+        // Given: carga que usa todo el límite con latencia estable
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT, limiter.getLimit(), false);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10);
+        
+        // When: la base empieza a encolar y la latencia se cuadruplica
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT * 4, limiter.getLimit(), false);
+        }
+        
+        // Then
+        assertTrue(limiter.getLimit() < grown / 2, "límite " + limiter.getLimit() + " desde " + grown);
+    }
+    
+    @Test
+    @DisplayName("No debe subir el límite si la carga no lo usa y debe bajarlo ante fallas por sobrecarga")
+    void testAppLimitedAndDrops() {
+        // When: pocas operaciones simultáneas
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT, 2, false);
+        }
+        
+        // Then
+        assertEquals(10, limiter.getLimit());
+        limiter.onSample(BASE_RTT, 10, true);
+        assertEquals(9, limiter.getLimit());
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(BASE_RTT, 10, true);
+        }
+        assertEquals(properties.getMinLimit(), limiter.getLimit());
+    }
+    
+    @Test
+    @DisplayName("No debe ajustar el límite con la latencia de operaciones sin muestreo")
+    void testUnsampledReleases() {
+        // Given: reloj manual y latencia de referencia establecida
+        long[] now = {0};
+        limiter = new AdaptiveConcurrencyLimiter(properties, () -> now[0]);
+        limiter.onSample(BASE_RTT, limiter.getLimit(), false);
+        
+        // When: todo el límite ocupado por tramos que tardan cien veces más
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            permits.add(limiter.tryAcquire(Priority.BULK));
+        }
+        now[0] += BASE_RTT * 100;
+        permits.forEach(permit -> permit.release(false, false));
+        
+        // Then
+        assertEquals(10, limiter.getLimit());
+        assertEquals(10.0, limiter.getLongRttMillis(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+        limiter.tryAcquire(Priority.BULK).release(true, false);
+        assertEquals(9, limiter.getLimit());
+    }
+}
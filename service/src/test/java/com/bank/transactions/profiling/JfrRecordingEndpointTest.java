@@ -0,0 +1,123 @@
+package com.bank.transactions.profiling;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.exception.BusinessException;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para JfrRecordingEndpoint y los eventos JFR de la aplicación
+ */
+@DisplayName("JFR Recording Endpoint Tests")
+class JfrRecordingEndpointTest {
+    
+    @TempDir
+    Path directory;
+    
+    private JfrRecordingEndpoint endpoint;
+    
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setDirectory(directory.toString());
+        properties.setProfile("default");
+        properties.setMaxFiles(2);
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        endpoint.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Debe grabar los eventos de la aplicación y escribirlos al detener la grabación")
+    void testRecordsApplicationEvents() throws Exception {
+        // Given
+        assertEquals(200, endpoint.control("start", null, Duration.ofMinutes(1)).getStatus());
+        
+        // When
+        new RateLimitEvent().finish("10.0.0.1", false, 0);
+        TransactionOperationEvent.record("create", null, "Juan",
+                () -> TransactionDTO.builder().id(7).name("Juan").build());
+        assertThrows(BusinessException.class, () -> TransactionOperationEvent.record("update", 8, "Ana", () -> {
+            throw new BusinessException("Monto inválido");
+        }));
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingStatus> stopped = endpoint.control("stop", null, null);
+        
+        // Then
+        assertEquals("CLOSED", stopped.getBody().state());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(stopped.getBody().file()));
+        RecordedEvent rateLimit = single(events, "com.bank.transactions.RateLimit");
+        assertEquals("rejected", rateLimit.getString("outcome"));
+        assertNotEquals("10.0.0.1", rateLimit.getString("clientHash"));
+        List<RecordedEvent> operations = ofType(events, "com.bank.transactions.TransactionOperation");
+        assertEquals(2, operations.size());
+        assertEquals("create", operations.get(0).getString("operation"));
+        assertEquals(7, operations.get(0).getInt("transactionId"));
+        assertEquals("ok", operations.get(0).getString("outcome"));
+        assertEquals("rejected", operations.get(1).getString("outcome"));
+    }
+    
+    @Test
+    @DisplayName("Debe permitir una sola grabación, volcarla sin detenerla y conservar solo los últimos archivos")
+    void testSingleRecordingAndRetention() throws Exception {
+        // Given
+        endpoint.control("start", null, null);
+        
+        // When & Then
+        assertEquals(409, endpoint.control("start", null, null).getStatus());
+        assertEquals(400, endpoint.control("pause", null, null).getStatus());
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingStatus> dumped = endpoint.control("dump", null, null);
+        assertEquals("RUNNING", dumped.getBody().state());
+        assertTrue(Files.size(Path.of(dumped.getBody().file())) > 0);
+        
+        endpoint.control("stop", null, null);
+        endpoint.control("start", null, null);
+        endpoint.control("stop", null, null);
+        assertEquals(409, endpoint.control("stop", null, null).getStatus());
+        assertEquals(2, endpoint.status().files().size());
+    }
+    
+    @Test
+    @DisplayName("Debe aceptar la ruta de un archivo .jfc como configuración")
+    void testJfcFileConfiguration() throws Exception {
+        // Given
+        Path settings = Files.writeString(directory.resolve("custom.jfc"),
+                Configuration.getConfiguration("default").getContents());
+        
+        // When & Then
+        assertEquals(200, endpoint.control("start", settings.toString(), null).getStatus());
+        assertEquals(settings.toString(), endpoint.status().profile());
+        endpoint.control("stop", null, null);
+        assertEquals(400, endpoint.control("start", directory.resolve("missing.jfc").toString(), null).getStatus());
+    }
+    
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = ofType(events, name);
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+    
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+}
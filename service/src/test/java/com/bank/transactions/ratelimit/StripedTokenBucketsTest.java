@@ -0,0 +1,134 @@
+package com.bank.transactions.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.TimeMeter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para StripedTokenBuckets
+ */
+@DisplayName("Striped Token Buckets Tests")
+class StripedTokenBucketsTest {
+    
+    private static final long PERIOD_MILLIS = Duration.ofMinutes(1).toMillis();
+    
+    private final AtomicLong nanos = new AtomicLong();
+    
+    @Test
+    @DisplayName("Debe decidir igual que un bucket de bucket4j por cliente con recarga por intervalo")
+    void testSameDecisionsAsBucket4j() {
+        // Given
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, PERIOD_MILLIS, 4, 1024, nanos::get);
+        Bandwidth limit = Bandwidth.builder().capacity(3).refillIntervally(3, Duration.ofMinutes(1)).build();
+        TimeMeter clock = new TimeMeter() {
+            @Override
+            public long currentTimeNanos() {
+                return nanos.get();
+            }
+            
+            @Override
+            public boolean isWallClockBased() {
+                return false;
+            }
+        };
+        Map<String, Bucket> reference = new HashMap<>();
+        Random random = new Random(47);
+        
+        // When & Then: mismas decisiones y tokens restantes en cada request
+        for (int i = 0; i < 20_000; i++) {
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(random.nextInt(2_000)));
+            String clientId = "cliente-" + random.nextInt(40);
+            Bucket bucket = reference.computeIfAbsent(clientId,
+                    k -> Bucket.builder().addLimit(limit).withCustomTimePrecision(clock).build());
+            long expected = bucket.tryConsume(1) ? bucket.getAvailableTokens() : StripedTokenBuckets.REJECTED;
+            assertEquals(expected, buckets.tryConsume(clientId), "request " + i + " de " + clientId);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe entregar exactamente la capacidad de cada cliente con hilos concurrentes mientras crecen las tablas")
+    void testConcurrentConsumptionIsExact() throws Exception {
+        // Given: tablas mínimas para que el alta de clientes las reemplace muchas veces
+        StripedTokenBuckets buckets = new StripedTokenBuckets(5, PERIOD_MILLIS, 2, 2, nanos::get);
+        int threads = 8;
+        int clients = 2_000;
+        LongAdder allowed = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // When: cada hilo pide 10 veces por cliente, en distinto orden
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 97;
+            executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 10; round++) {
+                    for (int i = 0; i < clients; i++) {
+                        if (buckets.tryConsume("cliente-" + (i + offset) % clients) != StripedTokenBuckets.REJECTED) {
+                            allowed.increment();
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        // Then
+        assertEquals(clients * 5L, allowed.sum());
+        assertEquals(clients, buckets.trackedClients());
+    }
+    
+    @Test
+    @DisplayName("Debe consumir varios tokens de una vez o ninguno si no alcanzan")
+    void testWeightedConsumption() {
+        // Given
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, PERIOD_MILLIS, 1, 4, nanos::get);
+        
+        // When & Then
+        assertEquals(1, buckets.tryConsume("lote", 2));
+        assertEquals(StripedTokenBuckets.REJECTED, buckets.tryConsume("lote", 2));
+        assertEquals(0, buckets.tryConsume("lote"));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS));
+        assertEquals(0, buckets.tryConsume("lote", 3));
+        assertEquals(StripedTokenBuckets.REJECTED, buckets.tryConsume("lote"));
+        assertThrows(IllegalArgumentException.class, () -> buckets.tryConsume("lote", 4));
+    }
+    
+    @Test
+    @DisplayName("Debe descartar los clientes inactivos al crecer y darles un período nuevo si vuelven")
+    void testIdleClientsDroppedOnGrowth() {
+        // Given
+        StripedTokenBuckets buckets = new StripedTokenBuckets(2, PERIOD_MILLIS, 1, 4, nanos::get);
+        buckets.tryConsume("inactivo");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS + 10_000));
+        buckets.tryConsume("activo");
+        
+        // When: el tercer cliente pasa la mitad de la tabla
+        buckets.tryConsume("nuevo");
+        
+        // Then
+        assertEquals(2, buckets.trackedClients());
+        assertEquals(1, buckets.tryConsume("inactivo"));
+        assertEquals(0, buckets.tryConsume("inactivo"));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(PERIOD_MILLIS - 1));
+        assertEquals(StripedTokenBuckets.REJECTED, buckets.tryConsume("inactivo"));
+        assertEquals(0, buckets.tryConsume("activo"));
+    }
+}
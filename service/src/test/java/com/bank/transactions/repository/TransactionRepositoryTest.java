@@ -0,0 +1,156 @@
+package com.bank.transactions.repository;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.entity.Transaction;
+import com.bank.transactions.merchant.MerchantDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración para TransactionRepository sobre H2
+ */
+@DataJpaTest
+@Import(MerchantDictionary.class)
+@DisplayName("Transaction Repository Tests")
+class TransactionRepositoryTest {
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private MerchantDictionary merchants;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private Transaction first;
+    private Transaction second;
+    
+    @BeforeEach
+    void setUp() {
+        first = transactionRepository.save(Transaction.builder()
+                .amount(10000L)
+                .businessName("Supermercado")
+                .name("Juan Pérez")
+                .transactionDate(LocalDateTime.now().minusHours(1))
+                .build());
+        
+        second = transactionRepository.save(Transaction.builder()
+                .amount(5000L)
+                .businessName("Farmacia")
+                .name("Ana Gómez")
+                .transactionDate(LocalDateTime.now())
+                .build());
+    }
+    
+    @Test
+    @DisplayName("Debe encontrar transacciones por lote de ids en una sola consulta")
+    void testFindAllByIdIn() {
+        // When
+        List<TransactionDTO> result = transactionRepository.findDtoByIdIn(
+                new Integer[] { first.getId(), second.getId(), 999 });
+        
+        // Then
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(t -> t.getId().equals(first.getId())));
+        assertTrue(result.stream().anyMatch(t -> t.getId().equals(second.getId())));
+    }
+    
+    @Test
+    @DisplayName("Debe proyectar todas las transacciones a DTO ordenadas por fecha")
+    void testFindAllDtoByOrderByTransactionDateDesc() {
+        // When
+        List<TransactionDTO> result = transactionRepository.findAllDtoByOrderByTransactionDateDesc();
+        
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(second.getId(), result.get(0).getId());
+        assertEquals(first.getId(), result.get(1).getId());
+        assertEquals("Supermercado", result.get(1).getBusinessName());
+    }
+    
+    @Test
+    @DisplayName("Debe proyectar a DTO las transacciones de un usuario y por id")
+    void testFindDtoByNameAndId() {
+        // When
+        List<TransactionDTO> byName = transactionRepository.findDtoByNameOrderByTransactionDateDesc("Juan Pérez");
+        
+        // Then
+        assertEquals(1, byName.size());
+        assertEquals(10000L, byName.get(0).getAmount());
+        assertEquals("Ana Gómez", transactionRepository.findDtoById(second.getId()).orElseThrow().getName());
+        assertTrue(transactionRepository.findDtoById(999).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe filtrar por giro y monto y paginar por keyset")
+    void testSearch() {
+        // Given
+        Transaction third = transactionRepository.save(Transaction.builder()
+                .amount(10000L)
+                .businessName("Super 100%")
+                .name("Ana Gómez")
+                .transactionDate(LocalDateTime.now().minusHours(2))
+                .build());
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .businessName("SUPER")
+                .businessNameMatch(TransactionSearchCriteria.MatchMode.PREFIX)
+                .minAmount(6000L)
+                .sort(TransactionSearchCriteria.SortField.AMOUNT)
+                .direction(TransactionSearchCriteria.SortDirection.ASC)
+                .build();
+        
+        // When
+        List<TransactionDTO> page = transactionRepository.search(criteria, null, null, 1);
+        List<TransactionDTO> next = transactionRepository.search(criteria, 10000L, page.get(0).getId(), 10);
+        List<TransactionDTO> literal = transactionRepository.search(TransactionSearchCriteria.builder()
+                .businessName("0%").build(), null, null, 10);
+        
+        // Then
+        assertEquals(first.getId(), page.get(0).getId());
+        assertEquals(1, next.size());
+        assertEquals(third.getId(), next.get(0).getId());
+        assertNotNull(next.get(0).getTransactionDate());
+        assertEquals(1, literal.size());
+        assertEquals(third.getId(), literal.get(0).getId());
+    }
+    
+    @Test
+    @DisplayName("Debe guardar el giro como id de comercio compartido entre transacciones")
+    void testMerchantDictionaryEncoding() {
+        // Given
+        Transaction third = transactionRepository.save(Transaction.builder()
+                .amount(2000L)
+                .businessName("Supermercado")
+                .name("Ana Gómez")
+                .transactionDate(LocalDateTime.now())
+                .build());
+        transactionRepository.flush();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        
+        // When
+        List<Integer> merchantIds = jdbc.queryForList(
+                "SELECT merchant_id FROM transactions WHERE id IN (?, ?)", Integer.class, first.getId(), third.getId());
+        
+        // Then: una sola fila en merchants y el nombre se resuelve en memoria
+        assertEquals(1, merchantIds.stream().distinct().count());
+        int merchantId = merchantIds.get(0);
+        assertEquals(merchantId, merchants.idFor("Supermercado"));
+        assertEquals("Supermercado", merchants.nameFor(merchantId));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM merchants WHERE name = 'Supermercado'", Long.class));
+        assertEquals("Supermercado", transactionRepository.findDtoById(third.getId()).orElseThrow().getBusinessName());
+    }
+}
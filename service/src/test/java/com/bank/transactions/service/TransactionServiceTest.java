@@ -1,18 +1,36 @@
 package com.bank.transactions.service;
 
+import com.bank.transactions.archive.TransactionArchive;
+import com.bank.transactions.cache.EncodedResponseCache;
+import com.bank.transactions.cache.HotTransactionTier;
+import com.bank.transactions.cache.LookupFilterProperties;
+import com.bank.transactions.cache.NegativeLookupFilter;
+import com.bank.transactions.dto.TransactionBatchResponse;
 import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchResponse;
 import com.bank.transactions.exception.BusinessException;
 import com.bank.transactions.exception.ResourceNotFoundException;
+import com.bank.transactions.ledger.TransactionLedger;
 import com.bank.transactions.entity.Transaction;
 import com.bank.transactions.repository.TransactionRepository;
+import com.bank.transactions.sharding.TransactionShards;
+import com.bank.transactions.validation.AmountCheck;
+import com.bank.transactions.validation.ClientLimitCheck;
+import com.bank.transactions.validation.CurrencyCheck;
+import com.bank.transactions.validation.TransactionValidationPipeline;
+import com.bank.transactions.validation.ValidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +38,9 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,7 +53,21 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     
-    @InjectMocks
+    @Mock
+    private HotTransactionTier hotTier;
+    
+    @Mock
+    private TransactionArchive archive;
+    
+    @Mock
+    private EncodedResponseCache responseCache;
+    
+    @Mock
+    private TransactionLedger ledger;
+    
+    @Spy
+    private TransactionShards shards = TransactionShards.disabled();
+    
     private TransactionService transactionService;
     
     private Transaction transaction;
@@ -40,17 +75,24 @@ class TransactionServiceTest {
     
     @BeforeEach
     void setUp() {
+        TransactionValidationPipeline validationPipeline = new TransactionValidationPipeline(
+                List.of(new AmountCheck(), new CurrencyCheck(), new ClientLimitCheck(transactionRepository, shards, archive)),
+                new ValidationProperties(), new SimpleMeterRegistry(), Tracer.NOOP);
+        transactionService = new TransactionService(transactionRepository, hotTier, shards, validationPipeline, archive,
+                new NegativeLookupFilter(new LookupFilterProperties(), new SimpleMeterRegistry()), responseCache, ledger,
+                new CrossShardMover(transactionRepository, ledger, shards));
         
         transaction = Transaction.builder()
                 .id(1)
-                .amount(10000)
+                .amount(10000L)
+                .currency("CLP")
                 .businessName("Supermercado")
                 .name("Juan Pérez")
                 .build();
         
         transactionDTO = TransactionDTO.builder()
                 .id(1)
-                .amount(10000)
+                .amount(10000L)
                 .businessName("Supermercado")
                 .name("Juan Pérez")
                 .build();
@@ -60,8 +102,8 @@ class TransactionServiceTest {
     @DisplayName("Debe obtener todas las transacciones")
     void testGetAllTransactions() {
         // Given
-        List<Transaction> transactions = Arrays.asList(transaction);
-        when(transactionRepository.findAllByOrderByTransactionDateDesc()).thenReturn(transactions);
+        List<TransactionDTO> transactions = Arrays.asList(transactionDTO);
+        when(transactionRepository.findAllDtoByOrderByTransactionDateDesc()).thenReturn(transactions);
         
         // When
         List<TransactionDTO> result = transactionService.getAllTransactions();
@@ -70,14 +112,14 @@ class TransactionServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(transaction.getId(), result.get(0).getId());
-        verify(transactionRepository, times(1)).findAllByOrderByTransactionDateDesc();
+        verify(transactionRepository, times(1)).findAllDtoByOrderByTransactionDateDesc();
     }
     
     @Test
     @DisplayName("Debe obtener transacción por ID")
     void testGetTransactionById() {
         // Given
-        when(transactionRepository.findById(1)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findDtoById(1)).thenReturn(Optional.of(transactionDTO));
         
         // When
         TransactionDTO result = transactionService.getTransactionById(1);
@@ -86,19 +128,89 @@ class TransactionServiceTest {
         assertNotNull(result);
         assertEquals(transaction.getId(), result.getId());
         assertEquals(transaction.getAmount(), result.getAmount());
-        verify(transactionRepository, times(1)).findById(1);
+        verify(transactionRepository, times(1)).findDtoById(1);
     }
     
     @Test
     @DisplayName("Debe lanzar excepción cuando transacción no existe")
     void testGetTransactionByIdNotFound() {
         // Given
-        when(transactionRepository.findById(999)).thenReturn(Optional.empty());
+        when(transactionRepository.findDtoById(999)).thenReturn(Optional.empty());
         
         // When & Then
         assertThrows(ResourceNotFoundException.class, 
             () -> transactionService.getTransactionById(999));
-        verify(transactionRepository, times(1)).findById(999);
+        verify(transactionRepository, times(1)).findDtoById(999);
+    }
+    
+    @Test
+    @DisplayName("Debe buscar en el archivo la transacción que ya no está en la base")
+    void testGetTransactionByIdFromArchive() {
+        // Given
+        when(transactionRepository.findDtoById(1)).thenReturn(Optional.empty());
+        when(archive.findById(1)).thenReturn(Optional.of(transactionDTO));
+        
+        // When
+        TransactionDTO result = transactionService.getTransactionById(1);
+        
+        // Then
+        assertEquals(transactionDTO, result);
+    }
+    
+    @Test
+    @DisplayName("Debe descartar ids y Tenpistas inexistentes sin consultar la base")
+    void testLookupFilterSkipsRepository() {
+        // Given
+        LookupFilterProperties properties = new LookupFilterProperties();
+        properties.setEnabled(true);
+        properties.setExpectedTransactions(100);
+        properties.setExpectedClients(100);
+        NegativeLookupFilter lookupFilter = new NegativeLookupFilter(properties, new SimpleMeterRegistry());
+        lookupFilter.beginRebuild();
+        lookupFilter.load(1, "Juan Pérez");
+        lookupFilter.completeRebuild(1);
+        TransactionService filtered = new TransactionService(transactionRepository, hotTier, shards,
+                mock(TransactionValidationPipeline.class), archive, lookupFilter, responseCache, ledger,
+                mock(CrossShardMover.class));
+        
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> filtered.getTransactionById(999));
+        assertEquals(List.of(), filtered.getTransactionsByTenpista("Desconocido"));
+        assertFalse(filtered.existsTenpista("Desconocido"));
+        verifyNoInteractions(transactionRepository, archive);
+    }
+    
+    @Test
+    @DisplayName("Debe obtener transacciones por lote e informar ids inexistentes")
+    void testGetTransactionsByIds() {
+        // Given
+        when(transactionRepository.findDtoByIdIn(any(Integer[].class))).thenReturn(List.of(transactionDTO));
+        
+        // When
+        TransactionBatchResponse result = transactionService.getTransactionsByIds(Arrays.asList(999, 1, 1));
+        
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertEquals(transaction.getId(), result.getItems().get(0).getId());
+        assertEquals(List.of(999), result.getMissingIds());
+        verify(transactionRepository, times(1)).findDtoByIdIn(new Integer[] { 999, 1 });
+    }
+    
+    @Test
+    @DisplayName("Debe buscar en el archivo los ids del lote que ya no están en la base")
+    void testGetTransactionsByIdsFromArchive() {
+        // Given
+        TransactionDTO archived = TransactionDTO.builder().id(7).amount(500L).name("Juan Pérez").build();
+        when(transactionRepository.findDtoByIdIn(any(Integer[].class))).thenReturn(List.of(transactionDTO));
+        when(archive.findById(7)).thenReturn(Optional.of(archived));
+        
+        // When
+        TransactionBatchResponse result = transactionService.getTransactionsByIds(Arrays.asList(7, 1, 999));
+        
+        // Then
+        assertEquals(List.of(archived, transactionDTO), result.getItems());
+        assertEquals(List.of(999), result.getMissingIds());
+        verify(archive, never()).findById(1);
     }
     
     @Test
@@ -115,14 +227,27 @@ class TransactionServiceTest {
         assertNotNull(result);
         assertEquals(transaction.getId(), result.getId());
         verify(transactionRepository, times(1)).countByName(anyString());
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository, times(1)).save(argThat(saved -> "CLP".equals(saved.getCurrency())));
+        verify(hotTier, times(1)).onSaved(any(TransactionDTO.class));
     }
     
     @Test
     @DisplayName("Debe lanzar excepción cuando monto es negativo")
     void testCreateTransactionWithNegativeAmount() {
         // Given
-        transactionDTO.setAmount(-1000);
+        transactionDTO.setAmount(-1000L);
+        
+        // When & Then
+        assertThrows(BusinessException.class, 
+            () -> transactionService.createTransaction(transactionDTO));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+    
+    @Test
+    @DisplayName("Debe lanzar excepción cuando la moneda no es ISO 4217")
+    void testCreateTransactionWithUnknownCurrency() {
+        // Given
+        transactionDTO.setCurrency("XYZ");
         
         // When & Then
         assertThrows(BusinessException.class, 
@@ -143,6 +268,19 @@ class TransactionServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
     
+    @Test
+    @DisplayName("Debe contar las transacciones archivadas para el límite del cliente")
+    void testCreateTransactionExceedsLimitWithArchived() {
+        // Given
+        when(transactionRepository.countByName(anyString())).thenReturn(60L);
+        when(archive.countByName(transactionDTO.getName())).thenReturn(40L);
+        
+        // When & Then
+        assertThrows(BusinessException.class, 
+            () -> transactionService.createTransaction(transactionDTO));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+    
     @Test
     @DisplayName("Debe actualizar transacción exitosamente")
     void testUpdateTransaction() {
@@ -150,7 +288,7 @@ class TransactionServiceTest {
         when(transactionRepository.findById(1)).thenReturn(Optional.of(transaction));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
         
-        transactionDTO.setAmount(15000);
+        transactionDTO.setAmount(15000L);
         
         // When
         TransactionDTO result = transactionService.updateTransaction(1, transactionDTO);
@@ -159,33 +297,100 @@ class TransactionServiceTest {
         assertNotNull(result);
         verify(transactionRepository, times(1)).findById(1);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(ledger, times(1)).recordAmended(any(TransactionDTO.class), argThat(updated -> updated.getAmount() == 15000L));
     }
     
     @Test
     @DisplayName("Debe eliminar transacción exitosamente")
     void testDeleteTransaction() {
         // Given
-        when(transactionRepository.existsById(1)).thenReturn(true);
+        when(transactionRepository.findDtoById(1)).thenReturn(Optional.of(transactionDTO));
         doNothing().when(transactionRepository).deleteById(1);
         
         // When
         transactionService.deleteTransaction(1);
         
         // Then
-        verify(transactionRepository, times(1)).existsById(1);
+        verify(transactionRepository, times(1)).findDtoById(1);
         verify(transactionRepository, times(1)).deleteById(1);
+        verify(hotTier, times(1)).onDeleted(1);
+        verify(ledger, times(1)).recordReversed(transactionDTO);
     }
     
     @Test
     @DisplayName("Debe lanzar excepción al eliminar transacción inexistente")
     void testDeleteTransactionNotFound() {
         // Given
-        when(transactionRepository.existsById(999)).thenReturn(false);
+        when(transactionRepository.findDtoById(999)).thenReturn(Optional.empty());
         
         // When & Then
         assertThrows(ResourceNotFoundException.class, 
             () -> transactionService.deleteTransaction(999));
-        verify(transactionRepository, times(1)).existsById(999);
+        verify(transactionRepository, times(1)).findDtoById(999);
         verify(transactionRepository, never()).deleteById(anyInt());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Debe paginar la búsqueda con un cursor que continúa después del último resultado")
+    void testSearchTransactionsPagination() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 30);
+        TransactionDTO older = TransactionDTO.builder().id(2).amount(500L).transactionDate(date.minusDays(1)).build();
+        transactionDTO.setTransactionDate(date);
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder().limit(1).build();
+        when(transactionRepository.search(eq(criteria), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(transactionDTO, older));
+        
+        // When
+        TransactionSearchResponse firstPage = transactionService.searchTransactions(criteria);
+        
+        // Then
+        assertEquals(List.of(transactionDTO), firstPage.getItems());
+        assertNotNull(firstPage.getNextCursor());
+        
+        // Given
+        criteria.setCursor(firstPage.getNextCursor());
+        when(transactionRepository.search(eq(criteria), eq(date), eq(1), eq(2))).thenReturn(List.of(older));
+        
+        // When
+        TransactionSearchResponse secondPage = transactionService.searchTransactions(criteria);
+        
+        // Then
+        assertEquals(List.of(older), secondPage.getItems());
+        assertNull(secondPage.getNextCursor());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar cursores inválidos o de otro orden y rangos invertidos")
+    void testSearchTransactionsInvalidInput() {
+        // Given
+        transactionDTO.setTransactionDate(LocalDateTime.now());
+        String dateCursor = TransactionSearchCursor.after(transactionDTO, TransactionSearchCriteria.SortField.DATE).encode();
+        
+        // When & Then
+        assertThrows(BusinessException.class, () -> transactionService.searchTransactions(
+                TransactionSearchCriteria.builder().cursor("no-es-un-cursor").build()));
+        assertThrows(BusinessException.class, () -> transactionService.searchTransactions(
+                TransactionSearchCriteria.builder().sort(TransactionSearchCriteria.SortField.AMOUNT).cursor(dateCursor).build()));
+        assertThrows(BusinessException.class, () -> transactionService.searchTransactions(
+                TransactionSearchCriteria.builder().minAmount(100L).maxAmount(10L).build()));
+        verify(transactionRepository, never()).search(any(), any(), any(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Debe servir la búsqueda de más recientes desde la capa en memoria")
+    void testSearchLatestFromHotTier() {
+        // Given
+        transactionDTO.setTransactionDate(LocalDateTime.now());
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder().name("Juan Pérez").limit(1).build();
+        when(hotTier.latest("Juan Pérez", null, null, 2)).thenReturn(Optional.of(List.of(transactionDTO)));
+        
+        // When
+        TransactionSearchResponse result = transactionService.searchTransactions(criteria);
+        
+        // Then
+        assertEquals(List.of(transactionDTO), result.getItems());
+        assertNull(result.getNextCursor());
+        verify(transactionRepository, never()).search(any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.transactions.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para el anillo de hashing consistente y la combinación de resultados
+ */
+@DisplayName("Shard Ring Tests")
+class ShardRingTest {
+    
+    private static final int CLIENTS = 10_000;
+    
+    @Test
+    @DisplayName("Debe repartir los clientes de forma pareja entre shards")
+    void testBalancedDistribution() {
+        // Given
+        ShardRing ring = new ShardRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        
+        // When
+        for (int i = 0; i < CLIENTS; i++) {
+            counts.merge(ring.shardFor("cliente-" + i), 1, Integer::sum);
+        }
+        
+        // Then
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - CLIENTS / 3) < CLIENTS / 10,
+                "distribución desbalanceada: " + counts));
+    }
+    
+    @Test
+    @DisplayName("Agregar un shard solo debe mover clientes hacia el shard nuevo")
+    void testMinimalMovementOnAddShard() {
+        // Given
+        ShardRing before = new ShardRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ShardRing after = new ShardRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        int moved = 0;
+        
+        // When & Then
+        for (int i = 0; i < CLIENTS; i++) {
+            String name = "cliente-" + i;
+            if (!before.shardFor(name).equals(after.shardFor(name))) {
+                assertEquals("shard-3", after.shardFor(name));
+                moved++;
+            }
+        }
+        assertTrue(moved > CLIENTS / 6 && moved < CLIENTS / 3, "clientes movidos: " + moved);
+    }
+    
+    @Test
+    @DisplayName("Debe combinar listas ordenadas respetando el límite y descartando duplicados")
+    void testMerge() {
+        // When
+        List<Integer> merged = TransactionShards.merge(
+                List.of(List.of(9, 5, 1), List.of(8, 5, 2), List.of()), Comparator.reverseOrder(), 4);
+        
+        // Then
+        assertEquals(List.of(9, 8, 5, 2), merged);
+    }
+    
+    @Test
+    @DisplayName("Debe calcular el primer id de cada shard por sobre el máximo global")
+    void testFirstIdAbove() {
+        assertEquals(12, ShardSchemaInitializer.firstIdAbove(10, 3, 0));
+        assertEquals(13, ShardSchemaInitializer.firstIdAbove(10, 3, 1));
+        assertEquals(11, ShardSchemaInitializer.firstIdAbove(10, 3, 2));
+        assertEquals(3, ShardSchemaInitializer.firstIdAbove(0, 3, 0));
+        assertEquals(1, ShardSchemaInitializer.firstIdAbove(0, 1, 0));
+    }
+}
@@ -0,0 +1,212 @@
+package com.bank.transactions.sharding;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.dto.TransactionSearchCriteria;
+import com.bank.transactions.dto.TransactionSearchResponse;
+import com.bank.transactions.merchant.MerchantDictionary;
+import com.bank.transactions.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de integración del particionamiento con tres bases H2
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create",
+    "app.sharding.enabled=true",
+    "app.sharding.shard-urls=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+@DisplayName("Sharding Integration Tests")
+class ShardingIntegrationTest {
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionShards shards;
+    
+    @Autowired
+    private ShardRoutingDataSource routingDataSource;
+    
+    @Autowired
+    private ShardRebalancer rebalancer;
+    
+    @Autowired
+    private MerchantDictionary merchants;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    @DisplayName("Debe guardar en el shard del cliente y combinar lecturas de todos los shards")
+    void testRoutingAndScatterGather() {
+        // Given
+        List<TransactionDTO> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            created.add(transactionService.createTransaction(transaction("Tenpista " + i, 1000 + i)));
+        }
+        
+        // Then: cada fila vive solo en el shard de su cliente y los ids no se repiten
+        Set<Integer> ids = new HashSet<>();
+        for (TransactionDTO transaction : created) {
+            assertTrue(ids.add(transaction.getId()));
+            assertEquals(1, rowsOf(shards.shardFor(transaction.getName()), transaction.getName()));
+        }
+        assertTrue(shards.shards().stream().filter(shard -> count(shard) > 0).count() > 1);
+        
+        List<TransactionDTO> all = transactionService.getAllTransactions();
+        assertTrue(all.size() >= created.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(TransactionDTO.NEWEST_FIRST.compare(all.get(i - 1), all.get(i)) < 0);
+        }
+        
+        TransactionDTO last = created.get(created.size() - 1);
+        assertEquals(last.getName(), transactionService.getTransactionById(last.getId()).getName());
+        assertEquals(List.of(last.getId()),
+                transactionService.getTransactionsByTenpista(last.getName()).stream().map(TransactionDTO::getId).toList());
+    }
+    
+    @Test
+    @DisplayName("Debe paginar por cursor a través de todos los shards")
+    void testSearchAcrossShards() {
+        // Given
+        for (int i = 0; i < 9; i++) {
+            transactionService.createTransaction(transaction("Buscado " + i, 500 + i));
+        }
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .minAmount(500L)
+                .maxAmount(508L)
+                .sort(TransactionSearchCriteria.SortField.AMOUNT)
+                .direction(TransactionSearchCriteria.SortDirection.ASC)
+                .limit(4)
+                .build();
+        
+        // When
+        List<Long> amounts = new ArrayList<>();
+        TransactionSearchResponse page;
+        do {
+            page = transactionService.searchTransactions(criteria);
+            page.getItems().forEach(transaction -> amounts.add(transaction.getAmount()));
+            criteria.setCursor(page.getNextCursor());
+        } while (page.getNextCursor() != null);
+        
+        // Then
+        assertEquals(List.of(500L, 501L, 502L, 503L, 504L, 505L, 506L, 507L, 508L), amounts);
+    }
+    
+    @Test
+    @DisplayName("Debe mover la transacción de shard al cambiar de Tenpista y rebalancear clientes fuera de lugar")
+    void testMoveAndRebalance() {
+        // Given: dos clientes de shards distintos
+        String first = "Mover 0";
+        String second = nameOnOtherShard(first);
+        TransactionDTO created = transactionService.createTransaction(transaction(first, 700));
+        
+        // When
+        created.setName(second);
+        transactionService.updateTransaction(created.getId(), created);
+        
+        // Then
+        assertEquals(0, rowsOf(shards.shardFor(first), first));
+        assertEquals(1, rowsOf(shards.shardFor(second), second));
+        assertEquals(second, transactionService.getTransactionById(created.getId()).getName());
+        
+        // Given: una fila insertada en un shard que no corresponde
+        String misplaced = nameOnOtherShard("Fuera de lugar");
+        String wrongShard = shards.shardFor("Fuera de lugar");
+        int merchantId = merchants.idFor("Comercio trasladado", wrongShard);
+        jdbc(wrongShard).update("INSERT INTO transactions (id, amount, merchant_id, name, transaction_date) "
+                + "VALUES (999999, 1, ?, ?, ?)", merchantId, misplaced, LocalDateTime.now());
+        
+        // When
+        ShardRebalancer.RebalanceReport simulated = rebalancer.rebalance(null);
+        ShardRebalancer.RebalanceReport executed = rebalancer.rebalance(false);
+        
+        // Then
+        assertTrue(simulated.dryRun());
+        assertEquals(1, simulated.clientsMoved());
+        assertEquals(1, executed.rowsMoved());
+        assertEquals(0, rowsOf(wrongShard, misplaced));
+        assertEquals(1, rowsOf(shards.shardFor(misplaced), misplaced));
+        assertEquals("Comercio trasladado", jdbc(shards.shardFor(misplaced)).queryForObject(
+                "SELECT name FROM merchants WHERE id = ?", String.class, merchantId));
+        assertEquals(0, rebalancer.distribution().values().stream()
+                .mapToLong(ShardRebalancer.ShardStats::misplacedClients).sum());
+    }
+    
+    @Test
+    @DisplayName("Debe dejar la transacción en un solo shard si el cambio de Tenpista no confirma")
+    void testMoveRolledBackLeavesSingleCopy() {
+        // Given
+        String first = "Revertir 0";
+        String second = nameOnOtherShard(first);
+        TransactionDTO created = transactionService.createTransaction(transaction(first, 800));
+        created.setName(second);
+        
+        // When: la transacción externa falla después de confirmar la copia en el shard destino
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> outer.executeWithoutResult(status -> {
+            transactionService.updateTransaction(created.getId(), created);
+            throw new IllegalStateException("Falla después del traslado");
+        }));
+        
+        // Then
+        assertEquals(1, rowsOf(shards.shardFor(first), first));
+        assertEquals(0, rowsOf(shards.shardFor(second), second));
+        assertEquals(first, transactionService.getTransactionById(created.getId()).getName());
+        assertEquals(800, transactionService.getClientBalance(first).getBalances().get(0).getBalance());
+        assertEquals(1, transactionService.getClientBalance(first).getBalances().get(0).getTransactionCount());
+        assertTrue(transactionService.getClientBalance(second).getBalances().stream()
+                .allMatch(balance -> balance.getBalance() == 0 && balance.getTransactionCount() == 0));
+    }
+    
+    private String nameOnOtherShard(String reference) {
+        String home = shards.shardFor(reference);
+        for (int i = 1; ; i++) {
+            String candidate = reference + " " + i;
+            if (!shards.shardFor(candidate).equals(home)) {
+                return candidate;
+            }
+        }
+    }
+    
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(routingDataSource.getShards().get(shard));
+    }
+    
+    private long count(String shard) {
+        Long rows = jdbc(shard).queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        return rows != null ? rows : 0;
+    }
+    
+    private long rowsOf(String shard, String name) {
+        Long rows = jdbc(shard).queryForObject("SELECT COUNT(*) FROM transactions WHERE name = ?", Long.class, name);
+        return rows != null ? rows : 0;
+    }
+    
+    private static TransactionDTO transaction(String name, long amount) {
+        return TransactionDTO.builder()
+                .amount(amount)
+                .businessName("Comercio")
+                .name(name)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.transactions.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TailSamplingSpanProcessor
+ */
+@DisplayName("Tail Sampling Span Processor Tests")
+class TailSamplingSpanProcessorTest {
+    
+    private final List<String> exported = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private TailSamplingSpanProcessor processor;
+    private SdkTracerProvider provider;
+    private Tracer tracer;
+    
+    @BeforeEach
+    void setUp() {
+        TraceSamplingProperties properties = new TraceSamplingProperties();
+        properties.setSlowThreshold(Duration.ofMillis(500));
+        properties.setSampleRate(0);
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new TailSamplingSpanProcessor(new Collector(), properties, meterRegistry);
+        provider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        tracer = provider.get("test");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+    
+    @Test
+    @DisplayName("Debe descartar las trazas rápidas y exitosas fuera de la muestra")
+    void testDiscardsFastTraces() {
+        // When
+        trace(Instant.now(), null, StatusCode.UNSET);
+        
+        // Then
+        assertTrue(exported.isEmpty());
+        assertEquals(0, processor.pendingTraces());
+        assertEquals(1, meterRegistry.get("tracing.tail.sampling").tag("decision", "discarded").counter().count());
+    }
+    
+    @Test
+    @DisplayName("Debe exportar la traza completa cuando el span raíz es lento")
+    void testKeepsSlowTraces() {
+        // When
+        trace(Instant.now().minusSeconds(1), null, StatusCode.UNSET);
+        
+        // Then: el hijo terminó antes que la raíz y se exporta con ella
+        assertEquals(List.of("child", "root"), exported);
+    }
+    
+    @Test
+    @DisplayName("Debe exportar las trazas con un span en error salvo que el request sea un error del cliente")
+    void testKeepsFailedTraces() {
+        // When
+        trace(Instant.now(), null, StatusCode.ERROR);
+        trace(Instant.now(), "CLIENT_ERROR", StatusCode.ERROR);
+        
+        // Then
+        assertEquals(List.of("child", "root"), exported);
+        assertEquals(1, meterRegistry.get("tracing.tail.sampling").tag("decision", "error").counter().count());
+    }
+    
+    private void trace(Instant start, String outcome, StatusCode childStatus) {
+        Span root = tracer.spanBuilder("root").setStartTimestamp(start).startSpan();
+        if (outcome != null) {
+            root.setAttribute("outcome", outcome);
+        }
+        try (Scope ignored = root.makeCurrent()) {
+            tracer.spanBuilder("child").startSpan().setStatus(childStatus).end();
+        }
+        root.end();
+    }
+    
+    /**
+     * Procesador de exportación: registra los nombres de los spans que recibe
+     */
+    private final class Collector implements SpanProcessor {
+        
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+        
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+        
+        @Override
+        public void onEnd(ReadableSpan span) {
+            exported.add(span.getName());
+        }
+        
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+        
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
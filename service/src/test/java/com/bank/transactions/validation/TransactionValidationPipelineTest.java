@@ -0,0 +1,226 @@
+package com.bank.transactions.validation;
+
+import com.bank.transactions.dto.TransactionDTO;
+import com.bank.transactions.exception.BusinessException;
+import com.bank.transactions.exception.ValidationUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TransactionValidationPipeline
+ */
+@DisplayName("Transaction Validation Pipeline Tests")
+class TransactionValidationPipelineTest {
+    
+    private ValidationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ValidationContext context;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new ValidationProperties();
+        properties.setStageTimeout(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+        context = ValidationContext.forCreate(TransactionDTO.builder().amount(1000L).name("Juan").build());
+    }
+    
+    @Test
+    @DisplayName("Debe ejecutar en paralelo las etapas bloqueantes independientes")
+    void testIndependentStagesRunConcurrently() {
+        // Given: cada etapa espera a la otra, así que solo terminan si corren a la vez
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Consumer<ValidationContext> awaitOther = ctx -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(1, TimeUnit.SECONDS)) {
+                    throw new BusinessException("Las etapas se ejecutaron en serie");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        TransactionValidationPipeline pipeline = pipeline(
+                stage("fraude", Set.of(), true, false, awaitOther),
+                stage("sanciones", Set.of(), true, false, awaitOther));
+        
+        // When & Then
+        assertDoesNotThrow(() -> pipeline.validate(context));
+        assertEquals(1, meterRegistry.get("transaction.validation.stage")
+                .tags("stage", "fraude", "outcome", "passed").timer().count());
+    }
+    
+    @Test
+    @DisplayName("Debe ejecutar cada etapa después de sus dependencias y compartir el enriquecimiento")
+    void testDependenciesSeeEnrichment() {
+        // Given: registradas en orden inverso al de ejecución
+        TransactionValidationPipeline pipeline = pipeline(
+                stage("limite", Set.of("moneda"), true, false,
+                        ctx -> assertEquals("USD", ctx.getAttribute("moneda", String.class))),
+                stage("moneda", Set.of(), false, false, ctx -> ctx.setAttribute("moneda", "USD")));
+        
+        // When & Then
+        assertEquals(List.of("moneda", "limite"), pipeline.stageNames());
+        assertDoesNotThrow(() -> pipeline.validate(context));
+    }
+    
+    @Test
+    @DisplayName("Debe cortar en el primer rechazo sin ejecutar las etapas dependientes")
+    void testShortCircuitOnRejection() {
+        // Given
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        TransactionValidationPipeline pipeline = pipeline(
+                stage("monto", Set.of(), false, false, ctx -> {
+                    throw new BusinessException("Monto inválido");
+                }),
+                stage("limite", Set.of("monto"), true, false, ctx -> dependentRan.set(true)));
+        
+        // When
+        BusinessException ex = assertThrows(BusinessException.class, () -> pipeline.validate(context));
+        
+        // Then
+        assertEquals("Monto inválido", ex.getMessage());
+        assertFalse(dependentRan.get());
+        assertEquals(1, meterRegistry.get("transaction.validation")
+                .tags("outcome", "rejected").timer().count());
+    }
+    
+    @Test
+    @DisplayName("Debe responder no disponible cuando una etapa obligatoria excede su timeout")
+    void testFailClosedTimeout() {
+        // Given
+        properties.getStageTimeouts().put("lenta", Duration.ofMillis(50));
+        TransactionValidationPipeline pipeline = pipeline(
+                stage("lenta", Set.of(), true, false, TransactionValidationPipelineTest::sleep));
+        
+        // When & Then
+        long start = System.nanoTime();
+        assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(context));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, meterRegistry.get("transaction.validation.stage")
+                .tags("stage", "lenta", "outcome", "timeout").timer().count());
+    }
+    
+    @Test
+    @DisplayName("No debe interrumpir el hilo de una etapa que excede su timeout")
+    void testTimeoutDoesNotInterrupt() throws Exception {
+        // Given
+        properties.getStageTimeouts().put("lenta", Duration.ofMillis(50));
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        TransactionValidationPipeline pipeline = pipeline(stage("lenta", Set.of(), true, false, ctx -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ex) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+        }));
+        
+        // When
+        assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(context));
+        
+        // Then
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar de inmediato cuando una etapa lanza un Error")
+    void testStageError() {
+        // Given
+        TransactionValidationPipeline pipeline = pipeline(stage("rota", Set.of(), true, false, ctx -> {
+            throw new NoClassDefFoundError("com/bank/Inexistente");
+        }));
+        
+        // When & Then
+        long start = System.nanoTime();
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> pipeline.validate(context));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertInstanceOf(NoClassDefFoundError.class, error.getCause());
+        assertEquals(1, meterRegistry.get("transaction.validation.stage")
+                .tags("stage", "rota", "outcome", "error").timer().count());
+    }
+    
+    @Test
+    @DisplayName("Debe continuar cuando una etapa fail-open excede su timeout")
+    void testFailOpenTimeout() {
+        // Given
+        properties.getStageTimeouts().put("opcional", Duration.ofMillis(50));
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        TransactionValidationPipeline pipeline = pipeline(
+                stage("opcional", Set.of(), true, true, TransactionValidationPipelineTest::sleep),
+                stage("siguiente", Set.of("opcional"), false, false, ctx -> dependentRan.set(true)));
+        
+        // When & Then
+        assertDoesNotThrow(() -> pipeline.validate(context));
+        assertTrue(dependentRan.get());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar al arrancar con dependencias desconocidas o circulares")
+    void testInvalidGraph() {
+        assertThrows(IllegalStateException.class, () -> pipeline(
+                stage("a", Set.of("inexistente"), false, false, ctx -> { })));
+        assertThrows(IllegalStateException.class, () -> pipeline(
+                stage("a", Set.of("b"), false, false, ctx -> { }),
+                stage("b", Set.of("a"), false, false, ctx -> { })));
+        assertThrows(IllegalStateException.class, () -> pipeline(
+                stage("a", Set.of(), false, false, ctx -> { }),
+                stage("a", Set.of(), false, false, ctx -> { })));
+    }
+    
+    private TransactionValidationPipeline pipeline(TransactionCheck... checks) {
+        return new TransactionValidationPipeline(List.of(checks), properties, meterRegistry, Tracer.NOOP);
+    }
+    
+    private static void sleep(ValidationContext context) {
+        try {
+            Thread.sleep(2000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static TransactionCheck stage(String name, Set<String> dependsOn, boolean blocking, boolean failOpen,
+                                          Consumer<ValidationContext> body) {
+        return new TransactionCheck() {
+            @Override
+            public String name() {
+                return name;
+            }
+            
+            @Override
+            public Set<String> dependsOn() {
+                return dependsOn;
+            }
+            
+            @Override
+            public boolean blocking() {
+                return blocking;
+            }
+            
+            @Override
+            public boolean failOpen() {
+                return failOpen;
+            }
+            
+            @Override
+            public void check(ValidationContext context) {
+                body.accept(context);
+            }
+        };
+    }
+}
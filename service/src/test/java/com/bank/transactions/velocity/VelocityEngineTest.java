@@ -0,0 +1,124 @@
+package com.bank.transactions.velocity;
+
+import com.bank.transactions.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para VelocityEngine
+ */
+@DisplayName("Velocity Engine Tests")
+class VelocityEngineTest {
+    
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private VelocityProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new VelocityProperties();
+        properties.setEnabled(true);
+        properties.getRules().add(rule("rafaga", Duration.ofMinutes(1), 3L, null, null));
+        properties.getRules().add(rule("monto-clp", Duration.ofMinutes(10), null, 1000L, "CLP"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar la transacción que supera la cantidad de la ventana hasta que la ventana avanza")
+    void testCountRule() {
+        // Given
+        VelocityEngine engine = engine();
+        for (int i = 0; i < 3; i++) {
+            engine.tryAcquire("Juan", "USD", 10L);
+        }
+        
+        // When & Then
+        BusinessException ex = assertThrows(BusinessException.class, () -> engine.tryAcquire("Juan", "USD", 10L));
+        assertTrue(ex.getMessage().contains("rafaga (máximo 3 transacciones cada 1 minuto(s))"));
+        assertNotNull(engine.tryAcquire("Pedro", "USD", 10L));
+        assertEquals(1, meterRegistry.get("transaction.velocity.rejected").tag("rule", "rafaga").counter().count());
+        clock.addAndGet(Duration.ofSeconds(65).toMillis());
+        assertNotNull(engine.tryAcquire("Juan", "USD", 10L));
+    }
+    
+    @Test
+    @DisplayName("Debe sumar solo los montos de la moneda de la regla y descontar las altas liberadas")
+    void testAmountRuleAndRelease() {
+        // Given
+        VelocityEngine engine = engine();
+        VelocityEngine.Reservation first = engine.tryAcquire("Juan", "CLP", 600L);
+        
+        // When & Then
+        assertThrows(BusinessException.class, () -> engine.tryAcquire("Juan", "CLP", 500L));
+        assertNotNull(engine.tryAcquire("Juan", "USD", 500L));
+        first.release();
+        assertNotNull(engine.tryAcquire("Juan", "CLP", 1000L));
+    }
+    
+    @Test
+    @DisplayName("Debe contar las altas reconstruidas y descartar las que ya salieron de las ventanas")
+    void testReplay() {
+        // Given
+        VelocityEngine engine = engine();
+        long now = clock.get();
+        engine.replay("Juan", "CLP", 100L, now - Duration.ofSeconds(20).toMillis());
+        engine.replay("Juan", "CLP", 100L, now - Duration.ofSeconds(10).toMillis());
+        engine.replay("Juan", "CLP", 900L, now - Duration.ofMinutes(11).toMillis());
+        
+        // When & Then: dos en el último minuto y 200 CLP en los últimos diez
+        assertNotNull(engine.tryAcquire("Juan", "CLP", 800L));
+        assertThrows(BusinessException.class, () -> engine.tryAcquire("Juan", "USD", 1L));
+        assertEquals(Duration.ofMinutes(10), engine.retention());
+    }
+    
+    @Test
+    @DisplayName("Debe acotar los Tenpistas en memoria descartando los inactivos")
+    void testBoundedClients() {
+        // Given
+        properties.setMaxClients(2);
+        VelocityEngine engine = engine();
+        engine.tryAcquire("Juan", "CLP", 1L);
+        engine.tryAcquire("Pedro", "CLP", 1L);
+        
+        // When & Then: con ambos activos el tercero no se evalúa
+        assertNull(engine.tryAcquire("Diego", "CLP", 1L));
+        assertEquals(1, meterRegistry.get("transaction.velocity.untracked").counter().count());
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertNotNull(engine.tryAcquire("Diego", "CLP", 1L));
+        assertEquals(1, meterRegistry.get("transaction.velocity.clients").gauge().value());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar al iniciar con reglas inválidas y no evaluar nada si está desactivado")
+    void testConfiguration() {
+        properties.getRules().add(rule("sin-moneda", Duration.ofMinutes(1), null, 1000L, null));
+        assertThrows(IllegalStateException.class, this::engine);
+        
+        properties.setEnabled(false);
+        VelocityEngine disabled = engine();
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.tryAcquire("Juan", "CLP", 1L));
+    }
+    
+    private VelocityEngine engine() {
+        return new VelocityEngine(properties, meterRegistry, clock::get);
+    }
+    
+    private static VelocityProperties.Rule rule(String name, Duration window, Long maxCount, Long maxAmount,
+                                                String currency) {
+        VelocityProperties.Rule rule = new VelocityProperties.Rule();
+        rule.setName(name);
+        rule.setWindow(window);
+        rule.setMaxCount(maxCount);
+        rule.setMaxAmount(maxAmount);
+        rule.setCurrency(currency);
+        return rule;
+    }
+}